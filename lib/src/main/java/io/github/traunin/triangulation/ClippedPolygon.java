@@ -0,0 +1,106 @@
+package io.github.traunin.triangulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A polygon clipped to a rectangle, together with its triangulation.
+ * <p>
+ * Clipping can split a concave polygon into several rings, all of which share
+ * one vertex list. Vertices of the original polygon inside the rectangle are
+ * kept, and new vertices are added where the polygon crosses the rectangle.
+ *
+ * @see TileClipping
+ */
+public final class ClippedPolygon {
+    private static final ClippedPolygon EMPTY = new ClippedPolygon(new float[0], new int[0], List.of(), new int[0]);
+
+    private final float[] coordinates;
+    private final int[] sourceIndices;
+    private final List<List<Integer>> rings;
+    private final int[] triangles;
+
+    ClippedPolygon(float[] coordinates, int[] sourceIndices, List<List<Integer>> rings, int[] triangles) {
+        this.coordinates = coordinates;
+        this.sourceIndices = sourceIndices;
+        this.rings = rings;
+        this.triangles = triangles;
+    }
+
+    static ClippedPolygon empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Checks whether nothing of the polygon is left after clipping.
+     *
+     * @return true if there are no rings
+     */
+    public boolean isEmpty() {
+        return rings.isEmpty();
+    }
+
+    /**
+     * Returns the vertices of the clipped polygon.
+     *
+     * @return an unmodifiable {@code List} of vertices
+     */
+    public List<Vector2f> vertices() {
+        return new CoordinateList(coordinates);
+    }
+
+    /**
+     * Returns the vertex coordinates of the clipped polygon.
+     *
+     * @return a copy of the interleaved x, y coordinates
+     */
+    public float[] coordinates() {
+        return coordinates.clone();
+    }
+
+    /**
+     * Returns the index of a vertex in the original vertex list.
+     *
+     * @param vertexIndex index of a vertex of the clipped polygon
+     * @return index of the same vertex in the original list, or -1 if the
+     *         vertex was created on the rectangle edge
+     */
+    public int sourceIndex(int vertexIndex) {
+        return sourceIndices[vertexIndex];
+    }
+
+    /**
+     * Returns the rings of the clipped polygon.
+     *
+     * @return an unmodifiable {@code List} of vertex index rings, each in order
+     *         of connection
+     */
+    public List<List<Integer>> rings() {
+        return rings;
+    }
+
+    /**
+     * Returns the triangulation of all rings.
+     *
+     * @return a {@code List} consisting of {@code int[]} with 3 indices,
+     *         corresponding to the vertices of a triangle
+     */
+    public List<int[]> triangles() {
+        List<int[]> triangleList = new ArrayList<>(triangles.length / 3);
+        for (int i = 0; i < triangles.length; i += 3) {
+            triangleList.add(new int[] { triangles[i], triangles[i + 1], triangles[i + 2] });
+        }
+
+        return Collections.unmodifiableList(triangleList);
+    }
+
+    /**
+     * Returns the triangulation of all rings as a flat index array.
+     *
+     * @return a copy of the triangle vertex indices, 3 per triangle
+     */
+    public int[] triangleIndices() {
+        return triangles.clone();
+    }
+}
@@ -0,0 +1,997 @@
+package io.github.traunin.triangulation;
+
+import java.util.Arrays;
+
+/**
+ * A mutable triangle mesh on primitive arrays, supporting point insertion
+ * and Delaunay edge flips that keep constrained edges.
+ * <p>
+ * Triangles are stored as half-edges: half-edge {@code h} belongs to
+ * triangle {@code h / 3} and goes from {@code origin(h)} to
+ * {@code origin(next(h))}. Triangles are kept counter-clockwise, and every
+ * half-edge knows its twin in the neighbouring triangle, so the mesh needs
+ * about 40 bytes per triangle and all updates are local. Edges on the mesh
+ * boundary are always constrained. Constrained half-edges also count the
+ * segments inserted along them, so winding numbers can be found by walking
+ * across them.
+ * <p>
+ * Coordinates are kept as doubles. Inserted points are expected to be
+ * representable as floats, so the mesh can be returned to float APIs without
+ * moving them, while the vertices created where segments cross are kept in
+ * double precision and only rounded by {@link #coordinates()}.
+ */
+final class ConstrainedMesh {
+    static final int NO_HALF_EDGE = -1;
+    static final int NO_VERTEX = -1;
+    /**
+     * Returned by {@link #locate} when the walk does not end.
+     */
+    static final int NOT_FOUND = Integer.MIN_VALUE;
+    private static final int COINCIDENT = -2;
+    private static final int UNCONSTRAINED = 0;
+    // vertices closer to a segment than this fraction of its length are treated as on it
+    private static final double ON_SEGMENT_TOLERANCE = 0x1p-36;
+    // the enclosing triangle is this many times larger than the bounding box of the vertices
+    private static final float ENCLOSING_TRIANGLE_SCALE = 16;
+    private static final int HILBERT_ORDER = 16;
+    // circle tests smaller than this fraction of their magnitude are treated as cocircular
+    private static final double IN_CIRCLE_TOLERANCE = 0x1p-40;
+
+    private final boolean isReversed;
+    private double[] coordinates;
+    private int[] vertexTriangles;
+    private int vertexCount;
+    private int[] origins;
+    private int[] twins;
+    private boolean[] constrained;
+    private int[] windings;
+    private int triangleCount;
+    private final IntArrayList flipStack = new IntArrayList();
+    private final IntArrayList edgeTriangles = new IntArrayList();
+    private final IntArrayList crossedEdges = new IntArrayList();
+    private final IntArrayList newEdges = new IntArrayList();
+    private boolean isSplit;
+    private int enclosingVertex = NO_VERTEX;
+
+    /**
+     * Builds a mesh from triangles sharing edges by vertex indices.
+     * <p>
+     * Triangles of a clockwise triangulation are turned counter-clockwise,
+     * and turned back by {@link #triangles()}. Edges used by only one
+     * triangle are constrained.
+     *
+     * @param coordinates interleaved x, y vertex coordinates
+     * @param triangles   valid triangle vertex indices, 3 per triangle
+     */
+    ConstrainedMesh(float[] coordinates, int[] triangles) {
+        vertexCount = coordinates.length / 2;
+        this.coordinates = new double[Math.max(2 * vertexCount, 16)];
+        for (int i = 0; i < 2 * vertexCount; i++) {
+            this.coordinates[i] = coordinates[i];
+        }
+        vertexTriangles = new int[Math.max(vertexCount, 8)];
+        Arrays.fill(vertexTriangles, -1);
+
+        triangleCount = triangles.length / 3;
+        int halfEdgeCount = 3 * triangleCount;
+        origins = new int[Math.max(halfEdgeCount, 24)];
+        twins = new int[origins.length];
+        constrained = new boolean[origins.length];
+        windings = new int[origins.length];
+
+        double area = 0;
+        for (int h = 0; h < halfEdgeCount; h += 3) {
+            area += cross(triangles[h], triangles[h + 1], x(triangles[h + 2]), y(triangles[h + 2]));
+        }
+        isReversed = area < 0;
+        for (int t = 0; t < triangleCount; t++) {
+            if (isReversed) {
+                setTriangle(t, triangles[3 * t], triangles[3 * t + 2], triangles[3 * t + 1]);
+            } else {
+                setTriangle(t, triangles[3 * t], triangles[3 * t + 1], triangles[3 * t + 2]);
+            }
+        }
+
+        // half-edges grouped by origin, so twins are found among the few half-edges of one vertex
+        int[] offsets = new int[vertexCount + 1];
+        for (int h = 0; h < halfEdgeCount; h++) {
+            offsets[origins[h] + 1]++;
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] outgoing = new int[halfEdgeCount];
+        int[] fill = Arrays.copyOf(offsets, vertexCount);
+        for (int h = 0; h < halfEdgeCount; h++) {
+            outgoing[fill[origins[h]]++] = h;
+        }
+
+        Arrays.fill(twins, 0, halfEdgeCount, NO_HALF_EDGE);
+        for (int h = 0; h < halfEdgeCount; h++) {
+            if (twins[h] != NO_HALF_EDGE) {
+                continue;
+            }
+            int from = origins[h];
+            int to = origins[next(h)];
+            for (int i = offsets[to]; i < offsets[to + 1]; i++) {
+                int candidate = outgoing[i];
+                if (origins[next(candidate)] == from && twins[candidate] == NO_HALF_EDGE
+                        && candidate / 3 != h / 3) {
+                    twins[h] = candidate;
+                    twins[candidate] = h;
+                    break;
+                }
+            }
+        }
+        for (int h = 0; h < halfEdgeCount; h++) {
+            constrained[h] = twins[h] == NO_HALF_EDGE;
+        }
+    }
+
+    /**
+     * Builds the Delaunay triangulation of the used vertices inside of a
+     * large triangle enclosing them, whose vertices are appended after the
+     * given ones.
+     * <p>
+     * The vertices are inserted in the order of a Hilbert curve, so each one
+     * is found by a short walk from the previous one and the whole
+     * triangulation takes about O(n log n).
+     *
+     * @param coordinates     interleaved x, y vertex coordinates
+     * @param isUsed          which vertices to insert
+     * @param isClockwise     whether {@link #triangles()} returns clockwise
+     *                        triangles
+     * @param representatives receives for every used vertex the vertex of the
+     *                        mesh at its coordinates, which is the vertex
+     *                        itself unless an earlier one has exactly the
+     *                        same coordinates
+     */
+    static ConstrainedMesh enclose(float[] coordinates, boolean[] isUsed, boolean isClockwise,
+            int[] representatives) {
+        int vertexCount = coordinates.length / 2;
+        int[] order = hilbertOrder(coordinates, isUsed);
+        float[] meshCoordinates = Arrays.copyOf(coordinates, 2 * vertexCount + 6);
+        addEnclosingTriangle(meshCoordinates, order, vertexCount);
+        int[] enclosingTriangle = isClockwise
+                ? new int[] { vertexCount, vertexCount + 2, vertexCount + 1 }
+                : new int[] { vertexCount, vertexCount + 1, vertexCount + 2 };
+        ConstrainedMesh mesh = new ConstrainedMesh(meshCoordinates, enclosingTriangle);
+        mesh.enclosingVertex = vertexCount;
+
+        int start = 0;
+        for (int vertex : order) {
+            int triangle = mesh.locate(start, mesh.x(vertex), mesh.y(vertex));
+            representatives[vertex] = mesh.insertVertex(triangle, vertex);
+            start = mesh.vertexTriangle(representatives[vertex]);
+        }
+
+        return mesh;
+    }
+
+    static int next(int halfEdge) {
+        return halfEdge % 3 == 2 ? halfEdge - 2 : halfEdge + 1;
+    }
+
+    static int prev(int halfEdge) {
+        return halfEdge % 3 == 0 ? halfEdge + 2 : halfEdge - 1;
+    }
+
+    int vertexCount() {
+        return vertexCount;
+    }
+
+    int triangleCount() {
+        return triangleCount;
+    }
+
+    double x(int vertex) {
+        return coordinates[2 * vertex];
+    }
+
+    double y(int vertex) {
+        return coordinates[2 * vertex + 1];
+    }
+
+    int origin(int halfEdge) {
+        return origins[halfEdge];
+    }
+
+    int twin(int halfEdge) {
+        return twins[halfEdge];
+    }
+
+    boolean isConstrained(int halfEdge) {
+        return constrained[halfEdge];
+    }
+
+    /**
+     * Returns the number of segments inserted along a half-edge minus the
+     * number of segments inserted against it.
+     */
+    int winding(int halfEdge) {
+        return windings[halfEdge];
+    }
+
+    /**
+     * Returns a triangle using a vertex, or -1 if no triangle does.
+     */
+    int vertexTriangle(int vertex) {
+        return vertexTriangles[vertex];
+    }
+
+    /**
+     * Appends a vertex that is not part of any triangle yet.
+     *
+     * @return the index of the new vertex
+     */
+    int addVertex(double x, double y) {
+        if (2 * vertexCount == coordinates.length) {
+            coordinates = Arrays.copyOf(coordinates, 2 * coordinates.length);
+        }
+        if (vertexCount == vertexTriangles.length) {
+            vertexTriangles = Arrays.copyOf(vertexTriangles, 2 * vertexTriangles.length);
+        }
+        coordinates[2 * vertexCount] = x;
+        coordinates[2 * vertexCount + 1] = y;
+        vertexTriangles[vertexCount] = -1;
+
+        return vertexCount++;
+    }
+
+    /**
+     * Flips edges until every unconstrained edge is locally Delaunay.
+     * Triangles without area are flipped away where possible.
+     */
+    void makeDelaunay() {
+        flipStack.clear();
+        for (int h = 0; h < 3 * triangleCount; h++) {
+            if (!constrained[h] && h < twins[h]) {
+                flipStack.add(h);
+            }
+        }
+        flipUntilDelaunay();
+    }
+
+    private void flipUntilDelaunay() {
+        while (flipStack.size() > 0) {
+            int halfEdge = flipStack.removeLast();
+            if (shouldFlip(halfEdge)) {
+                int first = halfEdge / 3;
+                int second = twins[halfEdge] / 3;
+                flip(halfEdge);
+                flipStack.add(3 * first + 1);
+                flipStack.add(3 * first + 2);
+                flipStack.add(3 * second + 1);
+                flipStack.add(3 * second + 2);
+            }
+        }
+    }
+
+    /**
+     * Walks from a triangle towards a point.
+     *
+     * @return the triangle containing the point, {@code -1 - h} if the walk
+     *         is stopped by the constrained half-edge {@code h}, or
+     *         {@link #NOT_FOUND}
+     */
+    int locate(int triangle, double x, double y) {
+        int current = triangle;
+        for (int step = 0; step <= triangleCount; step++) {
+            int crossed = NO_HALF_EDGE;
+            for (int k = 0; k < 3; k++) {
+                // starting at a different edge every step keeps the walk from circling
+                int halfEdge = 3 * current + (k + step) % 3;
+                if (orientation(origins[halfEdge], origins[next(halfEdge)], x, y) < 0) {
+                    crossed = halfEdge;
+                    break;
+                }
+            }
+            if (crossed == NO_HALF_EDGE) {
+                return current;
+            }
+            if (constrained[crossed]) {
+                return -1 - crossed;
+            }
+            current = twins[crossed] / 3;
+        }
+
+        return NOT_FOUND;
+    }
+
+    /**
+     * Inserts a point into a triangle containing it, or into one of its
+     * edges if the point is exactly on that edge, and restores the Delaunay
+     * property around it.
+     *
+     * @return the new vertex, or {@link #NO_VERTEX} if the point has the
+     *         coordinates of a vertex of the triangle
+     */
+    int insertPoint(int triangle, double x, double y) {
+        int edge = findInsertionEdge(triangle, x, y);
+        if (edge == COINCIDENT) {
+            return NO_VERTEX;
+        }
+        int vertex = addVertex(x, y);
+        insertAt(triangle, edge, vertex);
+
+        return vertex;
+    }
+
+    /**
+     * Inserts a vertex without triangles into a triangle containing it, like
+     * {@link #insertPoint}.
+     *
+     * @return the vertex, or the vertex of the triangle with the same
+     *         coordinates, which is then used instead
+     */
+    int insertVertex(int triangle, int vertex) {
+        double x = x(vertex);
+        double y = y(vertex);
+        int edge = findInsertionEdge(triangle, x, y);
+        if (edge != COINCIDENT) {
+            insertAt(triangle, edge, vertex);
+            return vertex;
+        }
+
+        for (int halfEdge = 3 * triangle; halfEdge < 3 * triangle + 3; halfEdge++) {
+            if (x(origins[halfEdge]) == x && y(origins[halfEdge]) == y) {
+                return origins[halfEdge];
+            }
+        }
+
+        throw new IllegalStateException("Coincident vertex is not in the triangle");
+    }
+
+    /**
+     * Finds the edge of a triangle a point is on.
+     * <p>
+     * Only points with the coordinates of a triangle vertex are merged with
+     * it, and only points exactly on an edge are inserted on it. Points close
+     * to an edge are inserted into the triangle, whose orientation tests
+     * agree with the ones of {@link #locate}, so no triangle is inverted and
+     * no distinct vertex is lost.
+     *
+     * @return the half-edge, {@link #NO_HALF_EDGE} if the point is inside,
+     *         or {@link #COINCIDENT} if it has the coordinates of a vertex
+     */
+    private int findInsertionEdge(int triangle, double x, double y) {
+        for (int halfEdge = 3 * triangle; halfEdge < 3 * triangle + 3; halfEdge++) {
+            if (x(origins[halfEdge]) == x && y(origins[halfEdge]) == y) {
+                return COINCIDENT;
+            }
+        }
+        for (int halfEdge = 3 * triangle; halfEdge < 3 * triangle + 3; halfEdge++) {
+            if (orientation(origins[halfEdge], origins[next(halfEdge)], x, y) == 0) {
+                return halfEdge;
+            }
+        }
+
+        return NO_HALF_EDGE;
+    }
+
+    private void insertAt(int triangle, int edge, int vertex) {
+        if (edge == NO_HALF_EDGE) {
+            insertInTriangle(triangle, vertex);
+        } else {
+            insertOnEdge(edge, vertex);
+        }
+    }
+
+    /**
+     * Splits a triangle into three at a new vertex inside of it.
+     */
+    void insertInTriangle(int triangle, int vertex) {
+        int h = 3 * triangle;
+        int a = origins[h];
+        int b = origins[h + 1];
+        int c = origins[h + 2];
+        int abTwin = twins[h];
+        int bcTwin = twins[h + 1];
+        int caTwin = twins[h + 2];
+        int ab = edgeState(h);
+        int bc = edgeState(h + 1);
+        int ca = edgeState(h + 2);
+
+        int second = newTriangle();
+        int third = newTriangle();
+        setTriangle(triangle, a, b, vertex);
+        setTriangle(second, b, c, vertex);
+        setTriangle(third, c, a, vertex);
+        link(3 * triangle, abTwin, ab);
+        link(3 * second, bcTwin, bc);
+        link(3 * third, caTwin, ca);
+        link(3 * triangle + 1, 3 * second + 2, UNCONSTRAINED);
+        link(3 * second + 1, 3 * third + 2, UNCONSTRAINED);
+        link(3 * third + 1, 3 * triangle + 2, UNCONSTRAINED);
+
+        flipStack.clear();
+        flipStack.add(3 * triangle);
+        flipStack.add(3 * second);
+        flipStack.add(3 * third);
+        legalize();
+    }
+
+    /**
+     * Splits an edge and the triangles on both of its sides at a new vertex
+     * on the edge. Both halves of a constrained edge stay constrained.
+     */
+    void insertOnEdge(int halfEdge, int vertex) {
+        int triangle = halfEdge / 3;
+        int a = origins[halfEdge];
+        int b = origins[next(halfEdge)];
+        int c = origins[prev(halfEdge)];
+        int bcTwin = twins[next(halfEdge)];
+        int caTwin = twins[prev(halfEdge)];
+        int bc = edgeState(next(halfEdge));
+        int ca = edgeState(prev(halfEdge));
+        int ab = edgeState(halfEdge);
+        int twin = twins[halfEdge];
+
+        int second = newTriangle();
+        setTriangle(triangle, a, vertex, c);
+        setTriangle(second, vertex, b, c);
+        link(3 * triangle + 2, caTwin, ca);
+        link(3 * second + 1, bcTwin, bc);
+        link(3 * triangle + 1, 3 * second + 2, UNCONSTRAINED);
+
+        flipStack.clear();
+        flipStack.add(3 * triangle + 2);
+        flipStack.add(3 * second + 1);
+        if (twin == NO_HALF_EDGE) {
+            link(3 * triangle, NO_HALF_EDGE, ab);
+            link(3 * second, NO_HALF_EDGE, ab);
+        } else {
+            int other = twin / 3;
+            int d = origins[prev(twin)];
+            int adTwin = twins[next(twin)];
+            int dbTwin = twins[prev(twin)];
+            int ad = edgeState(next(twin));
+            int db = edgeState(prev(twin));
+
+            int fourth = newTriangle();
+            setTriangle(other, b, vertex, d);
+            setTriangle(fourth, vertex, a, d);
+            link(3 * other + 2, dbTwin, db);
+            link(3 * fourth + 1, adTwin, ad);
+            link(3 * other + 1, 3 * fourth + 2, UNCONSTRAINED);
+            link(3 * triangle, 3 * fourth, ab);
+            link(3 * second, 3 * other, ab);
+            flipStack.add(3 * other + 2);
+            flipStack.add(3 * fourth + 1);
+        }
+        legalize();
+    }
+
+    /**
+     * Collects the triangles around a vertex.
+     */
+    void collectTriangles(int vertex, IntArrayList triangles) {
+        triangles.clear();
+        int triangle = vertexTriangles[vertex];
+        if (triangle < 0) {
+            return;
+        }
+        int start = 3 * triangle;
+        while (origins[start] != vertex) {
+            start++;
+        }
+
+        // counter-clockwise over outgoing half-edges, then clockwise if a boundary stops the turn
+        int halfEdge = start;
+        do {
+            triangles.add(halfEdge / 3);
+            halfEdge = twins[prev(halfEdge)];
+        } while (halfEdge != NO_HALF_EDGE && halfEdge != start);
+        if (halfEdge == NO_HALF_EDGE) {
+            halfEdge = twins[start];
+            while (halfEdge != NO_HALF_EDGE) {
+                halfEdge = next(halfEdge);
+                triangles.add(halfEdge / 3);
+                halfEdge = twins[halfEdge];
+            }
+        }
+    }
+
+    /**
+     * Finds a half-edge between two vertices, in either direction.
+     *
+     * @return the half-edge, or {@link #NO_HALF_EDGE} if the vertices are
+     *         not connected
+     */
+    int findEdge(int a, int b) {
+        collectTriangles(a, edgeTriangles);
+        for (int i = 0; i < edgeTriangles.size(); i++) {
+            int h = 3 * edgeTriangles.get(i);
+            for (int k = 0; k < 3; k++) {
+                int from = origins[h + k];
+                int to = origins[next(h + k)];
+                if ((from == a && to == b) || (from == b && to == a)) {
+                    return h + k;
+                }
+            }
+        }
+
+        return NO_HALF_EDGE;
+    }
+
+    /**
+     * Makes the segment between two vertices of the mesh an edge and
+     * constrains it, then restores the Delaunay property around it.
+     * <p>
+     * The edges crossing the segment are flipped away one by one, as
+     * described by Sloan. A vertex exactly on the segment splits it in two
+     * constrained edges. A constrained edge crossing the segment is split at
+     * the crossing by a new vertex, which is part of both.
+     *
+     * @param winding the amount added to the winding of the resulting
+     *                half-edges from {@code a} towards {@code b}
+     */
+    void insertSegment(int a, int b, int winding) {
+        int from = a;
+        while (from != b) {
+            int halfEdge = findEdge(from, b);
+            if (halfEdge != NO_HALF_EDGE) {
+                constrain(halfEdge, from, winding);
+                return;
+            }
+
+            crossedEdges.clear();
+            int to = findCrossedEdges(from, b);
+            if (isSplit) {
+                // the split vertex is only close to the segment, so it is connected like an end
+                insertSegment(from, to, winding);
+            } else {
+                flipCrossedEdges(from, to, winding);
+            }
+            from = to;
+        }
+    }
+
+    /**
+     * Walks along the segment from a vertex, collecting the crossed edges
+     * in {@link #crossedEdges} until a vertex on the segment is reached.
+     * Sets {@link #isSplit} if a constrained edge was crossed and split
+     * instead.
+     *
+     * @return the reached vertex or the split vertex
+     */
+    private int findCrossedEdges(int a, int b) {
+        isSplit = false;
+        collectTriangles(a, edgeTriangles);
+        int crossed = NO_HALF_EDGE;
+        for (int i = 0; i < edgeTriangles.size() && crossed == NO_HALF_EDGE; i++) {
+            int halfEdge = 3 * edgeTriangles.get(i);
+            while (origins[halfEdge] != a) {
+                halfEdge++;
+            }
+            int p = origins[next(halfEdge)];
+            int q = origins[prev(halfEdge)];
+            if (isOnSegment(a, b, p)) {
+                return p;
+            }
+            if (isOnSegment(a, b, q)) {
+                return q;
+            }
+            if (orientation(a, b, x(p), y(p)) < 0 && orientation(a, b, x(q), y(q)) > 0) {
+                crossed = next(halfEdge);
+            }
+        }
+        if (crossed == NO_HALF_EDGE) {
+            throw new IllegalStateException("Segment start is not surrounded by triangles");
+        }
+
+        // the crossed half-edge always goes from the right of the segment to its left
+        while (true) {
+            if (constrained[crossed]) {
+                isSplit = true;
+                return splitCrossing(a, b, crossed);
+            }
+            crossedEdges.add(origins[crossed]);
+            crossedEdges.add(origins[next(crossed)]);
+            int twin = twins[crossed];
+            int r = origins[prev(twin)];
+            if (r == b || isOnSegment(a, b, r)) {
+                return r;
+            }
+            crossed = orientation(a, b, x(r), y(r)) < 0 ? prev(twin) : next(twin);
+        }
+    }
+
+    /**
+     * Checks whether a vertex is on the segment, or so close to it that
+     * the segment can pass through it, as where several segments cross in
+     * one point.
+     */
+    private boolean isOnSegment(int a, int b, int vertex) {
+        double x = x(vertex);
+        double y = y(vertex);
+        double dx = x(b) - x(a);
+        double dy = y(b) - y(a);
+
+        return Math.abs(orientation(a, b, x, y)) <= ON_SEGMENT_TOLERANCE * (dx * dx + dy * dy)
+                && (x - x(a)) * dx + (y - y(a)) * dy > 0;
+    }
+
+    private int splitCrossing(int a, int b, int crossed) {
+        int c = origins[crossed];
+        int d = origins[next(crossed)];
+        double aSide = orientation(c, d, x(a), y(a));
+        double bSide = orientation(c, d, x(b), y(b));
+        double t = aSide / (aSide - bSide);
+        // rounding the crossing to floats could move it onto a nearby vertex, so it is kept exact
+        double x = x(a) + t * (x(b) - x(a));
+        double y = y(a) + t * (y(b) - y(a));
+        double dx = x(d) - x(c);
+        double dy = y(d) - y(c);
+        double tolerance = ON_SEGMENT_TOLERANCE * ON_SEGMENT_TOLERANCE * (dx * dx + dy * dy);
+        if (squaredDistance(c, x, y) <= tolerance) {
+            return c;
+        }
+        if (squaredDistance(d, x, y) <= tolerance) {
+            return d;
+        }
+        int vertex = addVertex(x, y);
+        insertOnEdge(crossed, vertex);
+
+        return vertex;
+    }
+
+    /**
+     * Flips the edges in {@link #crossedEdges} until none crosses the
+     * segment between two vertices.
+     */
+    private void flipCrossedEdges(int a, int b, int winding) {
+        newEdges.clear();
+        for (int i = 0; i < crossedEdges.size(); i += 2) {
+            int u = crossedEdges.get(i);
+            int v = crossedEdges.get(i + 1);
+            int halfEdge = findEdge(u, v);
+            int c = origins[prev(halfEdge)];
+            int d = origins[prev(twins[halfEdge])];
+            u = origins[halfEdge];
+            v = origins[next(halfEdge)];
+            if (orientation(d, c, x(u), y(u)) <= 0 || orientation(c, d, x(v), y(v)) <= 0) {
+                // not flippable yet, so it is tried again after the others
+                crossedEdges.add(u);
+                crossedEdges.add(v);
+                continue;
+            }
+
+            flip(halfEdge);
+            double cSide = orientation(a, b, x(c), y(c));
+            double dSide = orientation(a, b, x(d), y(d));
+            IntArrayList edges = (cSide < 0 && dSide > 0) || (cSide > 0 && dSide < 0) ? crossedEdges : newEdges;
+            edges.add(c);
+            edges.add(d);
+        }
+
+        constrain(findEdge(a, b), a, winding);
+        flipStack.clear();
+        for (int i = 0; i < newEdges.size(); i += 2) {
+            flipStack.add(findEdge(newEdges.get(i), newEdges.get(i + 1)));
+        }
+        flipUntilDelaunay();
+    }
+
+    private void constrain(int halfEdge, int from, int winding) {
+        int forward = origins[halfEdge] == from ? winding : -winding;
+        constrained[halfEdge] = true;
+        windings[halfEdge] += forward;
+        int twin = twins[halfEdge];
+        if (twin != NO_HALF_EDGE) {
+            constrained[twin] = true;
+            windings[twin] -= forward;
+        }
+    }
+
+    /**
+     * Calculates the winding number of every triangle: the sum of the
+     * windings of the half-edges crossed on the way to it from outside of
+     * all segments, subtracted when crossed from their left. Triangles
+     * around the enclosing triangle of {@link #enclose} start at 0.
+     */
+    int[] windingNumbers() {
+        int[] windingNumbers = new int[triangleCount];
+        boolean[] isVisited = new boolean[triangleCount];
+        IntArrayList stack = new IntArrayList();
+        for (int h = 0; h < 3 * triangleCount; h++) {
+            if (isEnclosingVertex(origins[h]) && !isVisited[h / 3]) {
+                isVisited[h / 3] = true;
+                stack.add(h / 3);
+            }
+        }
+        while (stack.size() > 0) {
+            int triangle = stack.removeLast();
+            for (int h = 3 * triangle; h < 3 * triangle + 3; h++) {
+                int twin = twins[h];
+                if (twin != NO_HALF_EDGE && !isVisited[twin / 3]) {
+                    // leaving a triangle over a half-edge crosses it from its left to its right
+                    windingNumbers[twin / 3] = windingNumbers[triangle] - windings[h];
+                    isVisited[twin / 3] = true;
+                    stack.add(twin / 3);
+                }
+            }
+        }
+
+        return windingNumbers;
+    }
+
+    private boolean isEnclosingVertex(int vertex) {
+        return enclosingVertex >= 0 && vertex >= enclosingVertex && vertex < enclosingVertex + 3;
+    }
+
+    /**
+     * Calculates the cross product (B - A) x (P - A), the same for both
+     * orders of A and B up to its sign.
+     */
+    double orientation(int a, int b, double x, double y) {
+        return a < b ? cross(a, b, x, y) : -cross(b, a, x, y);
+    }
+
+    /**
+     * Returns the vertex coordinates as floats.
+     */
+    float[] coordinates() {
+        float[] result = new float[2 * vertexCount];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (float) coordinates[i];
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the triangle vertex indices, in the winding of the triangles
+     * the mesh was built from.
+     */
+    int[] triangles() {
+        boolean[] selected = new boolean[triangleCount];
+        Arrays.fill(selected, true);
+
+        return triangles(selected);
+    }
+
+    /**
+     * Returns the vertex indices of the selected triangles, like
+     * {@link #triangles()}.
+     */
+    int[] triangles(boolean[] selected) {
+        IntArrayList result = new IntArrayList(3 * triangleCount);
+        for (int t = 0; t < triangleCount; t++) {
+            if (selected[t]) {
+                result.add(origins[3 * t]);
+                result.add(origins[3 * t + (isReversed ? 2 : 1)]);
+                result.add(origins[3 * t + (isReversed ? 1 : 2)]);
+            }
+        }
+
+        return result.toArray();
+    }
+
+    private double squaredDistance(int vertex, double x, double y) {
+        double dx = x(vertex) - x;
+        double dy = y(vertex) - y;
+
+        return dx * dx + dy * dy;
+    }
+
+    private double cross(int a, int b, double x, double y) {
+        double ax = x(a);
+        double ay = y(a);
+
+        return (x(b) - ax) * (y - ay) - (y(b) - ay) * (x - ax);
+    }
+
+    private void legalize() {
+        // the half-edges on the stack are opposite of the inserted vertex
+        while (flipStack.size() > 0) {
+            int halfEdge = flipStack.removeLast();
+            if (shouldFlip(halfEdge)) {
+                int first = halfEdge / 3;
+                int second = twins[halfEdge] / 3;
+                flip(halfEdge);
+                flipStack.add(3 * first + 2);
+                flipStack.add(3 * second + 1);
+            }
+        }
+    }
+
+    private boolean shouldFlip(int halfEdge) {
+        int twin = twins[halfEdge];
+        if (constrained[halfEdge] || twin == NO_HALF_EDGE) {
+            return false;
+        }
+        int a = origins[halfEdge];
+        int b = origins[next(halfEdge)];
+        int c = origins[prev(halfEdge)];
+        int d = origins[prev(twin)];
+        // the other diagonal has to split the quadrilateral into two triangles with area
+        if (orientation(d, c, x(a), y(a)) <= 0 || orientation(c, d, x(b), y(b)) <= 0) {
+            return false;
+        }
+        if (orientation(a, b, x(c), y(c)) <= 0 || orientation(b, a, x(d), y(d)) <= 0) {
+            return true;
+        }
+
+        double dx = x(d);
+        double dy = y(d);
+        double adx = x(a) - dx;
+        double ady = y(a) - dy;
+        double bdx = x(b) - dx;
+        double bdy = y(b) - dy;
+        double cdx = x(c) - dx;
+        double cdy = y(c) - dy;
+        double aLift = adx * adx + ady * ady;
+        double bLift = bdx * bdx + bdy * bdy;
+        double cLift = cdx * cdx + cdy * cdy;
+        double bc = bdx * cdy - cdx * bdy;
+        double ca = cdx * ady - adx * cdy;
+        double ab = adx * bdy - bdx * ady;
+        double determinant = aLift * bc + bLift * ca + cLift * ab;
+        double magnitude = aLift * Math.abs(bc) + bLift * Math.abs(ca) + cLift * Math.abs(ab);
+
+        return determinant > IN_CIRCLE_TOLERANCE * magnitude;
+    }
+
+    /**
+     * Replaces the edge A-B of triangles A, B, C and B, A, D by the edge
+     * C-D, giving triangles D, C, A and C, D, B.
+     */
+    private void flip(int halfEdge) {
+        int twin = twins[halfEdge];
+        int first = halfEdge / 3;
+        int second = twin / 3;
+        int a = origins[halfEdge];
+        int b = origins[next(halfEdge)];
+        int c = origins[prev(halfEdge)];
+        int d = origins[prev(twin)];
+        int bcTwin = twins[next(halfEdge)];
+        int caTwin = twins[prev(halfEdge)];
+        int adTwin = twins[next(twin)];
+        int dbTwin = twins[prev(twin)];
+        int bc = edgeState(next(halfEdge));
+        int ca = edgeState(prev(halfEdge));
+        int ad = edgeState(next(twin));
+        int db = edgeState(prev(twin));
+
+        setTriangle(first, d, c, a);
+        setTriangle(second, c, d, b);
+        link(3 * first, 3 * second, UNCONSTRAINED);
+        link(3 * first + 1, caTwin, ca);
+        link(3 * first + 2, adTwin, ad);
+        link(3 * second + 1, dbTwin, db);
+        link(3 * second + 2, bcTwin, bc);
+    }
+
+    private int newTriangle() {
+        if (3 * triangleCount == origins.length) {
+            int capacity = 2 * origins.length;
+            origins = Arrays.copyOf(origins, capacity);
+            twins = Arrays.copyOf(twins, capacity);
+            constrained = Arrays.copyOf(constrained, capacity);
+            windings = Arrays.copyOf(windings, capacity);
+        }
+
+        return triangleCount++;
+    }
+
+    private void setTriangle(int triangle, int a, int b, int c) {
+        origins[3 * triangle] = a;
+        origins[3 * triangle + 1] = b;
+        origins[3 * triangle + 2] = c;
+        vertexTriangles[a] = triangle;
+        vertexTriangles[b] = triangle;
+        vertexTriangles[c] = triangle;
+    }
+
+    /**
+     * Packs the winding and the constraint flag of a half-edge, to be given
+     * to {@link #link} when the half-edge is rebuilt.
+     */
+    private int edgeState(int halfEdge) {
+        return windings[halfEdge] << 1 | (constrained[halfEdge] ? 1 : 0);
+    }
+
+    private void link(int halfEdge, int twin, int state) {
+        boolean isConstrained = (state & 1) != 0;
+        twins[halfEdge] = twin;
+        constrained[halfEdge] = isConstrained;
+        windings[halfEdge] = state >> 1;
+        if (twin != NO_HALF_EDGE) {
+            twins[twin] = halfEdge;
+            constrained[twin] = isConstrained;
+            windings[twin] = -(state >> 1);
+        }
+    }
+
+    /**
+     * Sorts the used vertices along a Hilbert curve over their bounding box,
+     * so consecutive vertices are close to each other.
+     */
+    private static int[] hilbertOrder(float[] coordinates, boolean[] isUsed) {
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        int usedCount = 0;
+        for (int v = 0; v < isUsed.length; v++) {
+            if (isUsed[v]) {
+                minX = Math.min(minX, coordinates[2 * v]);
+                minY = Math.min(minY, coordinates[2 * v + 1]);
+                maxX = Math.max(maxX, coordinates[2 * v]);
+                maxY = Math.max(maxY, coordinates[2 * v + 1]);
+                usedCount++;
+            }
+        }
+
+        int side = (1 << HILBERT_ORDER) - 1;
+        double scale = side / Math.max(Math.max(maxX - minX, maxY - minY), Float.MIN_NORMAL);
+        long[] keys = new long[usedCount];
+        int k = 0;
+        for (int v = 0; v < isUsed.length; v++) {
+            if (isUsed[v]) {
+                int x = (int) ((coordinates[2 * v] - minX) * scale);
+                int y = (int) ((coordinates[2 * v + 1] - minY) * scale);
+                keys[k++] = hilbertIndex(x, y) << 32 | v;
+            }
+        }
+        Arrays.sort(keys);
+
+        int[] order = new int[usedCount];
+        for (int i = 0; i < usedCount; i++) {
+            order[i] = (int) keys[i];
+        }
+
+        return order;
+    }
+
+    private static long hilbertIndex(int x, int y) {
+        int side = 1 << HILBERT_ORDER;
+        long index = 0;
+        for (int s = side / 2; s > 0; s /= 2) {
+            int rx = (x & s) > 0 ? 1 : 0;
+            int ry = (y & s) > 0 ? 1 : 0;
+            index += (long) s * s * ((3 * rx) ^ ry);
+            // rotates the quadrant, so the curve inside of it is connected
+            if (ry == 0) {
+                if (rx == 1) {
+                    x = side - 1 - x;
+                    y = side - 1 - y;
+                }
+                int swap = x;
+                x = y;
+                y = swap;
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Writes the vertices of a triangle enclosing all used vertices after
+     * the given ones.
+     */
+    private static void addEnclosingTriangle(float[] coordinates, int[] used, int vertexCount) {
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        for (int vertex : used) {
+            minX = Math.min(minX, coordinates[2 * vertex]);
+            minY = Math.min(minY, coordinates[2 * vertex + 1]);
+            maxX = Math.max(maxX, coordinates[2 * vertex]);
+            maxY = Math.max(maxY, coordinates[2 * vertex + 1]);
+        }
+        float centerX = (minX + maxX) / 2;
+        float centerY = (minY + maxY) / 2;
+        float size = ENCLOSING_TRIANGLE_SCALE * Math.max(Math.max(maxX - minX, maxY - minY), 1);
+
+        int i = 2 * vertexCount;
+        coordinates[i] = centerX - size;
+        coordinates[i + 1] = centerY - size;
+        coordinates[i + 2] = centerX + size;
+        coordinates[i + 3] = centerY - size;
+        coordinates[i + 4] = centerX;
+        coordinates[i + 5] = centerY + size;
+    }
+}
@@ -0,0 +1,184 @@
+package io.github.traunin.triangulation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A utility class for triangulating a polygon together with points and
+ * segments inside of it, such as spot heights and breaklines of a terrain.
+ * <p>
+ * Computes the constrained Delaunay triangulation: every point is a vertex
+ * and every segment an edge of the result, and the triangles are as close to
+ * equilateral as the constraints allow. All vertices are first inserted into
+ * a Delaunay triangulation of a large enclosing triangle, in the order of a
+ * Hilbert curve, so each one is found by a short walk from the previous one
+ * and the whole insertion takes about O(n log n). The polygon edges and the
+ * segments are then added by flipping away the edges crossing them, and the
+ * triangles outside of the polygon are removed.
+ * <p>
+ * Points on a segment or the polygon split it. Points at the same
+ * coordinates as an earlier vertex are replaced by that vertex.
+ *
+ * <h2>Example Usage:</h2>
+ *
+ * <pre>{@code
+ * List<int[]> triangles = ConstrainedTriangulation.triangulate(vertices, boundaryIndices, spotHeightIndices,
+ *         List.of(new int[] { 4, 5 }, new int[] { 5, 6 }));
+ * }</pre>
+ */
+public final class ConstrainedTriangulation {
+    /**
+     * Prevents class instantiation.
+     *
+     * @throws UnsupportedOperationException when called
+     */
+    private ConstrainedTriangulation() {
+        throw new UnsupportedOperationException("Cannot be instantiated.");
+    }
+
+    /**
+     * Triangulates a polygon without self-intersections together with
+     * points and segments inside of it.
+     *
+     * @param <T>           the type of vertices, extending {@link Vector2f}
+     * @param vertices      vertices to select from
+     * @param vertexIndices polygon vertex indices in order of connection
+     * @param points        indices of vertices inside of the polygon
+     * @param segments      segments inside of the polygon as {@code int[]}
+     *                      with 2 vertex indices
+     * @return a {@code List} consisting of {@code int[]} with 3 indices,
+     *         corresponding to the vertices of a triangle
+     * @throws IllegalArgumentException if {@code vertexIndices} size is less
+     *                                  than 3, an index is outside of
+     *                                  {@code vertices}, a segment does not
+     *                                  have 2 indices, or the points and
+     *                                  segments are not inside of the polygon
+     *                                  or segments intersect
+     * @throws TriangulationException   if the polygon has self-intersections
+     */
+    public static <T extends Vector2f> List<int[]> triangulate(List<T> vertices, List<Integer> vertexIndices,
+            List<Integer> points, List<int[]> segments) {
+        float[] coordinates = new float[2 * vertices.size()];
+        for (int i = 0; i < vertices.size(); i++) {
+            coordinates[2 * i] = vertices.get(i).x();
+            coordinates[2 * i + 1] = vertices.get(i).y();
+        }
+        int[] flatSegments = new int[2 * segments.size()];
+        for (int s = 0; s < segments.size(); s++) {
+            int[] segment = segments.get(s);
+            if (segment.length != 2) {
+                throw new IllegalArgumentException(
+                        String.format("Segment has %d vertex indices instead of 2", segment.length));
+            }
+            flatSegments[2 * s] = segment[0];
+            flatSegments[2 * s + 1] = segment[1];
+        }
+
+        int[] triangles = triangulate(coordinates, vertexIndices.stream().mapToInt(Integer::intValue).toArray(),
+                points.stream().mapToInt(Integer::intValue).toArray(), flatSegments);
+        List<int[]> triangleList = new ArrayList<>(triangles.length / 3);
+        for (int i = 0; i < triangles.length; i += 3) {
+            triangleList.add(new int[] { triangles[i], triangles[i + 1], triangles[i + 2] });
+        }
+
+        return triangleList;
+    }
+
+    /**
+     * Triangulates a polygon together with points and segments inside of
+     * it, all stored in arrays.
+     *
+     * @param coordinates   interleaved x, y vertex coordinates
+     * @param vertexIndices polygon vertex indices in order of connection
+     * @param points        indices of vertices inside of the polygon
+     * @param segments      vertex indices of segments inside of the polygon,
+     *                      2 per segment
+     * @return triangle vertex indices, 3 per triangle, in the winding of the
+     *         polygon
+     * @throws IllegalArgumentException if {@code vertexIndices} length is
+     *                                  less than 3, an index is outside of
+     *                                  {@code coordinates}, {@code segments}
+     *                                  has an odd length, or the points and
+     *                                  segments are not inside of the polygon
+     *                                  or segments intersect
+     * @throws TriangulationException   if the polygon has self-intersections
+     */
+    public static int[] triangulate(float[] coordinates, int[] vertexIndices, int[] points, int[] segments) {
+        if (vertexIndices.length < 3) {
+            throw new IllegalArgumentException("Not enough vertex indices for a polygon");
+        }
+        if (segments.length % 2 != 0) {
+            throw new IllegalArgumentException(
+                    String.format("Segment vertex indices have odd length %d", segments.length));
+        }
+        int vertexCount = coordinates.length / 2;
+        boolean[] isUsed = new boolean[vertexCount];
+        markUsed(vertexIndices, isUsed);
+        markUsed(points, isUsed);
+        markUsed(segments, isUsed);
+
+        boolean isClockwise = FlatEarClipping.signedArea(coordinates, vertexIndices, vertexIndices.length) < 0;
+        int[] representatives = new int[vertexCount];
+        ConstrainedMesh mesh = ConstrainedMesh.enclose(coordinates, isUsed, isClockwise, representatives);
+
+        int meshVertexCount = mesh.vertexCount();
+        for (int i = 0; i < vertexIndices.length; i++) {
+            int a = representatives[vertexIndices[i]];
+            int b = representatives[vertexIndices[(i + 1) % vertexIndices.length]];
+            mesh.insertSegment(a, b, 1);
+        }
+        if (mesh.vertexCount() != meshVertexCount) {
+            throw new TriangulationException("Polygon has self-intersections");
+        }
+        for (int i = 0; i < segments.length; i += 2) {
+            mesh.insertSegment(representatives[segments[i]], representatives[segments[i + 1]], 0);
+        }
+        if (mesh.vertexCount() != meshVertexCount) {
+            throw new IllegalArgumentException("Segments intersect each other or the polygon");
+        }
+
+        // the polygon edges have a winding of 1, while the segments do not change it
+        int[] windingNumbers = mesh.windingNumbers();
+        boolean[] isInside = new boolean[windingNumbers.length];
+        for (int t = 0; t < windingNumbers.length; t++) {
+            isInside[t] = windingNumbers[t] != 0;
+        }
+        for (int point : points) {
+            if (!isUsedInside(mesh, representatives[point], isInside)) {
+                throw new IllegalArgumentException(String.format("Vertex %d is outside of the polygon", point));
+            }
+        }
+        for (int h = 0; h < 3 * mesh.triangleCount(); h++) {
+            int twin = mesh.twin(h);
+            if (mesh.isConstrained(h) && !isInside[h / 3] && twin != ConstrainedMesh.NO_HALF_EDGE
+                    && !isInside[twin / 3]) {
+                throw new IllegalArgumentException("Segments have to be inside of the polygon");
+            }
+        }
+
+        return mesh.triangles(isInside);
+    }
+
+    private static void markUsed(int[] indices, boolean[] isUsed) {
+        for (int index : indices) {
+            if (index < 0 || index >= isUsed.length) {
+                throw new IllegalArgumentException(
+                        String.format("Vertex index %d is outside of vertex list of length %d", index,
+                                isUsed.length));
+            }
+            isUsed[index] = true;
+        }
+    }
+
+    private static boolean isUsedInside(ConstrainedMesh mesh, int vertex, boolean[] isInside) {
+        IntArrayList triangles = new IntArrayList();
+        mesh.collectTriangles(vertex, triangles);
+        for (int i = 0; i < triangles.size(); i++) {
+            if (isInside[triangles.get(i)]) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.traunin.triangulation;
+
+/**
+ * Statistics of a mesh file conversion.
+ *
+ * @see ObjTriangulation
+ */
+public final class ConversionStatistics {
+    private static final double NANOSECONDS_PER_SECOND = 1e9;
+
+    private final long vertexCount;
+    private final long faceCount;
+    private final long triangleCount;
+    private final long fallbackFaceCount;
+    private final long elapsedNanos;
+
+    ConversionStatistics(long vertexCount, long faceCount, long triangleCount, long fallbackFaceCount,
+            long elapsedNanos) {
+        this.vertexCount = vertexCount;
+        this.faceCount = faceCount;
+        this.triangleCount = triangleCount;
+        this.fallbackFaceCount = fallbackFaceCount;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the number of vertices read.
+     *
+     * @return the number of vertices
+     */
+    public long vertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * Returns the number of faces read.
+     *
+     * @return the number of faces
+     */
+    public long faceCount() {
+        return faceCount;
+    }
+
+    /**
+     * Returns the number of triangles written.
+     *
+     * @return the number of triangles
+     */
+    public long triangleCount() {
+        return triangleCount;
+    }
+
+    /**
+     * Returns the number of faces that could not be ear clipped and were
+     * written as fans.
+     *
+     * @return the number of fallback faces
+     */
+    public long fallbackFaceCount() {
+        return fallbackFaceCount;
+    }
+
+    /**
+     * Returns the duration of the conversion.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the conversion throughput.
+     *
+     * @return the number of faces converted per second
+     */
+    public double facesPerSecond() {
+        return elapsedNanos == 0 ? 0 : faceCount * NANOSECONDS_PER_SECOND / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d faces, %d triangles, %d fallback faces in %.3f s (%.0f faces/s)", faceCount,
+                triangleCount, fallbackFaceCount, elapsedNanos / NANOSECONDS_PER_SECOND, facesPerSecond());
+    }
+}
@@ -0,0 +1,203 @@
+package io.github.traunin.triangulation;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A utility class for merging the triangles of a triangulated polygon into
+ * convex polygons.
+ * <p>
+ * Implements the Hertel-Mehlhorn algorithm: every diagonal shared by two
+ * triangles is removed unless that would make one of its ends reflex. The
+ * result has at most 4 times as many pieces as the minimal convex
+ * decomposition, and is computed in O(n). Vertices where the merged angle is
+ * exactly 180 degrees are kept in the pieces.
+ * <p>
+ * The triangles are expected to have the same winding and to share edges
+ * only by their vertex indices, as produced by
+ * {@link Triangulation#earClippingTriangulate(List, List)}. Edges shared by
+ * triangles of different winding are kept.
+ *
+ * <h2>Example Usage:</h2>
+ *
+ * <pre>{@code
+ * List<int[]> triangles = Triangulation.earClippingTriangulate(vertices);
+ * ConvexPieces pieces = ConvexDecomposition.hertelMehlhorn(vertices, triangles);
+ * for (int p = 0; p < pieces.pieceCount(); p++) {
+ *     int[] piece = pieces.piece(p);
+ * }
+ * }</pre>
+ */
+public final class ConvexDecomposition {
+    private static final int NO_HALF_EDGE = -1;
+
+    /**
+     * Prevents class instantiation.
+     *
+     * @throws UnsupportedOperationException when called
+     */
+    private ConvexDecomposition() {
+        throw new UnsupportedOperationException("Cannot be instantiated.");
+    }
+
+    /**
+     * Merges triangles into convex polygons.
+     *
+     * @param <T>       the type of vertices, extending {@link Vector2f}
+     * @param vertices  vertices the triangles refer to
+     * @param triangles triangles as {@code int[]} with 3 vertex indices
+     * @return the convex pieces
+     * @throws IllegalArgumentException if a triangle does not have 3 indices
+     *                                  or an index is outside of
+     *                                  {@code vertices}
+     */
+    public static <T extends Vector2f> ConvexPieces hertelMehlhorn(List<T> vertices, List<int[]> triangles) {
+        float[] coordinates = new float[2 * vertices.size()];
+        for (int i = 0; i < vertices.size(); i++) {
+            coordinates[2 * i] = vertices.get(i).x();
+            coordinates[2 * i + 1] = vertices.get(i).y();
+        }
+
+        int[] flatTriangles = new int[3 * triangles.size()];
+        for (int t = 0; t < triangles.size(); t++) {
+            int[] triangle = triangles.get(t);
+            if (triangle.length != 3) {
+                throw new IllegalArgumentException(
+                        String.format("Triangle has %d vertex indices instead of 3", triangle.length));
+            }
+            System.arraycopy(triangle, 0, flatTriangles, 3 * t, 3);
+        }
+
+        return hertelMehlhorn(coordinates, flatTriangles);
+    }
+
+    /**
+     * Merges triangles stored in arrays into convex polygons.
+     *
+     * @param coordinates interleaved x, y vertex coordinates
+     * @param triangles   triangle vertex indices, 3 per triangle
+     * @return the convex pieces
+     * @throws IllegalArgumentException if an index is outside of
+     *                                  {@code coordinates}
+     */
+    public static ConvexPieces hertelMehlhorn(float[] coordinates, int[] triangles) {
+        int vertexCount = coordinates.length / 2;
+        int halfEdgeCount = triangles.length - triangles.length % 3;
+        double area = 0;
+        for (int i = 0; i < halfEdgeCount; i++) {
+            if (triangles[i] < 0 || triangles[i] >= vertexCount) {
+                throw new IllegalArgumentException(
+                        String.format("Vertex index %d is outside of vertex list of length %d", triangles[i],
+                                vertexCount));
+            }
+        }
+        for (int i = 0; i < halfEdgeCount; i += 3) {
+            area += orientation(coordinates, triangles[i], triangles[i + 1], triangles[i + 2]);
+        }
+        float orientation = area >= 0 ? 1 : -1;
+
+        // half-edge h goes from triangles[h] to the next vertex of its triangle
+        int[] next = new int[halfEdgeCount];
+        int[] prev = new int[halfEdgeCount];
+        int[] twins = new int[halfEdgeCount];
+        Map<Long, Integer> halfEdges = new HashMap<>(halfEdgeCount * 2);
+        for (int h = 0; h < halfEdgeCount; h++) {
+            next[h] = h % 3 == 2 ? h - 2 : h + 1;
+            prev[h] = h % 3 == 0 ? h + 2 : h - 1;
+            twins[h] = NO_HALF_EDGE;
+            halfEdges.put(edgeKey(triangles[h], triangles[next[h]]), h);
+        }
+        for (int h = 0; h < halfEdgeCount; h++) {
+            Integer twin = halfEdges.get(edgeKey(triangles[next[h]], triangles[h]));
+            if (twin != null && twins[twin] == NO_HALF_EDGE && twin / 3 != h / 3) {
+                twins[h] = twin;
+                twins[twin] = h;
+            }
+        }
+
+        // merged pieces are tracked as sets of triangles, so a piece never meets itself
+        int[] pieceParents = new int[halfEdgeCount / 3];
+        for (int t = 0; t < pieceParents.length; t++) {
+            pieceParents[t] = t;
+        }
+
+        boolean[] isRemoved = new boolean[halfEdgeCount];
+        for (int h = 0; h < halfEdgeCount; h++) {
+            int twin = twins[h];
+            if (twin < h) {
+                continue;
+            }
+            int piece = findPiece(pieceParents, h / 3);
+            int twinPiece = findPiece(pieceParents, twin / 3);
+            if (piece == twinPiece) {
+                continue;
+            }
+
+            // the ends of the diagonal join the neighbouring edges of both pieces
+            int u = triangles[h];
+            int v = triangles[twin];
+            if (!isConvex(coordinates, orientation, triangles[prev[h]], u, triangles[next[next[twin]]])
+                    || !isConvex(coordinates, orientation, triangles[prev[twin]], v,
+                            triangles[next[next[h]]])) {
+                continue;
+            }
+
+            next[prev[h]] = next[twin];
+            prev[next[twin]] = prev[h];
+            next[prev[twin]] = next[h];
+            prev[next[h]] = prev[twin];
+            isRemoved[h] = true;
+            isRemoved[twin] = true;
+            pieceParents[twinPiece] = piece;
+        }
+
+        // every remaining cycle of half-edges is a piece
+        IntArrayList vertexIndices = new IntArrayList(halfEdgeCount);
+        IntArrayList offsets = new IntArrayList();
+        boolean[] isVisited = new boolean[halfEdgeCount];
+        offsets.add(0);
+        for (int h = 0; h < halfEdgeCount; h++) {
+            if (isRemoved[h] || isVisited[h]) {
+                continue;
+            }
+            for (int i = h; !isVisited[i]; i = next[i]) {
+                isVisited[i] = true;
+                vertexIndices.add(triangles[i]);
+            }
+            offsets.add(vertexIndices.size());
+        }
+
+        return new ConvexPieces(vertexIndices.toArray(), offsets.toArray());
+    }
+
+    private static int findPiece(int[] pieceParents, int triangle) {
+        int piece = triangle;
+        while (pieceParents[piece] != piece) {
+            pieceParents[piece] = pieceParents[pieceParents[piece]];
+            piece = pieceParents[piece];
+        }
+
+        return piece;
+    }
+
+    /**
+     * Checks whether a corner turns with the polygon or is straight. The sign
+     * is exact in double, since an absolute tolerance would let reflex
+     * corners of small polygons pass as convex.
+     */
+    private static boolean isConvex(float[] coordinates, float orientation, int prev, int cur, int next) {
+        return orientation * orientation(coordinates, prev, cur, next) >= 0;
+    }
+
+    private static double orientation(float[] coordinates, int a, int b, int c) {
+        return ((double) coordinates[2 * b] - coordinates[2 * a])
+                * ((double) coordinates[2 * c + 1] - coordinates[2 * a + 1])
+                - ((double) coordinates[2 * c] - coordinates[2 * a])
+                        * ((double) coordinates[2 * b + 1] - coordinates[2 * a + 1]);
+    }
+
+    private static long edgeKey(int from, int to) {
+        return ((long) from << 32) ^ (to & 0xffffffffL);
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.traunin.triangulation;
+
+import java.util.Arrays;
+
+/**
+ * Convex polygons a triangulated polygon was decomposed into.
+ * <p>
+ * Pieces are stored in compressed rows: piece {@code p} consists of
+ * {@code vertexIndices()[offsets()[p]]} up to, but not including,
+ * {@code vertexIndices()[offsets()[p + 1]]}, in the winding of the
+ * triangles.
+ *
+ * @see ConvexDecomposition
+ */
+public final class ConvexPieces {
+    private final int[] vertexIndices;
+    private final int[] offsets;
+
+    ConvexPieces(int[] vertexIndices, int[] offsets) {
+        this.vertexIndices = vertexIndices;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Returns the number of pieces.
+     *
+     * @return the number of convex polygons
+     */
+    public int pieceCount() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Returns the vertex indices of a piece.
+     *
+     * @param piece the piece index
+     * @return vertex indices in order of connection
+     * @throws IndexOutOfBoundsException if the piece does not exist
+     */
+    public int[] piece(int piece) {
+        if (piece < 0 || piece >= pieceCount()) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Piece %d is outside of piece list of length %d", piece, pieceCount()));
+        }
+
+        return Arrays.copyOfRange(vertexIndices, offsets[piece], offsets[piece + 1]);
+    }
+
+    /**
+     * Returns the vertex indices of all pieces, one piece after another.
+     *
+     * @return a copy of the vertex indices
+     */
+    public int[] vertexIndices() {
+        return vertexIndices.clone();
+    }
+
+    /**
+     * Returns the start of every piece in {@link #vertexIndices()}.
+     *
+     * @return a copy of the piece starts, followed by the end of the last
+     *         piece
+     */
+    public int[] offsets() {
+        return offsets.clone();
+    }
+}
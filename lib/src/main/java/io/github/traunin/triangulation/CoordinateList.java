@@ -0,0 +1,64 @@
+package io.github.traunin.triangulation;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * An unmodifiable {@link Vector2f} view over interleaved x, y coordinates.
+ */
+final class CoordinateList extends AbstractList<Vector2f> implements RandomAccess {
+    private final float[] coordinates;
+
+    CoordinateList(float[] coordinates) {
+        this.coordinates = coordinates;
+    }
+
+    @Override
+    public Vector2f get(int index) {
+        return new Point(coordinates[2 * index], coordinates[2 * index + 1]);
+    }
+
+    @Override
+    public int size() {
+        return coordinates.length / 2;
+    }
+
+    /**
+     * An immutable point returned by the view.
+     */
+    private static final class Point implements Vector2f {
+        private final float x;
+        private final float y;
+
+        Point(float x, float y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public float x() {
+            return x;
+        }
+
+        @Override
+        public float y() {
+            return y;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Point point
+                    && Float.compare(x, point.x) == 0 && Float.compare(y, point.y) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Float.hashCode(x) + Float.hashCode(y);
+        }
+
+        @Override
+        public String toString() {
+            return "(" + x + ", " + y + ")";
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.traunin.triangulation;
+
+/**
+ * A raster mask of the pixels covered by triangles.
+ * <p>
+ * Stores one coverage value per pixel, from 0 for uncovered pixels to 255 for
+ * fully covered ones, row by row.
+ *
+ * @see Rasterizer
+ */
+public final class CoverageMask {
+    /**
+     * The coverage of a fully covered pixel.
+     */
+    public static final int FULL_COVERAGE = 255;
+
+    private final int width;
+    private final int height;
+    private final byte[] coverage;
+
+    CoverageMask(int width, int height, byte[] coverage) {
+        this.width = width;
+        this.height = height;
+        this.coverage = coverage;
+    }
+
+    /**
+     * Returns the width of the mask.
+     *
+     * @return the number of pixel columns
+     */
+    public int width() {
+        return width;
+    }
+
+    /**
+     * Returns the height of the mask.
+     *
+     * @return the number of pixel rows
+     */
+    public int height() {
+        return height;
+    }
+
+    /**
+     * Returns the coverage of a pixel.
+     *
+     * @param x the pixel column
+     * @param y the pixel row
+     * @return the coverage in {@code [0; 255]}
+     * @throws IndexOutOfBoundsException if the pixel is outside of the mask
+     */
+    public int coverage(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Pixel (%d, %d) is outside of %dx%d mask", x, y, width, height));
+        }
+
+        return coverage[y * width + x] & 0xff;
+    }
+
+    /**
+     * Returns the coverage of all pixels.
+     *
+     * @return a copy of the coverage values, row by row, as unsigned bytes
+     */
+    public byte[] toByteArray() {
+        return coverage.clone();
+    }
+
+    /**
+     * Returns the runs of covered pixels.
+     * <p>
+     * Every span is stored as 3 consecutive values: the row, the first
+     * covered column and the column after the last covered one. Spans are
+     * ordered by row and column.
+     *
+     * @return an {@code int[]} with 3 values per span
+     */
+    public int[] spans() {
+        IntArrayList spans = new IntArrayList();
+        for (int y = 0; y < height; y++) {
+            int rowStart = y * width;
+            int x = 0;
+            while (x < width) {
+                if (coverage[rowStart + x] == 0) {
+                    x++;
+                    continue;
+                }
+
+                int spanStart = x;
+                while (x < width && coverage[rowStart + x] != 0) {
+                    x++;
+                }
+                spans.add(y);
+                spans.add(spanStart);
+                spans.add(x);
+            }
+        }
+
+        return spans.toArray();
+    }
+}
@@ -0,0 +1,25 @@
+package io.github.traunin.triangulation;
+
+/**
+ * A rule deciding which points are inside of a shape made of several
+ * contours, by the winding number of the point: how many times the contours
+ * go around it counter-clockwise minus how many times clockwise.
+ *
+ * @see Tessellator
+ */
+public enum FillRule {
+    /**
+     * Points with an odd winding number are inside, so overlapping contours
+     * cut holes into each other regardless of their direction.
+     */
+    EVEN_ODD,
+    /**
+     * Points with a winding number other than zero are inside, so holes are
+     * made by contours going in the opposite direction.
+     */
+    NON_ZERO;
+
+    boolean isInside(int windingNumber) {
+        return this == EVEN_ODD ? (windingNumber & 1) != 0 : windingNumber != 0;
+    }
+}
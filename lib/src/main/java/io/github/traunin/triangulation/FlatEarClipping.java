@@ -0,0 +1,350 @@
+package io.github.traunin.triangulation;
+
+/**
+ * An ear clipping implementation working on primitive arrays.
+ * <p>
+ * Used by the APIs that keep vertices as interleaved x, y coordinates. The
+ * polygon is kept as a doubly linked list over ring positions, so clipping an
+ * ear is O(1), and only reflex vertices are tested against a candidate ear,
+ * which makes collinear vertices on the polygon edges harmless. Large
+ * polygons keep their reflex vertices in a uniform grid, so testing an ear
+ * only visits the vertices near it.
+ * <p>
+ * Like {@link Triangulation#earClippingTriangulate(java.util.List)}, vertices
+ * on a straight line are clipped as degenerate triangles, so a polygon of n
+ * vertices always results in n - 2 triangles.
+ */
+final class FlatEarClipping {
+    private static final int REMOVED = -1;
+    // smaller polygons scan their vertices instead of building a grid
+    private static final int MIN_GRID_VERTICES = 64;
+
+    /**
+     * Prevents class instantiation.
+     *
+     * @throws UnsupportedOperationException when called
+     */
+    private FlatEarClipping() {
+        throw new UnsupportedOperationException("Cannot be instantiated.");
+    }
+
+    /**
+     * Triangulates a polygon and appends its triangles.
+     *
+     * @param coordinates interleaved x, y coordinates indexed by vertex index
+     * @param ring        vertex indices in order of connection
+     * @param ringLength  the number of used elements of {@code ring}
+     * @param triangles   the list the triangle vertex indices are appended to
+     * @throws IllegalArgumentException if {@code ringLength} is less than 3
+     * @throws TriangulationException   if no ear can be found
+     */
+    static void triangulate(float[] coordinates, int[] ring, int ringLength, IntArrayList triangles) {
+        int[] ringTriangles = new int[3 * Math.max(ringLength - 2, 0)];
+        triangulate(coordinates, 2, 0, 1, ring, 0, ringLength, ringTriangles, 0);
+        for (int vertexIndex : ringTriangles) {
+            triangles.add(vertexIndex);
+        }
+    }
+
+    /**
+     * Triangulates a polygon with coordinates read from a strided array.
+     * <p>
+     * Vertex {@code v} has its x coordinate at
+     * {@code coordinates[v * stride + xOffset]} and its y coordinate at
+     * {@code coordinates[v * stride + yOffset]}, so a projection of 3D
+     * vertices to a coordinate plane can be triangulated without copying.
+     * Writes exactly {@code 3 * (ringLength - 2)} indices.
+     *
+     * @param coordinates   vertex coordinates
+     * @param stride        the number of coordinates per vertex
+     * @param xOffset       the position of x within a vertex
+     * @param yOffset       the position of y within a vertex
+     * @param ring          vertex indices in order of connection
+     * @param ringStart     the position of the first vertex index in {@code ring}
+     * @param ringLength    the number of vertex indices of the polygon
+     * @param triangles     the array the triangle vertex indices are written to
+     * @param triangleStart the position of the first written index
+     * @throws IllegalArgumentException if {@code ringLength} is less than 3
+     * @throws TriangulationException   if no ear can be found
+     */
+    static void triangulate(float[] coordinates, int stride, int xOffset, int yOffset, int[] ring, int ringStart,
+            int ringLength, int[] triangles, int triangleStart) {
+        if (ringLength < 3) {
+            throw new IllegalArgumentException("Not enough vertex indices for a polygon");
+        }
+
+        Polygon polygon = new Polygon(coordinates, stride, xOffset, yOffset, ring, ringStart, ringLength);
+        int[] prev = new int[ringLength];
+        int[] next = new int[ringLength];
+        for (int i = 0; i < ringLength; i++) {
+            prev[i] = i == 0 ? ringLength - 1 : i - 1;
+            next[i] = i == ringLength - 1 ? 0 : i + 1;
+        }
+
+        float orientation = polygon.signedArea() >= 0 ? 1 : -1;
+        ReflexGrid reflexGrid = ringLength >= MIN_GRID_VERTICES
+                ? new ReflexGrid(polygon, prev, next, orientation)
+                : null;
+        int remaining = ringLength;
+        int current = 0;
+        int stalled = 0;
+        int written = triangleStart;
+
+        while (remaining > 3) {
+            int previous = prev[current];
+            int following = next[current];
+
+            if (isEar(polygon, reflexGrid, prev, next, previous, current, following, orientation)) {
+                triangles[written++] = polygon.vertex(previous);
+                triangles[written++] = polygon.vertex(current);
+                triangles[written++] = polygon.vertex(following);
+                next[previous] = following;
+                prev[following] = previous;
+                prev[current] = REMOVED;
+                remaining--;
+                stalled = 0;
+                current = following;
+                continue;
+            }
+
+            current = following;
+            if (++stalled > remaining) {
+                throw new TriangulationException("Polygon has self-intersections");
+            }
+        }
+
+        triangles[written++] = polygon.vertex(prev[current]);
+        triangles[written++] = polygon.vertex(current);
+        triangles[written] = polygon.vertex(next[current]);
+    }
+
+    /**
+     * Calculates the signed area of a polygon using the shoelace formula.
+     *
+     * @param coordinates interleaved x, y coordinates indexed by vertex index
+     * @param ring        vertex indices in order of connection
+     * @param ringLength  the number of used elements of {@code ring}
+     * @return the area, positive for counter-clockwise polygons
+     */
+    static float signedArea(float[] coordinates, int[] ring, int ringLength) {
+        return new Polygon(coordinates, 2, 0, 1, ring, 0, ringLength).signedArea();
+    }
+
+    private static boolean isEar(Polygon polygon, ReflexGrid reflexGrid, int[] prev, int[] next, int previous,
+            int current, int following, float orientation) {
+        float ax = polygon.x(previous);
+        float ay = polygon.y(previous);
+        float bx = polygon.x(current);
+        float by = polygon.y(current);
+        float cx = polygon.x(following);
+        float cy = polygon.y(following);
+
+        // exact signs in double, an absolute tolerance would clip every corner of a small polygon
+        double adjustedProduct = orientation * orientation(ax, ay, bx, by, cx, cy);
+        if (adjustedProduct < 0) {
+            return false;
+        }
+        // a triangle containing any vertex also contains a reflex one, and a
+        // degenerate triangle on one line is tested for vertices on it too
+        if (reflexGrid == null) {
+            for (int i = next[following]; i != previous; i = next[i]) {
+                if (isBlocking(polygon, prev, next, previous, current, following, orientation, i)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        int firstColumn = reflexGrid.column(Math.min(ax, Math.min(bx, cx)));
+        int lastColumn = reflexGrid.column(Math.max(ax, Math.max(bx, cx)));
+        int firstRow = reflexGrid.row(Math.min(ay, Math.min(by, cy)));
+        int lastRow = reflexGrid.row(Math.max(ay, Math.max(by, cy)));
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int cell = row * reflexGrid.columns + column;
+                for (int k = reflexGrid.cellOffsets[cell]; k < reflexGrid.cellOffsets[cell + 1]; k++) {
+                    int i = reflexGrid.cellPositions[k];
+                    if (prev[i] != REMOVED && i != previous && i != current && i != following
+                            && isBlocking(polygon, prev, next, previous, current, following, orientation, i)) {
+                        return false;
+                    }
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks whether the vertex at a ring position is reflex, or collinear
+     * with its neighbours, and inside of the candidate ear.
+     */
+    private static boolean isBlocking(Polygon polygon, int[] prev, int[] next, int previous, int current,
+            int following, float orientation, int i) {
+        int p = polygon.vertex(i);
+        if (p == polygon.vertex(previous) || p == polygon.vertex(current) || p == polygon.vertex(following)) {
+            return false;
+        }
+
+        float ax = polygon.x(previous);
+        float ay = polygon.y(previous);
+        float bx = polygon.x(current);
+        float by = polygon.y(current);
+        float cx = polygon.x(following);
+        float cy = polygon.y(following);
+        float px = polygon.x(i);
+        float py = polygon.y(i);
+        // the bounds keep collinear vertices beyond a degenerate triangle from blocking it
+        if (px < Math.min(ax, Math.min(bx, cx)) || px > Math.max(ax, Math.max(bx, cx))
+                || py < Math.min(ay, Math.min(by, cy)) || py > Math.max(ay, Math.max(by, cy))) {
+            return false;
+        }
+        double pProduct = orientation * orientation(
+                polygon.x(prev[i]), polygon.y(prev[i]), px, py, polygon.x(next[i]), polygon.y(next[i]));
+
+        return pProduct <= 0 && orientation * orientation(ax, ay, bx, by, px, py) >= 0
+                && orientation * orientation(bx, by, cx, cy, px, py) >= 0
+                && orientation * orientation(cx, cy, ax, ay, px, py) >= 0;
+    }
+
+    private static double orientation(float ax, float ay, float bx, float by, float cx, float cy) {
+        return ((double) bx - ax) * ((double) cy - ay) - ((double) cx - ax) * ((double) by - ay);
+    }
+
+    /**
+     * A uniform grid of the ring positions of the vertices that are reflex or
+     * collinear with their neighbours when clipping starts. Clipping ears
+     * only makes the remaining vertices more convex, so no vertex has to be
+     * added later.
+     */
+    private static final class ReflexGrid {
+        private final float minX;
+        private final float minY;
+        private final int columns;
+        private final int rows;
+        private final float inverseCellWidth;
+        private final float inverseCellHeight;
+        private final int[] cellOffsets;
+        private final int[] cellPositions;
+
+        ReflexGrid(Polygon polygon, int[] prev, int[] next, float orientation) {
+            int ringLength = prev.length;
+            boolean[] isReflex = new boolean[ringLength];
+            int reflexCount = 0;
+            float minX = Float.POSITIVE_INFINITY;
+            float minY = Float.POSITIVE_INFINITY;
+            float maxX = Float.NEGATIVE_INFINITY;
+            float maxY = Float.NEGATIVE_INFINITY;
+            for (int i = 0; i < ringLength; i++) {
+                float x = polygon.x(i);
+                float y = polygon.y(i);
+                isReflex[i] = orientation * orientation(polygon.x(prev[i]), polygon.y(prev[i]), x, y,
+                        polygon.x(next[i]), polygon.y(next[i])) <= 0;
+                if (isReflex[i]) {
+                    reflexCount++;
+                    minX = Math.min(minX, x);
+                    minY = Math.min(minY, y);
+                    maxX = Math.max(maxX, x);
+                    maxY = Math.max(maxY, y);
+                }
+            }
+            if (reflexCount == 0) {
+                minX = minY = maxX = maxY = 0;
+            }
+
+            // about one cell per reflex vertex, keeping cells close to square
+            float width = Math.max(maxX - minX, Float.MIN_NORMAL);
+            float height = Math.max(maxY - minY, Float.MIN_NORMAL);
+            double cellSize = Math.sqrt((double) width * height / Math.max(reflexCount, 1));
+            this.minX = minX;
+            this.minY = minY;
+            columns = (int) Math.max(1, Math.min(Math.ceil(width / cellSize), Math.max(reflexCount, 1)));
+            rows = (int) Math.max(1, Math.min(Math.ceil(height / cellSize), Math.max(reflexCount, 1)));
+            inverseCellWidth = columns / width;
+            inverseCellHeight = rows / height;
+
+            // count reflex vertices per cell, then fill them in compressed rows
+            cellOffsets = new int[columns * rows + 1];
+            for (int i = 0; i < ringLength; i++) {
+                if (isReflex[i]) {
+                    cellOffsets[cell(polygon, i) + 1]++;
+                }
+            }
+            for (int cell = 0; cell < columns * rows; cell++) {
+                cellOffsets[cell + 1] += cellOffsets[cell];
+            }
+            cellPositions = new int[reflexCount];
+            int[] fill = new int[columns * rows];
+            for (int i = 0; i < ringLength; i++) {
+                if (isReflex[i]) {
+                    int cell = cell(polygon, i);
+                    cellPositions[cellOffsets[cell] + fill[cell]++] = i;
+                }
+            }
+        }
+
+        private int cell(Polygon polygon, int position) {
+            return row(polygon.y(position)) * columns + column(polygon.x(position));
+        }
+
+        int column(float x) {
+            return clamp((int) Math.floor((x - minX) * inverseCellWidth), columns);
+        }
+
+        int row(float y) {
+            return clamp((int) Math.floor((y - minY) * inverseCellHeight), rows);
+        }
+
+        private static int clamp(int value, int count) {
+            return Math.max(0, Math.min(value, count - 1));
+        }
+    }
+
+    /**
+     * The coordinates of a polygon, addressed by position in the ring.
+     */
+    private static final class Polygon {
+        private final float[] coordinates;
+        private final int stride;
+        private final int xOffset;
+        private final int yOffset;
+        private final int[] ring;
+        private final int ringStart;
+        private final int ringLength;
+
+        Polygon(float[] coordinates, int stride, int xOffset, int yOffset, int[] ring, int ringStart,
+                int ringLength) {
+            this.coordinates = coordinates;
+            this.stride = stride;
+            this.xOffset = xOffset;
+            this.yOffset = yOffset;
+            this.ring = ring;
+            this.ringStart = ringStart;
+            this.ringLength = ringLength;
+        }
+
+        int vertex(int position) {
+            return ring[ringStart + position];
+        }
+
+        float x(int position) {
+            return coordinates[vertex(position) * stride + xOffset];
+        }
+
+        float y(int position) {
+            return coordinates[vertex(position) * stride + yOffset];
+        }
+
+        float signedArea() {
+            double area = 0;
+            int prevPosition = ringLength - 1;
+            for (int i = 0; i < ringLength; i++) {
+                area += (double) x(prevPosition) * y(i) - (double) x(i) * y(prevPosition);
+                prevPosition = i;
+            }
+
+            return (float) (area / 2);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package io.github.traunin.triangulation;
+
+import java.util.List;
+
+/**
+ * The contours of a {@link VectorPath} with its curves flattened into lines.
+ * <p>
+ * The points of all contours are stored one contour after another in a
+ * single growable array. The same instance can be passed to
+ * {@link VectorPath#flatten(float, FlattenedPath)} again and again, so
+ * flattening many paths does not allocate once the arrays are large enough.
+ *
+ * @see VectorPath
+ */
+public final class FlattenedPath {
+    private final FloatArrayList coordinates = new FloatArrayList();
+    private final IntArrayList contourOffsets = new IntArrayList();
+
+    /**
+     * Creates an empty result to flatten paths into.
+     */
+    public FlattenedPath() {
+        contourOffsets.add(0);
+    }
+
+    /**
+     * Returns the number of points of all contours.
+     *
+     * @return the number of points
+     */
+    public int vertexCount() {
+        return contourOffsets.get(contourOffsets.size() - 1);
+    }
+
+    /**
+     * Returns the number of contours.
+     *
+     * @return the number of contours with at least 3 points
+     */
+    public int contourCount() {
+        return contourOffsets.size() - 1;
+    }
+
+    /**
+     * Returns the points of all contours.
+     *
+     * @return an unmodifiable {@code List} of the points, one contour after
+     *         another
+     */
+    public List<Vector2f> vertices() {
+        return new CoordinateList(coordinates());
+    }
+
+    /**
+     * Returns the coordinates of the points of all contours.
+     *
+     * @return a copy of the interleaved x, y coordinates, one contour after
+     *         another
+     */
+    public float[] coordinates() {
+        return coordinates.toArray();
+    }
+
+    /**
+     * Returns where every contour starts.
+     *
+     * @return a copy of the index of the first point of every contour,
+     *         followed by the number of points
+     */
+    public int[] contourOffsets() {
+        return contourOffsets.toArray();
+    }
+
+    /**
+     * Triangulates the region filled by the contours.
+     *
+     * @param fillRule the rule deciding which regions are filled
+     * @return the triangulation of the filled region, with the points of the
+     *         contours as its first vertices
+     * @see Tessellator#tessellate(float[], int[], int[], FillRule)
+     */
+    public Tessellation tessellate(FillRule fillRule) {
+        int vertexCount = vertexCount();
+        if (vertexCount == 0) {
+            return new Tessellation(new float[0], new int[0], 0);
+        }
+        int[] contourIndices = new int[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            contourIndices[i] = i;
+        }
+
+        return Tessellator.tessellate(coordinates(), contourIndices, contourOffsets(), fillRule);
+    }
+
+    void clear() {
+        coordinates.clear();
+        contourOffsets.clear();
+        contourOffsets.add(0);
+    }
+
+    boolean isContourEmpty() {
+        return coordinates.size() == 2 * vertexCount();
+    }
+
+    void addPoint(float x, float y) {
+        int size = coordinates.size();
+        if (!isContourEmpty() && coordinates.get(size - 2) == x && coordinates.get(size - 1) == y) {
+            return;
+        }
+        coordinates.add(x);
+        coordinates.add(y);
+    }
+
+    void endContour() {
+        int start = 2 * vertexCount();
+        int size = coordinates.size();
+        // the contour is closed implicitly, so a last point on the first one is dropped
+        if (size - start > 2 && coordinates.get(size - 2) == coordinates.get(start)
+                && coordinates.get(size - 1) == coordinates.get(start + 1)) {
+            size -= 2;
+        }
+        if (size - start < 6) {
+            size = start;
+        } else {
+            contourOffsets.add(size / 2);
+        }
+        coordinates.truncate(size);
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.traunin.triangulation;
+
+import java.util.Arrays;
+
+/**
+ * A growable {@code float} array, avoiding boxing of large coordinate lists.
+ */
+final class FloatArrayList {
+    private float[] elements;
+    private int size;
+
+    FloatArrayList() {
+        this(16);
+    }
+
+    FloatArrayList(int capacity) {
+        elements = new float[Math.max(capacity, 4)];
+    }
+
+    void add(float element) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size * 2);
+        }
+        elements[size++] = element;
+    }
+
+    float get(int index) {
+        return elements[index];
+    }
+
+    void set(int index, float element) {
+        elements[index] = element;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void truncate(int size) {
+        this.size = size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    float[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+}
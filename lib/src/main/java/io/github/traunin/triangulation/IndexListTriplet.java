@@ -20,9 +20,11 @@ class IndexListTriplet <T> {
     }
 
     public static <T> IndexListTriplet<T> fromCurInList(int current, List<Integer> indices, List<T> list) {
-        int prev = indices.get(current - 1);
+        int size = indices.size();
+        // the first and the last index are neighbours
+        int prev = indices.get((current + size - 1) % size);
         int cur = indices.get(current);
-        int next = indices.get(current + 1);
+        int next = indices.get((current + 1) % size);
         return new IndexListTriplet<>(prev, cur, next, list);
     }
 
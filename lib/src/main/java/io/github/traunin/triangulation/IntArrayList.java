@@ -0,0 +1,50 @@
+package io.github.traunin.triangulation;
+
+import java.util.Arrays;
+
+/**
+ * A growable {@code int} array, avoiding boxing of large index lists.
+ */
+final class IntArrayList {
+    private int[] elements;
+    private int size;
+
+    IntArrayList() {
+        this(16);
+    }
+
+    IntArrayList(int capacity) {
+        elements = new int[Math.max(capacity, 4)];
+    }
+
+    void add(int element) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size * 2);
+        }
+        elements[size++] = element;
+    }
+
+    int get(int index) {
+        return elements[index];
+    }
+
+    void set(int index, int element) {
+        elements[index] = element;
+    }
+
+    int removeLast() {
+        return elements[--size];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.traunin.triangulation;
+
+/**
+ * An open addressing hash map from {@code long} to {@code int}, avoiding
+ * boxing of keys and values.
+ */
+final class LongIntHashMap {
+    private final int missingValue;
+    private long[] keys;
+    private int[] values;
+    private boolean[] occupied;
+    private int shift;
+    private int size;
+
+    /**
+     * @param expectedSize the number of entries to fit without growing
+     * @param missingValue the value returned for keys not in the map
+     */
+    LongIntHashMap(int expectedSize, int missingValue) {
+        this.missingValue = missingValue;
+        // at most half full, so probe chains stay short
+        int capacity = Integer.highestOneBit(Math.max(2 * expectedSize - 1, 7)) << 1;
+        allocate(capacity);
+    }
+
+    int get(long key) {
+        int mask = keys.length - 1;
+        for (int slot = slot(key); occupied[slot]; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+
+        return missingValue;
+    }
+
+    /**
+     * @return the previous value of {@code key}, or the missing value
+     */
+    int put(long key, int value) {
+        int mask = keys.length - 1;
+        int slot = slot(key);
+        for (; occupied[slot]; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        occupied[slot] = true;
+        if (++size > keys.length / 2) {
+            grow();
+        }
+
+        return missingValue;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int slot(long key) {
+        // Fibonacci hashing, the high bits of the product depend on all bits of the key
+        return (int) ((key * 0x9e3779b97f4a7c15L) >>> shift);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        occupied = new boolean[capacity];
+        shift = Long.numberOfLeadingZeros(capacity - 1);
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldOccupied = occupied;
+        allocate(2 * oldKeys.length);
+
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldOccupied[i]) {
+                int slot = slot(oldKeys[i]);
+                while (occupied[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                occupied[slot] = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package io.github.traunin.triangulation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A compact binary file of triangulated polygons, read through memory
+ * mapping.
+ * <p>
+ * The file stores a shared vertex buffer and the triangles of every polygon.
+ * Triangle vertex indices are stored as differences from the previous index
+ * of the polygon in a variable length encoding, so indices of neighbouring
+ * vertices take a single byte. An offset table gives the start of every
+ * polygon, so the triangles of any polygon can be read without reading the
+ * others.
+ * <p>
+ * All values are little-endian:
+ * <ul>
+ * <li>a header of 4 ints: {@link #MAGIC}, {@link #VERSION}, the number of
+ * vertices and the number of polygons</li>
+ * <li>interleaved x, y vertex coordinates as floats</li>
+ * <li>the polygon offset table as longs: the start of every polygon in the
+ * polygon data, followed by the end of the last polygon</li>
+ * <li>the polygon data: the number of triangles of every polygon, followed by
+ * the zigzag encoded differences between its consecutive triangle vertex
+ * indices, starting from 0, all as unsigned LEB128 varints</li>
+ * </ul>
+ * An opened file maps the vertex buffer, the offset table and the polygon
+ * data, so only the accessed pages are read from disk.
+ *
+ * <h2>Example Usage:</h2>
+ *
+ * <pre>{@code
+ * MeshFile.write(path, vertices, Arrays.asList(firstTriangles, secondTriangles));
+ * MeshFile meshFile = MeshFile.open(path);
+ * List<int[]> triangles = meshFile.triangles(1);
+ * }</pre>
+ */
+public final class MeshFile {
+    /**
+     * The first int of every mesh file, "TRIM" in ASCII.
+     */
+    public static final int MAGIC = 0x4D495254;
+    /**
+     * The version of the format written by {@link #write}.
+     */
+    public static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 16;
+    private static final int WRITE_BUFFER_BYTES = 1 << 16;
+    private static final int MAX_VARINT_BYTES = 5;
+
+    private final int vertexCount;
+    private final int polygonCount;
+    private final FloatBuffer coordinates;
+    private final LongBuffer polygonOffsets;
+    private final ByteBuffer polygonData;
+
+    private MeshFile(int vertexCount, int polygonCount, FloatBuffer coordinates, LongBuffer polygonOffsets,
+            ByteBuffer polygonData) {
+        this.vertexCount = vertexCount;
+        this.polygonCount = polygonCount;
+        this.coordinates = coordinates;
+        this.polygonOffsets = polygonOffsets;
+        this.polygonData = polygonData;
+    }
+
+    /**
+     * Writes triangulated polygons to a file.
+     *
+     * @param <T>               the type of vertices, extending
+     *                          {@link Vector2f}
+     * @param path              the file to write, replaced if it exists
+     * @param vertices          vertices the triangles refer to
+     * @param polygonsTriangles the triangles of every polygon, as
+     *                          {@code int[]} with 3 vertex indices
+     * @throws IOException              if the file cannot be written
+     * @throws IllegalArgumentException if a triangle does not have 3 indices
+     *                                  or an index is outside of
+     *                                  {@code vertices}
+     */
+    public static <T extends Vector2f> void write(Path path, List<T> vertices, List<List<int[]>> polygonsTriangles)
+            throws IOException {
+        float[] coordinates = new float[2 * vertices.size()];
+        for (int i = 0; i < vertices.size(); i++) {
+            coordinates[2 * i] = vertices.get(i).x();
+            coordinates[2 * i + 1] = vertices.get(i).y();
+        }
+
+        int[] triangleOffsets = new int[polygonsTriangles.size() + 1];
+        for (int polygon = 0; polygon < polygonsTriangles.size(); polygon++) {
+            triangleOffsets[polygon + 1] = triangleOffsets[polygon] + polygonsTriangles.get(polygon).size();
+        }
+        int[] triangles = new int[3 * triangleOffsets[polygonsTriangles.size()]];
+        int written = 0;
+        for (List<int[]> polygonTriangles : polygonsTriangles) {
+            for (int[] triangle : polygonTriangles) {
+                if (triangle.length != 3) {
+                    throw new IllegalArgumentException(
+                            String.format("Triangle has %d vertex indices instead of 3", triangle.length));
+                }
+                System.arraycopy(triangle, 0, triangles, written, 3);
+                written += 3;
+            }
+        }
+
+        write(path, coordinates, triangles, triangleOffsets);
+    }
+
+    /**
+     * Writes triangulated polygons stored in flat arrays to a file.
+     * <p>
+     * The triangles of polygon {@code p} are triangles
+     * {@code triangleOffsets[p]} up to, but not including,
+     * {@code triangleOffsets[p + 1]}, each taking 3 elements of
+     * {@code triangles}.
+     *
+     * @param path            the file to write, replaced if it exists
+     * @param coordinates     interleaved x, y vertex coordinates
+     * @param triangles       triangle vertex indices, 3 per triangle
+     * @param triangleOffsets the first triangle of every polygon, followed by
+     *                        the end of the last polygon
+     * @throws IOException              if the file cannot be written
+     * @throws IllegalArgumentException if the offsets are outside of
+     *                                  {@code triangles} or an index is
+     *                                  outside of {@code coordinates}
+     */
+    public static void write(Path path, float[] coordinates, int[] triangles, int[] triangleOffsets)
+            throws IOException {
+        int vertexCount = coordinates.length / 2;
+        int polygonCount = triangleOffsets.length - 1;
+        if (polygonCount < 0) {
+            throw new IllegalArgumentException("Triangle offsets are empty");
+        }
+        for (int polygon = 0; polygon < polygonCount; polygon++) {
+            if (triangleOffsets[polygon] < 0 || triangleOffsets[polygon] > triangleOffsets[polygon + 1]
+                    || 3L * triangleOffsets[polygon + 1] > triangles.length) {
+                throw new IllegalArgumentException(
+                        String.format("Triangles of polygon %d are outside of triangle list", polygon));
+            }
+        }
+        for (int i = 3 * triangleOffsets[0]; i < 3 * triangleOffsets[polygonCount]; i++) {
+            if (triangles[i] < 0 || triangles[i] >= vertexCount) {
+                throw new IllegalArgumentException(
+                        String.format("Vertex index %d is outside of vertex list of length %d", triangles[i],
+                                vertexCount));
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(vertexCount).putInt(polygonCount);
+            for (int i = 0; i < 2 * vertexCount; i++) {
+                flushIfFull(channel, buffer, Float.BYTES);
+                buffer.putFloat(coordinates[i]);
+            }
+            flush(channel, buffer);
+
+            // the offset table is written once the polygon sizes are known
+            long tableStart = channel.position();
+            long dataStart = tableStart + (long) Long.BYTES * (polygonCount + 1);
+            long[] polygonOffsets = new long[polygonCount + 1];
+            channel.position(dataStart);
+
+            long dataSize = 0;
+            for (int polygon = 0; polygon < polygonCount; polygon++) {
+                polygonOffsets[polygon] = dataSize;
+                flushIfFull(channel, buffer, MAX_VARINT_BYTES);
+                dataSize += putVarint(buffer, triangleOffsets[polygon + 1] - triangleOffsets[polygon]);
+
+                int previousIndex = 0;
+                for (int i = 3 * triangleOffsets[polygon]; i < 3 * triangleOffsets[polygon + 1]; i++) {
+                    flushIfFull(channel, buffer, MAX_VARINT_BYTES);
+                    int delta = triangles[i] - previousIndex;
+                    dataSize += putVarint(buffer, (delta << 1) ^ (delta >> 31));
+                    previousIndex = triangles[i];
+                }
+            }
+            polygonOffsets[polygonCount] = dataSize;
+            flush(channel, buffer);
+
+            channel.position(tableStart);
+            for (long polygonOffset : polygonOffsets) {
+                flushIfFull(channel, buffer, Long.BYTES);
+                buffer.putLong(polygonOffset);
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Opens a mesh file, mapping it into memory.
+     * <p>
+     * Nothing but the header and the offset table is read until the vertices
+     * or triangles are accessed. Every offset is checked, so a corrupted table
+     * fails here rather than when a polygon is read.
+     *
+     * @param path the file to open
+     * @return the opened mesh file
+     * @throws IOException if the file cannot be read, is not a mesh file, is
+     *                     truncated or has a corrupted offset table
+     */
+    public static MeshFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                throw new IOException("File is too short for a mesh file");
+            }
+
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException("File is not a mesh file");
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new IOException(String.format("Unsupported mesh file version %d", header.getInt(4)));
+            }
+            int vertexCount = header.getInt(8);
+            int polygonCount = header.getInt(12);
+            if (vertexCount < 0 || polygonCount < 0) {
+                throw new IOException("Mesh file header is corrupted");
+            }
+
+            long tableStart = HEADER_BYTES + 2L * Float.BYTES * vertexCount;
+            long dataStart = tableStart + (long) Long.BYTES * (polygonCount + 1);
+            if (dataStart > size) {
+                throw new IOException("Mesh file is truncated");
+            }
+
+            FloatBuffer coordinates = map(channel, HEADER_BYTES, tableStart - HEADER_BYTES).asFloatBuffer();
+            LongBuffer polygonOffsets = map(channel, tableStart, dataStart - tableStart).asLongBuffer();
+            long previousOffset = 0;
+            for (int polygon = 0; polygon <= polygonCount; polygon++) {
+                long polygonOffset = polygonOffsets.get(polygon);
+                if (polygonOffset < previousOffset) {
+                    throw new IOException(String.format("Mesh file offset of polygon %d is corrupted", polygon));
+                }
+                previousOffset = polygonOffset;
+            }
+            if (polygonOffsets.get(polygonCount) > size - dataStart) {
+                throw new IOException("Mesh file is truncated");
+            }
+            ByteBuffer polygonData = map(channel, dataStart, polygonOffsets.get(polygonCount));
+
+            return new MeshFile(vertexCount, polygonCount, coordinates, polygonOffsets, polygonData);
+        }
+    }
+
+    /**
+     * Returns the number of vertices.
+     *
+     * @return the number of vertices in the vertex buffer
+     */
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * Returns the number of polygons.
+     *
+     * @return the number of triangulated polygons
+     */
+    public int polygonCount() {
+        return polygonCount;
+    }
+
+    /**
+     * Returns the vertex buffer without copying it.
+     *
+     * @return a read-only buffer of interleaved x, y vertex coordinates
+     */
+    public FloatBuffer coordinates() {
+        return coordinates.asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns the number of triangles of a polygon.
+     *
+     * @param polygon the polygon index
+     * @return the number of triangles
+     * @throws IndexOutOfBoundsException if the polygon is outside of the file
+     */
+    public int triangleCount(int polygon) {
+        checkPolygon(polygon);
+
+        return getVarint(polygonData.duplicate(), polygonOffsets.get(polygon));
+    }
+
+    /**
+     * Reads the triangles of a polygon.
+     *
+     * @param polygon the polygon index
+     * @return a {@code List} consisting of {@code int[]} with 3 indices,
+     *         corresponding to the vertices of a triangle
+     * @throws IndexOutOfBoundsException if the polygon is outside of the file
+     */
+    public List<int[]> triangles(int polygon) {
+        int[] indices = new int[3 * triangleCount(polygon)];
+        triangles(polygon, indices, 0);
+
+        List<int[]> triangles = new ArrayList<>(indices.length / 3);
+        for (int i = 0; i < indices.length; i += 3) {
+            triangles.add(new int[] { indices[i], indices[i + 1], indices[i + 2] });
+        }
+
+        return triangles;
+    }
+
+    /**
+     * Reads the triangle vertex indices of a polygon into an array.
+     *
+     * @param polygon the polygon index
+     * @param out     the array the indices are written to, 3 per triangle
+     * @param offset  the position of the first written index
+     * @return the number of written indices
+     * @throws IndexOutOfBoundsException if the polygon is outside of the file
+     *                                   or {@code out} is too short
+     */
+    public int triangles(int polygon, int[] out, int offset) {
+        checkPolygon(polygon);
+
+        // the buffer position is used as the read cursor, so every call gets its own
+        ByteBuffer data = polygonData.duplicate();
+        int indexCount = 3 * getVarint(data, polygonOffsets.get(polygon));
+        if (offset < 0 || out.length - offset < indexCount) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Array of length %d has no space for %d indices at %d", out.length, indexCount,
+                            offset));
+        }
+
+        int index = 0;
+        for (int i = 0; i < indexCount; i++) {
+            int zigzag = getVarint(data, data.position());
+            index += (zigzag >>> 1) ^ -(zigzag & 1);
+            out[offset + i] = index;
+        }
+
+        return indexCount;
+    }
+
+    private void checkPolygon(int polygon) {
+        if (polygon < 0 || polygon >= polygonCount) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Polygon %d is outside of polygon list of length %d", polygon, polygonCount));
+        }
+    }
+
+    private static ByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException(String.format("Mesh file section of %d bytes is too large to map", size));
+        }
+
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static void flushIfFull(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush(channel, buffer);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Writes a varint, returning the number of written bytes.
+     */
+    private static int putVarint(ByteBuffer buffer, int value) {
+        int bytes = 1;
+        while ((value & ~0x7f) != 0) {
+            buffer.put((byte) ((value & 0x7f) | 0x80));
+            value >>>= 7;
+            bytes++;
+        }
+        buffer.put((byte) value);
+
+        return bytes;
+    }
+
+    /**
+     * Reads a varint at a position, leaving the buffer position after it.
+     */
+    private static int getVarint(ByteBuffer buffer, long position) {
+        buffer.position((int) position);
+        int value = 0;
+        for (int shift = 0;; shift += 7) {
+            byte current = buffer.get();
+            value |= (current & 0x7f) << shift;
+            if (current >= 0) {
+                return value;
+            }
+        }
+    }
+}
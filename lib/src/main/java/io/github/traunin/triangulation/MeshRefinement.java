@@ -0,0 +1,432 @@
+package io.github.traunin.triangulation;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A utility class for refining triangulations into triangles of bounded
+ * shape and size, as needed by finite element methods and terrain shading.
+ * <p>
+ * Implements Ruppert's Delaunay refinement with Chew's circumcenter
+ * insertion. The triangulation is first made Delaunay by edge flips, keeping
+ * its boundary. Then boundary segments with a vertex inside of their
+ * diametral circle are split, and circumcenters are inserted into triangles
+ * whose smallest angle is below the requested minimum or whose area is above
+ * the requested maximum. A circumcenter that would land beyond or next to a
+ * segment splits that segment instead. Segments ending at an original vertex
+ * are split at a power of two distance from it, so that splits near small
+ * boundary angles fall onto concentric circles.
+ * <p>
+ * Angles up to about 20 degrees are always reached, and in practice up to
+ * 33 degrees, the largest minimum angle accepted, since above it the
+ * refinement usually adds points until the limit is reached. Split points
+ * are rounded to floats, and a split whose rounded point would invert a
+ * triangle is skipped. Angles between two boundary segments cannot be
+ * improved, so triangles whose smallest angle lies between two segments are
+ * left as they are. The number of Steiner points can be limited, in which case the
+ * refinement stops early and some triangles may remain bad.
+ * <p>
+ * The mesh is kept in primitive arrays and every insertion is local, so
+ * triangulations of millions of triangles can be refined.
+ *
+ * <h2>Example Usage:</h2>
+ *
+ * <pre>{@code
+ * RefinedMesh mesh = MeshRefinement.refine(vertices, vertexIndices, 25, 0.01f);
+ * List<Vector2f> meshVertices = mesh.vertices();
+ * List<int[]> triangles = mesh.triangles();
+ * }</pre>
+ */
+public final class MeshRefinement {
+    /**
+     * The Steiner point limit used when none is given.
+     */
+    public static final int DEFAULT_MAX_STEINER_POINTS = 10_000_000;
+    private static final float MAX_MIN_ANGLE = 33;
+    // edges shorter than this fraction of the mesh size are not split further
+    private static final double MIN_LENGTH_FRACTION = 0x1p-20;
+
+    /**
+     * Prevents class instantiation.
+     *
+     * @throws UnsupportedOperationException when called
+     */
+    private MeshRefinement() {
+        throw new UnsupportedOperationException("Cannot be instantiated.");
+    }
+
+    /**
+     * Triangulates a polygon without self-intersections and refines the
+     * triangulation.
+     *
+     * @param <T>           the type of vertices, extending {@link Vector2f}
+     * @param vertices      vertices to select from
+     * @param vertexIndices vertex indices in order of connection
+     * @param minAngle      the smallest allowed triangle angle in degrees
+     * @param maxArea       the largest allowed triangle area, or
+     *                      {@code Float.POSITIVE_INFINITY} for no limit
+     * @return the refined mesh
+     * @throws IllegalArgumentException if {@code vertexIndices} size is less
+     *                                  than 3, an index is outside of
+     *                                  {@code vertices}, {@code minAngle} is
+     *                                  outside of [0, 33] or {@code maxArea}
+     *                                  is not positive
+     * @throws TriangulationException   if the polygon has self-intersections
+     */
+    public static <T extends Vector2f> RefinedMesh refine(List<T> vertices, List<Integer> vertexIndices,
+            float minAngle, float maxArea) {
+        return refine(vertices, vertexIndices, minAngle, maxArea, DEFAULT_MAX_STEINER_POINTS);
+    }
+
+    /**
+     * Triangulates a polygon without self-intersections and refines the
+     * triangulation, adding at most the given number of vertices.
+     *
+     * @param <T>              the type of vertices, extending {@link Vector2f}
+     * @param vertices         vertices to select from
+     * @param vertexIndices    vertex indices in order of connection
+     * @param minAngle         the smallest allowed triangle angle in degrees
+     * @param maxArea          the largest allowed triangle area, or
+     *                         {@code Float.POSITIVE_INFINITY} for no limit
+     * @param maxSteinerPoints the largest number of vertices to add
+     * @return the refined mesh
+     * @throws IllegalArgumentException if {@code vertexIndices} size is less
+     *                                  than 3, an index is outside of
+     *                                  {@code vertices}, {@code minAngle} is
+     *                                  outside of [0, 33], {@code maxArea}
+     *                                  is not positive or
+     *                                  {@code maxSteinerPoints} is negative
+     * @throws TriangulationException   if the polygon has self-intersections
+     */
+    public static <T extends Vector2f> RefinedMesh refine(List<T> vertices, List<Integer> vertexIndices,
+            float minAngle, float maxArea, int maxSteinerPoints) {
+        float[] coordinates = new float[2 * vertices.size()];
+        for (int i = 0; i < vertices.size(); i++) {
+            coordinates[2 * i] = vertices.get(i).x();
+            coordinates[2 * i + 1] = vertices.get(i).y();
+        }
+
+        int ringLength = vertexIndices.size();
+        if (ringLength < 3) {
+            throw new IllegalArgumentException("Not enough vertex indices for a polygon");
+        }
+        int[] ring = new int[ringLength];
+        for (int i = 0; i < ringLength; i++) {
+            ring[i] = vertexIndices.get(i);
+        }
+        checkIndices(ring, vertices.size());
+
+        IntArrayList triangles = new IntArrayList(3 * ringLength);
+        FlatEarClipping.triangulate(coordinates, ring, ringLength, triangles);
+
+        return refine(coordinates, triangles.toArray(), minAngle, maxArea, maxSteinerPoints);
+    }
+
+    /**
+     * Refines a triangulation stored in arrays.
+     * <p>
+     * The edges used by only one triangle form the boundary, which is kept.
+     * The triangles are expected to have the same winding and not to
+     * overlap, and keep their winding in the result.
+     *
+     * @param coordinates       interleaved x, y vertex coordinates
+     * @param triangles         triangle vertex indices, 3 per triangle
+     * @param minAngle          the smallest allowed triangle angle in degrees
+     * @param maxArea           the largest allowed triangle area, or
+     *                          {@code Float.POSITIVE_INFINITY} for no limit
+     * @param maxSteinerPoints  the largest number of vertices to add
+     * @return the refined mesh
+     * @throws IllegalArgumentException if an index is outside of
+     *                                  {@code coordinates}, {@code minAngle}
+     *                                  is outside of [0, 33],
+     *                                  {@code maxArea} is not positive or
+     *                                  {@code maxSteinerPoints} is negative
+     */
+    public static RefinedMesh refine(float[] coordinates, int[] triangles, float minAngle, float maxArea,
+            int maxSteinerPoints) {
+        if (!(minAngle >= 0 && minAngle <= MAX_MIN_ANGLE)) {
+            throw new IllegalArgumentException(
+                    String.format("Minimum angle %s is outside of [0, 33] degrees", minAngle));
+        }
+        if (!(maxArea > 0)) {
+            throw new IllegalArgumentException(String.format("Maximum area %s is not positive", maxArea));
+        }
+        if (maxSteinerPoints < 0) {
+            throw new IllegalArgumentException(
+                    String.format("Steiner point limit %d is negative", maxSteinerPoints));
+        }
+        int triangleIndexCount = triangles.length - triangles.length % 3;
+        int[] usedTriangles = Arrays.copyOf(triangles, triangleIndexCount);
+        checkIndices(usedTriangles, coordinates.length / 2);
+
+        ConstrainedMesh mesh = new ConstrainedMesh(coordinates, usedTriangles);
+        mesh.makeDelaunay();
+        Refiner refiner = new Refiner(mesh, minAngle, maxArea, maxSteinerPoints);
+        refiner.run();
+
+        return new RefinedMesh(mesh.coordinates(), mesh.triangles(),
+                mesh.vertexCount() - coordinates.length / 2);
+    }
+
+    private static void checkIndices(int[] indices, int vertexCount) {
+        for (int index : indices) {
+            if (index < 0 || index >= vertexCount) {
+                throw new IllegalArgumentException(
+                        String.format("Vertex index %d is outside of vertex list of length %d", index,
+                                vertexCount));
+            }
+        }
+    }
+
+    /**
+     * The refinement state: the mesh and the queues of encroached segments
+     * and possibly bad triangles. Segments are queued by their end vertices
+     * and triangles by index, and both are checked again when taken, since
+     * later insertions may have changed them.
+     */
+    private static final class Refiner {
+        private final ConstrainedMesh mesh;
+        private final double sinSquared;
+        private final double maxDoubleArea;
+        private final int maxVertexCount;
+        private final int originalVertexCount;
+        private final double minLengthSquared;
+        private final IntArrayList segments = new IntArrayList();
+        private final IntArrayList badTriangles = new IntArrayList();
+        private final IntArrayList fan = new IntArrayList();
+
+        Refiner(ConstrainedMesh mesh, float minAngle, float maxArea, int maxSteinerPoints) {
+            this.mesh = mesh;
+            double sin = Math.sin(Math.toRadians(minAngle));
+            sinSquared = sin * sin;
+            maxDoubleArea = 2.0 * maxArea;
+            originalVertexCount = mesh.vertexCount();
+            maxVertexCount = (int) Math.min(Integer.MAX_VALUE, (long) originalVertexCount + maxSteinerPoints);
+
+            double minX = Double.POSITIVE_INFINITY;
+            double minY = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY;
+            double maxY = Double.NEGATIVE_INFINITY;
+            for (int v = 0; v < originalVertexCount; v++) {
+                minX = Math.min(minX, mesh.x(v));
+                minY = Math.min(minY, mesh.y(v));
+                maxX = Math.max(maxX, mesh.x(v));
+                maxY = Math.max(maxY, mesh.y(v));
+            }
+            double minLength = MIN_LENGTH_FRACTION * Math.max(maxX - minX, maxY - minY);
+            minLengthSquared = minLength * minLength;
+        }
+
+        void run() {
+            for (int h = 0; h < 3 * mesh.triangleCount(); h++) {
+                if (mesh.isConstrained(h) && h > mesh.twin(h) && isEncroached(h)) {
+                    queueSegment(h);
+                }
+            }
+            for (int t = mesh.triangleCount() - 1; t >= 0; t--) {
+                badTriangles.add(t);
+            }
+
+            while (mesh.vertexCount() < maxVertexCount) {
+                if (segments.size() > 0) {
+                    int b = segments.removeLast();
+                    int a = segments.removeLast();
+                    int halfEdge = mesh.findEdge(a, b);
+                    if (halfEdge != ConstrainedMesh.NO_HALF_EDGE && mesh.isConstrained(halfEdge)
+                            && isEncroached(halfEdge)) {
+                        splitSegment(halfEdge);
+                    }
+                } else if (badTriangles.size() > 0) {
+                    int triangle = badTriangles.removeLast();
+                    if (isBad(triangle)) {
+                        splitTriangle(triangle);
+                    }
+                } else {
+                    break;
+                }
+            }
+        }
+
+        /**
+         * Checks whether the vertex opposite of a segment on either side
+         * lies inside of the circle with the segment as its diameter.
+         */
+        private boolean isEncroached(int halfEdge) {
+            int a = mesh.origin(halfEdge);
+            int b = mesh.origin(ConstrainedMesh.next(halfEdge));
+            if (isInDiametralCircle(a, b, mesh.origin(ConstrainedMesh.prev(halfEdge)))) {
+                return true;
+            }
+            int twin = mesh.twin(halfEdge);
+
+            return twin != ConstrainedMesh.NO_HALF_EDGE
+                    && isInDiametralCircle(a, b, mesh.origin(ConstrainedMesh.prev(twin)));
+        }
+
+        private boolean isInDiametralCircle(int a, int b, int vertex) {
+            return isInDiametralCircle(a, b, mesh.x(vertex), mesh.y(vertex));
+        }
+
+        private boolean isInDiametralCircle(int a, int b, double x, double y) {
+            return (mesh.x(a) - x) * (mesh.x(b) - x) + (mesh.y(a) - y) * (mesh.y(b) - y) < 0;
+        }
+
+        private void queueSegment(int halfEdge) {
+            segments.add(mesh.origin(halfEdge));
+            segments.add(mesh.origin(ConstrainedMesh.next(halfEdge)));
+        }
+
+        private boolean isBad(int triangle) {
+            if (triangle >= mesh.triangleCount()) {
+                return false;
+            }
+            int h = 3 * triangle;
+            int a = mesh.origin(h);
+            int b = mesh.origin(h + 1);
+            int c = mesh.origin(h + 2);
+            double doubleArea = mesh.orientation(a, b, mesh.x(c), mesh.y(c));
+            if (!(doubleArea > 0)) {
+                return false;
+            }
+            if (doubleArea > maxDoubleArea) {
+                return true;
+            }
+
+            // the smallest angle is opposite of the shortest edge, and its sine is 2 * area / (p * q)
+            double[] lengths = { squaredLength(a, b), squaredLength(b, c), squaredLength(c, a) };
+            int shortest = 0;
+            for (int k = 1; k < 3; k++) {
+                if (lengths[k] < lengths[shortest]) {
+                    shortest = k;
+                }
+            }
+            if (lengths[shortest] < minLengthSquared) {
+                return false;
+            }
+            double product = lengths[(shortest + 1) % 3] * lengths[(shortest + 2) % 3];
+            if (doubleArea * doubleArea >= sinSquared * product) {
+                return false;
+            }
+
+            // an angle between two segments cannot be improved
+            return !(mesh.isConstrained(h + (shortest + 1) % 3) && mesh.isConstrained(h + (shortest + 2) % 3));
+        }
+
+        private double squaredLength(int a, int b) {
+            double dx = mesh.x(b) - mesh.x(a);
+            double dy = mesh.y(b) - mesh.y(a);
+
+            return dx * dx + dy * dy;
+        }
+
+        private boolean splitSegment(int halfEdge) {
+            int a = mesh.origin(halfEdge);
+            int b = mesh.origin(ConstrainedMesh.next(halfEdge));
+            double lengthSquared = squaredLength(a, b);
+            if (lengthSquared < 4 * minLengthSquared) {
+                return false;
+            }
+
+            double position = 0.5;
+            boolean isAOriginal = a < originalVertexCount;
+            if (isAOriginal != (b < originalVertexCount)) {
+                // concentric shells around the original vertex
+                double length = Math.sqrt(lengthSquared);
+                double shell = Math.pow(2, Math.rint(Math.log(length / 2) / Math.log(2)));
+                position = isAOriginal ? shell / length : 1 - shell / length;
+            }
+            float x = (float) (mesh.x(a) + position * (mesh.x(b) - mesh.x(a)));
+            float y = (float) (mesh.y(a) + position * (mesh.y(b) - mesh.y(a)));
+            if (!isSplittable(halfEdge, x, y)) {
+                return false;
+            }
+
+            int vertex = mesh.addVertex(x, y);
+            mesh.insertOnEdge(halfEdge, vertex);
+            queueAround(vertex);
+
+            return true;
+        }
+
+        /**
+         * Checks whether the triangles on both sides of a segment keep their
+         * winding when it is split at a point. The rounded split point may
+         * be off the segment, and then beyond another edge of a thin
+         * triangle.
+         */
+        private boolean isSplittable(int halfEdge, double x, double y) {
+            int a = mesh.origin(halfEdge);
+            int b = mesh.origin(ConstrainedMesh.next(halfEdge));
+            int c = mesh.origin(ConstrainedMesh.prev(halfEdge));
+            if (!(mesh.orientation(c, a, x, y) > 0 && mesh.orientation(b, c, x, y) > 0)) {
+                return false;
+            }
+            int twin = mesh.twin(halfEdge);
+            if (twin == ConstrainedMesh.NO_HALF_EDGE) {
+                return true;
+            }
+            int d = mesh.origin(ConstrainedMesh.prev(twin));
+
+            return mesh.orientation(d, b, x, y) > 0 && mesh.orientation(a, d, x, y) > 0;
+        }
+
+        private void splitTriangle(int triangle) {
+            int h = 3 * triangle;
+            int a = mesh.origin(h);
+            int b = mesh.origin(h + 1);
+            int c = mesh.origin(h + 2);
+            double bx = mesh.x(b) - mesh.x(a);
+            double by = mesh.y(b) - mesh.y(a);
+            double cx = mesh.x(c) - mesh.x(a);
+            double cy = mesh.y(c) - mesh.y(a);
+            double denominator = 2 * (bx * cy - by * cx);
+            double bLength = bx * bx + by * by;
+            double cLength = cx * cx + cy * cy;
+            float x = (float) (mesh.x(a) + (cy * bLength - by * cLength) / denominator);
+            float y = (float) (mesh.y(a) + (bx * cLength - cx * bLength) / denominator);
+
+            int located = mesh.locate(triangle, x, y);
+            if (located == ConstrainedMesh.NOT_FOUND) {
+                return;
+            }
+            if (located < 0) {
+                // the circumcenter is beyond a segment
+                if (splitSegment(-1 - located)) {
+                    badTriangles.add(triangle);
+                }
+                return;
+            }
+            for (int halfEdge = 3 * located; halfEdge < 3 * located + 3; halfEdge++) {
+                if (mesh.isConstrained(halfEdge) && isInDiametralCircle(mesh.origin(halfEdge),
+                        mesh.origin(ConstrainedMesh.next(halfEdge)), x, y)) {
+                    if (splitSegment(halfEdge)) {
+                        badTriangles.add(triangle);
+                    }
+                    return;
+                }
+            }
+
+            int vertex = mesh.insertPoint(located, x, y);
+            if (vertex != ConstrainedMesh.NO_VERTEX) {
+                queueAround(vertex);
+            }
+        }
+
+        /**
+         * Queues the triangles around a new vertex and the segments they
+         * make encroached.
+         */
+        private void queueAround(int vertex) {
+            mesh.collectTriangles(vertex, fan);
+            for (int i = 0; i < fan.size(); i++) {
+                int triangle = fan.get(i);
+                badTriangles.add(triangle);
+                for (int halfEdge = 3 * triangle; halfEdge < 3 * triangle + 3; halfEdge++) {
+                    if (mesh.isConstrained(halfEdge) && isEncroached(halfEdge)) {
+                        queueSegment(halfEdge);
+                    }
+                }
+            }
+        }
+    }
+}
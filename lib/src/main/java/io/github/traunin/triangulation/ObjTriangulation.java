@@ -0,0 +1,454 @@
+package io.github.traunin.triangulation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * A utility class for triangulating the faces of Wavefront OBJ files.
+ * <p>
+ * The input file is memory-mapped and split into chunks at line boundaries,
+ * which are processed in parallel. The first pass reads the vertex
+ * positions, the second one rewrites the chunks, replacing every face with
+ * more than 3 vertices by its triangles and copying every other line as is.
+ * Texture coordinate and normal references of the face vertices are kept.
+ * <p>
+ * Only a bounded number of chunks is held in memory at a time, so memory use
+ * does not grow with the number of faces. Vertex positions are kept in memory
+ * for the whole conversion, as faces may refer to any previous vertex.
+ * <p>
+ * Faces are triangulated with {@link PlanarFaceTriangulation}: convex faces
+ * as fans, other faces by ear clipping. Faces that cannot be ear clipped are
+ * written as fans and counted in
+ * {@link ConversionStatistics#fallbackFaceCount()}.
+ *
+ * <h2>Example Usage:</h2>
+ *
+ * <pre>{@code
+ * ConversionStatistics statistics = ObjTriangulation.triangulate(Path.of("in.obj"), Path.of("out.obj"));
+ * System.out.println(statistics.facesPerSecond());
+ * }</pre>
+ */
+public final class ObjTriangulation {
+    private static final int DEFAULT_CHUNK_SIZE = 8 << 20;
+    private static final int BOUNDARY_WINDOW = 4096;
+
+    /**
+     * Prevents class instantiation.
+     *
+     * @throws UnsupportedOperationException when called
+     */
+    private ObjTriangulation() {
+        throw new UnsupportedOperationException("Cannot be instantiated.");
+    }
+
+    /**
+     * Triangulates the faces of an OBJ file.
+     *
+     * @param input  the OBJ file to read
+     * @param output the OBJ file to write, replaced if it exists
+     * @return statistics of the conversion
+     * @throws IOException if a file cannot be read or written, or the input
+     *                     is malformed
+     */
+    public static ConversionStatistics triangulate(Path input, Path output) throws IOException {
+        return triangulate(input, output, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Triangulates the faces of an OBJ file, using chunks of a given size.
+     *
+     * @param input     the OBJ file to read
+     * @param output    the OBJ file to write, replaced if it exists
+     * @param chunkSize the approximate number of bytes per chunk
+     * @return statistics of the conversion
+     * @throws IOException if a file cannot be read or written, or the input
+     *                     is malformed
+     */
+    static ConversionStatistics triangulate(Path input, Path output, int chunkSize) throws IOException {
+        long startTime = System.nanoTime();
+
+        try (FileChannel inputChannel = FileChannel.open(input, StandardOpenOption.READ);
+                FileChannel outputChannel = FileChannel.open(output, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long[] chunkBounds = chunkBounds(inputChannel, chunkSize);
+            int chunkCount = chunkBounds.length - 1;
+
+            float[][] chunkPositions = new float[chunkCount][];
+            runChunks(0, chunkCount,
+                    (chunk) -> chunkPositions[chunk] = readPositions(inputChannel, chunkBounds[chunk],
+                            chunkBounds[chunk + 1]));
+
+            int[] positionsBefore = new int[chunkCount + 1];
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                positionsBefore[chunk + 1] = positionsBefore[chunk] + chunkPositions[chunk].length / 3;
+            }
+            float[] xyz = new float[3 * positionsBefore[chunkCount]];
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                System.arraycopy(chunkPositions[chunk], 0, xyz, 3 * positionsBefore[chunk],
+                        chunkPositions[chunk].length);
+                chunkPositions[chunk] = null;
+            }
+
+            long faceCount = 0;
+            long triangleCount = 0;
+            long fallbackFaceCount = 0;
+            int batchSize = 2 * ForkJoinPool.getCommonPoolParallelism();
+            for (int batchStart = 0; batchStart < chunkCount; batchStart += batchSize) {
+                int batchEnd = Math.min(batchStart + batchSize, chunkCount);
+                ConvertedChunk[] converted = new ConvertedChunk[batchEnd - batchStart];
+                int firstChunk = batchStart;
+                runChunks(batchStart, batchEnd,
+                        (chunk) -> converted[chunk - firstChunk] = convertChunk(inputChannel, chunkBounds[chunk],
+                                chunkBounds[chunk + 1], xyz, positionsBefore[chunk]));
+
+                // chunks are written in input order
+                for (ConvertedChunk chunk : converted) {
+                    ByteBuffer buffer = ByteBuffer.wrap(chunk.data);
+                    while (buffer.hasRemaining()) {
+                        outputChannel.write(buffer);
+                    }
+                    faceCount += chunk.faceCount;
+                    triangleCount += chunk.triangleCount;
+                    fallbackFaceCount += chunk.fallbackFaceCount;
+                }
+            }
+
+            return new ConversionStatistics(xyz.length / 3, faceCount, triangleCount, fallbackFaceCount,
+                    System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Runs a task for every chunk in parallel, rethrowing its
+     * {@link IOException}.
+     */
+    private static void runChunks(int firstChunk, int endChunk, ChunkTask task) throws IOException {
+        try {
+            IntStream.range(firstChunk, endChunk).parallel().forEach((chunk) -> {
+                try {
+                    task.run(chunk);
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    /**
+     * Splits the file into chunks of about {@code chunkSize} bytes, each
+     * ending right after a line break or at the end of the file.
+     *
+     * @return chunk starts followed by the file size
+     */
+    private static long[] chunkBounds(FileChannel channel, int chunkSize) throws IOException {
+        long size = channel.size();
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+
+        ByteBuffer window = ByteBuffer.allocate(BOUNDARY_WINDOW);
+        long position = chunkSize;
+        while (position < size) {
+            long lineEnd = -1;
+            for (long windowStart = position; lineEnd < 0 && windowStart < size; windowStart += BOUNDARY_WINDOW) {
+                window.clear();
+                int read = channel.read(window, windowStart);
+                for (int i = 0; i < read; i++) {
+                    if (window.get(i) == '\n') {
+                        lineEnd = windowStart + i + 1;
+                        break;
+                    }
+                }
+            }
+
+            if (lineEnd < 0 || lineEnd >= size) {
+                break;
+            }
+            bounds.add(lineEnd);
+            position = lineEnd + chunkSize;
+        }
+        bounds.add(size);
+
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static byte[] mapChunk(FileChannel channel, long start, long end) throws IOException {
+        long length = end - start;
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException(String.format("Line at byte %d is too long", start));
+        }
+
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        byte[] bytes = new byte[(int) length];
+        mapped.get(bytes);
+
+        return bytes;
+    }
+
+    private static float[] readPositions(FileChannel channel, long start, long end) throws IOException {
+        byte[] bytes = mapChunk(channel, start, end);
+        FloatArrayList positions = new FloatArrayList();
+        LineReader reader = new LineReader(bytes, start);
+
+        while (reader.nextLine()) {
+            if (!reader.isKeyword('v')) {
+                continue;
+            }
+            for (int i = 0; i < 3; i++) {
+                if (!reader.nextToken()) {
+                    throw reader.error("Vertex has less than 3 coordinates");
+                }
+                positions.add(reader.tokenAsFloat());
+            }
+        }
+
+        return positions.toArray();
+    }
+
+    private static ConvertedChunk convertChunk(FileChannel channel, long start, long end, float[] xyz,
+            int positionsBefore) throws IOException {
+        byte[] bytes = mapChunk(channel, start, end);
+        ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length + bytes.length / 2);
+        LineReader reader = new LineReader(bytes, start);
+        int positionCount = positionsBefore;
+        int vertexCount = xyz.length / 3;
+        ConvertedChunk converted = new ConvertedChunk();
+
+        IntArrayList tokenStarts = new IntArrayList();
+        IntArrayList tokenEnds = new IntArrayList();
+        FloatArrayList faceXyz = new FloatArrayList();
+
+        while (reader.nextLine()) {
+            if (reader.isKeyword('v')) {
+                positionCount++;
+            }
+            if (!reader.isKeyword('f')) {
+                reader.copyLine(output);
+                continue;
+            }
+
+            tokenStarts.clear();
+            tokenEnds.clear();
+            faceXyz.clear();
+            while (reader.nextToken()) {
+                int position = reader.tokenAsPositionIndex(positionCount);
+                if (position < 0 || position >= vertexCount) {
+                    throw reader.error(String.format("Vertex index %d is outside of vertex list of length %d",
+                            position, vertexCount));
+                }
+                tokenStarts.add(reader.tokenStart());
+                tokenEnds.add(reader.tokenEnd());
+                faceXyz.add(xyz[3 * position]);
+                faceXyz.add(xyz[3 * position + 1]);
+                faceXyz.add(xyz[3 * position + 2]);
+            }
+
+            int faceLength = tokenStarts.size();
+            if (faceLength < 3) {
+                throw reader.error("Face has less than 3 vertices");
+            }
+            converted.faceCount++;
+            converted.triangleCount += faceLength - 2;
+            if (faceLength == 3) {
+                reader.copyLine(output);
+                continue;
+            }
+
+            // triangulate face corners, so repeated vertices keep their own references
+            int[] corners = IntStream.range(0, faceLength).toArray();
+            int[] triangles = new int[3 * (faceLength - 2)];
+            try {
+                PlanarFaceTriangulation.triangulateFace(faceXyz.toArray(), corners, 0, faceLength, triangles, 0);
+            } catch (TriangulationException exception) {
+                converted.fallbackFaceCount++;
+                for (int i = 2; i < faceLength; i++) {
+                    triangles[3 * (i - 2)] = 0;
+                    triangles[3 * (i - 2) + 1] = i - 1;
+                    triangles[3 * (i - 2) + 2] = i;
+                }
+            }
+
+            for (int i = 0; i < triangles.length; i += 3) {
+                output.write('f');
+                for (int j = 0; j < 3; j++) {
+                    int corner = triangles[i + j];
+                    output.write(' ');
+                    output.write(bytes, tokenStarts.get(corner), tokenEnds.get(corner) - tokenStarts.get(corner));
+                }
+                output.write('\n');
+            }
+        }
+
+        converted.data = output.toByteArray();
+
+        return converted;
+    }
+
+    /**
+     * A task processing one chunk.
+     */
+    @FunctionalInterface
+    private interface ChunkTask {
+        void run(int chunk) throws IOException;
+    }
+
+    /**
+     * The converted bytes of a chunk and its counters.
+     */
+    private static final class ConvertedChunk {
+        private byte[] data;
+        private long faceCount;
+        private long triangleCount;
+        private long fallbackFaceCount;
+    }
+
+    /**
+     * Reads lines and whitespace separated tokens of a chunk.
+     */
+    private static final class LineReader {
+        private final byte[] bytes;
+        private final long fileOffset;
+        private int lineStart;
+        private int lineEnd;
+        private int nextLineStart;
+        private int tokenStart;
+        private int tokenEnd;
+        private boolean isSingleCharacterKeyword;
+
+        LineReader(byte[] bytes, long fileOffset) {
+            this.bytes = bytes;
+            this.fileOffset = fileOffset;
+        }
+
+        boolean nextLine() {
+            if (nextLineStart >= bytes.length) {
+                return false;
+            }
+
+            lineStart = nextLineStart;
+            lineEnd = lineStart;
+            while (lineEnd < bytes.length && bytes[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            nextLineStart = lineEnd + 1;
+            // comments end the data of a line
+            for (int i = lineStart; i < lineEnd; i++) {
+                if (bytes[i] == '#') {
+                    lineEnd = i;
+                    break;
+                }
+            }
+            while (lineEnd > lineStart && isWhitespace(bytes[lineEnd - 1])) {
+                lineEnd--;
+            }
+
+            tokenEnd = lineStart;
+            isSingleCharacterKeyword = nextToken() && tokenEnd - tokenStart == 1;
+
+            return true;
+        }
+
+        boolean isKeyword(char keyword) {
+            return isSingleCharacterKeyword && bytes[keywordStart()] == keyword;
+        }
+
+        private int keywordStart() {
+            int start = lineStart;
+            while (isWhitespace(bytes[start])) {
+                start++;
+            }
+
+            return start;
+        }
+
+        boolean nextToken() {
+            tokenStart = tokenEnd;
+            while (tokenStart < lineEnd && isWhitespace(bytes[tokenStart])) {
+                tokenStart++;
+            }
+            if (tokenStart >= lineEnd) {
+                return false;
+            }
+
+            tokenEnd = tokenStart;
+            while (tokenEnd < lineEnd && !isWhitespace(bytes[tokenEnd])) {
+                tokenEnd++;
+            }
+
+            return true;
+        }
+
+        int tokenStart() {
+            return tokenStart;
+        }
+
+        int tokenEnd() {
+            return tokenEnd;
+        }
+
+        float tokenAsFloat() throws IOException {
+            String token = new String(bytes, tokenStart, tokenEnd - tokenStart, StandardCharsets.ISO_8859_1);
+            try {
+                return Float.parseFloat(token);
+            } catch (NumberFormatException exception) {
+                throw error(String.format("Invalid number %s", token));
+            }
+        }
+
+        /**
+         * Parses the position reference of a face vertex token.
+         *
+         * @param positionCount the number of positions defined before the line
+         * @return the zero-based position index
+         */
+        int tokenAsPositionIndex(int positionCount) throws IOException {
+            int i = tokenStart;
+            boolean isNegative = i < tokenEnd && bytes[i] == '-';
+            if (isNegative) {
+                i++;
+            }
+
+            long value = 0;
+            int digitsStart = i;
+            while (i < tokenEnd && bytes[i] >= '0' && bytes[i] <= '9' && value <= Integer.MAX_VALUE) {
+                value = value * 10 + (bytes[i] - '0');
+                i++;
+            }
+            if (i == digitsStart || (i < tokenEnd && bytes[i] != '/') || value == 0 || value > Integer.MAX_VALUE) {
+                throw error(String.format("Invalid face vertex %s",
+                        new String(bytes, tokenStart, tokenEnd - tokenStart, StandardCharsets.ISO_8859_1)));
+            }
+
+            // OBJ indices start at 1, negative ones count back from the last position
+            return isNegative ? (int) (positionCount - value) : (int) (value - 1);
+        }
+
+        void copyLine(ByteArrayOutputStream output) {
+            int end = Math.min(nextLineStart, bytes.length);
+            output.write(bytes, lineStart, end - lineStart);
+            if (end == bytes.length && (end == lineStart || bytes[end - 1] != '\n')) {
+                output.write('\n');
+            }
+        }
+
+        IOException error(String message) {
+            return new IOException(String.format("%s at byte %d", message, fileOffset + lineStart));
+        }
+
+        private static boolean isWhitespace(byte character) {
+            return character == ' ' || character == '\t' || character == '\r';
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package io.github.traunin.triangulation;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * A utility class for triangulating polygons stored outside of the Java heap.
+ * <p>
+ * Vertex coordinates, vertex indices and triangles are passed in NIO buffers,
+ * which may be direct or memory-mapped, and all working data of the
+ * triangulation is allocated in direct buffers too. The heap usage does not
+ * depend on the polygon size, so rings with tens of millions of vertices can
+ * be triangulated without large heap or long garbage collection pauses.
+ * Direct memory is limited by {@code -XX:MaxDirectMemorySize}, which defaults
+ * to the maximum heap size.
+ * <p>
+ * The ear clipping follows the one used for coordinate arrays, such as in
+ * {@link PlanarFaceTriangulation}, but keeps the reflex vertices in a uniform
+ * grid, so testing an ear only visits the vertices near it. About 40 bytes of
+ * direct memory are used per vertex.
+ *
+ * <h2>Example Usage:</h2>
+ *
+ * <pre>{@code
+ * FloatBuffer coordinates = FileChannel.open(path).map(MapMode.READ_ONLY, 0, size)
+ *         .order(ByteOrder.LITTLE_ENDIAN)
+ *         .asFloatBuffer();
+ * IntBuffer triangles = OffHeapTriangulation.earClippingTriangulate(coordinates);
+ * }</pre>
+ */
+public final class OffHeapTriangulation {
+    private static final int REMOVED = -1;
+    private static final int NO_VERTEX = -1;
+
+    /**
+     * Prevents class instantiation.
+     *
+     * @throws UnsupportedOperationException when called
+     */
+    private OffHeapTriangulation() {
+        throw new UnsupportedOperationException("Cannot be instantiated.");
+    }
+
+    /**
+     * Triangulates a polygon with vertices in order of connection.
+     * <p>
+     * The remaining elements of {@code coordinates} are the interleaved x, y
+     * coordinates of the vertices. The buffer position is not changed.
+     *
+     * @param coordinates interleaved x, y vertex coordinates
+     * @return a direct buffer with 3 vertex indices per triangle, ready to be
+     *         read
+     * @throws IllegalArgumentException if there are less than 3 vertices
+     * @throws TriangulationException   if the polygon has self-intersections
+     */
+    public static IntBuffer earClippingTriangulate(FloatBuffer coordinates) {
+        int vertexCount = coordinates.remaining() / 2;
+        if (vertexCount < 3) {
+            throw new IllegalArgumentException("Not enough vertex indices for a polygon");
+        }
+
+        IntBuffer vertexIndices = allocateInts(vertexCount);
+        for (int i = 0; i < vertexCount; i++) {
+            vertexIndices.put(i, i);
+        }
+
+        return earClippingTriangulate(coordinates, vertexIndices);
+    }
+
+    /**
+     * Triangulates a polygon selected from vertices.
+     * <p>
+     * Reads the remaining elements of both buffers without changing their
+     * positions. Vertex index {@code v} refers to the coordinates at
+     * {@code 2 * v} and {@code 2 * v + 1} after the position of
+     * {@code coordinates}.
+     *
+     * @param coordinates   interleaved x, y vertex coordinates
+     * @param vertexIndices vertex indices in order of connection
+     * @return a direct buffer with 3 vertex indices per triangle, ready to be
+     *         read
+     * @throws IllegalArgumentException if there are less than 3 vertex
+     *                                  indices or an index is outside of
+     *                                  {@code coordinates}
+     * @throws TriangulationException   if the polygon has self-intersections
+     */
+    public static IntBuffer earClippingTriangulate(FloatBuffer coordinates, IntBuffer vertexIndices) {
+        if (vertexIndices.remaining() < 3) {
+            throw new IllegalArgumentException("Not enough vertex indices for a polygon");
+        }
+
+        IntBuffer triangles = allocateInts(3L * (vertexIndices.remaining() - 2));
+        earClippingTriangulate(coordinates, vertexIndices, triangles);
+        triangles.flip();
+
+        return triangles;
+    }
+
+    /**
+     * Triangulates a polygon selected from vertices into a given buffer.
+     * <p>
+     * Reads the remaining elements of {@code coordinates} and
+     * {@code vertexIndices} without changing their positions. Writes
+     * {@code 3 * (n - 2)} vertex indices for a polygon of n vertices at the
+     * position of {@code triangles}, advancing it.
+     *
+     * @param coordinates   interleaved x, y vertex coordinates
+     * @param vertexIndices vertex indices in order of connection
+     * @param triangles     the buffer the triangle vertex indices are written
+     *                      to
+     * @throws IllegalArgumentException if there are less than 3 vertex
+     *                                  indices, an index is outside of
+     *                                  {@code coordinates} or
+     *                                  {@code triangles} has not enough space
+     * @throws TriangulationException   if the polygon has self-intersections
+     */
+    public static void earClippingTriangulate(FloatBuffer coordinates, IntBuffer vertexIndices,
+            IntBuffer triangles) {
+        FloatBuffer vertices = coordinates.slice();
+        IntBuffer ring = vertexIndices.slice();
+        int ringLength = ring.remaining();
+        if (ringLength < 3) {
+            throw new IllegalArgumentException("Not enough vertex indices for a polygon");
+        }
+        if (triangles.remaining() < 3L * (ringLength - 2)) {
+            throw new IllegalArgumentException(String.format("Triangle buffer has space for %d indices, %d needed",
+                    triangles.remaining(), 3L * (ringLength - 2)));
+        }
+
+        int vertexCount = vertices.remaining() / 2;
+        FloatBuffer ringCoordinates = allocateFloats(2L * ringLength);
+        for (int i = 0; i < ringLength; i++) {
+            int vertexIndex = ring.get(i);
+            if (vertexIndex < 0 || vertexIndex >= vertexCount) {
+                throw new IllegalArgumentException(
+                        String.format("Vertex index %d is outside of vertex list of length %d", vertexIndex,
+                                vertexCount));
+            }
+            ringCoordinates.put(2 * i, vertices.get(2 * vertexIndex));
+            ringCoordinates.put(2 * i + 1, vertices.get(2 * vertexIndex + 1));
+        }
+
+        new EarClipper(ringCoordinates, ring, ringLength).clip(triangles);
+    }
+
+    private static IntBuffer allocateInts(long count) {
+        return allocate(4 * count).asIntBuffer();
+    }
+
+    private static FloatBuffer allocateFloats(long count) {
+        return allocate(4 * count).asFloatBuffer();
+    }
+
+    private static ByteBuffer allocate(long bytes) {
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format("Polygon needs a buffer of %d bytes", bytes));
+        }
+
+        return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Ear clipping over a doubly linked list of ring positions, with the
+     * reflex vertices indexed in a uniform grid.
+     */
+    private static final class EarClipper {
+        private final FloatBuffer coordinates;
+        private final IntBuffer ring;
+        private final int ringLength;
+        private final IntBuffer prev;
+        private final IntBuffer next;
+        private final float orientation;
+
+        private float minX;
+        private float minY;
+        private int columns;
+        private int rows;
+        private float inverseCellWidth;
+        private float inverseCellHeight;
+        private IntBuffer cellHeads;
+        private IntBuffer nextInCell;
+
+        EarClipper(FloatBuffer coordinates, IntBuffer ring, int ringLength) {
+            this.coordinates = coordinates;
+            this.ring = ring;
+            this.ringLength = ringLength;
+
+            prev = allocateInts(ringLength);
+            next = allocateInts(ringLength);
+            double area = 0;
+            for (int i = 0; i < ringLength; i++) {
+                int prevPosition = i == 0 ? ringLength - 1 : i - 1;
+                prev.put(i, prevPosition);
+                next.put(i, i == ringLength - 1 ? 0 : i + 1);
+                area += (double) x(prevPosition) * y(i) - (double) x(i) * y(prevPosition);
+            }
+            orientation = area >= 0 ? 1 : -1;
+
+            buildReflexGrid();
+        }
+
+        private float x(int position) {
+            return coordinates.get(2 * position);
+        }
+
+        private float y(int position) {
+            return coordinates.get(2 * position + 1);
+        }
+
+        private boolean isReflex(int position) {
+            int previous = prev.get(position);
+            int following = next.get(position);
+
+            return orientation * orientation(x(previous), y(previous), x(position), y(position),
+                    x(following), y(following)) <= 0;
+        }
+
+        /**
+         * Indexes the vertices that are reflex or collinear with their
+         * neighbours. Clipping ears only makes the remaining vertices more
+         * convex, so no vertex has to be added later.
+         */
+        private void buildReflexGrid() {
+            int reflexCount = 0;
+            float maxX = Float.NEGATIVE_INFINITY;
+            float maxY = Float.NEGATIVE_INFINITY;
+            minX = Float.POSITIVE_INFINITY;
+            minY = Float.POSITIVE_INFINITY;
+            for (int i = 0; i < ringLength; i++) {
+                if (isReflex(i)) {
+                    reflexCount++;
+                    minX = Math.min(minX, x(i));
+                    minY = Math.min(minY, y(i));
+                    maxX = Math.max(maxX, x(i));
+                    maxY = Math.max(maxY, y(i));
+                }
+            }
+            if (reflexCount == 0) {
+                minX = minY = maxX = maxY = 0;
+            }
+
+            // about one cell per reflex vertex, keeping cells close to square
+            float width = Math.max(maxX - minX, Float.MIN_NORMAL);
+            float height = Math.max(maxY - minY, Float.MIN_NORMAL);
+            double cellSize = Math.sqrt((double) width * height / Math.max(reflexCount, 1));
+            columns = (int) Math.max(1, Math.min(Math.ceil(width / cellSize), Math.max(reflexCount, 1)));
+            rows = (int) Math.max(1, Math.min(Math.ceil(height / cellSize), Math.max(reflexCount, 1)));
+            inverseCellWidth = columns / width;
+            inverseCellHeight = rows / height;
+
+            cellHeads = allocateInts((long) columns * rows);
+            for (int cell = 0; cell < columns * rows; cell++) {
+                cellHeads.put(cell, NO_VERTEX);
+            }
+            nextInCell = allocateInts(ringLength);
+            for (int i = 0; i < ringLength; i++) {
+                if (isReflex(i)) {
+                    int cell = row(y(i)) * columns + column(x(i));
+                    nextInCell.put(i, cellHeads.get(cell));
+                    cellHeads.put(cell, i);
+                }
+            }
+        }
+
+        private int column(float x) {
+            return clamp((int) Math.floor((x - minX) * inverseCellWidth), columns);
+        }
+
+        private int row(float y) {
+            return clamp((int) Math.floor((y - minY) * inverseCellHeight), rows);
+        }
+
+        private static int clamp(int value, int count) {
+            return Math.max(0, Math.min(value, count - 1));
+        }
+
+        void clip(IntBuffer triangles) {
+            int remaining = ringLength;
+            int current = 0;
+            int stalled = 0;
+
+            while (remaining > 3) {
+                int previous = prev.get(current);
+                int following = next.get(current);
+
+                if (isEar(previous, current, following)) {
+                    triangles.put(ring.get(previous));
+                    triangles.put(ring.get(current));
+                    triangles.put(ring.get(following));
+                    next.put(previous, following);
+                    prev.put(following, previous);
+                    prev.put(current, REMOVED);
+                    remaining--;
+                    stalled = 0;
+                    current = following;
+                    continue;
+                }
+
+                current = following;
+                if (++stalled > remaining) {
+                    throw new TriangulationException("Polygon has self-intersections");
+                }
+            }
+
+            triangles.put(ring.get(prev.get(current)));
+            triangles.put(ring.get(current));
+            triangles.put(ring.get(next.get(current)));
+        }
+
+        private boolean isEar(int previous, int current, int following) {
+            int a = ring.get(previous);
+            int b = ring.get(current);
+            int c = ring.get(following);
+            float ax = x(previous);
+            float ay = y(previous);
+            float bx = x(current);
+            float by = y(current);
+            float cx = x(following);
+            float cy = y(following);
+
+            // exact signs in double, an absolute tolerance would clip every corner of a small polygon
+            if (orientation * orientation(ax, ay, bx, by, cx, cy) < 0) {
+                return false;
+            }
+
+            // a triangle containing any vertex also contains a reflex one, and a
+            // degenerate triangle on one line is tested for vertices on it too
+            int firstColumn = column(Math.min(ax, Math.min(bx, cx)));
+            int lastColumn = column(Math.max(ax, Math.max(bx, cx)));
+            int firstRow = row(Math.min(ay, Math.min(by, cy)));
+            int lastRow = row(Math.max(ay, Math.max(by, cy)));
+            for (int row = firstRow; row <= lastRow; row++) {
+                for (int column = firstColumn; column <= lastColumn; column++) {
+                    for (int i = cellHeads.get(row * columns + column); i != NO_VERTEX; i = nextInCell.get(i)) {
+                        if (prev.get(i) == REMOVED || i == previous || i == current || i == following) {
+                            continue;
+                        }
+                        int p = ring.get(i);
+                        if (p == a || p == b || p == c) {
+                            continue;
+                        }
+
+                        if (isReflex(i) && isInside(ax, ay, bx, by, cx, cy, x(i), y(i))) {
+                            return false;
+                        }
+                    }
+                }
+            }
+
+            return true;
+        }
+
+        /**
+         * Checks whether a point is inside of a candidate ear or on its
+         * edges. The bounds keep collinear vertices beyond a degenerate ear
+         * from blocking it.
+         */
+        private boolean isInside(float ax, float ay, float bx, float by, float cx, float cy, float px, float py) {
+            if (px < Math.min(ax, Math.min(bx, cx)) || px > Math.max(ax, Math.max(bx, cx))
+                    || py < Math.min(ay, Math.min(by, cy)) || py > Math.max(ay, Math.max(by, cy))) {
+                return false;
+            }
+
+            return orientation * orientation(ax, ay, bx, by, px, py) >= 0
+                    && orientation * orientation(bx, by, cx, cy, px, py) >= 0
+                    && orientation * orientation(cx, cy, ax, ay, px, py) >= 0;
+        }
+
+        private static double orientation(float ax, float ay, float bx, float by, float cx, float cy) {
+            return ((double) bx - ax) * ((double) cy - ay) - ((double) cx - ax) * ((double) by - ay);
+        }
+    }
+}
@@ -0,0 +1,444 @@
+package io.github.traunin.triangulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntPredicate;
+
+/**
+ * A utility class for triangulating a single large polygon on multiple
+ * threads.
+ * <p>
+ * The polygon is split recursively along internal diagonals into two
+ * sub-polygons, preferably of at least a quarter of its vertices each and
+ * never of less than an eighth, until the pieces are small enough to be ear
+ * clipped quickly. Balanced splits keep the recursion depth logarithmic. Pieces are
+ * triangulated in parallel on the common {@code ForkJoinPool}, and their
+ * triangles are placed in a fixed order, so the result does not depend on
+ * thread scheduling.
+ * <p>
+ * Diagonals are chosen between vertices close in space but far apart along
+ * the polygon. A diagonal is accepted if it starts and ends inside of the
+ * polygon corners and crosses no polygon edge, which is checked with a
+ * uniform grid listing every edge in the cells along it. Pieces with no such
+ * diagonal among the tried ones are ear clipped as a whole.
+ *
+ * <h2>Example Usage:</h2>
+ *
+ * <pre>{@code
+ * List<int[]> triangles = ParallelTriangulation.earClippingTriangulate(coastline, coastlineIndices);
+ * }</pre>
+ */
+public final class ParallelTriangulation {
+    private static final int DEFAULT_LEAF_SIZE = 512;
+    private static final int DIAGONAL_STARTS = 8;
+    private static final int DIAGONAL_ENDS = 32;
+    // the smaller part of a split has at least 1 / MIN_PART_DIVISOR of the piece vertices
+    private static final int MIN_PART_DIVISOR = 8;
+
+    /**
+     * Prevents class instantiation.
+     *
+     * @throws UnsupportedOperationException when called
+     */
+    private ParallelTriangulation() {
+        throw new UnsupportedOperationException("Cannot be instantiated.");
+    }
+
+    /**
+     * Triangulates a polygon without self-intersections on multiple threads.
+     *
+     * @param <T>           the type of vertices, extending {@link Vector2f}
+     * @param vertices      vertices to select from
+     * @param vertexIndices vertex indices in order of connection
+     * @return a {@code List} consisting of {@code int[]} with 3 indices,
+     *         corresponding to the vertices of a triangle
+     * @throws IllegalArgumentException if {@code vertexIndices} size is less
+     *                                  than 3 or an index is outside of
+     *                                  {@code vertices}
+     * @throws TriangulationException   if the polygon has self-intersections
+     */
+    public static <T extends Vector2f> List<int[]> earClippingTriangulate(List<T> vertices,
+            List<Integer> vertexIndices) {
+        float[] coordinates = new float[2 * vertices.size()];
+        for (int i = 0; i < vertices.size(); i++) {
+            coordinates[2 * i] = vertices.get(i).x();
+            coordinates[2 * i + 1] = vertices.get(i).y();
+        }
+
+        int[] triangles = triangulate(coordinates, vertexIndices.stream().mapToInt(Integer::intValue).toArray());
+        List<int[]> triangleList = new ArrayList<>(triangles.length / 3);
+        for (int i = 0; i < triangles.length; i += 3) {
+            triangleList.add(new int[] { triangles[i], triangles[i + 1], triangles[i + 2] });
+        }
+
+        return triangleList;
+    }
+
+    /**
+     * Triangulates a polygon stored in arrays on multiple threads.
+     *
+     * @param coordinates   interleaved x, y vertex coordinates
+     * @param vertexIndices vertex indices in order of connection
+     * @return triangle vertex indices, 3 per triangle
+     * @throws IllegalArgumentException if {@code vertexIndices} length is
+     *                                  less than 3 or an index is outside of
+     *                                  {@code coordinates}
+     * @throws TriangulationException   if the polygon has self-intersections
+     */
+    public static int[] triangulate(float[] coordinates, int[] vertexIndices) {
+        return triangulate(coordinates, vertexIndices, DEFAULT_LEAF_SIZE);
+    }
+
+    /**
+     * Triangulates a polygon, ear clipping pieces of at most
+     * {@code leafSize} vertices.
+     */
+    static int[] triangulate(float[] coordinates, int[] vertexIndices, int leafSize) {
+        int ringLength = vertexIndices.length;
+        if (ringLength < 3) {
+            throw new IllegalArgumentException("Not enough vertex indices for a polygon");
+        }
+        int vertexCount = coordinates.length / 2;
+        for (int vertexIndex : vertexIndices) {
+            if (vertexIndex < 0 || vertexIndex >= vertexCount) {
+                throw new IllegalArgumentException(
+                        String.format("Vertex index %d is outside of vertex list of length %d", vertexIndex,
+                                vertexCount));
+            }
+        }
+
+        int[] triangles = new int[3 * (ringLength - 2)];
+        int[] positions = new int[ringLength];
+        Arrays.setAll(positions, (i) -> i);
+        Splitter splitter = new Splitter(coordinates, vertexIndices, Math.max(leafSize, DIAGONAL_ENDS));
+        try {
+            ForkJoinPool.commonPool().invoke(splitter.new Piece(positions, triangles, 0));
+        } catch (TriangulationException exception) {
+            // exceptions of other threads may arrive as copies with different messages
+            throw new TriangulationException("Polygon has self-intersections");
+        }
+
+        return triangles;
+    }
+
+    /**
+     * The shared state of a split: the polygon and the grid of its edges.
+     * Pieces are arrays of positions in the polygon ring, so edge {@code k}
+     * connects positions {@code k} and {@code k + 1}.
+     */
+    private static final class Splitter {
+        private final float[] coordinates;
+        private final int[] ring;
+        private final int leafSize;
+        private final float orientation;
+
+        private final float minX;
+        private final float minY;
+        private final int columns;
+        private final int rows;
+        private final float inverseCellWidth;
+        private final float inverseCellHeight;
+        private final int[] cellOffsets;
+        private final int[] cellEdges;
+
+        Splitter(float[] coordinates, int[] ring, int leafSize) {
+            this.coordinates = coordinates;
+            this.ring = ring;
+            this.leafSize = leafSize;
+            int ringLength = ring.length;
+
+            double area = 0;
+            float minX = Float.POSITIVE_INFINITY;
+            float minY = Float.POSITIVE_INFINITY;
+            float maxX = Float.NEGATIVE_INFINITY;
+            float maxY = Float.NEGATIVE_INFINITY;
+            for (int i = 0; i < ringLength; i++) {
+                int prevPosition = i == 0 ? ringLength - 1 : i - 1;
+                area += (double) x(prevPosition) * y(i) - (double) x(i) * y(prevPosition);
+                minX = Math.min(minX, x(i));
+                minY = Math.min(minY, y(i));
+                maxX = Math.max(maxX, x(i));
+                maxY = Math.max(maxY, y(i));
+            }
+            orientation = area >= 0 ? 1 : -1;
+
+            // about one cell per edge, keeping cells close to square
+            float width = Math.max(maxX - minX, Float.MIN_NORMAL);
+            float height = Math.max(maxY - minY, Float.MIN_NORMAL);
+            double cellSize = Math.sqrt((double) width * height / ringLength);
+            this.minX = minX;
+            this.minY = minY;
+            columns = (int) Math.max(1, Math.min(Math.ceil(width / cellSize), ringLength));
+            rows = (int) Math.max(1, Math.min(Math.ceil(height / cellSize), ringLength));
+            inverseCellWidth = columns / width;
+            inverseCellHeight = rows / height;
+
+            // count edges per cell, then fill them in compressed rows
+            cellOffsets = new int[columns * rows + 1];
+            for (int edge = 0; edge < ringLength; edge++) {
+                forEachEdgeCell(edge, (cell) -> {
+                    cellOffsets[cell + 1]++;
+                    return false;
+                });
+            }
+            for (int cell = 0; cell < columns * rows; cell++) {
+                cellOffsets[cell + 1] += cellOffsets[cell];
+            }
+            cellEdges = new int[cellOffsets[columns * rows]];
+            int[] fill = Arrays.copyOf(cellOffsets, columns * rows);
+            for (int edge = 0; edge < ringLength; edge++) {
+                int edgeIndex = edge;
+                forEachEdgeCell(edge, (cell) -> {
+                    cellEdges[fill[cell]++] = edgeIndex;
+                    return false;
+                });
+            }
+        }
+
+        private float x(int position) {
+            return coordinates[2 * ring[position]];
+        }
+
+        private float y(int position) {
+            return coordinates[2 * ring[position] + 1];
+        }
+
+        private int nextPosition(int position) {
+            return position == ring.length - 1 ? 0 : position + 1;
+        }
+
+        private int column(float x) {
+            return clamp((int) Math.floor((x - minX) * inverseCellWidth), columns);
+        }
+
+        private int row(float y) {
+            return clamp((int) Math.floor((y - minY) * inverseCellHeight), rows);
+        }
+
+        private static int clamp(int value, int count) {
+            return Math.max(0, Math.min(value, count - 1));
+        }
+
+        private void forEachEdgeCell(int edge, IntPredicate action) {
+            int next = nextPosition(edge);
+            anyCellAlong(x(edge), y(edge), x(next), y(next), action);
+        }
+
+        /**
+         * Visits the cells along a segment, column by column, until
+         * {@code action} returns {@code true}.
+         *
+         * @return whether {@code action} returned {@code true}
+         */
+        private boolean anyCellAlong(float ax, float ay, float bx, float by, IntPredicate action) {
+            int firstColumn = column(Math.min(ax, bx));
+            int lastColumn = column(Math.max(ax, bx));
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                float columnMinX = minX + column / inverseCellWidth;
+                float columnMaxX = minX + (column + 1) / inverseCellWidth;
+                float firstY = segmentY(ax, ay, bx, by, Math.max(columnMinX, Math.min(ax, bx)));
+                float lastY = segmentY(ax, ay, bx, by, Math.min(columnMaxX, Math.max(ax, bx)));
+                // one more row on each side covers rounding at the column edges
+                int firstRow = Math.max(row(Math.min(firstY, lastY)) - 1, 0);
+                int lastRow = Math.min(row(Math.max(firstY, lastY)) + 1, rows - 1);
+                for (int row = firstRow; row <= lastRow; row++) {
+                    if (action.test(row * columns + column)) {
+                        return true;
+                    }
+                }
+            }
+
+            return false;
+        }
+
+        /**
+         * Checks whether the segment between two ring positions lies inside
+         * of the polygon.
+         */
+        boolean isDiagonal(int[] piece, int start, int end) {
+            int a = piece[start];
+            int b = piece[end];
+            if (!isInsideCorner(piece, start, b) || !isInsideCorner(piece, end, a)) {
+                return false;
+            }
+
+            float ax = x(a);
+            float ay = y(a);
+            float bx = x(b);
+            float by = y(b);
+            return !anyCellAlong(ax, ay, bx, by, (cell) -> {
+                for (int i = cellOffsets[cell]; i < cellOffsets[cell + 1]; i++) {
+                    int edge = cellEdges[i];
+                    int next = nextPosition(edge);
+                    if (edge == a || edge == b || next == a || next == b) {
+                        continue;
+                    }
+                    if (isIntersecting(ax, ay, bx, by, x(edge), y(edge), x(next), y(next))) {
+                        return true;
+                    }
+                }
+
+                return false;
+            });
+        }
+
+        /**
+         * Calculates the y coordinate of a segment at an x coordinate, with
+         * vertical segments spanning their whole height.
+         */
+        private static float segmentY(float ax, float ay, float bx, float by, float x) {
+            if (ax == bx) {
+                return x == Math.min(ax, bx) ? Math.min(ay, by) : Math.max(ay, by);
+            }
+
+            float t = (x - ax) / (bx - ax);
+
+            return ay + Math.max(0, Math.min(t, 1)) * (by - ay);
+        }
+
+        /**
+         * Checks whether the direction to a position leaves a piece corner
+         * into the polygon interior.
+         */
+        private boolean isInsideCorner(int[] piece, int corner, int target) {
+            int position = piece[corner];
+            int prev = piece[corner == 0 ? piece.length - 1 : corner - 1];
+            int next = piece[corner == piece.length - 1 ? 0 : corner + 1];
+            float px = x(position);
+            float py = y(position);
+
+            // exact signs, so nearly collinear corners do not let diagonals leave the polygon
+            double turn = orientation * orientation(x(prev), y(prev), px, py, x(next), y(next));
+            // the interior lies to the left of the boundary of a counter-clockwise polygon
+            double fromNext = orientation * orientation(px, py, x(next), y(next), x(target), y(target));
+            double toPrev = orientation * orientation(px, py, x(target), y(target), x(prev), y(prev));
+            if (turn > 0) {
+                return fromNext > 0 && toPrev > 0;
+            }
+
+            return fromNext > 0 || toPrev > 0;
+        }
+
+        /**
+         * Checks whether segments AB and CD intersect or touch.
+         */
+        private static boolean isIntersecting(float ax, float ay, float bx, float by, float cx, float cy, float dx,
+                float dy) {
+            double abc = orientation(ax, ay, bx, by, cx, cy);
+            double abd = orientation(ax, ay, bx, by, dx, dy);
+            double cda = orientation(cx, cy, dx, dy, ax, ay);
+            double cdb = orientation(cx, cy, dx, dy, bx, by);
+            if (abc * abd > 0 || cda * cdb > 0) {
+                return false;
+            }
+            if (abc != 0 || abd != 0 || cda != 0 || cdb != 0) {
+                return true;
+            }
+
+            // collinear segments touch if their bounding boxes do
+            return Math.max(ax, bx) >= Math.min(cx, dx) && Math.max(cx, dx) >= Math.min(ax, bx)
+                    && Math.max(ay, by) >= Math.min(cy, dy) && Math.max(cy, dy) >= Math.min(ay, by);
+        }
+
+        private static double orientation(float ax, float ay, float bx, float by, float cx, float cy) {
+            return ((double) bx - ax) * ((double) cy - ay) - ((double) cx - ax) * ((double) by - ay);
+        }
+
+        /**
+         * Finds a diagonal splitting a piece, preferring short diagonals and
+         * parts of at least a quarter of its vertices, and accepting parts of
+         * at least an eighth.
+         *
+         * @return the piece indices of the diagonal ends, or {@code null}
+         */
+        int[] findDiagonal(int[] piece) {
+            int length = piece.length;
+            int[] diagonal = findDiagonal(piece, length / 4, length / 2);
+            if (diagonal != null) {
+                return diagonal;
+            }
+
+            // less even parts where the middle is out of sight, but never so uneven that the recursion gets deep
+            int minPart = length / MIN_PART_DIVISOR;
+            return findDiagonal(piece, minPart, length - 2 * minPart);
+        }
+
+        /**
+         * Tries diagonals to ends between {@code minOffset} and
+         * {@code minOffset + offsetRange} positions after their start.
+         */
+        private int[] findDiagonal(int[] piece, int minOffset, int offsetRange) {
+            int length = piece.length;
+            long[] candidates = new long[DIAGONAL_ENDS];
+            for (int s = 0; s < DIAGONAL_STARTS; s++) {
+                int start = (int) ((long) s * length / DIAGONAL_STARTS);
+                float startX = x(piece[start]);
+                float startY = y(piece[start]);
+
+                // evenly spaced ends, ordered by distance
+                for (int e = 0; e < DIAGONAL_ENDS; e++) {
+                    int end = (start + minOffset + (int) ((long) e * offsetRange / DIAGONAL_ENDS)) % length;
+                    float dx = x(piece[end]) - startX;
+                    float dy = y(piece[end]) - startY;
+                    long distance = Float.floatToIntBits(dx * dx + dy * dy);
+                    candidates[e] = distance << 32 | end;
+                }
+                Arrays.sort(candidates);
+
+                for (long candidate : candidates) {
+                    int end = (int) candidate;
+                    if (isDiagonal(piece, start, end)) {
+                        return new int[] { Math.min(start, end), Math.max(start, end) };
+                    }
+                }
+            }
+
+            return null;
+        }
+
+        /**
+         * A piece of the polygon, writing its triangles at a fixed offset.
+         */
+        private final class Piece extends RecursiveAction {
+            private static final long serialVersionUID = 1L;
+
+            private final int[] positions;
+            private final int[] triangles;
+            private final int triangleStart;
+
+            Piece(int[] positions, int[] triangles, int triangleStart) {
+                this.positions = positions;
+                this.triangles = triangles;
+                this.triangleStart = triangleStart;
+            }
+
+            @Override
+            protected void compute() {
+                int[] diagonal = positions.length > leafSize ? findDiagonal(positions) : null;
+                if (diagonal == null) {
+                    int[] pieceRing = new int[positions.length];
+                    for (int i = 0; i < positions.length; i++) {
+                        pieceRing[i] = ring[positions[i]];
+                    }
+                    FlatEarClipping.triangulate(coordinates, 2, 0, 1, pieceRing, 0, pieceRing.length, triangles,
+                            triangleStart);
+                    return;
+                }
+
+                // both parts keep the diagonal ends
+                int start = diagonal[0];
+                int end = diagonal[1];
+                int[] first = Arrays.copyOfRange(positions, start, end + 1);
+                int[] second = new int[positions.length - first.length + 2];
+                System.arraycopy(positions, end, second, 0, positions.length - end);
+                System.arraycopy(positions, 0, second, positions.length - end, start + 1);
+
+                invokeAll(new Piece(first, triangles, triangleStart),
+                        new Piece(second, triangles, triangleStart + 3 * (first.length - 2)));
+            }
+        }
+    }
+}
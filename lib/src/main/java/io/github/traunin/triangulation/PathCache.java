@@ -0,0 +1,148 @@
+package io.github.traunin.triangulation;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache of path triangulations, for text and icons where the same glyph
+ * outlines are drawn over and over.
+ * <p>
+ * Paths are looked up by their commands and points, together with the
+ * tolerance and fill rule, so a path built again with the same commands is
+ * found as well as the same instance. A path changed after being cached is a
+ * new entry. When the cache is full, the least recently used triangulation is
+ * dropped. Misses are flattened into a single reused buffer. All methods are
+ * synchronized, so one cache can be shared by several rendering threads.
+ *
+ * <h2>Example Usage:</h2>
+ *
+ * <pre>{@code
+ * PathCache glyphCache = new PathCache(512);
+ * for (char character : text.toCharArray()) {
+ *     Tessellation glyph = glyphCache.tessellate(font.outline(character), tolerance, FillRule.NON_ZERO);
+ *     // draw the glyph triangles at the pen position
+ * }
+ * }</pre>
+ */
+public final class PathCache {
+    private final int capacity;
+    private final Map<Key, Tessellation> entries;
+    private final FlattenedPath buffer = new FlattenedPath();
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param capacity the maximum number of triangulations to keep
+     * @throws IllegalArgumentException if {@code capacity} is not positive
+     */
+    public PathCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(String.format("Capacity %d is not positive", capacity));
+        }
+        this.capacity = capacity;
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Tessellation> eldest) {
+                return size() > PathCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the triangulation of the filled region of a path, reusing the
+     * result of an earlier call with an equal path.
+     *
+     * @param path      the path to triangulate
+     * @param tolerance the maximum distance between a curve and its lines, in
+     *                  path units
+     * @param fillRule  the rule deciding which regions are filled
+     * @return the triangulation of the filled region
+     * @throws IllegalArgumentException if {@code tolerance} is not positive
+     * @see VectorPath#tessellate(float, FillRule)
+     */
+    public synchronized Tessellation tessellate(VectorPath path, float tolerance, FillRule fillRule) {
+        VectorPath.checkTolerance(tolerance);
+        Key key = new Key(path.commandArray(), path.pointArray(), tolerance, fillRule);
+        Tessellation tessellation = entries.get(key);
+        if (tessellation != null) {
+            hitCount++;
+            return tessellation;
+        }
+
+        missCount++;
+        tessellation = path.flatten(tolerance, buffer).tessellate(fillRule);
+        entries.put(key, tessellation);
+
+        return tessellation;
+    }
+
+    /**
+     * Returns the number of cached triangulations.
+     *
+     * @return the number of entries, at most the capacity
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of calls answered from the cache.
+     *
+     * @return the number of hits since creation
+     */
+    public synchronized long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of calls that had to triangulate their path.
+     *
+     * @return the number of misses since creation
+     */
+    public synchronized long missCount() {
+        return missCount;
+    }
+
+    /**
+     * Removes all cached triangulations.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private static final class Key {
+        private final int[] commands;
+        private final float[] points;
+        private final float tolerance;
+        private final FillRule fillRule;
+        private final int hash;
+
+        Key(int[] commands, float[] points, float tolerance, FillRule fillRule) {
+            this.commands = commands;
+            this.points = points;
+            this.tolerance = tolerance;
+            this.fillRule = fillRule;
+            hash = 31 * (31 * (31 * Arrays.hashCode(commands) + Arrays.hashCode(points))
+                    + Float.hashCode(tolerance)) + fillRule.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+
+            return hash == key.hash && Float.compare(tolerance, key.tolerance) == 0 && fillRule == key.fillRule
+                    && Arrays.equals(commands, key.commands) && Arrays.equals(points, key.points);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
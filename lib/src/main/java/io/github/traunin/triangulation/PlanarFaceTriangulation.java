@@ -0,0 +1,274 @@
+package io.github.traunin.triangulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * A utility class for triangulating planar polygons in 3D space.
+ * <p>
+ * The face normal is computed with Newell's method, which is robust for
+ * concave and slightly non-planar faces. The face is then projected to the
+ * coordinate plane the normal is most aligned with, by dropping one
+ * coordinate while reading the vertices, so no rotated copy of the vertices
+ * is created. Ear clipping keeps the order of the face vertices, so the
+ * triangles have the same winding as the face.
+ * <p>
+ * Convex faces, which make up most of the faces of a typical mesh, are
+ * triangulated as fans in O(n), keeping the order of the face vertices. Faces
+ * with no area, such as faces with all vertices on a line, are triangulated
+ * as fans too, as any of their triangulations has no area either.
+ *
+ * <h2>Example Usage:</h2>
+ *
+ * <pre>{@code
+ * float[] xyz = {
+ *     0, 0, 0,
+ *     1, 0, 1,
+ *     1, 1, 1,
+ *     0, 1, 0
+ * };
+ * List<int[]> triangles = PlanarFaceTriangulation.triangulate(xyz, Arrays.asList(0, 1, 2, 3));
+ * }</pre>
+ */
+public final class PlanarFaceTriangulation {
+    private static final int X = 0;
+    private static final int Y = 1;
+    private static final int Z = 2;
+
+    /**
+     * Prevents class instantiation.
+     *
+     * @throws UnsupportedOperationException when called
+     */
+    private PlanarFaceTriangulation() {
+        throw new UnsupportedOperationException("Cannot be instantiated.");
+    }
+
+    /**
+     * Triangulates a planar polygon in 3D space.
+     *
+     * @param xyz           interleaved x, y, z vertex coordinates
+     * @param vertexIndices vertex indices in order of connection
+     * @return a {@code List} consisting of {@code int[]} with 3 indices,
+     *         corresponding to the vertices of a triangle
+     * @throws IllegalArgumentException if {@code vertexIndices} size is less
+     *                                  than 3 or an index is outside of
+     *                                  {@code xyz}
+     * @throws TriangulationException   if the projected polygon has
+     *                                  self-intersections
+     */
+    public static List<int[]> triangulate(float[] xyz, List<Integer> vertexIndices) {
+        int vertexIndicesCount = vertexIndices.size();
+        if (vertexIndicesCount < 3) {
+            throw new IllegalArgumentException("Not enough vertex indices for a polygon");
+        }
+
+        int[] face = vertexIndices.stream().mapToInt(Integer::intValue).toArray();
+        checkIndicesMapping(xyz, face, 0, vertexIndicesCount);
+
+        int[] triangles = new int[3 * (vertexIndicesCount - 2)];
+        triangulateFace(xyz, face, 0, vertexIndicesCount, triangles, 0);
+
+        List<int[]> triangleList = new ArrayList<>(vertexIndicesCount - 2);
+        for (int i = 0; i < triangles.length; i += 3) {
+            triangleList.add(new int[] { triangles[i], triangles[i + 1], triangles[i + 2] });
+        }
+
+        return triangleList;
+    }
+
+    /**
+     * Triangulates a batch of planar faces in 3D space.
+     * <p>
+     * Faces are stored in compressed rows: face {@code f} consists of
+     * {@code faceIndices[faceOffsets[f]]} up to, but not including,
+     * {@code faceIndices[faceOffsets[f + 1]]}. A face of n vertices results
+     * in n - 2 triangles, placed after the triangles of the previous faces,
+     * so the triangles of face {@code f} start at triangle
+     * {@code faceOffsets[f] - faceOffsets[0] - 2 * f}. Faces are
+     * triangulated in parallel on the common {@code ForkJoinPool}.
+     *
+     * @param xyz         interleaved x, y, z vertex coordinates
+     * @param faceIndices vertex indices of all faces, each in order of
+     *                    connection
+     * @param faceOffsets the start of every face in {@code faceIndices},
+     *                    followed by the end of the last face
+     * @return triangle vertex indices, 3 per triangle
+     * @throws IllegalArgumentException if a face has less than 3 vertices or
+     *                                  an index is outside of {@code xyz}
+     * @throws TriangulationException   if a projected face has
+     *                                  self-intersections
+     */
+    public static int[] triangulate(float[] xyz, int[] faceIndices, int[] faceOffsets) {
+        int faceCount = faceOffsets.length - 1;
+        if (faceCount < 0) {
+            throw new IllegalArgumentException("Face offsets are empty");
+        }
+        if (faceOffsets[0] < 0 || faceOffsets[faceCount] > faceIndices.length) {
+            throw new IllegalArgumentException("Face offsets are outside of face indices");
+        }
+        for (int f = 0; f < faceCount; f++) {
+            if (faceOffsets[f + 1] - faceOffsets[f] < 3) {
+                throw new IllegalArgumentException(String.format("Face %d has less than 3 vertices", f));
+            }
+        }
+        checkIndicesMapping(xyz, faceIndices, faceOffsets[0], faceOffsets[faceCount]);
+
+        int[] triangles = new int[3 * (faceOffsets[faceCount] - faceOffsets[0] - 2 * faceCount)];
+        IntStream.range(0, faceCount).parallel().forEach((f) -> {
+            int faceStart = faceOffsets[f];
+            int faceLength = faceOffsets[f + 1] - faceStart;
+            int triangleStart = 3 * (faceStart - faceOffsets[0] - 2 * f);
+            try {
+                triangulateFace(xyz, faceIndices, faceStart, faceLength, triangles, triangleStart);
+            } catch (TriangulationException exception) {
+                throw new TriangulationException(String.format("Face %d has self-intersections", f));
+            }
+        });
+
+        return triangles;
+    }
+
+    /**
+     * Triangulates a face, writing exactly {@code 3 * (faceLength - 2)}
+     * indices.
+     *
+     * @throws TriangulationException if the projected face has
+     *                                self-intersections
+     */
+    static void triangulateFace(float[] xyz, int[] faceIndices, int faceStart, int faceLength, int[] triangles,
+            int triangleStart) {
+        if (faceLength == 3) {
+            System.arraycopy(faceIndices, faceStart, triangles, triangleStart, 3);
+            return;
+        }
+
+        // Newell's method, the normal is twice the area vector of the face,
+        // summed in double so that small faces keep a reliable orientation
+        double normalX = 0;
+        double normalY = 0;
+        double normalZ = 0;
+        int prev = faceIndices[faceStart + faceLength - 1];
+        for (int i = faceStart; i < faceStart + faceLength; i++) {
+            int cur = faceIndices[i];
+            double prevX = xyz[3 * prev + X];
+            double prevY = xyz[3 * prev + Y];
+            double prevZ = xyz[3 * prev + Z];
+            double curX = xyz[3 * cur + X];
+            double curY = xyz[3 * cur + Y];
+            double curZ = xyz[3 * cur + Z];
+            normalX += (prevY - curY) * (prevZ + curZ);
+            normalY += (prevZ - curZ) * (prevX + curX);
+            normalZ += (prevX - curX) * (prevY + curY);
+            prev = cur;
+        }
+
+        double absX = Math.abs(normalX);
+        double absY = Math.abs(normalY);
+        double absZ = Math.abs(normalZ);
+        if (absX + absY + absZ == 0) {
+            triangulateFan(faceIndices, faceStart, faceLength, triangles, triangleStart);
+            return;
+        }
+
+        // drop the coordinate along the dominant axis of the normal,
+        // the remaining axes keep the orientation of the face when the normal is positive
+        int xOffset = X;
+        int yOffset = Y;
+        double orientation = Math.signum(normalZ);
+        if (absX >= absY && absX >= absZ) {
+            xOffset = Y;
+            yOffset = Z;
+            orientation = Math.signum(normalX);
+        } else if (absY >= absZ) {
+            xOffset = Z;
+            yOffset = X;
+            orientation = Math.signum(normalY);
+        }
+
+        if (isConvex(xyz, xOffset, yOffset, faceIndices, faceStart, faceLength, orientation)) {
+            triangulateFan(faceIndices, faceStart, faceLength, triangles, triangleStart);
+            return;
+        }
+
+        FlatEarClipping.triangulate(xyz, 3, xOffset, yOffset, faceIndices, faceStart, faceLength, triangles,
+                triangleStart);
+    }
+
+    /**
+     * Checks that no corner of the projected face turns against its
+     * orientation, testing the sign of every turn in double without a
+     * tolerance, so that small and
+     * nearly flat concave faces are not fanned into overlapping triangles.
+     * <p>
+     * Turns of one sign can still wind around more than once, as in a
+     * pentagram. The edge direction then sweeps more than one full turn, so
+     * the sign of the edge y extent changes more than twice, and the face
+     * has self-intersections.
+     *
+     * @throws TriangulationException if the face turns one way and winds
+     *                                around more than once
+     */
+    private static boolean isConvex(float[] xyz, int xOffset, int yOffset, int[] faceIndices, int faceStart,
+            int faceLength, double orientation) {
+        int prev = faceIndices[faceStart + faceLength - 2];
+        int cur = faceIndices[faceStart + faceLength - 1];
+        double firstDySign = 0;
+        double lastDySign = 0;
+        int dySignChanges = 0;
+        for (int i = faceStart; i < faceStart + faceLength; i++) {
+            int next = faceIndices[i];
+            double curX = xyz[3 * cur + xOffset];
+            double curY = xyz[3 * cur + yOffset];
+            double crossProduct = (curX - xyz[3 * prev + xOffset]) * (xyz[3 * next + yOffset] - curY)
+                    - (curY - xyz[3 * prev + yOffset]) * (xyz[3 * next + xOffset] - curX);
+            if (orientation * crossProduct < 0) {
+                return false;
+            }
+
+            double dySign = Math.signum(xyz[3 * next + yOffset] - curY);
+            if (dySign != 0) {
+                if (firstDySign == 0) {
+                    firstDySign = dySign;
+                } else if (dySign != lastDySign) {
+                    dySignChanges++;
+                }
+                lastDySign = dySign;
+            }
+            prev = cur;
+            cur = next;
+        }
+
+        if (lastDySign != firstDySign) {
+            dySignChanges++;
+        }
+        if (dySignChanges > 2) {
+            throw new TriangulationException("Polygon has self-intersections");
+        }
+
+        return true;
+    }
+
+    private static void triangulateFan(int[] faceIndices, int faceStart, int faceLength, int[] triangles,
+            int triangleStart) {
+        int written = triangleStart;
+        for (int i = faceStart + 2; i < faceStart + faceLength; i++) {
+            triangles[written++] = faceIndices[faceStart];
+            triangles[written++] = faceIndices[i - 1];
+            triangles[written++] = faceIndices[i];
+        }
+    }
+
+    private static void checkIndicesMapping(float[] xyz, int[] vertexIndices, int start, int end) {
+        int vertexCount = xyz.length / 3;
+        for (int i = start; i < end; i++) {
+            int vertexIndex = vertexIndices[i];
+            if (vertexIndex < 0 || vertexIndex >= vertexCount) {
+                throw new IllegalArgumentException(
+                        String.format("Vertex index %d is outside of vertex list of length %d", vertexIndex,
+                                vertexCount));
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.traunin.triangulation;
+
+/**
+ * A batch test of points against a triangle, used by ear clipping.
+ * <p>
+ * Points are stored as a structure of arrays: point {@code i} is
+ * {@code (xs[i], ys[i])}. A point is inside triangle ABC if the cross
+ * products of its position relative to the triangle edges are all at least
+ * {@code -1e-9} or all at most {@code 1e-9}, so points on the edges are
+ * inside. Points with NaN coordinates are never inside.
+ * <p>
+ * A scalar implementation is built in. Faster implementations, such as one
+ * using SIMD instructions, can be provided with {@link java.util.ServiceLoader}
+ * and are used by {@link Triangulation#earClippingTriangulate(java.util.List,
+ * java.util.List)} when found. They must give the same result as the scalar
+ * implementation for every point.
+ */
+public interface PointInTriangleKernel {
+    /**
+     * Finds the first point inside of triangle ABC.
+     *
+     * @param xs    x coordinates of the points
+     * @param ys    y coordinates of the points
+     * @param start the index of the first checked point
+     * @param end   the index after the last checked point
+     * @param ax    A x coordinate
+     * @param ay    A y coordinate
+     * @param bx    B x coordinate
+     * @param by    B y coordinate
+     * @param cx    C x coordinate
+     * @param cy    C y coordinate
+     * @return the index of the first point in {@code [start; end)} inside of
+     *         ABC, or -1 if there is none
+     */
+    int findPointInTriangle(float[] xs, float[] ys, int start, int end, float ax, float ay, float bx, float by,
+            float cx, float cy);
+}
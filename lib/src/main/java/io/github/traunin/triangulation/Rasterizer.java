@@ -0,0 +1,282 @@
+package io.github.traunin.triangulation;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * A utility class for rasterizing triangulated polygons in software.
+ * <p>
+ * Pixel {@code (x, y)} covers the square {@code [x; x + 1) x [y; y + 1)} of
+ * vertex coordinates, with rows going in the direction of growing y. Vertices
+ * are snapped to 1/256 of a pixel and edges are evaluated in integer
+ * arithmetic with the top-left fill rule, so a sample on an edge shared by
+ * two triangles is covered exactly once.
+ * <p>
+ * Anti-aliased coverage is computed by supersampling every pixel with a
+ * regular grid of samples. The mask is split into bands of rows, which are
+ * rasterized in parallel on the common {@code ForkJoinPool}.
+ *
+ * <h2>Example Usage:</h2>
+ *
+ * <pre>{@code
+ * List<int[]> triangles = Triangulation.earClippingTriangulate(vertices);
+ * CoverageMask mask = Rasterizer.rasterize(vertices, triangles, 256, 256, 4);
+ * int[] spans = mask.spans();
+ * }</pre>
+ *
+ * @see CoverageMask
+ */
+public final class Rasterizer {
+    private static final int SUBPIXEL_BITS = 8;
+    private static final int SUBPIXEL_SCALE = 1 << SUBPIXEL_BITS;
+    private static final int MAX_SAMPLES_PER_AXIS = 16;
+    private static final int BAND_HEIGHT = 32;
+    // coordinates below 2^21 are below 2^29 in fixed point, so their differences are below 2^30 and
+    // an edge function, the difference of two products of them, stays below 2^61, well within a long
+    private static final float MAX_COORDINATE = 1 << 21;
+    // the largest array the virtual machine allocates
+    private static final long MAX_MASK_SIZE = Integer.MAX_VALUE - 8;
+
+    /**
+     * Prevents class instantiation.
+     *
+     * @throws UnsupportedOperationException when called
+     */
+    private Rasterizer() {
+        throw new UnsupportedOperationException("Cannot be instantiated.");
+    }
+
+    /**
+     * Rasterizes triangles into a binary mask, sampling pixel centers.
+     *
+     * @param <T>       the type of vertices, extending {@link Vector2f}
+     * @param vertices  vertices the triangles refer to
+     * @param triangles triangles as {@code int[]} with 3 vertex indices
+     * @param width     the number of pixel columns
+     * @param height    the number of pixel rows
+     * @return the mask with coverage of either 0 or
+     *         {@link CoverageMask#FULL_COVERAGE}
+     * @throws IllegalArgumentException if the mask size is not positive or
+     *                                  too large, or a vertex is too far
+     *                                  from the mask
+     */
+    public static <T extends Vector2f> CoverageMask rasterize(List<T> vertices, List<int[]> triangles, int width,
+            int height) {
+        return rasterize(vertices, triangles, width, height, 1);
+    }
+
+    /**
+     * Rasterizes triangles into an anti-aliased mask.
+     * <p>
+     * Every pixel is sampled with {@code samplesPerAxis * samplesPerAxis}
+     * evenly spaced samples, and its coverage is the covered fraction of them.
+     * The triangles should not overlap, otherwise overlapping samples are
+     * counted multiple times and the coverage saturates.
+     *
+     * @param <T>            the type of vertices, extending {@link Vector2f}
+     * @param vertices       vertices the triangles refer to
+     * @param triangles      triangles as {@code int[]} with 3 vertex indices
+     * @param width          the number of pixel columns
+     * @param height         the number of pixel rows
+     * @param samplesPerAxis samples along each pixel side, one of 1, 2, 4, 8
+     *                       or 16
+     * @return the mask with coverage in {@code [0; 255]}
+     * @throws IllegalArgumentException if the mask size is not positive or
+     *                                  too large, the sample count is not
+     *                                  supported or a vertex is too far
+     *                                  from the mask
+     */
+    public static <T extends Vector2f> CoverageMask rasterize(List<T> vertices, List<int[]> triangles, int width,
+            int height, int samplesPerAxis) {
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException(String.format("Invalid mask size %dx%d", width, height));
+        }
+        if ((long) width * height > MAX_MASK_SIZE) {
+            throw new IllegalArgumentException(String.format("Mask size %dx%d is too large", width, height));
+        }
+        if (samplesPerAxis < 1 || samplesPerAxis > MAX_SAMPLES_PER_AXIS || Integer.bitCount(samplesPerAxis) != 1) {
+            throw new IllegalArgumentException(String.format("Unsupported sample count %d per axis", samplesPerAxis));
+        }
+
+        long[] fixedCoordinates = new long[vertices.size() * 2];
+        for (int i = 0; i < vertices.size(); i++) {
+            Vector2f vertex = vertices.get(i);
+            if (!(Math.abs(vertex.x()) < MAX_COORDINATE) || !(Math.abs(vertex.y()) < MAX_COORDINATE)) {
+                throw new IllegalArgumentException(
+                        String.format("Vertex (%f, %f) is too far from the mask", vertex.x(), vertex.y()));
+            }
+            fixedCoordinates[2 * i] = Math.round(vertex.x() * SUBPIXEL_SCALE);
+            fixedCoordinates[2 * i + 1] = Math.round(vertex.y() * SUBPIXEL_SCALE);
+        }
+
+        int bandCount = (height + BAND_HEIGHT - 1) / BAND_HEIGHT;
+        int[][] bandTriangles = binTriangles(fixedCoordinates, triangles, height, bandCount);
+        byte[] coverage = new byte[width * height];
+
+        // bands write disjoint rows of the mask
+        IntStream.range(0, bandCount).parallel().forEach((band) -> {
+            int firstRow = band * BAND_HEIGHT;
+            int lastRow = Math.min(firstRow + BAND_HEIGHT, height) - 1;
+            int[] sampleCounts = new int[width * (lastRow - firstRow + 1)];
+            for (int t : bandTriangles[band]) {
+                rasterizeTriangle(fixedCoordinates, triangles.get(t), width, firstRow, lastRow, samplesPerAxis,
+                        sampleCounts);
+            }
+
+            int samplesPerPixel = samplesPerAxis * samplesPerAxis;
+            int offset = firstRow * width;
+            for (int i = 0; i < sampleCounts.length; i++) {
+                int samples = Math.min(sampleCounts[i], samplesPerPixel);
+                coverage[offset + i] = (byte) ((samples * CoverageMask.FULL_COVERAGE + samplesPerPixel / 2)
+                        / samplesPerPixel);
+            }
+        });
+
+        return new CoverageMask(width, height, coverage);
+    }
+
+    /**
+     * Assigns triangles to the bands of rows they overlap.
+     *
+     * @return triangle indices for every band
+     */
+    private static int[][] binTriangles(long[] fixedCoordinates, List<int[]> triangles, int height,
+            int bandCount) {
+        int[] bandSizes = new int[bandCount];
+        int[] firstBands = new int[triangles.size()];
+        int[] lastBands = new int[triangles.size()];
+
+        for (int t = 0; t < triangles.size(); t++) {
+            int[] triangle = triangles.get(t);
+            long minY = Long.MAX_VALUE;
+            long maxY = Long.MIN_VALUE;
+            for (int vertexIndex : triangle) {
+                minY = Math.min(minY, fixedCoordinates[2 * vertexIndex + 1]);
+                maxY = Math.max(maxY, fixedCoordinates[2 * vertexIndex + 1]);
+            }
+
+            long firstRow = Math.max(Math.floorDiv(minY, SUBPIXEL_SCALE), 0);
+            long lastRow = Math.min(Math.floorDiv(maxY, SUBPIXEL_SCALE), height - 1);
+            if (firstRow > lastRow) {
+                firstBands[t] = 0;
+                lastBands[t] = -1;
+                continue;
+            }
+
+            firstBands[t] = (int) (firstRow / BAND_HEIGHT);
+            lastBands[t] = (int) (lastRow / BAND_HEIGHT);
+            for (int band = firstBands[t]; band <= lastBands[t]; band++) {
+                bandSizes[band]++;
+            }
+        }
+
+        int[][] bandTriangles = new int[bandCount][];
+        for (int band = 0; band < bandCount; band++) {
+            bandTriangles[band] = new int[bandSizes[band]];
+            bandSizes[band] = 0;
+        }
+        for (int t = 0; t < triangles.size(); t++) {
+            for (int band = firstBands[t]; band <= lastBands[t]; band++) {
+                bandTriangles[band][bandSizes[band]++] = t;
+            }
+        }
+
+        return bandTriangles;
+    }
+
+    private static void rasterizeTriangle(long[] fixedCoordinates, int[] triangle, int width, int firstRow,
+            int lastRow, int samplesPerAxis, int[] sampleCounts) {
+        long ax = fixedCoordinates[2 * triangle[0]];
+        long ay = fixedCoordinates[2 * triangle[0] + 1];
+        long bx = fixedCoordinates[2 * triangle[1]];
+        long by = fixedCoordinates[2 * triangle[1] + 1];
+        long cx = fixedCoordinates[2 * triangle[2]];
+        long cy = fixedCoordinates[2 * triangle[2] + 1];
+
+        long area = (bx - ax) * (cy - ay) - (cx - ax) * (by - ay);
+        if (area == 0) {
+            return;
+        }
+        // make the interior lie on the positive side of every edge
+        if (area < 0) {
+            long swapX = bx;
+            long swapY = by;
+            bx = cx;
+            by = cy;
+            cx = swapX;
+            cy = swapY;
+        }
+
+        long minX = Math.min(ax, Math.min(bx, cx));
+        long maxX = Math.max(ax, Math.max(bx, cx));
+        long minY = Math.min(ay, Math.min(by, cy));
+        long maxY = Math.max(ay, Math.max(by, cy));
+
+        // samples are at ((i + 0.5) / samplesPerAxis) of a pixel
+        long sampleStep = SUBPIXEL_SCALE / samplesPerAxis;
+        long sampleOffset = sampleStep / 2;
+        long firstSampleX = Math.max(sampleIndexAtOrAfter(minX, sampleStep, sampleOffset), 0);
+        long lastSampleX = Math.min(sampleIndexAtOrBefore(maxX, sampleStep, sampleOffset),
+                (long) width * samplesPerAxis - 1);
+        long firstSampleY = Math.max(sampleIndexAtOrAfter(minY, sampleStep, sampleOffset),
+                (long) firstRow * samplesPerAxis);
+        long lastSampleY = Math.min(sampleIndexAtOrBefore(maxY, sampleStep, sampleOffset),
+                (long) (lastRow + 1) * samplesPerAxis - 1);
+        if (firstSampleX > lastSampleX || firstSampleY > lastSampleY) {
+            return;
+        }
+
+        // top-left edges include samples exactly on them, the others do not
+        long biasAB = isTopLeft(ax, ay, bx, by) ? 0 : -1;
+        long biasBC = isTopLeft(bx, by, cx, cy) ? 0 : -1;
+        long biasCA = isTopLeft(cx, cy, ax, ay) ? 0 : -1;
+
+        for (long sampleY = firstSampleY; sampleY <= lastSampleY; sampleY++) {
+            long py = sampleY * sampleStep + sampleOffset;
+            int rowOffset = (int) (sampleY / samplesPerAxis - firstRow) * width;
+            long px = firstSampleX * sampleStep + sampleOffset;
+            long edgeAB = edgeFunction(ax, ay, bx, by, px, py) + biasAB;
+            long edgeBC = edgeFunction(bx, by, cx, cy, px, py) + biasBC;
+            long edgeCA = edgeFunction(cx, cy, ax, ay, px, py) + biasCA;
+            // moving one sample right changes an edge function by -dy * step
+            long stepAB = -(by - ay) * sampleStep;
+            long stepBC = -(cy - by) * sampleStep;
+            long stepCA = -(ay - cy) * sampleStep;
+
+            for (long sampleX = firstSampleX; sampleX <= lastSampleX; sampleX++) {
+                if ((edgeAB | edgeBC | edgeCA) >= 0) {
+                    sampleCounts[rowOffset + (int) (sampleX / samplesPerAxis)]++;
+                }
+                edgeAB += stepAB;
+                edgeBC += stepBC;
+                edgeCA += stepCA;
+            }
+        }
+    }
+
+    /**
+     * Calculates (B - A) x (P - A), positive when P is on the interior side.
+     */
+    private static long edgeFunction(long ax, long ay, long bx, long by, long px, long py) {
+        return (bx - ax) * (py - ay) - (by - ay) * (px - ax);
+    }
+
+    /**
+     * Checks whether an edge is a top or a left edge of a triangle with the
+     * interior on its positive side.
+     */
+    private static boolean isTopLeft(long ax, long ay, long bx, long by) {
+        long dx = bx - ax;
+        long dy = by - ay;
+
+        return dy < 0 || (dy == 0 && dx > 0);
+    }
+
+    private static long sampleIndexAtOrAfter(long coordinate, long sampleStep, long sampleOffset) {
+        return Math.floorDiv(coordinate - sampleOffset + sampleStep - 1, sampleStep);
+    }
+
+    private static long sampleIndexAtOrBefore(long coordinate, long sampleStep, long sampleOffset) {
+        return Math.floorDiv(coordinate - sampleOffset, sampleStep);
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.traunin.triangulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A triangulation refined with Steiner points.
+ * <p>
+ * The vertices start with the vertices the triangulation was made of, at
+ * the same indices, followed by the Steiner points in order of insertion.
+ *
+ * @see MeshRefinement
+ */
+public final class RefinedMesh {
+    private final float[] coordinates;
+    private final int[] triangles;
+    private final int steinerPointCount;
+
+    RefinedMesh(float[] coordinates, int[] triangles, int steinerPointCount) {
+        this.coordinates = coordinates;
+        this.triangles = triangles;
+        this.steinerPointCount = steinerPointCount;
+    }
+
+    /**
+     * Returns all vertices of the mesh.
+     *
+     * @return an unmodifiable {@code List} of the original vertices followed
+     *         by the Steiner points
+     */
+    public List<Vector2f> vertices() {
+        return new CoordinateList(coordinates);
+    }
+
+    /**
+     * Returns the coordinates of all vertices of the mesh.
+     *
+     * @return a copy of the interleaved x, y coordinates
+     */
+    public float[] coordinates() {
+        return coordinates.clone();
+    }
+
+    /**
+     * Returns the number of vertices added by the refinement.
+     *
+     * @return the number of Steiner points at the end of the vertex list
+     */
+    public int steinerPointCount() {
+        return steinerPointCount;
+    }
+
+    /**
+     * Returns the refined triangles.
+     *
+     * @return a {@code List} consisting of {@code int[]} with 3 indices,
+     *         corresponding to the vertices of a triangle
+     */
+    public List<int[]> triangles() {
+        List<int[]> triangleList = new ArrayList<>(triangles.length / 3);
+        for (int i = 0; i < triangles.length; i += 3) {
+            triangleList.add(new int[] { triangles[i], triangles[i + 1], triangles[i + 2] });
+        }
+
+        return Collections.unmodifiableList(triangleList);
+    }
+
+    /**
+     * Returns the refined triangles as a flat index array.
+     *
+     * @return a copy of the triangle vertex indices, 3 per triangle
+     */
+    public int[] triangleIndices() {
+        return triangles.clone();
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.traunin.triangulation;
+
+import java.util.Iterator;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * The built-in {@link PointInTriangleKernel}, testing one point at a time.
+ */
+final class ScalarPointInTriangleKernel implements PointInTriangleKernel {
+    private static final PointInTriangleKernel INSTANCE = firstOrScalar(
+            ServiceLoader.load(PointInTriangleKernel.class).iterator());
+
+    /**
+     * Returns the kernel used for ear clipping.
+     *
+     * @return the first provided kernel, or the scalar one if there is none
+     */
+    static PointInTriangleKernel get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the first provided kernel.
+     * <p>
+     * A provider that fails to load, such as the vector kernel on a JVM
+     * started without {@code --add-modules jdk.incubator.vector}, is not
+     * used, so ear clipping keeps working with the scalar kernel.
+     *
+     * @param providers the provided kernels
+     * @return the first provided kernel, or the scalar one if there is none
+     *         or it cannot be loaded
+     */
+    static PointInTriangleKernel firstOrScalar(Iterator<PointInTriangleKernel> providers) {
+        try {
+            if (providers.hasNext()) {
+                return providers.next();
+            }
+        } catch (ServiceConfigurationError | LinkageError exception) {
+            // fall back to the scalar kernel
+        }
+
+        return new ScalarPointInTriangleKernel();
+    }
+
+    @Override
+    public int findPointInTriangle(float[] xs, float[] ys, int start, int end, float ax, float ay, float bx,
+            float by, float cx, float cy) {
+        for (int i = start; i < end; i++) {
+            if (VectorMath.isPointInTriangle(ax, ay, bx, by, cx, cy, xs[i], ys[i])) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
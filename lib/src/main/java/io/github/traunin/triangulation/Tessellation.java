@@ -0,0 +1,78 @@
+package io.github.traunin.triangulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The triangulation of the filled region of several contours.
+ * <p>
+ * The vertices start with the vertices the contours were made of, at
+ * the same indices, followed by the vertices created where contours cross.
+ *
+ * @see Tessellator
+ */
+public final class Tessellation {
+    private final float[] coordinates;
+    private final int[] triangles;
+    private final int intersectionCount;
+
+    Tessellation(float[] coordinates, int[] triangles, int intersectionCount) {
+        this.coordinates = coordinates;
+        this.triangles = triangles;
+        this.intersectionCount = intersectionCount;
+    }
+
+    /**
+     * Returns all vertices of the tessellation.
+     *
+     * @return an unmodifiable {@code List} of the original vertices followed
+     *         by the intersection vertices
+     */
+    public List<Vector2f> vertices() {
+        return new CoordinateList(coordinates);
+    }
+
+    /**
+     * Returns the coordinates of all vertices of the tessellation.
+     *
+     * @return a copy of the interleaved x, y coordinates
+     */
+    public float[] coordinates() {
+        return coordinates.clone();
+    }
+
+    /**
+     * Returns the number of vertices created where contours cross.
+     *
+     * @return the number of intersection vertices at the end of the vertex
+     *         list
+     */
+    public int intersectionCount() {
+        return intersectionCount;
+    }
+
+    /**
+     * Returns the triangles of the filled region.
+     *
+     * @return a {@code List} consisting of {@code int[]} with 3 indices,
+     *         corresponding to the vertices of a triangle
+     */
+    public List<int[]> triangles() {
+        List<int[]> triangleList = new ArrayList<>(triangles.length / 3);
+        for (int i = 0; i < triangles.length; i += 3) {
+            triangleList.add(new int[] { triangles[i], triangles[i + 1], triangles[i + 2] });
+        }
+
+        return Collections.unmodifiableList(triangleList);
+    }
+
+    /**
+     * Returns the triangles of the filled region as a flat index array.
+     *
+     * @return a copy of the triangle vertex indices, 3 per triangle
+     */
+    public int[] triangleIndices() {
+        return triangles.clone();
+    }
+}
@@ -0,0 +1,154 @@
+package io.github.traunin.triangulation;
+
+import java.util.List;
+
+/**
+ * A utility class for triangulating the filled region of several contours
+ * under a {@link FillRule}, such as SVG paths and font glyphs.
+ * <p>
+ * Contours may be in any direction, overlap, cross each other and
+ * themselves, and do not have to be grouped into outlines and holes. All
+ * contour edges are inserted into one constrained Delaunay triangulation,
+ * with a vertex added wherever two edges cross. The winding number of every
+ * triangle is then found by a single walk over the triangulation, and the
+ * triangles inside by the fill rule are kept, so no contour is tested for
+ * containment in another.
+ * <p>
+ * The triangles are counter-clockwise. Vertices at the same coordinates are
+ * merged, and the first of them is used in the triangles.
+ *
+ * <h2>Example Usage:</h2>
+ *
+ * <pre>{@code
+ * // an outline with a hole, as in the letter O
+ * Tessellation tessellation = Tessellator.tessellate(vertices, List.of(outerIndices, innerIndices),
+ *         FillRule.EVEN_ODD);
+ * List<int[]> triangles = tessellation.triangles();
+ * }</pre>
+ */
+public final class Tessellator {
+    /**
+     * Prevents class instantiation.
+     *
+     * @throws UnsupportedOperationException when called
+     */
+    private Tessellator() {
+        throw new UnsupportedOperationException("Cannot be instantiated.");
+    }
+
+    /**
+     * Triangulates the region filled by contours.
+     *
+     * @param <T>      the type of vertices, extending {@link Vector2f}
+     * @param vertices vertices to select from
+     * @param contours contours as vertex indices in order of connection
+     * @param fillRule the rule deciding which regions are filled
+     * @return the triangulation of the filled region
+     * @throws IllegalArgumentException if a contour has less than 3 indices
+     *                                  or an index is outside of
+     *                                  {@code vertices}
+     */
+    public static <T extends Vector2f> Tessellation tessellate(List<T> vertices, List<List<Integer>> contours,
+            FillRule fillRule) {
+        float[] coordinates = new float[2 * vertices.size()];
+        for (int i = 0; i < vertices.size(); i++) {
+            coordinates[2 * i] = vertices.get(i).x();
+            coordinates[2 * i + 1] = vertices.get(i).y();
+        }
+
+        int[] contourOffsets = new int[contours.size() + 1];
+        for (int c = 0; c < contours.size(); c++) {
+            contourOffsets[c + 1] = contourOffsets[c] + contours.get(c).size();
+        }
+        int[] contourIndices = new int[contourOffsets[contours.size()]];
+        for (int c = 0; c < contours.size(); c++) {
+            List<Integer> contour = contours.get(c);
+            for (int i = 0; i < contour.size(); i++) {
+                contourIndices[contourOffsets[c] + i] = contour.get(i);
+            }
+        }
+
+        return tessellate(coordinates, contourIndices, contourOffsets, fillRule);
+    }
+
+    /**
+     * Triangulates the region filled by contours stored in arrays.
+     * <p>
+     * Contour {@code c} consists of {@code contourIndices[contourOffsets[c]]}
+     * up to, but not including,
+     * {@code contourIndices[contourOffsets[c + 1]]}.
+     *
+     * @param coordinates    interleaved x, y vertex coordinates
+     * @param contourIndices vertex indices of all contours, one contour after
+     *                       another
+     * @param contourOffsets the start of every contour, followed by the
+     *                       length of {@code contourIndices}
+     * @param fillRule       the rule deciding which regions are filled
+     * @return the triangulation of the filled region
+     * @throws IllegalArgumentException if the offsets do not increase from 0
+     *                                  to the length of
+     *                                  {@code contourIndices}, a contour has
+     *                                  less than 3 indices or an index is
+     *                                  outside of {@code coordinates}
+     */
+    public static Tessellation tessellate(float[] coordinates, int[] contourIndices, int[] contourOffsets,
+            FillRule fillRule) {
+        if (contourOffsets.length == 0 || contourOffsets[0] != 0
+                || contourOffsets[contourOffsets.length - 1] != contourIndices.length) {
+            throw new IllegalArgumentException(
+                    String.format("Contour offsets have to increase from 0 to %d", contourIndices.length));
+        }
+        int vertexCount = coordinates.length / 2;
+        boolean[] isUsed = new boolean[vertexCount];
+        for (int c = 0; c + 1 < contourOffsets.length; c++) {
+            if (contourOffsets[c + 1] < contourOffsets[c]) {
+                throw new IllegalArgumentException(
+                        String.format("Contour offsets have to increase from 0 to %d", contourIndices.length));
+            }
+            if (contourOffsets[c + 1] - contourOffsets[c] < 3) {
+                throw new IllegalArgumentException("Not enough vertex indices for a polygon");
+            }
+        }
+        for (int index : contourIndices) {
+            if (index < 0 || index >= vertexCount) {
+                throw new IllegalArgumentException(
+                        String.format("Vertex index %d is outside of vertex list of length %d", index,
+                                vertexCount));
+            }
+            isUsed[index] = true;
+        }
+
+        int[] representatives = new int[vertexCount];
+        ConstrainedMesh mesh = ConstrainedMesh.enclose(coordinates, isUsed, false, representatives);
+        for (int c = 0; c + 1 < contourOffsets.length; c++) {
+            int start = contourOffsets[c];
+            int end = contourOffsets[c + 1];
+            for (int i = start; i < end; i++) {
+                int a = representatives[contourIndices[i]];
+                int b = representatives[contourIndices[i + 1 < end ? i + 1 : start]];
+                mesh.insertSegment(a, b, 1);
+            }
+        }
+
+        int[] windingNumbers = mesh.windingNumbers();
+        boolean[] isFilled = new boolean[windingNumbers.length];
+        for (int t = 0; t < windingNumbers.length; t++) {
+            isFilled[t] = fillRule.isInside(windingNumbers[t]);
+        }
+
+        // the 3 vertices of the enclosing triangle are dropped, and the intersections moved in their place
+        float[] meshCoordinates = mesh.coordinates();
+        float[] resultCoordinates = new float[meshCoordinates.length - 6];
+        System.arraycopy(meshCoordinates, 0, resultCoordinates, 0, 2 * vertexCount);
+        System.arraycopy(meshCoordinates, 2 * vertexCount + 6, resultCoordinates, 2 * vertexCount,
+                resultCoordinates.length - 2 * vertexCount);
+        int[] triangles = mesh.triangles(isFilled);
+        for (int i = 0; i < triangles.length; i++) {
+            if (triangles[i] >= vertexCount) {
+                triangles[i] -= 3;
+            }
+        }
+
+        return new Tessellation(resultCoordinates, triangles, mesh.vertexCount() - vertexCount - 3);
+    }
+}
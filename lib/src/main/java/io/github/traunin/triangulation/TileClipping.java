@@ -0,0 +1,403 @@
+package io.github.traunin.triangulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static io.github.traunin.triangulation.VectorMath.EPSILON;
+
+/**
+ * A utility class for clipping polygons to rectangles before triangulating.
+ * <p>
+ * Clips the polygon with the Sutherland-Hodgman approach, one rectangle edge
+ * at a time. Where a concave polygon leaves and reenters the rectangle, the
+ * crossings along the edge are paired up, so the result is split into
+ * separate rings instead of being joined by zero-width bridges. Only the
+ * clipped rings are triangulated.
+ *
+ * <h2>Example Usage:</h2>
+ *
+ * <pre>{@code
+ * ClippedPolygon clipped = TileClipping.clip(vertices, vertexIndices, 0, 0, 256, 256);
+ * List<Vector2f> tileVertices = clipped.vertices();
+ * List<int[]> tileTriangles = clipped.triangles();
+ *
+ * TileGrid grid = TileClipping.clipToGrid(vertices, vertexIndices, 0, 0, 256, 256, 4, 4);
+ * List<int[]> cornerTriangles = grid.tile(3, 3).triangles();
+ * }</pre>
+ *
+ * @see ClippedPolygon
+ * @see TileGrid
+ */
+public final class TileClipping {
+    /**
+     * Prevents class instantiation.
+     *
+     * @throws UnsupportedOperationException when called
+     */
+    private TileClipping() {
+        throw new UnsupportedOperationException("Cannot be instantiated.");
+    }
+
+    /**
+     * Clips a polygon to a rectangle and triangulates the result.
+     *
+     * @param <T>           the type of vertices, extending {@link Vector2f}
+     * @param vertices      vertices to select from
+     * @param vertexIndices vertex indices in order of connection
+     * @param minX          the left edge of the rectangle
+     * @param minY          the bottom edge of the rectangle
+     * @param maxX          the right edge of the rectangle
+     * @param maxY          the top edge of the rectangle
+     * @return the triangulated part of the polygon inside the rectangle
+     * @throws IllegalArgumentException if {@code vertexIndices} size is less
+     *                                  than 3 or the rectangle is empty
+     * @throws TriangulationException   if a clipped ring cannot be triangulated
+     */
+    public static <T extends Vector2f> ClippedPolygon clip(List<T> vertices, List<Integer> vertexIndices,
+            float minX, float minY, float maxX, float maxY) {
+        if (!(minX < maxX) || !(minY < maxY)) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid rectangle [%f; %f] x [%f; %f]", minX, maxX, minY, maxY));
+        }
+
+        RingSet ringSet = new RingSet(vertices, vertexIndices);
+        List<int[]> rings = ringSet.clipToRectangle(List.of(ringSet.initialRing()), minX, minY, maxX, maxY);
+
+        return ringSet.toClippedPolygon(rings);
+    }
+
+    /**
+     * Splits a polygon across a grid of tiles and triangulates every tile.
+     * <p>
+     * The polygon is cut into columns and every column into rows, so each
+     * cut only processes the part of the polygon that was not assigned to a
+     * tile yet.
+     *
+     * @param <T>           the type of vertices, extending {@link Vector2f}
+     * @param vertices      vertices to select from
+     * @param vertexIndices vertex indices in order of connection
+     * @param originX       the left edge of the grid
+     * @param originY       the bottom edge of the grid
+     * @param tileWidth     the width of a tile
+     * @param tileHeight    the height of a tile
+     * @param columns       the number of tile columns
+     * @param rows          the number of tile rows
+     * @return the triangulated parts of the polygon inside each tile
+     * @throws IllegalArgumentException if {@code vertexIndices} size is less
+     *                                  than 3 or the grid is empty
+     * @throws TriangulationException   if a clipped ring cannot be triangulated
+     */
+    public static <T extends Vector2f> TileGrid clipToGrid(List<T> vertices, List<Integer> vertexIndices,
+            float originX, float originY, float tileWidth, float tileHeight, int columns, int rows) {
+        if (!(tileWidth > 0) || !(tileHeight > 0) || columns < 1 || rows < 1) {
+            throw new IllegalArgumentException(String.format("Invalid grid of %dx%d tiles of size %fx%f",
+                    columns, rows, tileWidth, tileHeight));
+        }
+
+        RingSet ringSet = new RingSet(vertices, vertexIndices);
+        ClippedPolygon[] tiles = new ClippedPolygon[columns * rows];
+        Arrays.fill(tiles, ClippedPolygon.empty());
+
+        List<int[]> remainder = ringSet.clipToRectangle(List.of(ringSet.initialRing()), originX, originY,
+                originX + columns * tileWidth, originY + rows * tileHeight);
+
+        for (int column = 0; column < columns && !remainder.isEmpty(); column++) {
+            List<int[]> columnRings = remainder;
+            if (column < columns - 1) {
+                float cut = originX + (column + 1) * tileWidth;
+                columnRings = ringSet.clip(remainder, true, cut, false);
+                remainder = ringSet.clip(remainder, true, cut, true);
+            }
+
+            for (int row = 0; row < rows && !columnRings.isEmpty(); row++) {
+                List<int[]> tileRings = columnRings;
+                if (row < rows - 1) {
+                    float cut = originY + (row + 1) * tileHeight;
+                    tileRings = ringSet.clip(columnRings, false, cut, false);
+                    columnRings = ringSet.clip(columnRings, false, cut, true);
+                }
+                tiles[row * columns + column] = ringSet.toClippedPolygon(tileRings);
+            }
+        }
+
+        return new TileGrid(columns, rows, tiles);
+    }
+
+    /**
+     * Vertices shared by the rings produced while clipping.
+     * <p>
+     * Rings are arrays of vertex ids. The first vertices are copies of the
+     * original vertices, the rest are created at the clipping lines.
+     */
+    private static final class RingSet {
+        private static final int NO_SOURCE = -1;
+        private static final int NO_CHAIN = -1;
+
+        private final FloatArrayList coordinates = new FloatArrayList();
+        private final IntArrayList sourceIndices = new IntArrayList();
+        private final int[] initialRing;
+
+        <T extends Vector2f> RingSet(List<T> vertices, List<Integer> vertexIndices) {
+            int vertexIndicesCount = vertexIndices.size();
+            if (vertexIndicesCount < 3) {
+                throw new IllegalArgumentException("Not enough vertex indices for a polygon");
+            }
+
+            int vertexCount = vertices.size();
+            initialRing = new int[vertexIndicesCount];
+            for (int i = 0; i < vertexIndicesCount; i++) {
+                int vertexIndex = vertexIndices.get(i);
+                if (vertexIndex >= vertexCount) {
+                    throw new IllegalArgumentException(
+                            String.format("Vertex index %d is outside of vertex list of length %d", vertexIndex,
+                                    vertexCount));
+                }
+                Vector2f vertex = vertices.get(vertexIndex);
+                initialRing[i] = addVertex(vertex.x(), vertex.y(), vertexIndex);
+            }
+        }
+
+        int[] initialRing() {
+            return initialRing;
+        }
+
+        private int addVertex(float x, float y, int sourceIndex) {
+            coordinates.add(x);
+            coordinates.add(y);
+            sourceIndices.add(sourceIndex);
+
+            return sourceIndices.size() - 1;
+        }
+
+        private float coordinate(int vertex, boolean isXAxis) {
+            return coordinates.get(isXAxis ? 2 * vertex : 2 * vertex + 1);
+        }
+
+        List<int[]> clipToRectangle(List<int[]> rings, float minX, float minY, float maxX, float maxY) {
+            rings = clip(rings, true, minX, true);
+            rings = clip(rings, true, maxX, false);
+            rings = clip(rings, false, minY, true);
+
+            return clip(rings, false, maxY, false);
+        }
+
+        /**
+         * Clips rings to a half-plane bounded by an axis-aligned line.
+         *
+         * @param rings       rings to clip
+         * @param isXAxis     true for the line x = bound, false for y = bound
+         * @param bound       the position of the line
+         * @param keepGreater true to keep the side with greater coordinates
+         * @return the clipped rings
+         */
+        List<int[]> clip(List<int[]> rings, boolean isXAxis, float bound, boolean keepGreater) {
+            List<int[]> clippedRings = new ArrayList<>();
+            for (int[] ring : rings) {
+                clipRing(ring, isXAxis, bound, keepGreater, clippedRings);
+            }
+
+            return clippedRings;
+        }
+
+        private void clipRing(int[] ring, boolean isXAxis, float bound, boolean keepGreater,
+                List<int[]> clippedRings) {
+            int n = ring.length;
+            float[] distances = new float[n];
+            int start = -1;
+            for (int i = 0; i < n; i++) {
+                float offset = coordinate(ring[i], isXAxis) - bound;
+                distances[i] = keepGreater ? offset : -offset;
+                if (distances[i] < 0 && start < 0) {
+                    start = i;
+                }
+            }
+
+            if (start < 0) {
+                clippedRings.add(ring);
+                return;
+            }
+
+            // chains of kept vertices, each starting and ending on the line
+            List<IntArrayList> chains = new ArrayList<>();
+            IntArrayList chain = null;
+            for (int k = 0; k < n; k++) {
+                int i = (start + k) % n;
+                int j = (i + 1) % n;
+                boolean isIInside = distances[i] >= 0;
+                boolean isJInside = distances[j] >= 0;
+
+                if (isIInside && isJInside) {
+                    chain.add(ring[j]);
+                } else if (isIInside) {
+                    if (distances[i] > 0) {
+                        chain.add(intersection(ring[i], ring[j], isXAxis, bound));
+                    }
+                    if (chain.size() > 1) {
+                        chains.add(chain);
+                    }
+                    chain = null;
+                } else if (isJInside) {
+                    chain = new IntArrayList();
+                    if (distances[j] > 0) {
+                        chain.add(intersection(ring[i], ring[j], isXAxis, bound));
+                    }
+                    chain.add(ring[j]);
+                }
+            }
+
+            if (chains.isEmpty()) {
+                return;
+            }
+
+            int[] nextChains = pairCrossings(chains, ring, isXAxis, keepGreater);
+            boolean[] isVisited = new boolean[chains.size()];
+            for (int first = 0; first < chains.size(); first++) {
+                if (isVisited[first]) {
+                    continue;
+                }
+
+                IntArrayList clippedRing = new IntArrayList();
+                for (int c = first; c != NO_CHAIN && !isVisited[c]; c = nextChains[c]) {
+                    isVisited[c] = true;
+                    IntArrayList vertices = chains.get(c);
+                    for (int i = 0; i < vertices.size(); i++) {
+                        clippedRing.add(vertices.get(i));
+                    }
+                }
+                clippedRings.add(clippedRing.toArray());
+            }
+        }
+
+        /**
+         * Connects every chain exit with the entry bounding the same inside
+         * interval of the clipping line.
+         *
+         * @return the chain following each chain in the clipped rings
+         */
+        private int[] pairCrossings(List<IntArrayList> chains, int[] ring, boolean isXAxis, boolean keepGreater) {
+            int chainCount = chains.size();
+            // along the line, inside intervals of a CCW polygon start with an entry when
+            // the kept side is on the right of the line direction
+            boolean isCounterClockwise = signedArea(ring) >= 0;
+            boolean isEntryFirst = (isXAxis == keepGreater) == isCounterClockwise;
+
+            // crossing 2c is the entry of chain c, crossing 2c + 1 is its exit
+            Integer[] crossings = new Integer[2 * chainCount];
+            float[] positions = new float[2 * chainCount];
+            for (int c = 0; c < chainCount; c++) {
+                IntArrayList chain = chains.get(c);
+                crossings[2 * c] = 2 * c;
+                crossings[2 * c + 1] = 2 * c + 1;
+                positions[2 * c] = coordinate(chain.get(0), !isXAxis);
+                positions[2 * c + 1] = coordinate(chain.get(chain.size() - 1), !isXAxis);
+            }
+
+            // on ties, close the previous interval before opening the next one
+            Arrays.sort(crossings, (first, second) -> {
+                int byPosition = Float.compare(positions[first], positions[second]);
+                if (byPosition != 0) {
+                    return byPosition;
+                }
+                boolean isFirstEntry = first % 2 == 0;
+                boolean isSecondEntry = second % 2 == 0;
+
+                return Boolean.compare(isFirstEntry == isEntryFirst, isSecondEntry == isEntryFirst);
+            });
+
+            int[] nextChains = new int[chainCount];
+            Arrays.fill(nextChains, NO_CHAIN);
+            for (int i = 0; i + 1 < crossings.length; i += 2) {
+                int first = crossings[i];
+                int second = crossings[i + 1];
+                if (first % 2 == second % 2) {
+                    continue;
+                }
+                int exit = first % 2 == 1 ? first : second;
+                int entry = first % 2 == 0 ? first : second;
+                nextChains[exit / 2] = entry / 2;
+            }
+
+            return nextChains;
+        }
+
+        private int intersection(int a, int b, boolean isXAxis, float bound) {
+            // always interpolate in the same direction, so neighbouring tiles get equal vertices
+            if (a > b) {
+                int swap = a;
+                a = b;
+                b = swap;
+            }
+
+            float aCoordinate = coordinate(a, isXAxis);
+            float t = (bound - aCoordinate) / (coordinate(b, isXAxis) - aCoordinate);
+            float aOther = coordinate(a, !isXAxis);
+            float other = aOther + t * (coordinate(b, !isXAxis) - aOther);
+
+            return isXAxis ? addVertex(bound, other, NO_SOURCE) : addVertex(other, bound, NO_SOURCE);
+        }
+
+        private double signedArea(int[] ring) {
+            double area = 0;
+            int prevVertex = ring[ring.length - 1];
+            for (int vertex : ring) {
+                area += (double) coordinates.get(2 * prevVertex) * coordinates.get(2 * vertex + 1)
+                        - (double) coordinates.get(2 * vertex) * coordinates.get(2 * prevVertex + 1);
+                prevVertex = vertex;
+            }
+
+            return area / 2;
+        }
+
+        /**
+         * Compacts the vertices used by the rings and triangulates them.
+         */
+        ClippedPolygon toClippedPolygon(List<int[]> rings) {
+            int[] localIndices = new int[sourceIndices.size()];
+            Arrays.fill(localIndices, -1);
+            FloatArrayList localCoordinates = new FloatArrayList();
+            IntArrayList localSources = new IntArrayList();
+            List<int[]> localRings = new ArrayList<>();
+
+            for (int[] ring : rings) {
+                if (ring.length < 3 || Math.abs(signedArea(ring)) <= EPSILON) {
+                    continue;
+                }
+
+                int[] localRing = new int[ring.length];
+                for (int i = 0; i < ring.length; i++) {
+                    int vertex = ring[i];
+                    if (localIndices[vertex] < 0) {
+                        localIndices[vertex] = localSources.size();
+                        localCoordinates.add(coordinates.get(2 * vertex));
+                        localCoordinates.add(coordinates.get(2 * vertex + 1));
+                        localSources.add(sourceIndices.get(vertex));
+                    }
+                    localRing[i] = localIndices[vertex];
+                }
+                localRings.add(localRing);
+            }
+
+            if (localRings.isEmpty()) {
+                return ClippedPolygon.empty();
+            }
+
+            float[] polygonCoordinates = localCoordinates.toArray();
+            List<Vector2f> polygonVertices = new CoordinateList(polygonCoordinates);
+            List<List<Integer>> polygonRings = new ArrayList<>(localRings.size());
+            IntArrayList triangles = new IntArrayList();
+            for (int[] localRing : localRings) {
+                // vertices on the clipping lines may repeat the original ones
+                List<Integer> ring = VertexWelding.weld(polygonVertices, Arrays.stream(localRing).boxed().toList(), 0)
+                        .vertexIndices();
+                int[] weldedRing = ring.stream().mapToInt(Integer::intValue).toArray();
+                FlatEarClipping.triangulate(polygonCoordinates, weldedRing, weldedRing.length, triangles);
+                polygonRings.add(ring);
+            }
+
+            return new ClippedPolygon(polygonCoordinates, localSources.toArray(),
+                    Collections.unmodifiableList(polygonRings), triangles.toArray());
+        }
+    }
+}
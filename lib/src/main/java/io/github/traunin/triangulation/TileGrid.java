@@ -0,0 +1,55 @@
+package io.github.traunin.triangulation;
+
+/**
+ * A polygon split across a grid of equally sized tiles.
+ * <p>
+ * Every tile holds its own clipped and triangulated part of the polygon.
+ *
+ * @see TileClipping#clipToGrid(java.util.List, java.util.List, float, float, float, float, int, int)
+ */
+public final class TileGrid {
+    private final int columns;
+    private final int rows;
+    private final ClippedPolygon[] tiles;
+
+    TileGrid(int columns, int rows, ClippedPolygon[] tiles) {
+        this.columns = columns;
+        this.rows = rows;
+        this.tiles = tiles;
+    }
+
+    /**
+     * Returns the number of tile columns.
+     *
+     * @return the number of columns
+     */
+    public int columns() {
+        return columns;
+    }
+
+    /**
+     * Returns the number of tile rows.
+     *
+     * @return the number of rows
+     */
+    public int rows() {
+        return rows;
+    }
+
+    /**
+     * Returns the part of the polygon inside a tile.
+     *
+     * @param column the column of the tile, starting from the grid origin
+     * @param row    the row of the tile, starting from the grid origin
+     * @return the clipped polygon, empty if the polygon does not cover the tile
+     * @throws IndexOutOfBoundsException if the tile is outside of the grid
+     */
+    public ClippedPolygon tile(int column, int row) {
+        if (column < 0 || column >= columns || row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Tile (%d, %d) is outside of %dx%d grid", column, row, columns, rows));
+        }
+
+        return tiles[row * columns + column];
+    }
+}
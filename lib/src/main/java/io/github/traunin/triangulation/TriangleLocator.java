@@ -0,0 +1,401 @@
+package io.github.traunin.triangulation;
+
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * A spatial index answering which triangle of a triangulation contains a
+ * point.
+ * <p>
+ * Triangles are rasterized into a uniform grid over the bounds of the
+ * triangulation, with about one cell per triangle, so a triangle is only
+ * listed in the cells it overlaps. Fans of long, thin triangles get a coarser
+ * grid to keep the index linear in size. The grid is stored in flat arrays,
+ * so a query only reads the triangles of a single cell. Once
+ * built, the locator is immutable and can be queried from several threads.
+ *
+ * <h2>Example Usage:</h2>
+ *
+ * <pre>{@code
+ * List<int[]> triangles = Triangulation.earClippingTriangulate(vertices);
+ * TriangleLocator locator = TriangleLocator.of(vertices, triangles);
+ * float[] barycentric = new float[3];
+ * int triangle = locator.locate(0.5f, 0.5f, barycentric);
+ * }</pre>
+ */
+public final class TriangleLocator {
+    /**
+     * Returned for points outside of every triangle.
+     */
+    public static final int NOT_FOUND = -1;
+
+    // average number of cells a triangle may overlap before the grid is made coarser
+    private static final long MAX_CELLS_PER_TRIANGLE = 32;
+
+    private final float[] coordinates;
+    private final int[] triangles;
+    private final Grid grid;
+    private final int[] cellOffsets;
+    private final int[] cellTriangles;
+
+    private TriangleLocator(float[] coordinates, int[] triangles) {
+        this.coordinates = coordinates;
+        this.triangles = triangles;
+        int triangleCount = triangles.length / 3;
+
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        for (int vertexIndex : triangles) {
+            minX = Math.min(minX, coordinates[2 * vertexIndex]);
+            minY = Math.min(minY, coordinates[2 * vertexIndex + 1]);
+            maxX = Math.max(maxX, coordinates[2 * vertexIndex]);
+            maxY = Math.max(maxY, coordinates[2 * vertexIndex + 1]);
+        }
+        if (triangleCount == 0) {
+            minX = minY = maxX = maxY = 0;
+        }
+
+        // about one cell per triangle, keeping cells close to square
+        float width = Math.max(maxX - minX, Float.MIN_NORMAL);
+        float height = Math.max(maxY - minY, Float.MIN_NORMAL);
+        double cellSize = Math.sqrt((double) width * height / Math.max(triangleCount, 1));
+        int columns = (int) Math.max(1, Math.min(Math.ceil(width / cellSize), Math.max(triangleCount, 1)));
+        int rows = (int) Math.max(1, Math.min(Math.ceil(height / cellSize), Math.max(triangleCount, 1)));
+
+        // count triangles per cell, coarsening the grid while long skinny triangles cross too many cells
+        long maxEntryCount = Math.min(MAX_CELLS_PER_TRIANGLE * Math.max(triangleCount, 1), Integer.MAX_VALUE - 8);
+        Grid grid;
+        int[] cellCounts;
+        long entryCount;
+        do {
+            grid = new Grid(minX, minY, width, height, columns, rows);
+            int[] counts = new int[columns * rows + 1];
+            entryCount = 0;
+            for (int t = 0; t < triangleCount; t++) {
+                entryCount += grid.forEachCell(coordinates, triangles, t, (cell) -> counts[cell + 1]++);
+            }
+            cellCounts = counts;
+            columns = (columns + 1) / 2;
+            rows = (rows + 1) / 2;
+        } while (entryCount > maxEntryCount && grid.cellCount() > 1);
+        this.grid = grid;
+        cellOffsets = cellCounts;
+
+        // fill the triangles of every cell in compressed rows
+        for (int cell = 0; cell < grid.cellCount(); cell++) {
+            cellOffsets[cell + 1] += cellOffsets[cell];
+        }
+        cellTriangles = new int[cellOffsets[grid.cellCount()]];
+        int[] fill = new int[grid.cellCount()];
+        for (int t = 0; t < triangleCount; t++) {
+            int triangle = t;
+            grid.forEachCell(coordinates, triangles, t,
+                    (cell) -> cellTriangles[cellOffsets[cell] + fill[cell]++] = triangle);
+        }
+    }
+
+    /**
+     * Builds a locator for a triangulation.
+     *
+     * @param <T>       the type of vertices, extending {@link Vector2f}
+     * @param vertices  vertices the triangles refer to
+     * @param triangles triangles as {@code int[]} with 3 vertex indices
+     * @return the locator
+     * @throws IllegalArgumentException if a vertex index is outside of
+     *                                  {@code vertices}
+     */
+    public static <T extends Vector2f> TriangleLocator of(List<T> vertices, List<int[]> triangles) {
+        float[] coordinates = new float[vertices.size() * 2];
+        for (int i = 0; i < vertices.size(); i++) {
+            Vector2f vertex = vertices.get(i);
+            coordinates[2 * i] = vertex.x();
+            coordinates[2 * i + 1] = vertex.y();
+        }
+
+        int[] triangleIndices = new int[triangles.size() * 3];
+        for (int t = 0; t < triangles.size(); t++) {
+            System.arraycopy(triangles.get(t), 0, triangleIndices, 3 * t, 3);
+        }
+
+        return of(coordinates, triangleIndices);
+    }
+
+    /**
+     * Builds a locator for a triangulation stored in flat arrays.
+     * <p>
+     * The arrays are copied, so they can be reused after the call.
+     *
+     * @param coordinates     interleaved x, y vertex coordinates
+     * @param triangleIndices triangle vertex indices, 3 per triangle
+     * @return the locator
+     * @throws IllegalArgumentException if a vertex index is outside of
+     *                                  {@code coordinates} or the number of
+     *                                  indices is not divisible by 3
+     */
+    public static TriangleLocator of(float[] coordinates, int[] triangleIndices) {
+        if (triangleIndices.length % 3 != 0) {
+            throw new IllegalArgumentException(
+                    String.format("Triangle index count %d is not divisible by 3", triangleIndices.length));
+        }
+        int vertexCount = coordinates.length / 2;
+        for (int vertexIndex : triangleIndices) {
+            if (vertexIndex < 0 || vertexIndex >= vertexCount) {
+                throw new IllegalArgumentException(
+                        String.format("Vertex index %d is outside of vertex list of length %d", vertexIndex,
+                                vertexCount));
+            }
+        }
+
+        return new TriangleLocator(coordinates.clone(), triangleIndices.clone());
+    }
+
+    /**
+     * Returns the number of indexed triangles.
+     *
+     * @return the number of triangles
+     */
+    public int triangleCount() {
+        return triangles.length / 3;
+    }
+
+    /**
+     * Finds the triangle containing a point.
+     * <p>
+     * Points on an edge shared by two triangles may be reported in either of
+     * them.
+     *
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @return the index of the triangle in the triangulation, or
+     *         {@link #NOT_FOUND}
+     */
+    public int locate(float x, float y) {
+        int cell = grid.cellOf(x, y);
+        if (cell == NOT_FOUND) {
+            return NOT_FOUND;
+        }
+
+        for (int i = cellOffsets[cell]; i < cellOffsets[cell + 1]; i++) {
+            int t = cellTriangles[i];
+            int a = triangles[3 * t];
+            int b = triangles[3 * t + 1];
+            int c = triangles[3 * t + 2];
+            if (VectorMath.isPointInTriangle(
+                    coordinates[2 * a], coordinates[2 * a + 1],
+                    coordinates[2 * b], coordinates[2 * b + 1],
+                    coordinates[2 * c], coordinates[2 * c + 1], x, y)) {
+                return t;
+            }
+        }
+
+        return NOT_FOUND;
+    }
+
+    /**
+     * Finds the triangle containing a point and its barycentric coordinates.
+     *
+     * @param x           the x coordinate of the point
+     * @param y           the y coordinate of the point
+     * @param barycentric the array receiving the weights of the 3 triangle
+     *                    vertices, left unchanged if the point is not found
+     * @return the index of the triangle in the triangulation, or
+     *         {@link #NOT_FOUND}
+     */
+    public int locate(float x, float y, float[] barycentric) {
+        int triangle = locate(x, y);
+        if (triangle != NOT_FOUND) {
+            barycentric(triangle, x, y, barycentric, 0);
+        }
+
+        return triangle;
+    }
+
+    /**
+     * Finds the triangles containing a batch of points.
+     * <p>
+     * For every point writes its triangle index, or {@link #NOT_FOUND}, and,
+     * when {@code barycentric} is not {@code null}, its 3 barycentric
+     * coordinates.
+     *
+     * @param points      interleaved x, y coordinates of the points
+     * @param triangles   the array receiving a triangle index per point
+     * @param barycentric the array receiving 3 weights per point, or
+     *                    {@code null}
+     * @return the number of points inside the triangulation
+     * @throws IllegalArgumentException if the output arrays are too short
+     */
+    public int locateAll(float[] points, int[] triangles, float[] barycentric) {
+        int pointCount = points.length / 2;
+        if (triangles.length < pointCount || (barycentric != null && barycentric.length < 3 * pointCount)) {
+            throw new IllegalArgumentException(
+                    String.format("Output arrays are too short for %d points", pointCount));
+        }
+
+        int foundCount = 0;
+        for (int i = 0; i < pointCount; i++) {
+            float x = points[2 * i];
+            float y = points[2 * i + 1];
+            int triangle = locate(x, y);
+            triangles[i] = triangle;
+            if (triangle == NOT_FOUND) {
+                continue;
+            }
+
+            foundCount++;
+            if (barycentric != null) {
+                barycentric(triangle, x, y, barycentric, 3 * i);
+            }
+        }
+
+        return foundCount;
+    }
+
+    /**
+     * Calculates the barycentric coordinates of a point in a triangle.
+     * <p>
+     * The weights are the areas of the sub-triangles opposite to each vertex
+     * divided by the area of the triangle, so they sum to 1. For degenerate
+     * triangles the weight of the first vertex is 1.
+     *
+     * @param triangle    the index of the triangle in the triangulation
+     * @param x           the x coordinate of the point
+     * @param y           the y coordinate of the point
+     * @param barycentric the array receiving the weights
+     * @param offset      the position of the first weight in {@code barycentric}
+     */
+    public void barycentric(int triangle, float x, float y, float[] barycentric, int offset) {
+        int a = triangles[3 * triangle];
+        int b = triangles[3 * triangle + 1];
+        int c = triangles[3 * triangle + 2];
+        float ax = coordinates[2 * a];
+        float ay = coordinates[2 * a + 1];
+        float bx = coordinates[2 * b];
+        float by = coordinates[2 * b + 1];
+        float cx = coordinates[2 * c];
+        float cy = coordinates[2 * c + 1];
+
+        float area = VectorMath.crossProduct(ax, ay, bx, by, cx, cy);
+        if (Math.abs(area) <= VectorMath.EPSILON) {
+            barycentric[offset] = 1;
+            barycentric[offset + 1] = 0;
+            barycentric[offset + 2] = 0;
+            return;
+        }
+
+        float weightA = VectorMath.crossProduct(x, y, bx, by, cx, cy) / area;
+        float weightB = VectorMath.crossProduct(ax, ay, x, y, cx, cy) / area;
+        barycentric[offset] = weightA;
+        barycentric[offset + 1] = weightB;
+        barycentric[offset + 2] = 1 - weightA - weightB;
+    }
+
+    /**
+     * A uniform grid over the bounds of a triangulation.
+     */
+    private static final class Grid {
+        private final float minX;
+        private final float minY;
+        private final float inverseCellWidth;
+        private final float inverseCellHeight;
+        private final int columns;
+        private final int rows;
+        // cells are widened by this many cell sizes to cover the rounding of cell coordinates
+        private final double slack;
+
+        Grid(float minX, float minY, float width, float height, int columns, int rows) {
+            this.minX = minX;
+            this.minY = minY;
+            this.columns = columns;
+            this.rows = rows;
+            inverseCellWidth = columns / width;
+            inverseCellHeight = rows / height;
+            slack = 0.001 + 4 * Math.ulp((float) Math.max(columns, rows));
+        }
+
+        int cellCount() {
+            return columns * rows;
+        }
+
+        int cellOf(float x, float y) {
+            int column = (int) Math.floor((x - minX) * inverseCellWidth);
+            int row = (int) Math.floor((y - minY) * inverseCellHeight);
+            // points on the max edges of the bounds belong to the last cells
+            if (column == columns) {
+                column--;
+            }
+            if (row == rows) {
+                row--;
+            }
+            if (column < 0 || column >= columns || row < 0 || row >= rows) {
+                return NOT_FOUND;
+            }
+
+            return row * columns + column;
+        }
+
+        /**
+         * Rasterizes a triangle, calling {@code action} with every cell it
+         * overlaps, rather than every cell of its bounding box.
+         *
+         * @return the number of cells
+         */
+        int forEachCell(float[] coordinates, int[] triangles, int triangle, IntConsumer action) {
+            // cell coordinates, rounded like the ones of located points
+            double[] u = new double[3];
+            double[] v = new double[3];
+            for (int i = 0; i < 3; i++) {
+                int vertexIndex = triangles[3 * triangle + i];
+                u[i] = (coordinates[2 * vertexIndex] - minX) * inverseCellWidth;
+                v[i] = (coordinates[2 * vertexIndex + 1] - minY) * inverseCellHeight;
+            }
+
+            int firstRow = clamp((int) Math.floor(Math.min(v[0], Math.min(v[1], v[2])) - slack), rows);
+            int lastRow = clamp((int) Math.floor(Math.max(v[0], Math.max(v[1], v[2])) + slack), rows);
+            int cellCount = 0;
+            for (int row = firstRow; row <= lastRow; row++) {
+                // the x extent of the triangle within the row is reached at a vertex or on a row border
+                double low = row - slack;
+                double high = row + 1 + slack;
+                double rowMinU = Double.POSITIVE_INFINITY;
+                double rowMaxU = Double.NEGATIVE_INFINITY;
+                for (int i = 0; i < 3; i++) {
+                    int next = (i + 1) % 3;
+                    if (low <= v[i] && v[i] <= high) {
+                        rowMinU = Math.min(rowMinU, u[i]);
+                        rowMaxU = Math.max(rowMaxU, u[i]);
+                    }
+                    if (v[i] == v[next]) {
+                        continue;
+                    }
+                    for (int side = 0; side < 2; side++) {
+                        double border = side == 0 ? low : high;
+                        if ((border - v[i]) * (border - v[next]) <= 0) {
+                            double t = (border - v[i]) / (v[next] - v[i]);
+                            double borderU = u[i] + t * (u[next] - u[i]);
+                            rowMinU = Math.min(rowMinU, borderU);
+                            rowMaxU = Math.max(rowMaxU, borderU);
+                        }
+                    }
+                }
+                if (rowMinU > rowMaxU) {
+                    continue;
+                }
+
+                int firstColumn = clamp((int) Math.floor(rowMinU - slack), columns);
+                int lastColumn = clamp((int) Math.floor(rowMaxU + slack), columns);
+                for (int column = firstColumn; column <= lastColumn; column++) {
+                    action.accept(row * columns + column);
+                }
+                cellCount += lastColumn - firstColumn + 1;
+            }
+
+            return cellCount;
+        }
+
+        private static int clamp(int cell, int cellCount) {
+            return Math.max(0, Math.min(cell, cellCount - 1));
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package io.github.traunin.triangulation;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A utility class for converting triangles into triangle strips.
+ * <p>
+ * Strips are returned as a single flat index array, with separate strips
+ * divided by a primitive restart index. Winding of the triangles is kept, so
+ * the strips can be drawn with back face culling enabled.
+ *
+ * <h2>Example Usage:</h2>
+ *
+ * <pre>{@code
+ * List<int[]> triangles = Triangulation.earClippingTriangulate(vertices);
+ * int[] strips = TriangleStrips.stripify(triangles);
+ * }</pre>
+ *
+ * @see Triangulation#convexPolygonTriangulateFan(List)
+ */
+public final class TriangleStrips {
+    /**
+     * The default primitive restart index, equal to {@code 0xFFFFFFFF} as an
+     * unsigned integer.
+     */
+    public static final int PRIMITIVE_RESTART_INDEX = -1;
+
+    private static final int NO_TRIANGLE = -1;
+
+    /**
+     * Prevents class instantiation.
+     *
+     * @throws UnsupportedOperationException when called
+     */
+    private TriangleStrips() {
+        throw new UnsupportedOperationException("Cannot be instantiated.");
+    }
+
+    /**
+     * Converts triangles into strips divided by
+     * {@link #PRIMITIVE_RESTART_INDEX}.
+     *
+     * @param triangles triangles as {@code int[]} with 3 vertex indices
+     * @return an {@code int[]} of strips divided by the restart index
+     * @see #stripify(List, int)
+     */
+    public static int[] stripify(List<int[]> triangles) {
+        return stripify(triangles, PRIMITIVE_RESTART_INDEX);
+    }
+
+    /**
+     * Converts triangles into strips divided by a restart index.
+     * <p>
+     * Greedily grows a strip from every unused triangle across shared edges,
+     * starting from the triangle edge giving the longest strip. Works in O(n).
+     *
+     * @param triangles    triangles as {@code int[]} with 3 vertex indices
+     * @param restartIndex the index written between strips
+     * @return an {@code int[]} of strips divided by the restart index
+     * @throws IllegalArgumentException if a triangle uses {@code restartIndex}
+     */
+    public static int[] stripify(List<int[]> triangles, int restartIndex) {
+        int triangleCount = triangles.size();
+        Map<Long, Integer> edgeTriangles = new HashMap<>(triangleCount * 4);
+        for (int t = 0; t < triangleCount; t++) {
+            int[] triangle = triangles.get(t);
+            for (int i = 0; i < 3; i++) {
+                if (triangle[i] == restartIndex) {
+                    throw new IllegalArgumentException(
+                            String.format("Triangle uses the restart index %d", restartIndex));
+                }
+                edgeTriangles.put(edgeKey(triangle[i], triangle[(i + 1) % 3]), t);
+            }
+        }
+
+        boolean[] isUsed = new boolean[triangleCount];
+        // marks triangles visited while measuring a candidate strip
+        int[] visitStamps = new int[triangleCount];
+        int stamp = 0;
+        IntArrayList strips = new IntArrayList(triangleCount * 3);
+
+        for (int t = 0; t < triangleCount; t++) {
+            if (isUsed[t]) {
+                continue;
+            }
+
+            int[] triangle = triangles.get(t);
+            int bestRotation = 0;
+            int bestLength = -1;
+            for (int rotation = 0; rotation < 3; rotation++) {
+                stamp++;
+                visitStamps[t] = stamp;
+                int length = extendStrip(triangles, edgeTriangles, isUsed, visitStamps, stamp, null,
+                        triangle[(rotation + 1) % 3], triangle[(rotation + 2) % 3], 1);
+                if (length > bestLength) {
+                    bestLength = length;
+                    bestRotation = rotation;
+                }
+            }
+
+            if (strips.size() > 0) {
+                strips.add(restartIndex);
+            }
+            isUsed[t] = true;
+            strips.add(triangle[bestRotation]);
+            strips.add(triangle[(bestRotation + 1) % 3]);
+            strips.add(triangle[(bestRotation + 2) % 3]);
+            stamp++;
+            extendStrip(triangles, edgeTriangles, isUsed, visitStamps, stamp, strips,
+                    triangle[(bestRotation + 1) % 3], triangle[(bestRotation + 2) % 3], 1);
+        }
+
+        return strips.toArray();
+    }
+
+    /**
+     * Converts triangles into strips and writes them into a buffer.
+     * <p>
+     * Useful for writing directly into a direct buffer used for uploading
+     * index data.
+     *
+     * @param triangles    triangles as {@code int[]} with 3 vertex indices
+     * @param restartIndex the index written between strips
+     * @param buffer       the buffer to write the strips into, starting at its
+     *                     current position
+     * @return the number of indices written
+     * @throws java.nio.BufferOverflowException if the buffer does not have
+     *                                          enough space left
+     * @see #stripify(List, int)
+     */
+    public static int stripify(List<int[]> triangles, int restartIndex, IntBuffer buffer) {
+        int[] strips = stripify(triangles, restartIndex);
+        buffer.put(strips);
+
+        return strips.length;
+    }
+
+    /**
+     * Converts strips divided by a restart index back into triangles.
+     *
+     * @param strips       strips divided by the restart index
+     * @param restartIndex the index written between strips
+     * @return a {@code List} consisting of {@code int[]} with 3 indices,
+     *         corresponding to the vertices of a triangle
+     */
+    public static List<int[]> stripsToTriangles(int[] strips, int restartIndex) {
+        List<int[]> triangles = new ArrayList<>();
+        int stripStart = 0;
+        for (int i = 0; i < strips.length; i++) {
+            if (strips[i] == restartIndex) {
+                stripStart = i + 1;
+                continue;
+            }
+
+            int position = i - stripStart - 2;
+            if (position < 0) {
+                continue;
+            }
+            // every other triangle of a strip has reversed winding
+            if (position % 2 == 0) {
+                triangles.add(new int[] { strips[i - 2], strips[i - 1], strips[i] });
+            } else {
+                triangles.add(new int[] { strips[i - 1], strips[i - 2], strips[i] });
+            }
+        }
+
+        return triangles;
+    }
+
+    /**
+     * Converts a triangle fan back into triangles.
+     *
+     * @param fan vertex indices in triangle fan order
+     * @return a {@code List} consisting of {@code int[]} with 3 indices,
+     *         corresponding to the vertices of a triangle
+     */
+    public static List<int[]> fanToTriangles(int[] fan) {
+        List<int[]> triangles = new ArrayList<>(Math.max(fan.length - 2, 0));
+        for (int i = 2; i < fan.length; i++) {
+            triangles.add(new int[] { fan[0], fan[i - 1], fan[i] });
+        }
+
+        return triangles;
+    }
+
+    /**
+     * Walks across shared edges starting from the last two strip vertices.
+     * <p>
+     * When {@code strips} is {@code null} only measures the strip length,
+     * marking visited triangles with {@code stamp} instead of using them.
+     *
+     * @return the number of triangles added after the starting one
+     */
+    private static int extendStrip(List<int[]> triangles, Map<Long, Integer> edgeTriangles, boolean[] isUsed,
+            int[] visitStamps, int stamp, IntArrayList strips, int secondLast, int last, int position) {
+        int length = 0;
+        for (;; position++) {
+            // odd triangles are stored reversed, so they share the edge in the same direction
+            long key = position % 2 == 0 ? edgeKey(secondLast, last) : edgeKey(last, secondLast);
+            Integer next = edgeTriangles.get(key);
+            int t = next == null ? NO_TRIANGLE : next;
+            if (t == NO_TRIANGLE || isUsed[t] || visitStamps[t] == stamp) {
+                return length;
+            }
+
+            int[] triangle = triangles.get(t);
+            int third = triangle[0] + triangle[1] + triangle[2];
+            third -= position % 2 == 0 ? secondLast + last : last + secondLast;
+            if (strips == null) {
+                visitStamps[t] = stamp;
+            } else {
+                isUsed[t] = true;
+                strips.add(third);
+            }
+            secondLast = last;
+            last = third;
+            length++;
+        }
+    }
+
+    private static long edgeKey(int from, int to) {
+        return ((long) from << 32) ^ (to & 0xffffffffL);
+    }
+}
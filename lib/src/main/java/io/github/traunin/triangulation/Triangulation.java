@@ -4,8 +4,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.IntStream;
 
-import static io.github.traunin.triangulation.VectorMath.EPSILON;
-
 /**
  * A utility class for triangulating a 2D polygon.
  *
@@ -107,6 +105,50 @@ public final class Triangulation {
         return convexPolygonTriangulate(vertexIndices);
     }
 
+    /**
+     * Triangulates a convex polygon into a triangle fan.
+     * <p>
+     * Returns the fan as a flat index array, where every vertex after the
+     * second one forms a triangle with the first vertex and the previous one.
+     * The triangles and their winding are the same as the ones returned by
+     * {@link #convexPolygonTriangulate(List)}, using n indices instead of
+     * 3(n - 2).
+     *
+     * @param vertexIndices vertex indices in order of connection
+     * @return an {@code int[]} of vertex indices in triangle fan order
+     * @throws IllegalArgumentException if {@code vertexIndices} size is less than 3
+     */
+    public static int[] convexPolygonTriangulateFan(List<Integer> vertexIndices) {
+        int vertexIndicesCount = vertexIndices.size();
+        checkVertexIndicesCount(vertexIndicesCount);
+
+        int[] fan = new int[vertexIndicesCount];
+        fan[0] = vertexIndices.get(0);
+        // reversed to keep the winding of convexPolygonTriangulate
+        for (int i = 1; i < vertexIndicesCount; i++) {
+            fan[i] = vertexIndices.get(vertexIndicesCount - i);
+        }
+
+        return fan;
+    }
+
+    /**
+     * Triangulates a convex polygon into a triangle fan.
+     * <p>
+     * This a method for triangulating convex polygons with
+     * vertices labeled 0 through (n - 1).
+     *
+     * @param n the number of vertices in a polygon
+     * @return an {@code int[]} of vertex indices in triangle fan order
+     * @throws IllegalArgumentException if {@code n} is less than 3
+     * @see #convexPolygonTriangulateFan(List)
+     */
+    public static int[] convexPolygonTriangulateFan(int n) {
+        List<Integer> vertexIndices = IntStream.rangeClosed(0, n - 1).boxed().toList();
+
+        return convexPolygonTriangulateFan(vertexIndices);
+    }
+
     /**
      * Triangulates a polygon without self-intersections.
      * <p>
@@ -158,6 +200,31 @@ public final class Triangulation {
         return triangles;
     }
 
+    /**
+     * Triangulates a polygon after welding its nearly coincident vertices.
+     * <p>
+     * Vertices closer than {@code weldTolerance} are collapsed before ear
+     * clipping, so repeated points do not get reported as self-intersections.
+     * The returned triangles refer to the representative vertices in
+     * {@code vertices}.
+     *
+     * @param <T>           the type of vertices, extending {@link Vector2f}
+     * @param vertices      vertices to select from
+     * @param vertexIndices vertex indices in order of connection
+     * @param weldTolerance the maximum distance between welded vertices
+     * @return a {@code List} consisting of {@code int[]} with 3 indices,
+     *         corresponding to the vertices of a triangle
+     * @throws IllegalArgumentException if {@code vertices} size is less than 3
+     * @see VertexWelding
+     */
+    public static <T extends Vector2f> List<int[]> earClippingTriangulate(List<T> vertices,
+            List<Integer> vertexIndices, float weldTolerance) {
+        checkVertexIndicesCount(vertexIndices.size());
+        WeldedPolygon weldedPolygon = VertexWelding.weld(vertices, vertexIndices, weldTolerance);
+
+        return earClippingTriangulate(vertices, weldedPolygon.vertexIndices());
+    }
+
     private static <T extends Vector2f> List<int[]> clipEars(List<T> vertices, List<Integer> vertexIndices,
             boolean isCCW) {
         int vertexIndicesCount = vertexIndices.size();
@@ -166,26 +233,38 @@ public final class Triangulation {
         // copy vertexIndices to avoid side effects on input data
         List<Integer> potentialEars = new ArrayList<>(vertexIndices);
         int potentialEarsCount = vertexIndicesCount;
+        // coordinates of the remaining vertices, in the order of potentialEars and laid out for batch tests
+        float[] xs = new float[vertexIndicesCount];
+        float[] ys = new float[vertexIndicesCount];
+        for (int i = 0; i < vertexIndicesCount; i++) {
+            Vector2f vertex = vertices.get(vertexIndices.get(i));
+            xs[i] = vertex.x();
+            ys[i] = vertex.y();
+        }
 
         for (boolean hasClippedEars = true; hasClippedEars;) {
             hasClippedEars = false;
-            for (int i = 1; i < potentialEarsCount - 1; i++) {
+            for (int i = 0; i < potentialEarsCount && potentialEarsCount > 2; i++) {
                 IndexListTriplet<T> triplet = IndexListTriplet.fromCurInList(i, potentialEars, vertices);
 
-                float crossProduct = VectorMath.crossProduct(triplet);
-                float adjustedProduct = isCCW ? crossProduct : -crossProduct;
+                double orientation = orientation(triplet.prevElement(), triplet.curElement(),
+                        triplet.nextElement());
+                double adjustedOrientation = isCCW ? orientation : -orientation;
                 // check if convex
-                if (adjustedProduct < -EPSILON) {
+                if (adjustedOrientation < 0) {
                     continue;
                 }
 
-                // if cross product is in [-EPSILON; EPSILON], effectively on one line
-                // here's hoping checkEar won't be called if product is less than epsilon
-                boolean isEar = adjustedProduct <= EPSILON || checkEar(triplet, vertices, vertexIndices);
+                // collinear corners are clipped as degenerate ears
+                boolean isEar = adjustedOrientation == 0
+                        || checkEar(triplet, xs, ys, potentialEars, potentialEarsCount);
 
                 if (isEar) {
                     triangles.add(triplet.indicesAsArray());
+                    // clipped vertices are not tested against later ears
                     potentialEars.remove(i);
+                    System.arraycopy(xs, i + 1, xs, i, potentialEarsCount - i - 1);
+                    System.arraycopy(ys, i + 1, ys, i, potentialEarsCount - i - 1);
                     potentialEarsCount--;
                     i--;
                     hasClippedEars = true;
@@ -196,23 +275,32 @@ public final class Triangulation {
         return triangles;
     }
 
-    private static <T extends Vector2f> boolean checkEar(IndexListTriplet<T> triplet, List<T> vertices,
-            List<Integer> vertexIndices) {
-        // check if no other points in triplet
-        for (int checkedVertexIndex : vertexIndices) {
-            if (triplet.containsIndex(checkedVertexIndex)) {
-                continue;
-            }
+    private static <T extends Vector2f> boolean checkEar(IndexListTriplet<T> triplet, float[] xs, float[] ys,
+            List<Integer> potentialEars, int potentialEarsCount) {
+        PointInTriangleKernel kernel = ScalarPointInTriangleKernel.get();
+        Vector2f a = triplet.prevElement();
+        Vector2f b = triplet.curElement();
+        Vector2f c = triplet.nextElement();
 
-            Vector2f checkedVertex = vertices.get(checkedVertexIndex);
-            if (VectorMath.isPointInTriangle(triplet, checkedVertex)) {
+        // check if no other points in triplet
+        int i = kernel.findPointInTriangle(xs, ys, 0, potentialEarsCount, a.x(), a.y(), b.x(), b.y(), c.x(),
+                c.y());
+        while (i >= 0) {
+            if (!triplet.containsIndex(potentialEars.get(i))) {
                 return false;
             }
+            i = kernel.findPointInTriangle(xs, ys, i + 1, potentialEarsCount, a.x(), a.y(), b.x(), b.y(), c.x(),
+                    c.y());
         }
 
         return true;
     }
 
+    private static double orientation(Vector2f a, Vector2f b, Vector2f c) {
+        return ((double) b.x() - a.x()) * ((double) c.y() - a.y())
+                - ((double) c.x() - a.x()) * ((double) b.y() - a.y());
+    }
+
     private static void checkIndicesMapping(int vertexCount, List<Integer> vertexIndices) {
         for (Integer vertexIndex : vertexIndices) {
             if (vertexIndex >= vertexCount) {
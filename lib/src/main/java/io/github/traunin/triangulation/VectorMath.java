@@ -28,10 +28,25 @@ final class VectorMath {
      * @return cross product of vectors (BA) x (BC)
      */
     static float crossProduct(Vector2f a, Vector2f b, Vector2f c) {
-        float dx1 = b.x() - a.x();
-        float dy1 = b.y() - a.y();
-        float dx2 = c.x() - a.x();
-        float dy2 = c.y() - a.y();
+        return crossProduct(a.x(), a.y(), b.x(), b.y(), c.x(), c.y());
+    }
+
+    /**
+     * Calculates the cross product of vectors (BA) x (BC) from coordinates.
+     *
+     * @param ax A x coordinate
+     * @param ay A y coordinate
+     * @param bx B x coordinate
+     * @param by B y coordinate
+     * @param cx C x coordinate
+     * @param cy C y coordinate
+     * @return cross product of vectors (BA) x (BC)
+     */
+    static float crossProduct(float ax, float ay, float bx, float by, float cx, float cy) {
+        float dx1 = bx - ax;
+        float dy1 = by - ay;
+        float dx2 = cx - ax;
+        float dy2 = cy - ay;
 
         return dx1 * dy2 - dx2 * dy1;
     }
@@ -52,9 +67,29 @@ final class VectorMath {
      * @return true if P is inside ABC
      */
     static boolean isPointInTriangle(Vector2f a, Vector2f b, Vector2f c, Vector2f p) {
-        float check1 = crossProduct(a, b, p);
-        float check2 = crossProduct(p, b, c);
-        float check3 = crossProduct(p, c, a);
+        return isPointInTriangle(a.x(), a.y(), b.x(), b.y(), c.x(), c.y(), p.x(), p.y());
+    }
+
+    /**
+     * Checks whether point P is inside of triangle ABC from coordinates.
+     * <p>
+     * Points on the edges of the triangle are considered inside.
+     *
+     * @param ax A x coordinate
+     * @param ay A y coordinate
+     * @param bx B x coordinate
+     * @param by B y coordinate
+     * @param cx C x coordinate
+     * @param cy C y coordinate
+     * @param px P x coordinate
+     * @param py P y coordinate
+     * @return true if P is inside ABC
+     */
+    static boolean isPointInTriangle(float ax, float ay, float bx, float by, float cx, float cy, float px,
+            float py) {
+        float check1 = crossProduct(ax, ay, bx, by, px, py);
+        float check2 = crossProduct(px, py, bx, by, cx, cy);
+        float check3 = crossProduct(px, py, cx, cy, ax, ay);
 
         return (check1 >= -EPSILON && check2 >= -EPSILON && check3 >= -EPSILON) ||
                 (check1 <= EPSILON && check2 <= EPSILON && check3 <= EPSILON);
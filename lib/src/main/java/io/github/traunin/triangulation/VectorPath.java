@@ -0,0 +1,332 @@
+package io.github.traunin.triangulation;
+
+/**
+ * An outline made of straight lines and quadratic and cubic Bezier curves,
+ * such as an SVG path or a font glyph.
+ * <p>
+ * The commands and their points are kept in primitive arrays, so a path can
+ * be built, cleared with {@link #reset()} and built again without creating
+ * objects per command. Every {@link #moveTo(float, float)} starts a new
+ * contour, and contours are closed when filled, whether
+ * {@link #close()} was called or not.
+ * <p>
+ * Curves are flattened into lines before triangulation. Every curve is split
+ * into as many lines as Wang's formula requires for the lines to stay within
+ * a given distance of the curve: a nearly straight curve becomes a single
+ * line, and a sharply bent one many short lines.
+ *
+ * <h2>Example Usage:</h2>
+ *
+ * <pre>{@code
+ * VectorPath path = new VectorPath()
+ *         .moveTo(0, 0)
+ *         .lineTo(10, 0)
+ *         .quadTo(15, 5, 10, 10)
+ *         .cubicTo(7, 12, 3, 12, 0, 10)
+ *         .close();
+ * // a quarter of a pixel at a scale of 4 pixels per path unit
+ * Tessellation tessellation = path.tessellate(0.25f / 4, FillRule.NON_ZERO);
+ * }</pre>
+ */
+public final class VectorPath {
+    /**
+     * The maximum number of lines a single curve is flattened into.
+     */
+    public static final int MAX_CURVE_SEGMENTS = 1024;
+
+    static final int MOVE = 0;
+    static final int LINE = 1;
+    static final int QUAD = 2;
+    static final int CUBIC = 3;
+    static final int CLOSE = 4;
+
+    private final IntArrayList commands = new IntArrayList();
+    private final FloatArrayList points = new FloatArrayList();
+
+    /**
+     * Creates an empty path.
+     */
+    public VectorPath() {
+    }
+
+    /**
+     * Starts a new contour.
+     *
+     * @param x the x coordinate of the first point of the contour
+     * @param y the y coordinate of the first point of the contour
+     * @return this path
+     */
+    public VectorPath moveTo(float x, float y) {
+        commands.add(MOVE);
+        points.add(x);
+        points.add(y);
+
+        return this;
+    }
+
+    /**
+     * Adds a straight line from the current point.
+     *
+     * @param x the x coordinate of the end point
+     * @param y the y coordinate of the end point
+     * @return this path
+     * @throws IllegalStateException if the path does not start with
+     *                               {@link #moveTo(float, float)}
+     */
+    public VectorPath lineTo(float x, float y) {
+        requireCurrentPoint();
+        commands.add(LINE);
+        points.add(x);
+        points.add(y);
+
+        return this;
+    }
+
+    /**
+     * Adds a quadratic Bezier curve from the current point.
+     *
+     * @param controlX the x coordinate of the control point
+     * @param controlY the y coordinate of the control point
+     * @param x        the x coordinate of the end point
+     * @param y        the y coordinate of the end point
+     * @return this path
+     * @throws IllegalStateException if the path does not start with
+     *                               {@link #moveTo(float, float)}
+     */
+    public VectorPath quadTo(float controlX, float controlY, float x, float y) {
+        requireCurrentPoint();
+        commands.add(QUAD);
+        points.add(controlX);
+        points.add(controlY);
+        points.add(x);
+        points.add(y);
+
+        return this;
+    }
+
+    /**
+     * Adds a cubic Bezier curve from the current point.
+     *
+     * @param controlX1 the x coordinate of the first control point
+     * @param controlY1 the y coordinate of the first control point
+     * @param controlX2 the x coordinate of the second control point
+     * @param controlY2 the y coordinate of the second control point
+     * @param x         the x coordinate of the end point
+     * @param y         the y coordinate of the end point
+     * @return this path
+     * @throws IllegalStateException if the path does not start with
+     *                               {@link #moveTo(float, float)}
+     */
+    public VectorPath cubicTo(float controlX1, float controlY1, float controlX2, float controlY2, float x,
+            float y) {
+        requireCurrentPoint();
+        commands.add(CUBIC);
+        points.add(controlX1);
+        points.add(controlY1);
+        points.add(controlX2);
+        points.add(controlY2);
+        points.add(x);
+        points.add(y);
+
+        return this;
+    }
+
+    /**
+     * Closes the current contour. Lines and curves added afterwards without
+     * {@link #moveTo(float, float)} start a new contour at the first point of
+     * the closed one.
+     *
+     * @return this path
+     * @throws IllegalStateException if the path does not start with
+     *                               {@link #moveTo(float, float)}
+     */
+    public VectorPath close() {
+        requireCurrentPoint();
+        commands.add(CLOSE);
+
+        return this;
+    }
+
+    /**
+     * Removes all commands, keeping the allocated arrays for the next path.
+     *
+     * @return this path
+     */
+    public VectorPath reset() {
+        commands.clear();
+        points.clear();
+
+        return this;
+    }
+
+    /**
+     * Returns the number of commands in the path.
+     *
+     * @return the number of commands, including every
+     *         {@link #moveTo(float, float)} and {@link #close()}
+     */
+    public int commandCount() {
+        return commands.size();
+    }
+
+    /**
+     * Flattens the curves of the path into lines.
+     *
+     * @param tolerance the maximum distance between a curve and its lines, in
+     *                  path units
+     * @return the contours of the path as polygons
+     * @throws IllegalArgumentException if {@code tolerance} is not positive
+     */
+    public FlattenedPath flatten(float tolerance) {
+        return flatten(tolerance, new FlattenedPath());
+    }
+
+    /**
+     * Flattens the curves of the path into lines, reusing the arrays of a
+     * previous result.
+     * <p>
+     * Contours with less than 3 distinct points enclose nothing and are left
+     * out. For rendering, the tolerance is usually a fraction of a pixel
+     * divided by the scale from path units to pixels.
+     *
+     * @param tolerance the maximum distance between a curve and its lines, in
+     *                  path units
+     * @param output    the result to overwrite
+     * @return {@code output}, holding the contours of the path as polygons
+     * @throws IllegalArgumentException if {@code tolerance} is not positive
+     */
+    public FlattenedPath flatten(float tolerance, FlattenedPath output) {
+        checkTolerance(tolerance);
+        output.clear();
+        float startX = 0;
+        float startY = 0;
+        float x = 0;
+        float y = 0;
+        int p = 0;
+        for (int i = 0; i < commands.size(); i++) {
+            int command = commands.get(i);
+            if (command == MOVE) {
+                output.endContour();
+                startX = x = points.get(p++);
+                startY = y = points.get(p++);
+                output.addPoint(x, y);
+                continue;
+            }
+            if (command == CLOSE) {
+                output.endContour();
+                x = startX;
+                y = startY;
+                continue;
+            }
+            if (output.isContourEmpty()) {
+                output.addPoint(x, y);
+            }
+            if (command == LINE) {
+                x = points.get(p++);
+                y = points.get(p++);
+                output.addPoint(x, y);
+            } else if (command == QUAD) {
+                float controlX = points.get(p++);
+                float controlY = points.get(p++);
+                float endX = points.get(p++);
+                float endY = points.get(p++);
+                flattenQuad(x, y, controlX, controlY, endX, endY, tolerance, output);
+                x = endX;
+                y = endY;
+            } else {
+                float controlX1 = points.get(p++);
+                float controlY1 = points.get(p++);
+                float controlX2 = points.get(p++);
+                float controlY2 = points.get(p++);
+                float endX = points.get(p++);
+                float endY = points.get(p++);
+                flattenCubic(x, y, controlX1, controlY1, controlX2, controlY2, endX, endY, tolerance, output);
+                x = endX;
+                y = endY;
+            }
+        }
+        output.endContour();
+
+        return output;
+    }
+
+    /**
+     * Flattens the path and triangulates its filled region.
+     *
+     * @param tolerance the maximum distance between a curve and its lines, in
+     *                  path units
+     * @param fillRule  the rule deciding which regions are filled
+     * @return the triangulation of the filled region, with the flattened
+     *         points as its first vertices
+     * @throws IllegalArgumentException if {@code tolerance} is not positive
+     * @see Tessellator
+     */
+    public Tessellation tessellate(float tolerance, FillRule fillRule) {
+        return flatten(tolerance).tessellate(fillRule);
+    }
+
+    int[] commandArray() {
+        return commands.toArray();
+    }
+
+    float[] pointArray() {
+        return points.toArray();
+    }
+
+    static void checkTolerance(float tolerance) {
+        if (!(tolerance > 0)) {
+            throw new IllegalArgumentException(String.format("Tolerance %s is not positive", tolerance));
+        }
+    }
+
+    private void requireCurrentPoint() {
+        if (commands.size() == 0) {
+            throw new IllegalStateException("Path has to start with moveTo");
+        }
+    }
+
+    private static void flattenQuad(float x0, float y0, float x1, float y1, float x2, float y2, float tolerance,
+            FlattenedPath output) {
+        // Wang's formula for degree 2: n = sqrt(2 * 1 / 8 * |p0 - 2 p1 + p2| / tolerance)
+        double ddx = x0 - 2.0 * x1 + x2;
+        double ddy = y0 - 2.0 * y1 + y2;
+        int n = segmentCount(Math.sqrt(ddx * ddx + ddy * ddy) / 4, tolerance);
+        for (int i = 1; i < n; i++) {
+            double t = (double) i / n;
+            double s = 1 - t;
+            output.addPoint((float) (s * s * x0 + 2 * s * t * x1 + t * t * x2),
+                    (float) (s * s * y0 + 2 * s * t * y1 + t * t * y2));
+        }
+        output.addPoint(x2, y2);
+    }
+
+    private static void flattenCubic(float x0, float y0, float x1, float y1, float x2, float y2, float x3,
+            float y3, float tolerance, FlattenedPath output) {
+        // Wang's formula for degree 3: n = sqrt(3 * 2 / 8 * max |p[i] - 2 p[i + 1] + p[i + 2]| / tolerance)
+        double ddx0 = x0 - 2.0 * x1 + x2;
+        double ddy0 = y0 - 2.0 * y1 + y2;
+        double ddx1 = x1 - 2.0 * x2 + x3;
+        double ddy1 = y1 - 2.0 * y2 + y3;
+        double maxSecondDifference = Math.sqrt(Math.max(ddx0 * ddx0 + ddy0 * ddy0, ddx1 * ddx1 + ddy1 * ddy1));
+        int n = segmentCount(0.75 * maxSecondDifference, tolerance);
+        for (int i = 1; i < n; i++) {
+            double t = (double) i / n;
+            double s = 1 - t;
+            double a = s * s * s;
+            double b = 3 * s * s * t;
+            double c = 3 * s * t * t;
+            double d = t * t * t;
+            output.addPoint((float) (a * x0 + b * x1 + c * x2 + d * x3), (float) (a * y0 + b * y1 + c * y2 + d * y3));
+        }
+        output.addPoint(x3, y3);
+    }
+
+    private static int segmentCount(double scaledSecondDifference, float tolerance) {
+        double n = Math.ceil(Math.sqrt(scaledSecondDifference / tolerance));
+        if (!(n < MAX_CURVE_SEGMENTS)) {
+            return MAX_CURVE_SEGMENTS;
+        }
+
+        return Math.max((int) n, 1);
+    }
+}
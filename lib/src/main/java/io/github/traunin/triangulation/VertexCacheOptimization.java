@@ -0,0 +1,356 @@
+package io.github.traunin.triangulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A utility class for reordering triangles for GPU vertex cache efficiency.
+ * <p>
+ * The order of triangles produced by the triangulation follows the order in
+ * which ears are clipped, which is close to arbitrary for large polygons.
+ * Reordering them with Tom Forsyth's linear-speed algorithm keeps recently
+ * used vertices in the post-transform cache. The vertex buffer can then be
+ * reordered by first use for better fetch locality.
+ *
+ * <h2>Example Usage:</h2>
+ *
+ * <pre>{@code
+ * List<int[]> triangles = Triangulation.earClippingTriangulate(vertices);
+ * List<int[]> ordered = VertexCacheOptimization.optimizeTriangleOrder(triangles, vertices.size());
+ * int[] remap = VertexCacheOptimization.optimizeVertexOrder(ordered, vertices.size());
+ * List<int[]> remapped = VertexCacheOptimization.remapTriangles(ordered, remap);
+ * List<Vector2f> reorderedVertices = VertexCacheOptimization.remapVertices(vertices, remap);
+ * float acmr = VertexCacheOptimization.averageCacheMissRatio(remapped, 16);
+ * }</pre>
+ */
+public final class VertexCacheOptimization {
+    /**
+     * The simulated cache size used by {@link #optimizeTriangleOrder(List, int)}.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 32;
+
+    private static final float LAST_TRIANGLE_SCORE = 0.75f;
+    private static final float CACHE_DECAY_POWER = 1.5f;
+    private static final float VALENCE_BOOST_SCALE = 2.0f;
+    private static final float VALENCE_BOOST_POWER = -0.5f;
+    private static final int NOT_CACHED = -1;
+    private static final int NO_TRIANGLE = -1;
+
+    /**
+     * Prevents class instantiation.
+     *
+     * @throws UnsupportedOperationException when called
+     */
+    private VertexCacheOptimization() {
+        throw new UnsupportedOperationException("Cannot be instantiated.");
+    }
+
+    /**
+     * Reorders triangles to improve the post-transform vertex cache hit rate.
+     * <p>
+     * Uses a simulated LRU cache of {@link #DEFAULT_CACHE_SIZE} vertices.
+     *
+     * @param triangles   triangles as {@code int[]} with 3 vertex indices
+     * @param vertexCount the number of vertices the triangles refer to
+     * @return a new {@code List} with the same triangles in optimized order
+     * @throws IllegalArgumentException if a vertex index is outside of
+     *                                  {@code [0; vertexCount)}
+     */
+    public static List<int[]> optimizeTriangleOrder(List<int[]> triangles, int vertexCount) {
+        return optimizeTriangleOrder(triangles, vertexCount, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Reorders triangles to improve the post-transform vertex cache hit rate.
+     * <p>
+     * Each step emits the triangle with the highest score, where vertex
+     * scores favour vertices in the simulated cache and vertices with few
+     * remaining triangles. Works in O(n).
+     *
+     * @param triangles   triangles as {@code int[]} with 3 vertex indices
+     * @param vertexCount the number of vertices the triangles refer to
+     * @param cacheSize   the size of the simulated LRU cache, at least 4
+     * @return a new {@code List} with the same triangles in optimized order
+     * @throws IllegalArgumentException if a vertex index is outside of
+     *                                  {@code [0; vertexCount)} or the cache
+     *                                  size is less than 4
+     */
+    public static List<int[]> optimizeTriangleOrder(List<int[]> triangles, int vertexCount, int cacheSize) {
+        if (cacheSize < 4) {
+            throw new IllegalArgumentException(String.format("Cache size %d is less than 4", cacheSize));
+        }
+        checkTriangleIndices(triangles, vertexCount);
+
+        int triangleCount = triangles.size();
+        int[] remainingTriangles = new int[vertexCount];
+        for (int[] triangle : triangles) {
+            for (int vertexIndex : triangle) {
+                remainingTriangles[vertexIndex]++;
+            }
+        }
+
+        // adjacency in compressed rows, live triangles of a vertex are kept in front
+        int[] adjacencyOffsets = new int[vertexCount + 1];
+        for (int i = 0; i < vertexCount; i++) {
+            adjacencyOffsets[i + 1] = adjacencyOffsets[i] + remainingTriangles[i];
+        }
+        int[] adjacency = new int[adjacencyOffsets[vertexCount]];
+        int[] fill = Arrays.copyOf(adjacencyOffsets, vertexCount);
+        for (int t = 0; t < triangleCount; t++) {
+            for (int vertexIndex : triangles.get(t)) {
+                adjacency[fill[vertexIndex]++] = t;
+            }
+        }
+
+        int[] cachePositions = new int[vertexCount];
+        Arrays.fill(cachePositions, NOT_CACHED);
+        float[] vertexScores = new float[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            vertexScores[i] = vertexScore(NOT_CACHED, remainingTriangles[i], cacheSize);
+        }
+
+        float[] triangleScores = new float[triangleCount];
+        for (int t = 0; t < triangleCount; t++) {
+            triangleScores[t] = triangleScore(triangles.get(t), vertexScores);
+        }
+
+        boolean[] isEmitted = new boolean[triangleCount];
+        List<int[]> ordered = new ArrayList<>(triangleCount);
+        // 3 extra slots hold the vertices pushed out by the newest triangle
+        int[] cache = new int[cacheSize + 3];
+        int[] newCache = new int[cacheSize + 3];
+        int cacheLength = 0;
+        int nextUnemitted = 0;
+        int bestTriangle = NO_TRIANGLE;
+
+        while (ordered.size() < triangleCount) {
+            if (bestTriangle == NO_TRIANGLE) {
+                // dead end, continue with the next triangle in input order
+                while (isEmitted[nextUnemitted]) {
+                    nextUnemitted++;
+                }
+                bestTriangle = nextUnemitted;
+            }
+
+            int[] triangle = triangles.get(bestTriangle);
+            isEmitted[bestTriangle] = true;
+            ordered.add(triangle.clone());
+
+            int newCacheLength = 0;
+            for (int vertexIndex : triangle) {
+                removeTriangle(vertexIndex, bestTriangle, adjacency, adjacencyOffsets, remainingTriangles);
+                if (indexOf(newCache, newCacheLength, vertexIndex) < 0) {
+                    newCache[newCacheLength++] = vertexIndex;
+                }
+            }
+            for (int i = 0; i < cacheLength; i++) {
+                int vertexIndex = cache[i];
+                if (indexOf(newCache, newCacheLength, vertexIndex) < 0) {
+                    newCache[newCacheLength++] = vertexIndex;
+                }
+            }
+
+            for (int i = 0; i < newCacheLength; i++) {
+                int vertexIndex = newCache[i];
+                cachePositions[vertexIndex] = i < cacheSize ? i : NOT_CACHED;
+                vertexScores[vertexIndex] = vertexScore(cachePositions[vertexIndex],
+                        remainingTriangles[vertexIndex], cacheSize);
+            }
+
+            // only triangles touching the updated vertices change their score
+            bestTriangle = NO_TRIANGLE;
+            float bestScore = -1;
+            for (int i = 0; i < newCacheLength; i++) {
+                int vertexIndex = newCache[i];
+                for (int j = adjacencyOffsets[vertexIndex]; j < adjacencyOffsets[vertexIndex]
+                        + remainingTriangles[vertexIndex]; j++) {
+                    int t = adjacency[j];
+                    triangleScores[t] = triangleScore(triangles.get(t), vertexScores);
+                    if (triangleScores[t] > bestScore) {
+                        bestScore = triangleScores[t];
+                        bestTriangle = t;
+                    }
+                }
+            }
+
+            cacheLength = Math.min(newCacheLength, cacheSize);
+            int[] swap = cache;
+            cache = newCache;
+            newCache = swap;
+        }
+
+        return ordered;
+    }
+
+    /**
+     * Computes a vertex buffer order following the first use of vertices.
+     * <p>
+     * Vertices not referenced by any triangle are placed after the used ones,
+     * keeping their relative order.
+     *
+     * @param triangles   triangles as {@code int[]} with 3 vertex indices
+     * @param vertexCount the number of vertices the triangles refer to
+     * @return the remapping table, where element {@code i} is the new index of
+     *         vertex {@code i}
+     * @throws IllegalArgumentException if a vertex index is outside of
+     *                                  {@code [0; vertexCount)}
+     */
+    public static int[] optimizeVertexOrder(List<int[]> triangles, int vertexCount) {
+        checkTriangleIndices(triangles, vertexCount);
+
+        int[] remap = new int[vertexCount];
+        Arrays.fill(remap, NOT_CACHED);
+        int nextIndex = 0;
+        for (int[] triangle : triangles) {
+            for (int vertexIndex : triangle) {
+                if (remap[vertexIndex] == NOT_CACHED) {
+                    remap[vertexIndex] = nextIndex++;
+                }
+            }
+        }
+        for (int i = 0; i < vertexCount; i++) {
+            if (remap[i] == NOT_CACHED) {
+                remap[i] = nextIndex++;
+            }
+        }
+
+        return remap;
+    }
+
+    /**
+     * Applies a vertex remapping to triangles.
+     *
+     * @param triangles triangles as {@code int[]} with 3 vertex indices
+     * @param remap     the remapping table from old to new vertex indices
+     * @return a new {@code List} of remapped triangles
+     */
+    public static List<int[]> remapTriangles(List<int[]> triangles, int[] remap) {
+        List<int[]> remapped = new ArrayList<>(triangles.size());
+        for (int[] triangle : triangles) {
+            remapped.add(new int[] { remap[triangle[0]], remap[triangle[1]], remap[triangle[2]] });
+        }
+
+        return remapped;
+    }
+
+    /**
+     * Applies a vertex remapping to a vertex list.
+     *
+     * @param <T>      the type of vertices
+     * @param vertices vertices in the original order
+     * @param remap    the remapping table from old to new vertex indices
+     * @return a new {@code List} of vertices in the remapped order
+     */
+    public static <T> List<T> remapVertices(List<T> vertices, int[] remap) {
+        List<T> remapped = new ArrayList<>(vertices.size());
+        for (int i = 0; i < vertices.size(); i++) {
+            remapped.add(null);
+        }
+        for (int i = 0; i < vertices.size(); i++) {
+            remapped.set(remap[i], vertices.get(i));
+        }
+
+        return remapped;
+    }
+
+    /**
+     * Calculates the average cache miss ratio of a triangle order.
+     * <p>
+     * Simulates a FIFO post-transform cache, as found on most GPUs, and
+     * returns the number of vertex transforms per triangle. The ratio is
+     * between 0.5 for an ideal large mesh and 3 when no vertex is reused.
+     *
+     * @param triangles triangles as {@code int[]} with 3 vertex indices
+     * @param cacheSize the number of entries in the simulated cache
+     * @return the average number of cache misses per triangle, 0 if there are
+     *         no triangles
+     * @throws IllegalArgumentException if {@code cacheSize} is less than 1
+     */
+    public static float averageCacheMissRatio(List<int[]> triangles, int cacheSize) {
+        if (cacheSize < 1) {
+            throw new IllegalArgumentException(String.format("Cache size %d is less than 1", cacheSize));
+        }
+        if (triangles.isEmpty()) {
+            return 0;
+        }
+
+        int vertexCount = 0;
+        for (int[] triangle : triangles) {
+            for (int vertexIndex : triangle) {
+                vertexCount = Math.max(vertexCount, vertexIndex + 1);
+            }
+        }
+
+        // a vertex is cached if it was inserted less than cacheSize insertions ago
+        // insertion times start at 1, 0 marks vertices that were never inserted
+        long[] insertionTimes = new long[vertexCount];
+        long insertions = 0;
+        for (int[] triangle : triangles) {
+            for (int vertexIndex : triangle) {
+                long insertionTime = insertionTimes[vertexIndex];
+                if (insertionTime == 0 || insertions - insertionTime >= cacheSize) {
+                    insertionTimes[vertexIndex] = ++insertions;
+                }
+            }
+        }
+
+        return (float) insertions / triangles.size();
+    }
+
+    private static float vertexScore(int cachePosition, int remainingTriangles, int cacheSize) {
+        if (remainingTriangles == 0) {
+            return -1;
+        }
+
+        float score = 0;
+        if (cachePosition >= 3) {
+            float scale = 1.0f / (cacheSize - 3);
+            score = (float) Math.pow(1.0f - (cachePosition - 3) * scale, CACHE_DECAY_POWER);
+        } else if (cachePosition >= 0) {
+            score = LAST_TRIANGLE_SCORE;
+        }
+
+        return score + VALENCE_BOOST_SCALE * (float) Math.pow(remainingTriangles, VALENCE_BOOST_POWER);
+    }
+
+    private static float triangleScore(int[] triangle, float[] vertexScores) {
+        return vertexScores[triangle[0]] + vertexScores[triangle[1]] + vertexScores[triangle[2]];
+    }
+
+    private static void removeTriangle(int vertexIndex, int triangle, int[] adjacency, int[] adjacencyOffsets,
+            int[] remainingTriangles) {
+        int start = adjacencyOffsets[vertexIndex];
+        int last = start + remainingTriangles[vertexIndex] - 1;
+        for (int i = start; i <= last; i++) {
+            if (adjacency[i] == triangle) {
+                adjacency[i] = adjacency[last];
+                adjacency[last] = triangle;
+                remainingTriangles[vertexIndex]--;
+                return;
+            }
+        }
+    }
+
+    private static int indexOf(int[] array, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (array[i] == value) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static void checkTriangleIndices(List<int[]> triangles, int vertexCount) {
+        for (int[] triangle : triangles) {
+            for (int vertexIndex : triangle) {
+                if (vertexIndex < 0 || vertexIndex >= vertexCount) {
+                    throw new IllegalArgumentException(
+                            String.format("Vertex index %d is outside of vertex list of length %d", vertexIndex,
+                                    vertexCount));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package io.github.traunin.triangulation;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A utility class for removing duplicate and nearly coincident vertices.
+ * <p>
+ * Vertices closer than a given tolerance are collapsed into the first of them
+ * encountered along the polygon. Lookups go through a hash of grid cells the
+ * size of the tolerance, so welding works in O(n).
+ *
+ * <h2>Example Usage:</h2>
+ *
+ * <pre>{@code
+ * WeldedPolygon welded = VertexWelding.weld(vertices, vertexIndices, 0.0001f);
+ * List<int[]> triangles = Triangulation.earClippingTriangulate(vertices, welded.vertexIndices());
+ * }</pre>
+ *
+ * @see WeldedPolygon
+ */
+public final class VertexWelding {
+    private static final int NO_VERTEX = -1;
+
+    /**
+     * Prevents class instantiation.
+     *
+     * @throws UnsupportedOperationException when called
+     */
+    private VertexWelding() {
+        throw new UnsupportedOperationException("Cannot be instantiated.");
+    }
+
+    /**
+     * Welds the vertices of a polygon.
+     * <p>
+     * Only the vertices referenced by {@code vertexIndices} are welded. A
+     * tolerance of zero only collapses vertices with equal coordinates.
+     *
+     * @param <T>           the type of vertices, extending {@link Vector2f}
+     * @param vertices      vertices to select from
+     * @param vertexIndices vertex indices in order of connection
+     * @param tolerance     the maximum distance between welded vertices
+     * @return the cleaned polygon along with the vertex remapping
+     * @throws IllegalArgumentException if {@code tolerance} is negative or not
+     *                                  finite, or too small for the grid cells
+     *                                  of a vertex to fit in an {@code int}
+     * @throws TriangulationException   if less than 3 distinct vertices remain
+     */
+    public static <T extends Vector2f> WeldedPolygon weld(List<T> vertices, List<Integer> vertexIndices,
+            float tolerance) {
+        if (!(tolerance >= 0) || Float.isInfinite(tolerance)) {
+            throw new IllegalArgumentException(String.format("Invalid welding tolerance %f", tolerance));
+        }
+
+        int vertexCount = vertices.size();
+        int[] remap = new int[vertexCount];
+        Arrays.fill(remap, NO_VERTEX);
+
+        // cell heads and per vertex chains, so each cell costs a single map entry
+        LongIntHashMap cellHeads = new LongIntHashMap(vertexIndices.size(), NO_VERTEX);
+        int[] nextInCell = new int[vertexCount];
+        int weldedVertexCount = 0;
+
+        for (int vertexIndex : vertexIndices) {
+            if (vertexIndex >= vertexCount) {
+                throw new IllegalArgumentException(
+                        String.format("Vertex index %d is outside of vertex list of length %d", vertexIndex,
+                                vertexCount));
+            }
+            if (remap[vertexIndex] != NO_VERTEX) {
+                continue;
+            }
+
+            Vector2f vertex = vertices.get(vertexIndex);
+            long key;
+            int representative;
+            if (tolerance == 0) {
+                key = exactKey(vertex);
+                representative = findExact(vertex, vertices, key, cellHeads, nextInCell);
+            } else {
+                int cellX = cell(vertex.x(), tolerance, vertexIndex);
+                int cellY = cell(vertex.y(), tolerance, vertexIndex);
+                key = cellKey(cellX, cellY);
+                representative = findNearby(vertex, vertices, tolerance, cellX, cellY, cellHeads, nextInCell);
+            }
+
+            if (representative != NO_VERTEX) {
+                remap[vertexIndex] = representative;
+                weldedVertexCount++;
+                continue;
+            }
+
+            remap[vertexIndex] = vertexIndex;
+            nextInCell[vertexIndex] = cellHeads.put(key, vertexIndex);
+        }
+
+        for (int i = 0; i < vertexCount; i++) {
+            if (remap[i] == NO_VERTEX) {
+                remap[i] = i;
+            }
+        }
+
+        List<Integer> cleanIndices = removeDegenerateEdges(vertexIndices, remap);
+        if (cleanIndices.size() < 3) {
+            throw new TriangulationException("Polygon has less than 3 distinct vertices");
+        }
+
+        return new WeldedPolygon(remap, cleanIndices, weldedVertexCount);
+    }
+
+    private static <T extends Vector2f> int findExact(Vector2f vertex, List<T> vertices, long key,
+            LongIntHashMap cellHeads, int[] nextInCell) {
+        for (int candidate = cellHeads.get(key); candidate != NO_VERTEX; candidate = nextInCell[candidate]) {
+            Vector2f candidateVertex = vertices.get(candidate);
+            if (candidateVertex.x() == vertex.x() && candidateVertex.y() == vertex.y()) {
+                return candidate;
+            }
+        }
+
+        return NO_VERTEX;
+    }
+
+    private static <T extends Vector2f> int findNearby(Vector2f vertex, List<T> vertices, float tolerance,
+            int cellX, int cellY, LongIntHashMap cellHeads, int[] nextInCell) {
+        int closest = NO_VERTEX;
+        float closestDistance = tolerance;
+
+        // a vertex within tolerance can only be in one of the 9 surrounding cells
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int candidate = cellHeads.get(cellKey(cellX + dx, cellY + dy)); candidate != NO_VERTEX;
+                        candidate = nextInCell[candidate]) {
+                    float distance = VectorMath.edgeLength(vertex, vertices.get(candidate));
+                    if (distance <= closestDistance) {
+                        closest = candidate;
+                        closestDistance = distance;
+                    }
+                }
+            }
+        }
+
+        return closest;
+    }
+
+    /**
+     * Finds the grid cell of a coordinate.
+     * <p>
+     * Casting an out of range cell would saturate, putting every far vertex
+     * into the same cell and making welding quadratic, so such cells are
+     * rejected. The cells next to it are still in range.
+     *
+     * @throws IllegalArgumentException if the cell does not fit in an
+     *                                  {@code int}
+     */
+    private static int cell(float coordinate, float tolerance, int vertexIndex) {
+        double cell = Math.floor((double) coordinate / tolerance);
+        if (!(Math.abs(cell) < Integer.MAX_VALUE)) {
+            throw new IllegalArgumentException(
+                    String.format("Welding tolerance %s is too small for vertex %d", tolerance, vertexIndex));
+        }
+
+        return (int) cell;
+    }
+
+    private static long cellKey(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xffffffffL);
+    }
+
+    private static long exactKey(Vector2f vertex) {
+        // + 0f merges -0f and 0f
+        return cellKey(Float.floatToIntBits(vertex.x() + 0f), Float.floatToIntBits(vertex.y() + 0f));
+    }
+
+    /**
+     * Remaps the polygon and removes the edges that collapsed during welding.
+     * <p>
+     * Drops consecutive duplicates and zero-width spikes (a, b, a), including
+     * the ones wrapping around the end of the polygon.
+     *
+     * @param vertexIndices vertex indices in order of connection
+     * @param remap         the mapping to representative vertices
+     * @return unmodifiable clean vertex indices
+     */
+    private static List<Integer> removeDegenerateEdges(List<Integer> vertexIndices, int[] remap) {
+        int[] ring = new int[vertexIndices.size()];
+        int size = 0;
+
+        for (int vertexIndex : vertexIndices) {
+            int representative = remap[vertexIndex];
+            if (size > 0 && ring[size - 1] == representative) {
+                continue;
+            }
+            if (size > 1 && ring[size - 2] == representative) {
+                size--;
+                continue;
+            }
+            ring[size++] = representative;
+        }
+
+        int start = 0;
+        while (size - start >= 3) {
+            if (ring[size - 1] == ring[start]) {
+                size--;
+            } else if (ring[size - 2] == ring[start]) {
+                size -= 2;
+            } else if (ring[size - 1] == ring[start + 1]) {
+                size--;
+                start++;
+            } else {
+                break;
+            }
+        }
+
+        return Arrays.stream(ring, start, size).boxed().toList();
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.traunin.triangulation;
+
+import java.util.List;
+
+/**
+ * The result of welding the vertices of a polygon.
+ * <p>
+ * Holds the cleaned vertex index ring together with the mapping from every
+ * original vertex to the vertex it was welded into.
+ *
+ * @see VertexWelding
+ */
+public final class WeldedPolygon {
+    private final int[] remap;
+    private final List<Integer> vertexIndices;
+    private final int weldedVertexCount;
+
+    WeldedPolygon(int[] remap, List<Integer> vertexIndices, int weldedVertexCount) {
+        this.remap = remap;
+        this.vertexIndices = vertexIndices;
+        this.weldedVertexCount = weldedVertexCount;
+    }
+
+    /**
+     * Returns the vertex a vertex was welded into.
+     * <p>
+     * Vertices that were not referenced by the polygon or had no nearby
+     * duplicates are mapped to themselves.
+     *
+     * @param vertexIndex index of a vertex in the original vertex list
+     * @return index of the representative vertex in the original vertex list
+     */
+    public int remap(int vertexIndex) {
+        return remap[vertexIndex];
+    }
+
+    /**
+     * Returns the mapping from original vertices to representative vertices.
+     *
+     * @return a copy of the remapping table, indexed by original vertex index
+     */
+    public int[] remapTable() {
+        return remap.clone();
+    }
+
+    /**
+     * Returns the cleaned polygon.
+     * <p>
+     * Consecutive duplicates and zero-width spikes are removed. The indices
+     * refer to the original vertex list, so triangles built from this ring
+     * can be used with the caller's vertices directly.
+     *
+     * @return unmodifiable vertex indices in order of connection
+     */
+    public List<Integer> vertexIndices() {
+        return vertexIndices;
+    }
+
+    /**
+     * Returns the number of vertices that were collapsed into another vertex.
+     *
+     * @return the number of welded vertices
+     */
+    public int weldedVertexCount() {
+        return weldedVertexCount;
+    }
+}
@@ -6,4 +6,6 @@
 
 module io.github.traunin.triangulation {
     exports io.github.traunin.triangulation;
+
+    uses io.github.traunin.triangulation.PointInTriangleKernel;
 }
\ No newline at end of file
@@ -0,0 +1,167 @@
+package io.github.traunin.triangulation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static io.github.traunin.triangulation.TestPolygons.signedArea;
+
+public class ConstrainedTriangulationTest {
+    private static double assertSameWinding(float[] coordinates, int[] triangles, double sign) {
+        double area = 0;
+        for (int i = 0; i < triangles.length; i += 3) {
+            double triangleArea = signedArea(coordinates, triangles[i], triangles[i + 1], triangles[i + 2]);
+            Assertions.assertTrue(triangleArea * sign > 0);
+            area += triangleArea;
+        }
+
+        return area;
+    }
+
+    private static boolean hasEdge(int[] triangles, int a, int b) {
+        for (int i = 0; i < triangles.length; i += 3) {
+            for (int k = 0; k < 3; k++) {
+                int from = triangles[i + k];
+                int to = triangles[i + (k + 1) % 3];
+                if ((from == a && to == b) || (from == b && to == a)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    @Test
+    public void testSquareWithCenterPoint() {
+        List<Vector2f> vertices = List.of(
+                new ReadOnlyVector2f(0, 0),
+                new ReadOnlyVector2f(2, 0),
+                new ReadOnlyVector2f(2, 2),
+                new ReadOnlyVector2f(0, 2),
+                new ReadOnlyVector2f(1, 1));
+        List<int[]> triangles = ConstrainedTriangulation.triangulate(vertices, List.of(0, 1, 2, 3), List.of(4),
+                List.of());
+
+        Assertions.assertEquals(4, triangles.size());
+        for (int[] triangle : triangles) {
+            Assertions.assertTrue(triangle[0] == 4 || triangle[1] == 4 || triangle[2] == 4);
+            Assertions.assertTrue(VectorMath.crossProduct(vertices.get(triangle[0]), vertices.get(triangle[1]),
+                    vertices.get(triangle[2])) != 0);
+        }
+    }
+
+    @Test
+    public void testConcavePolygonWithBreakline() {
+        // a U shape opening upwards, clockwise, with a breakline across the bottom and points in both arms
+        float[] coordinates = {
+                0, 0, 0, 3, 1, 3, 1, 1, 2, 1, 2, 3, 3, 3, 3, 0,
+                0.2f, 0.5f, 2.8f, 0.5f, 0.5f, 2, 2.5f, 2
+        };
+        int[] boundary = { 0, 1, 2, 3, 4, 5, 6, 7 };
+        int[] triangles = ConstrainedTriangulation.triangulate(coordinates, boundary, new int[] { 10, 11 },
+                new int[] { 8, 9 });
+
+        double area = assertSameWinding(coordinates, triangles, -1);
+        Assertions.assertEquals(-7, area, 0.00001);
+        Assertions.assertTrue(hasEdge(triangles, 8, 9));
+        // 8 polygon vertices and 4 more inside give 8 + 2 * 4 - 2 triangles
+        Assertions.assertEquals(3 * 14, triangles.length);
+    }
+
+    @Test
+    public void testManyRandomPoints() {
+        int sides = 300;
+        int pointCount = 5000;
+        float[] coordinates = new float[2 * (sides + pointCount)];
+        int[] boundary = new int[sides];
+        for (int i = 0; i < sides; i++) {
+            double radius = 100 + 10 * Math.sin(7 * 2 * Math.PI * i / sides);
+            coordinates[2 * i] = (float) (radius * Math.cos(2 * Math.PI * i / sides));
+            coordinates[2 * i + 1] = (float) (radius * Math.sin(2 * Math.PI * i / sides));
+            boundary[i] = i;
+        }
+        Random random = new Random(42);
+        int[] points = new int[pointCount];
+        for (int i = 0; i < pointCount; i++) {
+            double radius = 85 * Math.sqrt(random.nextDouble());
+            double angle = 2 * Math.PI * random.nextDouble();
+            coordinates[2 * (sides + i)] = (float) (radius * Math.cos(angle));
+            coordinates[2 * (sides + i) + 1] = (float) (radius * Math.sin(angle));
+            points[i] = sides + i;
+        }
+        // breaklines from the center towards the boundary
+        int[] segments = { points[0], points[1], points[2], points[3] };
+
+        int[] triangles = ConstrainedTriangulation.triangulate(coordinates, boundary, points, segments);
+
+        Assertions.assertEquals(3 * (sides + 2 * pointCount - 2), triangles.length);
+        double polygonArea = 0;
+        for (int i = 0; i < sides; i++) {
+            polygonArea += signedArea(coordinates, 0, i, (i + 1) % sides);
+        }
+        Assertions.assertEquals(polygonArea, assertSameWinding(coordinates, triangles, 1), 0.01);
+        Assertions.assertTrue(hasEdge(triangles, points[0], points[1]));
+        Assertions.assertTrue(hasEdge(triangles, points[2], points[3]));
+    }
+
+    @Test
+    public void testPointOnSegment() {
+        float[] coordinates = { 0, 0, 4, 0, 4, 4, 0, 4, 1, 1, 3, 3, 2, 2 };
+        int[] triangles = ConstrainedTriangulation.triangulate(coordinates, new int[] { 0, 1, 2, 3 },
+                new int[] { 6 }, new int[] { 4, 5 });
+
+        Assertions.assertEquals(16, assertSameWinding(coordinates, triangles, 1), 0.00001);
+        Assertions.assertTrue(hasEdge(triangles, 4, 6));
+        Assertions.assertTrue(hasEdge(triangles, 6, 5));
+    }
+
+    @Test
+    public void testNearbyPoints() {
+        // the second point is one float step from the first, the third one has its exact coordinates
+        float[] coordinates = { 0, 0, 1, 0, 1, 1, 0, 1, 0.5f, 0.5f, 0.5f + 0x1p-24f, 0.5f, 0.5f, 0.5f };
+        int[] triangles = ConstrainedTriangulation.triangulate(coordinates, new int[] { 0, 1, 2, 3 },
+                new int[] { 4, 5, 6 }, new int[0]);
+
+        Assertions.assertEquals(3 * 6, triangles.length);
+        Assertions.assertEquals(1, assertSameWinding(coordinates, triangles, 1), 0.00001);
+        Assertions.assertTrue(hasEdge(triangles, 4, 5));
+        for (int vertex : triangles) {
+            Assertions.assertNotEquals(6, vertex);
+        }
+    }
+
+    @Test
+    public void testInvalidConstraints() {
+        float[] coordinates = { 0, 0, 4, 0, 4, 4, 0, 4, 1, 1, 3, 3, 1, 3, 3, 1, 5, 5 };
+        int[] square = { 0, 1, 2, 3 };
+        try {
+            ConstrainedTriangulation.triangulate(coordinates, square, new int[] { 8 }, new int[0]);
+            Assertions.fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException exception) {
+            Assertions.assertEquals("Vertex 8 is outside of the polygon", exception.getMessage());
+        }
+        try {
+            ConstrainedTriangulation.triangulate(coordinates, square, new int[0], new int[] { 4, 5, 6, 7 });
+            Assertions.fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException exception) {
+            Assertions.assertEquals("Segments intersect each other or the polygon", exception.getMessage());
+        }
+        try {
+            ConstrainedTriangulation.triangulate(coordinates, new int[] { 0, 1, 3, 2 }, new int[0], new int[0]);
+            Assertions.fail("Expected TriangulationException");
+        } catch (TriangulationException exception) {
+            Assertions.assertEquals("Polygon has self-intersections", exception.getMessage());
+        }
+        try {
+            ConstrainedTriangulation.triangulate(new ArrayList<ReadOnlyVector2f>(), List.of(0, 1), List.of(),
+                    List.of());
+            Assertions.fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException exception) {
+            Assertions.assertEquals("Not enough vertex indices for a polygon", exception.getMessage());
+        }
+    }
+}
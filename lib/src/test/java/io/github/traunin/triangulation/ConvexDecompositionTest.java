@@ -0,0 +1,118 @@
+package io.github.traunin.triangulation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.github.traunin.triangulation.TestPolygons.signedArea;
+import static io.github.traunin.triangulation.TestPolygons.starPolygon;
+
+public class ConvexDecompositionTest {
+    private final static List<ReadOnlyVector2f> L_SHAPE = Arrays.asList(
+            new ReadOnlyVector2f(0, 0),
+            new ReadOnlyVector2f(2, 0),
+            new ReadOnlyVector2f(2, 1),
+            new ReadOnlyVector2f(1, 1),
+            new ReadOnlyVector2f(1, 2),
+            new ReadOnlyVector2f(0, 2)
+    );
+
+    private static void assertConvex(List<ReadOnlyVector2f> vertices, int[] piece) {
+        for (int i = 0; i < piece.length; i++) {
+            Vector2f a = vertices.get(piece[i]);
+            Vector2f b = vertices.get(piece[(i + 1) % piece.length]);
+            Vector2f c = vertices.get(piece[(i + 2) % piece.length]);
+            double crossProduct = ((double) b.x() - a.x()) * ((double) c.y() - a.y())
+                    - ((double) c.x() - a.x()) * ((double) b.y() - a.y());
+            Assertions.assertTrue(crossProduct >= 0, "Piece is not convex");
+        }
+    }
+
+    @Test
+    public void testLShape() {
+        List<int[]> triangles = Triangulation.earClippingTriangulate(L_SHAPE);
+
+        ConvexPieces pieces = ConvexDecomposition.hertelMehlhorn(L_SHAPE, triangles);
+
+        Assertions.assertEquals(2, pieces.pieceCount());
+        Assertions.assertEquals(pieces.offsets()[2], pieces.vertexIndices().length);
+        for (int p = 0; p < pieces.pieceCount(); p++) {
+            assertConvex(L_SHAPE, pieces.piece(p));
+        }
+        Assertions.assertEquals(3, signedArea(L_SHAPE, pieces.piece(0)) + signedArea(L_SHAPE, pieces.piece(1)),
+                1e-6);
+    }
+
+    @Test
+    public void testSmallLShape() {
+        // the reflex corner of a small L-shape used to pass as convex within the absolute tolerance
+        List<ReadOnlyVector2f> smallLShape = new ArrayList<>();
+        float[] coordinates = new float[2 * L_SHAPE.size()];
+        int[] ring = new int[L_SHAPE.size()];
+        for (int i = 0; i < L_SHAPE.size(); i++) {
+            smallLShape.add(new ReadOnlyVector2f(L_SHAPE.get(i).x() * 1e-5f, L_SHAPE.get(i).y() * 1e-5f));
+            coordinates[2 * i] = smallLShape.get(i).x();
+            coordinates[2 * i + 1] = smallLShape.get(i).y();
+            ring[i] = i;
+        }
+        IntArrayList triangles = new IntArrayList();
+        FlatEarClipping.triangulate(coordinates, ring, ring.length, triangles);
+
+        ConvexPieces pieces = ConvexDecomposition.hertelMehlhorn(coordinates, triangles.toArray());
+
+        Assertions.assertEquals(2, pieces.pieceCount());
+        for (int p = 0; p < pieces.pieceCount(); p++) {
+            assertConvex(smallLShape, pieces.piece(p));
+        }
+    }
+
+    @Test
+    public void testConvexPolygonIsOnePiece() {
+        List<ReadOnlyVector2f> hexagon = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            hexagon.add(new ReadOnlyVector2f((float) Math.cos(i * Math.PI / 3), (float) Math.sin(i * Math.PI / 3)));
+        }
+        List<int[]> triangles = Triangulation.earClippingTriangulate(hexagon);
+
+        ConvexPieces pieces = ConvexDecomposition.hertelMehlhorn(hexagon, triangles);
+
+        Assertions.assertEquals(1, pieces.pieceCount());
+        Assertions.assertEquals(6, pieces.piece(0).length);
+        Assertions.assertEquals(signedArea(hexagon, new int[] { 0, 1, 2, 3, 4, 5 }),
+                signedArea(hexagon, pieces.piece(0)), 1e-6);
+    }
+
+    @Test
+    public void testStarPolygon() {
+        List<ReadOnlyVector2f> star = starPolygon(60, 38);
+        List<int[]> triangles = Triangulation.earClippingTriangulate(star);
+
+        ConvexPieces pieces = ConvexDecomposition.hertelMehlhorn(star, triangles);
+
+        Assertions.assertTrue(pieces.pieceCount() < triangles.size());
+        double piecesArea = 0;
+        for (int p = 0; p < pieces.pieceCount(); p++) {
+            int[] piece = pieces.piece(p);
+            assertConvex(star, piece);
+            piecesArea += signedArea(star, piece);
+        }
+        double starArea = 0;
+        for (int[] triangle : triangles) {
+            starArea += signedArea(star, triangle);
+        }
+        Assertions.assertEquals(starArea, piecesArea, 1e-3);
+    }
+
+    @Test
+    public void testIndexOutsideOfVertices() {
+        try {
+            ConvexDecomposition.hertelMehlhorn(new float[] { 0, 0, 1, 0, 0, 1 }, new int[] { 0, 1, 3 });
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            Assertions.assertEquals("Vertex index 3 is outside of vertex list of length 3", exception.getMessage());
+        }
+    }
+}
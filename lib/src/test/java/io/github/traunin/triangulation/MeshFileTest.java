@@ -0,0 +1,159 @@
+package io.github.traunin.triangulation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+public class MeshFileTest {
+    private final static List<ReadOnlyVector2f> SQUARES = Arrays.asList(
+            new ReadOnlyVector2f(0, 0),
+            new ReadOnlyVector2f(1, 0),
+            new ReadOnlyVector2f(1, 1),
+            new ReadOnlyVector2f(0, 1),
+            new ReadOnlyVector2f(2, 0),
+            new ReadOnlyVector2f(2, 1)
+    );
+
+    private static void assertCorrupted(Path path, long position, long offset, String expectedError)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).putLong(0, offset),
+                    position);
+        }
+        try {
+            MeshFile.open(path);
+            Assertions.fail("Expected IOException");
+        } catch (IOException exception) {
+            Assertions.assertEquals(expectedError, exception.getMessage());
+        }
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        List<int[]> first = Triangulation.earClippingTriangulate(SQUARES, Arrays.asList(0, 1, 2, 3));
+        List<int[]> second = Triangulation.earClippingTriangulate(SQUARES, Arrays.asList(1, 4, 5, 2));
+        Path path = Files.createTempFile("mesh", ".bin");
+        try {
+            MeshFile.write(path, SQUARES, Arrays.asList(first, List.of(), second));
+            MeshFile meshFile = MeshFile.open(path);
+
+            Assertions.assertEquals(6, meshFile.vertexCount());
+            Assertions.assertEquals(3, meshFile.polygonCount());
+            FloatBuffer coordinates = meshFile.coordinates();
+            Assertions.assertEquals(12, coordinates.remaining());
+            Assertions.assertEquals(2, coordinates.get(8));
+            Assertions.assertEquals(1, coordinates.get(11));
+
+            // polygons are read in any order
+            Assertions.assertEquals(2, meshFile.triangleCount(2));
+            Assertions.assertArrayEquals(second.toArray(), meshFile.triangles(2).toArray());
+            Assertions.assertEquals(0, meshFile.triangles(1).size());
+            Assertions.assertArrayEquals(first.toArray(), meshFile.triangles(0).toArray());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testFlatArraysWithLargeIndices() throws IOException {
+        float[] coordinates = new float[2 * 300000];
+        int[] triangles = { 299999, 0, 150000, 7, 8, 9, 299998, 299999, 0 };
+        int[] triangleOffsets = { 0, 2, 3 };
+        Path path = Files.createTempFile("mesh", ".bin");
+        try {
+            MeshFile.write(path, coordinates, triangles, triangleOffsets);
+            MeshFile meshFile = MeshFile.open(path);
+
+            int[] out = new int[10];
+            Assertions.assertEquals(6, meshFile.triangles(0, out, 1));
+            Assertions.assertArrayEquals(new int[] { 0, 299999, 0, 150000, 7, 8, 9, 0, 0, 0 }, out);
+            Assertions.assertEquals(3, meshFile.triangles(1, out, 0));
+            Assertions.assertArrayEquals(new int[] { 299998, 299999, 0 }, Arrays.copyOf(out, 3));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testSmallerThanIntIndices() throws IOException {
+        int vertexCount = 10000;
+        float[] coordinates = new float[2 * vertexCount];
+        int[] triangles = new int[3 * (vertexCount - 2)];
+        for (int i = 2; i < vertexCount; i++) {
+            triangles[3 * (i - 2)] = 0;
+            triangles[3 * (i - 2) + 1] = i - 1;
+            triangles[3 * (i - 2) + 2] = i;
+        }
+        Path path = Files.createTempFile("mesh", ".bin");
+        try {
+            MeshFile.write(path, coordinates, triangles, new int[] { 0, vertexCount - 2 });
+            long indexBytes = Files.size(path) - 16 - 8L * vertexCount - 16;
+
+            Assertions.assertTrue(indexBytes < 2L * triangles.length);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testNotMeshFile() throws IOException {
+        Path path = Files.createTempFile("mesh", ".bin");
+        try {
+            Files.write(path, new byte[32]);
+            MeshFile.open(path);
+            Assertions.fail("Expected IOException");
+        } catch (IOException exception) {
+            Assertions.assertEquals("File is not a mesh file", exception.getMessage());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testPolygonOutOfRange() throws IOException {
+        Path path = Files.createTempFile("mesh", ".bin");
+        try {
+            MeshFile.write(path, SQUARES, List.of());
+            MeshFile meshFile = MeshFile.open(path);
+            meshFile.triangles(0);
+            Assertions.fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException exception) {
+            Assertions.assertEquals("Polygon 0 is outside of polygon list of length 0", exception.getMessage());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testCorruptedOffsets() throws IOException {
+        List<int[]> square = Triangulation.earClippingTriangulate(SQUARES, Arrays.asList(0, 1, 2, 3));
+        Path path = Files.createTempFile("mesh", ".bin");
+        // the offset table starts after the header and 6 vertices
+        long tableStart = 16 + 8 * SQUARES.size();
+        try {
+            MeshFile.write(path, SQUARES, Arrays.asList(square, square));
+            assertCorrupted(path, tableStart + 8, -1, "Mesh file offset of polygon 1 is corrupted");
+
+            MeshFile.write(path, SQUARES, Arrays.asList(square, square));
+            assertCorrupted(path, tableStart, 1000, "Mesh file offset of polygon 1 is corrupted");
+
+            MeshFile.write(path, SQUARES, Arrays.asList(square, square));
+            assertCorrupted(path, tableStart + 8, 1000, "Mesh file offset of polygon 2 is corrupted");
+
+            MeshFile.write(path, SQUARES, Arrays.asList(square, square));
+            assertCorrupted(path, tableStart + 16, 1000, "Mesh file is truncated");
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package io.github.traunin.triangulation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.github.traunin.triangulation.TestPolygons.signedArea;
+
+public class MeshRefinementTest {
+    private static double minAngle(List<Vector2f> vertices, int[] triangle) {
+        double min = 180;
+        for (int k = 0; k < 3; k++) {
+            Vector2f a = vertices.get(triangle[k]);
+            Vector2f b = vertices.get(triangle[(k + 1) % 3]);
+            Vector2f c = vertices.get(triangle[(k + 2) % 3]);
+            double angle = Math.abs(Math.atan2(
+                    (b.x() - a.x()) * (c.y() - a.y()) - (b.y() - a.y()) * (c.x() - a.x()),
+                    (b.x() - a.x()) * (c.x() - a.x()) + (b.y() - a.y()) * (c.y() - a.y())));
+            min = Math.min(min, Math.toDegrees(angle));
+        }
+
+        return min;
+    }
+
+    private static void assertCovers(RefinedMesh mesh, double area, double sign) {
+        List<Vector2f> vertices = mesh.vertices();
+        double sum = 0;
+        for (int[] triangle : mesh.triangles()) {
+            double triangleArea = signedArea(vertices, triangle);
+            Assertions.assertTrue(triangleArea * sign > 0);
+            sum += triangleArea;
+        }
+        Assertions.assertEquals(area * sign, sum, 0.0001);
+    }
+
+    @Test
+    public void testSquareQuality() {
+        List<Vector2f> vertices = List.of(
+                new ReadOnlyVector2f(0, 0),
+                new ReadOnlyVector2f(1, 0),
+                new ReadOnlyVector2f(1, 1),
+                new ReadOnlyVector2f(0, 1));
+        RefinedMesh mesh = MeshRefinement.refine(vertices, List.of(0, 1, 2, 3), 30, 0.01f);
+
+        List<Vector2f> meshVertices = mesh.vertices();
+        Assertions.assertEquals(4 + mesh.steinerPointCount(), meshVertices.size());
+        Assertions.assertTrue(mesh.steinerPointCount() > 0);
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertEquals(vertices.get(i).x(), meshVertices.get(i).x());
+            Assertions.assertEquals(vertices.get(i).y(), meshVertices.get(i).y());
+        }
+        for (int[] triangle : mesh.triangles()) {
+            Assertions.assertTrue(signedArea(meshVertices, triangle) <= 0.01 + 0.000001);
+            Assertions.assertTrue(minAngle(meshVertices, triangle) >= 30 - 0.001);
+        }
+        assertCovers(mesh, 1, 1);
+    }
+
+    @Test
+    public void testClockwiseConcavePolygon() {
+        List<Vector2f> vertices = List.of(
+                new ReadOnlyVector2f(0, 0),
+                new ReadOnlyVector2f(0, 2),
+                new ReadOnlyVector2f(1, 2),
+                new ReadOnlyVector2f(1, 1),
+                new ReadOnlyVector2f(3, 1),
+                new ReadOnlyVector2f(3, 0));
+        RefinedMesh mesh = MeshRefinement.refine(vertices, List.of(0, 1, 2, 3, 4, 5), 25,
+                Float.POSITIVE_INFINITY);
+
+        List<Vector2f> meshVertices = mesh.vertices();
+        for (int[] triangle : mesh.triangles()) {
+            Assertions.assertTrue(minAngle(meshVertices, triangle) >= 25 - 0.001);
+        }
+        assertCovers(mesh, 4, -1);
+    }
+
+    @Test
+    public void testFanOfRegularPolygon() {
+        int sides = 64;
+        float[] coordinates = new float[2 * sides];
+        for (int i = 0; i < sides; i++) {
+            coordinates[2 * i] = (float) (10 * Math.cos(2 * Math.PI * i / sides));
+            coordinates[2 * i + 1] = (float) (10 * Math.sin(2 * Math.PI * i / sides));
+        }
+        // the fan of a convex polygon triangulation, with all its thin triangles at vertex 0
+        int[] fan = new int[3 * (sides - 2)];
+        for (int i = 0; i < sides - 2; i++) {
+            fan[3 * i + 1] = i + 1;
+            fan[3 * i + 2] = i + 2;
+        }
+
+        RefinedMesh mesh = MeshRefinement.refine(coordinates, fan, 32, Float.POSITIVE_INFINITY, 100_000);
+
+        List<Vector2f> meshVertices = mesh.vertices();
+        for (int[] triangle : mesh.triangles()) {
+            Assertions.assertTrue(minAngle(meshVertices, triangle) >= 32 - 0.001);
+        }
+        double area = 0;
+        for (int i = 0; i < sides; i++) {
+            area += coordinates[2 * i] * coordinates[2 * ((i + 1) % sides) + 1]
+                    - coordinates[2 * ((i + 1) % sides)] * coordinates[2 * i + 1];
+        }
+        assertCovers(mesh, area / 2, 1);
+    }
+
+    @Test
+    public void testSmallInputAngleTerminates() {
+        List<Vector2f> vertices = new ArrayList<>();
+        vertices.add(new ReadOnlyVector2f(0, 0));
+        vertices.add(new ReadOnlyVector2f(10, 0));
+        vertices.add(new ReadOnlyVector2f(10, 0.5f));
+        vertices.add(new ReadOnlyVector2f(5, 5));
+        RefinedMesh mesh = MeshRefinement.refine(vertices, List.of(0, 1, 2, 3), 30, 1);
+
+        Assertions.assertTrue(mesh.steinerPointCount() < 10_000);
+        List<Vector2f> meshVertices = mesh.vertices();
+        double area = 0;
+        for (int[] triangle : mesh.triangles()) {
+            Assertions.assertTrue(signedArea(meshVertices, triangle) <= 1 + 0.000001);
+            area += signedArea(meshVertices, triangle);
+        }
+        Assertions.assertEquals(signedArea(vertices, new int[] { 0, 1, 2 }) + signedArea(vertices,
+                new int[] { 0, 2, 3 }), area, 0.0001);
+    }
+
+    @Test
+    public void testSteinerPointLimit() {
+        float[] coordinates = { 0, 0, 4, 0, 4, 4, 0, 4 };
+        int[] triangles = { 0, 1, 2, 0, 2, 3 };
+
+        RefinedMesh unchanged = MeshRefinement.refine(coordinates, triangles, 30, 0.001f, 0);
+        Assertions.assertEquals(0, unchanged.steinerPointCount());
+        Assertions.assertArrayEquals(coordinates, unchanged.coordinates());
+        Assertions.assertEquals(2, unchanged.triangles().size());
+
+        RefinedMesh limited = MeshRefinement.refine(coordinates, triangles, 30, 0.001f, 10);
+        Assertions.assertEquals(10, limited.steinerPointCount());
+        Assertions.assertEquals(4 + 10, limited.vertices().size());
+        assertCovers(limited, 16, 1);
+    }
+
+    @Test
+    public void testLargestMinimumAngleTerminates() {
+        List<Vector2f> vertices = List.of(
+                new ReadOnlyVector2f(0, 0),
+                new ReadOnlyVector2f(1, 0),
+                new ReadOnlyVector2f(1, 1),
+                new ReadOnlyVector2f(0, 1));
+        RefinedMesh mesh = MeshRefinement.refine(vertices, List.of(0, 1, 2, 3), 33, 0.001f, 100_000);
+
+        Assertions.assertTrue(mesh.steinerPointCount() < 100_000);
+        List<Vector2f> meshVertices = mesh.vertices();
+        for (int[] triangle : mesh.triangles()) {
+            Assertions.assertTrue(minAngle(meshVertices, triangle) >= 33 - 0.001);
+        }
+        assertCovers(mesh, 1, 1);
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        float[] coordinates = { 0, 0, 1, 0, 0, 1 };
+        int[] triangles = { 0, 1, 2 };
+        try {
+            MeshRefinement.refine(coordinates, triangles, 60, 1, 10);
+            Assertions.fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException exception) {
+            Assertions.assertEquals("Minimum angle 60.0 is outside of [0, 33] degrees", exception.getMessage());
+        }
+        try {
+            // refinement to 36 degrees used to add points until the limit
+            MeshRefinement.refine(coordinates, triangles, 36, 0.001f, 10);
+            Assertions.fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException exception) {
+            Assertions.assertEquals("Minimum angle 36.0 is outside of [0, 33] degrees", exception.getMessage());
+        }
+        try {
+            MeshRefinement.refine(coordinates, triangles, 20, 0, 10);
+            Assertions.fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException exception) {
+            Assertions.assertEquals("Maximum area 0.0 is not positive", exception.getMessage());
+        }
+        try {
+            MeshRefinement.refine(coordinates, new int[] { 0, 1, 3 }, 20, 1, 10);
+            Assertions.fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException exception) {
+            Assertions.assertEquals("Vertex index 3 is outside of vertex list of length 3", exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.traunin.triangulation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class ObjTriangulationTest {
+    private static List<String> convert(String obj, int chunkSize, ConversionStatistics[] statistics)
+            throws IOException {
+        Path input = Files.createTempFile("input", ".obj");
+        Path output = Files.createTempFile("output", ".obj");
+        try {
+            Files.write(input, obj.getBytes(StandardCharsets.US_ASCII));
+            statistics[0] = ObjTriangulation.triangulate(input, output, chunkSize);
+
+            return Files.readAllLines(output, StandardCharsets.US_ASCII);
+        } finally {
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(output);
+        }
+    }
+
+    @Test
+    public void testQuadKeepsReferences() throws IOException {
+        String obj = "# square\n"
+                + "v 0 0 0\n"
+                + "v 1 0 0\n"
+                + "v 1 1 0\n"
+                + "v 0 1 0\n"
+                + "vt 0 0\n"
+                + "f 1/1/1 2/2/1 3/3/1 4/4/1\n";
+        ConversionStatistics[] statistics = new ConversionStatistics[1];
+        List<String> lines = convert(obj, 1 << 20, statistics);
+
+        Assertions.assertEquals(List.of("# square", "v 0 0 0", "v 1 0 0", "v 1 1 0", "v 0 1 0", "vt 0 0",
+                "f 1/1/1 2/2/1 3/3/1", "f 1/1/1 3/3/1 4/4/1"), lines);
+        Assertions.assertEquals(4, statistics[0].vertexCount());
+        Assertions.assertEquals(1, statistics[0].faceCount());
+        Assertions.assertEquals(2, statistics[0].triangleCount());
+        Assertions.assertEquals(0, statistics[0].fallbackFaceCount());
+    }
+
+    @Test
+    public void testConcaveFacesAcrossChunks() throws IOException {
+        StringBuilder obj = new StringBuilder();
+        int faceCount = 50;
+        for (int f = 0; f < faceCount; f++) {
+            // an arrow shaped face in the plane y = f, with its reflex vertex last
+            obj.append(String.format("v 0 %d 0\nv 0 %d 2\nv 2 %d 2\nv 2 %d 0\nv 1 %d 1\n", f, f, f, f, f));
+            obj.append("f -5 -4 -3 -2 -1\n");
+        }
+
+        ConversionStatistics[] statistics = new ConversionStatistics[1];
+        List<String> lines = convert(obj.toString(), 64, statistics);
+
+        Assertions.assertEquals(5 * faceCount, statistics[0].vertexCount());
+        Assertions.assertEquals(faceCount, statistics[0].faceCount());
+        Assertions.assertEquals(3 * faceCount, statistics[0].triangleCount());
+        Assertions.assertEquals(0, statistics[0].fallbackFaceCount());
+        Assertions.assertEquals(8 * faceCount, lines.size());
+        for (int f = 0; f < faceCount; f++) {
+            Assertions.assertEquals(String.format("v 0 %d 0", f), lines.get(8 * f));
+            for (int i = 5; i < 8; i++) {
+                String line = lines.get(8 * f + i);
+                Assertions.assertTrue(line.startsWith("f "));
+                Assertions.assertEquals(4, line.split(" ").length);
+                // the reflex vertex cannot be an ear, so it is never clipped alone
+                Assertions.assertFalse(line.equals("f -2 -1 -5"));
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidFaceIndex() throws IOException {
+        String obj = "v 0 0 0\nv 1 0 0\nv 1 1 0\nf 1 2 5\n";
+        try {
+            convert(obj, 1 << 20, new ConversionStatistics[1]);
+            Assertions.fail("Expected IOException");
+        } catch (IOException exception) {
+            Assertions.assertEquals("Vertex index 4 is outside of vertex list of length 3 at byte 24",
+                    exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package io.github.traunin.triangulation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import static io.github.traunin.triangulation.TestPolygons.starCoordinates;
+
+public class OffHeapTriangulationTest {
+    // a comb with teeth going up from a clockwise base, with collinear vertices along the base
+    private static float[] combPolygon(int teethCount) {
+        FloatArrayList coordinates = new FloatArrayList();
+        for (int i = 0; i < teethCount; i++) {
+            coordinates.add(2 * i);
+            coordinates.add(0);
+            coordinates.add(2 * i);
+            coordinates.add(5);
+            coordinates.add(2 * i + 1);
+            coordinates.add(5);
+            coordinates.add(2 * i + 1);
+            coordinates.add(0);
+        }
+        for (int i = teethCount; i >= 0; i--) {
+            coordinates.add(2 * i);
+            coordinates.add(-1);
+        }
+
+        return coordinates.toArray();
+    }
+
+    private static FloatBuffer directBuffer(float[] coordinates) {
+        FloatBuffer buffer = ByteBuffer.allocateDirect(4 * coordinates.length).order(ByteOrder.nativeOrder())
+                .asFloatBuffer();
+        buffer.put(coordinates).flip();
+
+        return buffer;
+    }
+
+    private static void assertSameAsArrayClipping(float[] coordinates) {
+        int vertexCount = coordinates.length / 2;
+        int[] ring = new int[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            ring[i] = i;
+        }
+        int[] expected = new int[3 * (vertexCount - 2)];
+        FlatEarClipping.triangulate(coordinates, 2, 0, 1, ring, 0, vertexCount, expected, 0);
+
+        IntBuffer triangles = OffHeapTriangulation.earClippingTriangulate(directBuffer(coordinates));
+        int[] actual = new int[triangles.remaining()];
+        triangles.get(actual);
+
+        Assertions.assertTrue(triangles.isDirect());
+        Assertions.assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    public void testStarPolygon() {
+        assertSameAsArrayClipping(starCoordinates(2000, 35));
+    }
+
+    @Test
+    public void testCombPolygon() {
+        assertSameAsArrayClipping(combPolygon(200));
+    }
+
+    @Test
+    public void testSmallConcavePolygon() {
+        // every corner of the arrow was within the absolute tolerance and clipped without a test
+        float[] arrow = { 0, 0, 4, 0, 4, 4, 2, 1, 0, 4 };
+        for (int i = 0; i < arrow.length; i++) {
+            arrow[i] *= 1e-5f;
+        }
+
+        assertSameAsArrayClipping(arrow);
+        IntBuffer triangles = OffHeapTriangulation.earClippingTriangulate(directBuffer(arrow));
+        for (int i = 0; i < triangles.limit(); i += 3) {
+            int a = triangles.get(i);
+            int b = triangles.get(i + 1);
+            int c = triangles.get(i + 2);
+            double area = ((double) arrow[2 * b] - arrow[2 * a]) * ((double) arrow[2 * c + 1] - arrow[2 * a + 1])
+                    - ((double) arrow[2 * c] - arrow[2 * a]) * ((double) arrow[2 * b + 1] - arrow[2 * a + 1]);
+            Assertions.assertTrue(area > 0);
+        }
+    }
+
+    @Test
+    public void testBufferPositions() {
+        FloatBuffer coordinates = directBuffer(new float[] { 9, 9, 0, 0, 1, 0, 1, 1, 0, 1 });
+        coordinates.position(2);
+        IntBuffer vertexIndices = IntBuffer.wrap(new int[] { 7, 0, 1, 2, 3 });
+        vertexIndices.position(1);
+        IntBuffer triangles = IntBuffer.allocate(8);
+        triangles.position(1);
+
+        OffHeapTriangulation.earClippingTriangulate(coordinates, vertexIndices, triangles);
+
+        Assertions.assertEquals(2, coordinates.position());
+        Assertions.assertEquals(1, vertexIndices.position());
+        Assertions.assertEquals(7, triangles.position());
+        Assertions.assertArrayEquals(new int[] { 0, 3, 0, 1, 3, 1, 2, 0 }, triangles.array());
+    }
+
+    @Test
+    public void testIndexOutsideOfCoordinates() {
+        FloatBuffer coordinates = directBuffer(new float[] { 0, 0, 1, 0, 1, 1, 0, 1 });
+        try {
+            OffHeapTriangulation.earClippingTriangulate(coordinates, IntBuffer.wrap(new int[] { 0, 1, 4 }));
+            Assertions.fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException exception) {
+            Assertions.assertEquals("Vertex index 4 is outside of vertex list of length 4", exception.getMessage());
+        }
+    }
+
+    @Test
+    public void testTriangleBufferTooSmall() {
+        FloatBuffer coordinates = directBuffer(new float[] { 0, 0, 1, 0, 1, 1, 0, 1 });
+        try {
+            OffHeapTriangulation.earClippingTriangulate(coordinates, IntBuffer.wrap(new int[] { 0, 1, 2, 3 }),
+                    IntBuffer.allocate(5));
+            Assertions.fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException exception) {
+            Assertions.assertEquals("Triangle buffer has space for 5 indices, 6 needed", exception.getMessage());
+        }
+    }
+}
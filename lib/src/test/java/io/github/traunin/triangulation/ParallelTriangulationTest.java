@@ -0,0 +1,116 @@
+package io.github.traunin.triangulation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static io.github.traunin.triangulation.TestPolygons.signedArea;
+
+public class ParallelTriangulationTest {
+    // a wavy ring, so some diagonals leave the polygon
+    private static float[] wavyRing(int verticesCount) {
+        Random random = new Random(37);
+        float[] coordinates = new float[2 * verticesCount];
+        for (int i = 0; i < verticesCount; i++) {
+            double angle = i * 2 * Math.PI / verticesCount;
+            double radius = 100 + 30 * Math.sin(angle * 17) + random.nextDouble();
+            coordinates[2 * i] = (float) (Math.cos(angle) * radius);
+            coordinates[2 * i + 1] = (float) (Math.sin(angle) * radius);
+        }
+
+        return coordinates;
+    }
+
+    @Test
+    public void testSplitPolygonCoversArea() {
+        int verticesCount = 20000;
+        float[] coordinates = wavyRing(verticesCount);
+        // reversed and shifted numbering, to check the caller indices are kept
+        int[] vertexIndices = new int[verticesCount];
+        for (int i = 0; i < verticesCount; i++) {
+            vertexIndices[i] = (verticesCount - i + 5) % verticesCount;
+        }
+        double polygonArea = 0;
+        for (int i = 0; i < verticesCount; i++) {
+            polygonArea += signedArea(coordinates, vertexIndices[0], vertexIndices[i],
+                    vertexIndices[(i + 1) % verticesCount]);
+        }
+
+        int[] triangles = ParallelTriangulation.triangulate(coordinates, vertexIndices, 256);
+
+        Assertions.assertEquals(3 * (verticesCount - 2), triangles.length);
+        double trianglesArea = 0;
+        int[] uses = new int[verticesCount];
+        for (int i = 0; i < triangles.length; i += 3) {
+            double area = signedArea(coordinates, triangles[i], triangles[i + 1], triangles[i + 2]);
+            // every triangle keeps the clockwise winding of the polygon
+            Assertions.assertTrue(area <= 1e-3);
+            trianglesArea += area;
+            uses[triangles[i]]++;
+            uses[triangles[i + 1]]++;
+            uses[triangles[i + 2]]++;
+        }
+        Assertions.assertEquals(polygonArea, trianglesArea, Math.abs(polygonArea) * 1e-6);
+        for (int use : uses) {
+            Assertions.assertTrue(use > 0);
+        }
+    }
+
+    @Test
+    public void testLargeStar() {
+        // only diagonals passing close to the center stay inside, so most splits are uneven
+        int verticesCount = 100_000;
+        Random random = new Random(7);
+        float[] coordinates = new float[2 * verticesCount];
+        for (int i = 0; i < verticesCount; i++) {
+            double angle = (i + random.nextDouble(-0.4, 0.4)) * 2 * Math.PI / verticesCount;
+            double radius = random.nextDouble(0.1, 1);
+            coordinates[2 * i] = (float) (Math.cos(angle) * radius);
+            coordinates[2 * i + 1] = (float) (Math.sin(angle) * radius);
+        }
+        int[] vertexIndices = new int[verticesCount];
+        Arrays.setAll(vertexIndices, (i) -> i);
+        double polygonArea = 0;
+        for (int i = 0; i < verticesCount; i++) {
+            polygonArea += signedArea(coordinates, 0, i, (i + 1) % verticesCount);
+        }
+
+        int[] triangles = ParallelTriangulation.triangulate(coordinates, vertexIndices);
+
+        Assertions.assertEquals(3 * (verticesCount - 2), triangles.length);
+        double trianglesArea = 0;
+        for (int i = 0; i < triangles.length; i += 3) {
+            double area = signedArea(coordinates, triangles[i], triangles[i + 1], triangles[i + 2]);
+            Assertions.assertTrue(area >= 0);
+            trianglesArea += area;
+        }
+        Assertions.assertEquals(polygonArea, trianglesArea, polygonArea * 1e-6);
+    }
+
+    @Test
+    public void testSmallPolygonMatchesEarClipping() {
+        List<ReadOnlyVector2f> square = List.of(
+                new ReadOnlyVector2f(0, 0),
+                new ReadOnlyVector2f(1, 0),
+                new ReadOnlyVector2f(1, 1),
+                new ReadOnlyVector2f(0, 1));
+
+        List<int[]> triangles = ParallelTriangulation.earClippingTriangulate(square, List.of(0, 1, 2, 3));
+
+        Assertions.assertEquals(2, triangles.size());
+        Assertions.assertArrayEquals(new int[] { 3, 0, 1 }, triangles.get(0));
+    }
+
+    @Test
+    public void testNotEnoughVertices() {
+        try {
+            ParallelTriangulation.triangulate(new float[] { 0, 0, 1, 1 }, new int[] { 0, 1 });
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            Assertions.assertEquals("Not enough vertex indices for a polygon", exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package io.github.traunin.triangulation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class PlanarFaceTriangulationTest {
+    // an L shape of area 3 in the plane x = z, facing +y
+    private final static float[] TILTED_L = {
+            0, 0, 0,
+            0, 2, 0,
+            1, 2, 1,
+            1, 1, 1,
+            2, 1, 2,
+            2, 0, 2
+    };
+
+    private static float[] normal(float[] xyz, int a, int b, int c) {
+        float ux = xyz[3 * b] - xyz[3 * a];
+        float uy = xyz[3 * b + 1] - xyz[3 * a + 1];
+        float uz = xyz[3 * b + 2] - xyz[3 * a + 2];
+        float vx = xyz[3 * c] - xyz[3 * a];
+        float vy = xyz[3 * c + 1] - xyz[3 * a + 1];
+        float vz = xyz[3 * c + 2] - xyz[3 * a + 2];
+
+        return new float[] { uy * vz - uz * vy, uz * vx - ux * vz, ux * vy - uy * vx };
+    }
+
+    private static double area(float[] xyz, int[] triangles) {
+        double area = 0;
+        for (int i = 0; i < triangles.length; i += 3) {
+            float[] normal = normal(xyz, triangles[i], triangles[i + 1], triangles[i + 2]);
+            area += Math.sqrt(normal[0] * normal[0] + normal[1] * normal[1] + normal[2] * normal[2]) / 2;
+        }
+
+        return area;
+    }
+
+    @Test
+    public void testTiltedConcaveFace() {
+        List<int[]> triangles = PlanarFaceTriangulation.triangulate(TILTED_L, Arrays.asList(0, 1, 2, 3, 4, 5));
+
+        Assertions.assertEquals(4, triangles.size());
+        int[] flat = triangles.stream().flatMapToInt(Arrays::stream).toArray();
+        Assertions.assertEquals(3 * Math.sqrt(2), area(TILTED_L, flat), 1e-5);
+        // same winding as the face, whose normal points to (1, 0, -1)
+        for (int[] triangle : triangles) {
+            float[] normal = normal(TILTED_L, triangle[0], triangle[1], triangle[2]);
+            Assertions.assertTrue(normal[0] - normal[2] >= 0);
+        }
+    }
+
+    @Test
+    public void testBatchFaces() {
+        float[] xyz = Arrays.copyOf(TILTED_L, TILTED_L.length + 12);
+        System.arraycopy(new float[] { 0, 0, 5, 1, 0, 5, 1, 1, 5, 0, 1, 5 }, 0, xyz, TILTED_L.length, 12);
+        int[] faceIndices = { 6, 7, 8, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 };
+        int[] faceOffsets = { 0, 3, 9, 13 };
+
+        int[] triangles = PlanarFaceTriangulation.triangulate(xyz, faceIndices, faceOffsets);
+
+        Assertions.assertEquals(3 * (1 + 4 + 2), triangles.length);
+        Assertions.assertArrayEquals(new int[] { 6, 7, 8 }, Arrays.copyOf(triangles, 3));
+        Assertions.assertEquals(3 * Math.sqrt(2), area(xyz, Arrays.copyOfRange(triangles, 3, 15)), 1e-5);
+        Assertions.assertEquals(1, area(xyz, Arrays.copyOfRange(triangles, 15, 21)), 1e-5);
+    }
+
+    @Test
+    public void testSmallConcaveFace() {
+        // an arrow with its reflex corner at (1, 1), scaled far below any absolute tolerance
+        float scale = 0.00001f;
+        float[] arrow = { 0, 0, 0, 2 * scale, scale, 0, 0, 2 * scale, 0, scale, scale, 0 };
+        int[] triangles = PlanarFaceTriangulation.triangulate(arrow, new int[] { 0, 1, 2, 3 }, new int[] { 0, 4 });
+
+        Assertions.assertEquals(6, triangles.length);
+        for (int i = 0; i < triangles.length; i += 3) {
+            float[] normal = normal(arrow, triangles[i], triangles[i + 1], triangles[i + 2]);
+            Assertions.assertTrue(normal[2] > 0);
+        }
+        Assertions.assertEquals(scale * scale, area(arrow, triangles), 1e-15);
+    }
+
+    @Test
+    public void testDegenerateFaceIsFan() {
+        float[] line = { 0, 0, 0, 1, 1, 1, 2, 2, 2, 3, 3, 3 };
+        List<int[]> triangles = PlanarFaceTriangulation.triangulate(line, Arrays.asList(0, 1, 2, 3));
+
+        Assertions.assertArrayEquals(new int[] { 0, 1, 2 }, triangles.get(0));
+        Assertions.assertArrayEquals(new int[] { 0, 2, 3 }, triangles.get(1));
+    }
+
+    @Test
+    public void testPentagramFace() {
+        // every turn of a pentagram has the same sign, but it winds around twice
+        float[] pentagon = new float[3 * 5];
+        for (int i = 0; i < 5; i++) {
+            pentagon[3 * i] = (float) Math.cos(2 * Math.PI * i / 5);
+            pentagon[3 * i + 1] = (float) Math.sin(2 * Math.PI * i / 5);
+        }
+        try {
+            PlanarFaceTriangulation.triangulate(pentagon, new int[] { 0, 2, 4, 1, 3 }, new int[] { 0, 5 });
+            Assertions.fail("Expected TriangulationException");
+        } catch (TriangulationException exception) {
+            Assertions.assertEquals("Face 0 has self-intersections", exception.getMessage());
+        }
+    }
+
+    @Test
+    public void testShortFace() {
+        try {
+            PlanarFaceTriangulation.triangulate(TILTED_L, new int[] { 0, 1, 2, 3, 4 }, new int[] { 0, 3, 5 });
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            Assertions.assertEquals("Face 1 has less than 3 vertices", exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package io.github.traunin.triangulation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class RasterizerTest {
+    private final static List<ReadOnlyVector2f> SQUARE = Arrays.asList(
+            new ReadOnlyVector2f(0, 0),
+            new ReadOnlyVector2f(4, 0),
+            new ReadOnlyVector2f(4, 4),
+            new ReadOnlyVector2f(0, 4));
+
+    @Test
+    public void testSharedEdgeCoveredOnce() {
+        List<int[]> lower = List.<int[]>of(new int[] { 0, 1, 2 });
+        List<int[]> upper = List.<int[]>of(new int[] { 0, 2, 3 });
+        CoverageMask lowerMask = Rasterizer.rasterize(SQUARE, lower, 6, 6);
+        CoverageMask upperMask = Rasterizer.rasterize(SQUARE, upper, 6, 6);
+
+        for (int y = 0; y < 6; y++) {
+            for (int x = 0; x < 6; x++) {
+                int covered = (lowerMask.coverage(x, y) + upperMask.coverage(x, y)) / CoverageMask.FULL_COVERAGE;
+                Assertions.assertEquals(x < 4 && y < 4 ? 1 : 0, covered);
+            }
+        }
+    }
+
+    @Test
+    public void testAntiAliasedCoverage() {
+        List<ReadOnlyVector2f> square = Arrays.asList(
+                new ReadOnlyVector2f(0.5f, 0.5f),
+                new ReadOnlyVector2f(2.5f, 0.5f),
+                new ReadOnlyVector2f(2.5f, 2.5f),
+                new ReadOnlyVector2f(0.5f, 2.5f));
+        CoverageMask mask = Rasterizer.rasterize(square, Triangulation.convexPolygonTriangulate(4), 4, 4, 4);
+
+        Assertions.assertEquals(64, mask.coverage(0, 0));
+        Assertions.assertEquals(128, mask.coverage(1, 0));
+        Assertions.assertEquals(255, mask.coverage(1, 1));
+        Assertions.assertEquals(128, mask.coverage(2, 1));
+        Assertions.assertEquals(0, mask.coverage(3, 3));
+    }
+
+    @Test
+    public void testSpans() {
+        List<ReadOnlyVector2f> arrow = Arrays.asList(
+                new ReadOnlyVector2f(0, 0),
+                new ReadOnlyVector2f(4, 2),
+                new ReadOnlyVector2f(0, 4),
+                new ReadOnlyVector2f(1, 2));
+        CoverageMask mask = Rasterizer.rasterize(arrow, Triangulation.earClippingTriangulate(arrow), 5, 4);
+
+        Assertions.assertArrayEquals(new int[] { 0, 0, 1, 1, 1, 3, 2, 1, 3, 3, 0, 1 }, mask.spans());
+    }
+
+    @Test
+    public void testLargeMaskMatchesArea() {
+        List<ReadOnlyVector2f> square = Arrays.asList(
+                new ReadOnlyVector2f(10, 10),
+                new ReadOnlyVector2f(190, 10),
+                new ReadOnlyVector2f(190, 150),
+                new ReadOnlyVector2f(10, 150));
+        CoverageMask mask = Rasterizer.rasterize(square, Triangulation.earClippingTriangulate(square), 200, 200);
+
+        int covered = 0;
+        for (byte value : mask.toByteArray()) {
+            covered += value != 0 ? 1 : 0;
+        }
+        Assertions.assertEquals(180 * 140, covered);
+    }
+
+    @Test
+    public void testTooLargeMask() {
+        try {
+            Rasterizer.rasterize(SQUARE, Triangulation.convexPolygonTriangulate(4), 65536, 65536);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            Assertions.assertEquals("Mask size 65536x65536 is too large", exception.getMessage());
+        }
+    }
+
+    @Test
+    public void testVertexTooFar() {
+        List<ReadOnlyVector2f> farSquare = Arrays.asList(
+                new ReadOnlyVector2f(0, 0),
+                new ReadOnlyVector2f(1 << 21, 0),
+                new ReadOnlyVector2f(1 << 21, 4),
+                new ReadOnlyVector2f(0, 4));
+        try {
+            Rasterizer.rasterize(farSquare, Triangulation.convexPolygonTriangulate(4), 4, 4);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            // the coordinates are formatted in the default locale
+            Assertions.assertTrue(exception.getMessage().endsWith("is too far from the mask"));
+        }
+    }
+
+    @Test
+    public void testUnsupportedSampleCount() {
+        try {
+            Rasterizer.rasterize(SQUARE, Triangulation.convexPolygonTriangulate(4), 4, 4, 3);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            Assertions.assertEquals("Unsupported sample count 3 per axis", exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.traunin.triangulation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+
+public class ScalarPointInTriangleKernelTest {
+    @Test
+    public void testFindsFirstPointInRange() {
+        float[] xs = { 5, 0.5f, 0.25f, 0, 0.25f };
+        float[] ys = { 5, 0.5f, 0.25f, 2, 0.25f };
+        PointInTriangleKernel kernel = new ScalarPointInTriangleKernel();
+
+        // the first point inside is on the hypotenuse
+        Assertions.assertEquals(1, kernel.findPointInTriangle(xs, ys, 0, 5, 0, 0, 1, 0, 0, 1));
+        Assertions.assertEquals(4, kernel.findPointInTriangle(xs, ys, 3, 5, 0, 0, 0, 1, 1, 0));
+        Assertions.assertEquals(-1, kernel.findPointInTriangle(xs, ys, 3, 4, 0, 0, 1, 0, 0, 1));
+    }
+
+    @Test
+    public void testNaNPointIsOutside() {
+        float[] xs = { Float.NaN, 0.5f };
+        float[] ys = { 0.25f, Float.NaN };
+        PointInTriangleKernel kernel = new ScalarPointInTriangleKernel();
+
+        Assertions.assertEquals(-1, kernel.findPointInTriangle(xs, ys, 0, 2, 0, 0, 1, 0, 0, 1));
+    }
+
+    @Test
+    public void testFailingProviderFallsBackToScalar() {
+        Iterator<PointInTriangleKernel> unloadable = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public PointInTriangleKernel next() {
+                // what ServiceLoader throws for a provider whose class cannot be initialized
+                throw new ServiceConfigurationError("Provider could not be instantiated",
+                        new NoClassDefFoundError("jdk/incubator/vector/FloatVector"));
+            }
+        };
+        Iterator<PointInTriangleKernel> linkageFailure = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                throw new NoClassDefFoundError("jdk/incubator/vector/FloatVector");
+            }
+
+            @Override
+            public PointInTriangleKernel next() {
+                throw new UnsupportedOperationException();
+            }
+        };
+        PointInTriangleKernel provided = new ScalarPointInTriangleKernel();
+
+        Assertions.assertInstanceOf(ScalarPointInTriangleKernel.class,
+                ScalarPointInTriangleKernel.firstOrScalar(unloadable));
+        Assertions.assertInstanceOf(ScalarPointInTriangleKernel.class,
+                ScalarPointInTriangleKernel.firstOrScalar(linkageFailure));
+        Assertions.assertSame(provided, ScalarPointInTriangleKernel.firstOrScalar(List.of(provided).iterator()));
+        Assertions.assertNotNull(ScalarPointInTriangleKernel.get());
+    }
+}
@@ -0,0 +1,139 @@
+package io.github.traunin.triangulation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class TessellatorTest {
+    private static double area(Tessellation tessellation) {
+        List<Vector2f> vertices = tessellation.vertices();
+        double area = 0;
+        for (int[] triangle : tessellation.triangles()) {
+            double triangleArea = VectorMath.crossProduct(vertices.get(triangle[1]), vertices.get(triangle[0]),
+                    vertices.get(triangle[2])) / 2.0;
+            Assertions.assertTrue(triangleArea < 0);
+            area -= triangleArea;
+        }
+
+        return area;
+    }
+
+    private static boolean covers(Tessellation tessellation, float x, float y) {
+        List<Vector2f> vertices = tessellation.vertices();
+        for (int[] triangle : tessellation.triangles()) {
+            if (VectorMath.isPointInTriangle(vertices.get(triangle[0]), vertices.get(triangle[1]),
+                    vertices.get(triangle[2]), new ReadOnlyVector2f(x, y))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Test
+    public void testSquareWithHole() {
+        float[] coordinates = { 0, 0, 4, 0, 4, 4, 0, 4, 1, 1, 3, 1, 3, 3, 1, 3 };
+        int[] sameDirection = { 0, 1, 2, 3, 4, 5, 6, 7 };
+        int[] oppositeDirection = { 0, 1, 2, 3, 7, 6, 5, 4 };
+        int[] offsets = { 0, 4, 8 };
+
+        Assertions.assertEquals(12, area(Tessellator.tessellate(coordinates, sameDirection, offsets,
+                FillRule.EVEN_ODD)), 0.00001);
+        Assertions.assertEquals(16, area(Tessellator.tessellate(coordinates, sameDirection, offsets,
+                FillRule.NON_ZERO)), 0.00001);
+        Assertions.assertEquals(12, area(Tessellator.tessellate(coordinates, oppositeDirection, offsets,
+                FillRule.NON_ZERO)), 0.00001);
+        Assertions.assertEquals(12, area(Tessellator.tessellate(coordinates, oppositeDirection, offsets,
+                FillRule.EVEN_ODD)), 0.00001);
+    }
+
+    @Test
+    public void testTinyHole() {
+        // the hole vertices are one float step apart, and used to be merged into one
+        float step = 0x1p-24f;
+        float[] coordinates = { 0, 0, 1, 0, 1, 1, 0, 1, 0.5f, 0.5f, 0.5f + step, 0.5f, 0.5f, 0.5f + step };
+        Tessellation tessellation = Tessellator.tessellate(coordinates, new int[] { 0, 1, 2, 3, 4, 6, 5 },
+                new int[] { 0, 4, 7 }, FillRule.EVEN_ODD);
+
+        Assertions.assertEquals(4 + 3, tessellation.triangles().size());
+        Assertions.assertEquals(1 - step * step / 2, area(tessellation), 0.00001);
+        boolean[] isUsed = new boolean[7];
+        for (int index : tessellation.triangleIndices()) {
+            isUsed[index] = true;
+        }
+        for (boolean used : isUsed) {
+            Assertions.assertTrue(used);
+        }
+    }
+
+    @Test
+    public void testOverlappingContours() {
+        List<Vector2f> vertices = List.of(
+                new ReadOnlyVector2f(0, 0),
+                new ReadOnlyVector2f(2, 0),
+                new ReadOnlyVector2f(2, 2),
+                new ReadOnlyVector2f(0, 2),
+                new ReadOnlyVector2f(1, 1),
+                new ReadOnlyVector2f(3, 1),
+                new ReadOnlyVector2f(3, 3),
+                new ReadOnlyVector2f(1, 3));
+        List<List<Integer>> contours = List.of(List.of(0, 1, 2, 3), List.of(4, 5, 6, 7));
+
+        Tessellation evenOdd = Tessellator.tessellate(vertices, contours, FillRule.EVEN_ODD);
+        Assertions.assertEquals(2, evenOdd.intersectionCount());
+        Assertions.assertEquals(10, evenOdd.vertices().size());
+        Assertions.assertEquals(vertices.get(7).x(), evenOdd.vertices().get(7).x());
+        Assertions.assertEquals(6, area(evenOdd), 0.00001);
+        Assertions.assertFalse(covers(evenOdd, 1.5f, 1.5f));
+
+        Tessellation nonZero = Tessellator.tessellate(vertices, contours, FillRule.NON_ZERO);
+        Assertions.assertEquals(7, area(nonZero), 0.00001);
+        Assertions.assertTrue(covers(nonZero, 1.5f, 1.5f));
+    }
+
+    @Test
+    public void testSelfIntersectingStar() {
+        float[] coordinates = new float[10];
+        for (int i = 0; i < 5; i++) {
+            // every second point of a pentagon, so the contour crosses itself
+            double angle = Math.PI / 2 + 2 * Math.PI * (2 * i) / 5;
+            coordinates[2 * i] = (float) (10 * Math.cos(angle));
+            coordinates[2 * i + 1] = (float) (10 * Math.sin(angle));
+        }
+        int[] contour = { 0, 1, 2, 3, 4 };
+        int[] offsets = { 0, 5 };
+
+        Tessellation evenOdd = Tessellator.tessellate(coordinates, contour, offsets, FillRule.EVEN_ODD);
+        Tessellation nonZero = Tessellator.tessellate(coordinates, contour, offsets, FillRule.NON_ZERO);
+
+        Assertions.assertEquals(5, evenOdd.intersectionCount());
+        Assertions.assertFalse(covers(evenOdd, 0, 0));
+        Assertions.assertTrue(covers(nonZero, 0, 0));
+        Assertions.assertTrue(covers(evenOdd, 0, 9));
+        Assertions.assertTrue(area(nonZero) > area(evenOdd));
+    }
+
+    @Test
+    public void testInvalidContours() {
+        float[] coordinates = { 0, 0, 1, 0, 1, 1 };
+        try {
+            Tessellator.tessellate(coordinates, new int[] { 0, 1, 2 }, new int[] { 0, 2 }, FillRule.NON_ZERO);
+            Assertions.fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException exception) {
+            Assertions.assertEquals("Contour offsets have to increase from 0 to 3", exception.getMessage());
+        }
+        try {
+            Tessellator.tessellate(coordinates, new int[] { 0, 1 }, new int[] { 0, 2 }, FillRule.NON_ZERO);
+            Assertions.fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException exception) {
+            Assertions.assertEquals("Not enough vertex indices for a polygon", exception.getMessage());
+        }
+        try {
+            Tessellator.tessellate(coordinates, new int[] { 0, 1, 3 }, new int[] { 0, 3 }, FillRule.NON_ZERO);
+            Assertions.fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException exception) {
+            Assertions.assertEquals("Vertex index 3 is outside of vertex list of length 3", exception.getMessage());
+        }
+    }
+}
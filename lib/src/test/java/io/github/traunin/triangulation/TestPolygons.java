@@ -0,0 +1,85 @@
+package io.github.traunin.triangulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Polygons and areas shared by the tests.
+ */
+final class TestPolygons {
+    private TestPolygons() {
+        throw new UnsupportedOperationException("Cannot be instantiated.");
+    }
+
+    /**
+     * Creates a counterclockwise star with random radii in [5, 20).
+     *
+     * @return interleaved x, y coordinates
+     */
+    static float[] starCoordinates(int verticesCount, long seed) {
+        Random random = new Random(seed);
+        float[] coordinates = new float[2 * verticesCount];
+        for (int i = 0; i < verticesCount; i++) {
+            float size = random.nextFloat(5, 20);
+            coordinates[2 * i] = (float) (Math.cos(i * 2 * Math.PI / verticesCount) * size);
+            coordinates[2 * i + 1] = (float) (Math.sin(i * 2 * Math.PI / verticesCount) * size);
+        }
+
+        return coordinates;
+    }
+
+    /**
+     * Creates the star of {@link #starCoordinates(int, long)} as vertices.
+     */
+    static List<ReadOnlyVector2f> starPolygon(int verticesCount, long seed) {
+        float[] coordinates = starCoordinates(verticesCount, seed);
+        List<ReadOnlyVector2f> polygon = new ArrayList<>(verticesCount);
+        for (int i = 0; i < verticesCount; i++) {
+            polygon.add(new ReadOnlyVector2f(coordinates[2 * i], coordinates[2 * i + 1]));
+        }
+
+        return polygon;
+    }
+
+    /**
+     * Computes the signed area of a triangle in double, positive when
+     * counterclockwise.
+     */
+    static double signedArea(float[] coordinates, int a, int b, int c) {
+        return (((double) coordinates[2 * b] - coordinates[2 * a])
+                * ((double) coordinates[2 * c + 1] - coordinates[2 * a + 1])
+                - ((double) coordinates[2 * c] - coordinates[2 * a])
+                        * ((double) coordinates[2 * b + 1] - coordinates[2 * a + 1])) / 2;
+    }
+
+    /**
+     * Computes the signed area of a polygon or triangle in double, positive
+     * when counterclockwise.
+     */
+    static double signedArea(List<? extends Vector2f> vertices, int[] polygon) {
+        double area = 0;
+        for (int i = 0; i < polygon.length; i++) {
+            Vector2f a = vertices.get(polygon[i]);
+            Vector2f b = vertices.get(polygon[(i + 1) % polygon.length]);
+            area += (double) a.x() * b.y() - (double) b.x() * a.y();
+        }
+
+        return area / 2;
+    }
+
+    /**
+     * Computes the signed area of a polygon of all {@code polygon} vertices
+     * in order.
+     */
+    static double signedArea(List<? extends Vector2f> polygon) {
+        double area = 0;
+        for (int i = 0; i < polygon.size(); i++) {
+            Vector2f a = polygon.get(i);
+            Vector2f b = polygon.get((i + 1) % polygon.size());
+            area += (double) a.x() * b.y() - (double) b.x() * a.y();
+        }
+
+        return area / 2;
+    }
+}
@@ -0,0 +1,129 @@
+package io.github.traunin.triangulation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static io.github.traunin.triangulation.TestPolygons.signedArea;
+
+public class TileClippingTest {
+    private final static Random RANDOM = new Random();
+
+    private final static List<ReadOnlyVector2f> COMB = Arrays.asList(
+            new ReadOnlyVector2f(0, 0),
+            new ReadOnlyVector2f(6, 0),
+            new ReadOnlyVector2f(6, 3),
+            new ReadOnlyVector2f(5, 3),
+            new ReadOnlyVector2f(5, 1),
+            new ReadOnlyVector2f(4, 1),
+            new ReadOnlyVector2f(4, 3),
+            new ReadOnlyVector2f(3, 3),
+            new ReadOnlyVector2f(3, 1),
+            new ReadOnlyVector2f(2, 1),
+            new ReadOnlyVector2f(2, 3),
+            new ReadOnlyVector2f(0, 3));
+
+    private final static List<Integer> COMB_INDICES = IntStream.range(0, COMB.size()).boxed().toList();
+
+    private static double area(List<Vector2f> vertices, List<int[]> triangles) {
+        double area = 0;
+        for (int[] triangle : triangles) {
+            area += Math.abs(signedArea(vertices, triangle));
+        }
+
+        return area;
+    }
+
+    private static double area(List<? extends Vector2f> polygon) {
+        return Math.abs(signedArea(polygon));
+    }
+
+    @Test
+    public void testClipSplitsIntoRings() {
+        ClippedPolygon clipped = TileClipping.clip(COMB, COMB_INDICES, -1, 2, 7, 4);
+
+        Assertions.assertEquals(3, clipped.rings().size());
+        Assertions.assertEquals(4, area(clipped.vertices(), clipped.triangles()), 1e-5);
+    }
+
+    @Test
+    public void testClipKeepsSourceIndices() {
+        ClippedPolygon clipped = TileClipping.clip(COMB, COMB_INDICES, -1, -1, 7, 2);
+
+        Assertions.assertEquals(1, clipped.rings().size());
+        Assertions.assertEquals(10, area(clipped.vertices(), clipped.triangles()), 1e-5);
+        for (int i = 0; i < clipped.vertices().size(); i++) {
+            int sourceIndex = clipped.sourceIndex(i);
+            if (sourceIndex >= 0) {
+                Assertions.assertEquals(COMB.get(sourceIndex).x(), clipped.vertices().get(i).x());
+                Assertions.assertEquals(COMB.get(sourceIndex).y(), clipped.vertices().get(i).y());
+            } else {
+                Assertions.assertEquals(2, clipped.vertices().get(i).y());
+            }
+        }
+    }
+
+    @Test
+    public void testClipOutsideIsEmpty() {
+        ClippedPolygon clipped = TileClipping.clip(COMB, COMB_INDICES, 10, 10, 20, 20);
+
+        Assertions.assertTrue(clipped.isEmpty());
+        Assertions.assertEquals(0, clipped.triangles().size());
+    }
+
+    @Test
+    public void testInvalidRectangle() {
+        try {
+            TileClipping.clip(COMB, COMB_INDICES, 1, 1, 0, 2);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            Assertions.assertTrue(exception.getMessage().startsWith("Invalid rectangle"));
+        }
+    }
+
+    @Test
+    public void testCombGrid() {
+        TileGrid grid = TileClipping.clipToGrid(COMB, COMB_INDICES, 0, 0, 1, 1, 6, 3);
+
+        double total = 0;
+        for (int row = 0; row < grid.rows(); row++) {
+            for (int column = 0; column < grid.columns(); column++) {
+                ClippedPolygon tile = grid.tile(column, row);
+                total += area(tile.vertices(), tile.triangles());
+            }
+        }
+        Assertions.assertEquals(area(COMB), total, 1e-5);
+        Assertions.assertTrue(grid.tile(2, 2).isEmpty());
+        Assertions.assertEquals(1, area(grid.tile(3, 2).vertices(), grid.tile(3, 2).triangles()), 1e-5);
+    }
+
+    @RepeatedTest(10)
+    public void testRandomPolygonGrid() {
+        int verticesCount = 60;
+        List<ReadOnlyVector2f> polygon = new ArrayList<>(verticesCount);
+        for (int i = 0; i < verticesCount; i++) {
+            float size = RANDOM.nextFloat(20, 100);
+            polygon.add(new ReadOnlyVector2f(
+                    (float) (Math.cos(i * 2 * Math.PI / verticesCount) * size),
+                    (float) (Math.sin(i * 2 * Math.PI / verticesCount) * size)));
+        }
+        List<Integer> indices = IntStream.range(0, verticesCount).boxed().toList();
+
+        TileGrid grid = TileClipping.clipToGrid(polygon, indices, -100, -100, 25, 25, 8, 8);
+
+        double total = 0;
+        for (int row = 0; row < grid.rows(); row++) {
+            for (int column = 0; column < grid.columns(); column++) {
+                ClippedPolygon tile = grid.tile(column, row);
+                total += area(tile.vertices(), tile.triangles());
+            }
+        }
+        Assertions.assertEquals(area(polygon), total, area(polygon) * 1e-4);
+    }
+}
@@ -0,0 +1,127 @@
+package io.github.traunin.triangulation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class TriangleLocatorTest {
+    private final static List<ReadOnlyVector2f> ARROW = Arrays.asList(
+            new ReadOnlyVector2f(0, 0),
+            new ReadOnlyVector2f(4, 2),
+            new ReadOnlyVector2f(0, 4),
+            new ReadOnlyVector2f(1, 2));
+
+    @Test
+    public void testLocateAndBarycentric() {
+        List<int[]> triangles = Triangulation.earClippingTriangulate(ARROW);
+        TriangleLocator locator = TriangleLocator.of(ARROW, triangles);
+        float[] barycentric = new float[3];
+
+        int triangle = locator.locate(2, 2, barycentric);
+        Assertions.assertNotEquals(TriangleLocator.NOT_FOUND, triangle);
+
+        int[] vertexIndices = triangles.get(triangle);
+        float x = 0;
+        float y = 0;
+        for (int i = 0; i < 3; i++) {
+            x += barycentric[i] * ARROW.get(vertexIndices[i]).x();
+            y += barycentric[i] * ARROW.get(vertexIndices[i]).y();
+        }
+        Assertions.assertEquals(2, x, 1e-5);
+        Assertions.assertEquals(2, y, 1e-5);
+    }
+
+    @Test
+    public void testPointsOutside() {
+        TriangleLocator locator = TriangleLocator.of(ARROW, Triangulation.earClippingTriangulate(ARROW));
+
+        Assertions.assertEquals(TriangleLocator.NOT_FOUND, locator.locate(0.5f, 2));
+        Assertions.assertEquals(TriangleLocator.NOT_FOUND, locator.locate(-1, -1));
+        Assertions.assertEquals(TriangleLocator.NOT_FOUND, locator.locate(5, 2));
+    }
+
+    @Test
+    public void testBatchMatchesBruteForce() {
+        Random random = new Random(3);
+        int size = 20;
+        List<ReadOnlyVector2f> vertices = new ArrayList<>();
+        List<int[]> triangles = new ArrayList<>();
+        for (int y = 0; y <= size; y++) {
+            for (int x = 0; x <= size; x++) {
+                vertices.add(new ReadOnlyVector2f(x + random.nextFloat(-0.3f, 0.3f), y + random.nextFloat(-0.3f, 0.3f)));
+            }
+        }
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                int corner = y * (size + 1) + x;
+                triangles.add(new int[] { corner, corner + 1, corner + size + 1 });
+                triangles.add(new int[] { corner + 1, corner + size + 2, corner + size + 1 });
+            }
+        }
+
+        TriangleLocator locator = TriangleLocator.of(vertices, triangles);
+        int pointCount = 1000;
+        float[] points = new float[2 * pointCount];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = random.nextFloat(-1, size + 1);
+        }
+        int[] located = new int[pointCount];
+        float[] barycentric = new float[3 * pointCount];
+        locator.locateAll(points, located, barycentric);
+
+        for (int i = 0; i < pointCount; i++) {
+            float x = points[2 * i];
+            float y = points[2 * i + 1];
+            boolean isInside = false;
+            for (int[] triangle : triangles) {
+                isInside |= VectorMath.isPointInTriangle(vertices.get(triangle[0]), vertices.get(triangle[1]),
+                        vertices.get(triangle[2]), new ReadOnlyVector2f(x, y));
+            }
+
+            Assertions.assertEquals(isInside, located[i] != TriangleLocator.NOT_FOUND);
+            if (isInside) {
+                int[] triangle = triangles.get(located[i]);
+                Assertions.assertTrue(VectorMath.isPointInTriangle(vertices.get(triangle[0]),
+                        vertices.get(triangle[1]), vertices.get(triangle[2]), new ReadOnlyVector2f(x, y)));
+                for (int j = 0; j < 3; j++) {
+                    Assertions.assertTrue(barycentric[3 * i + j] >= -1e-4f);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFanOfSkinnyTriangles() {
+        // every triangle reaches from the center to the circle, so its bounding box covers a quarter of the fan
+        int spokeCount = 200_000;
+        List<ReadOnlyVector2f> vertices = new ArrayList<>();
+        List<int[]> triangles = new ArrayList<>();
+        vertices.add(new ReadOnlyVector2f(0, 0));
+        for (int i = 0; i < spokeCount; i++) {
+            double angle = 2 * Math.PI * i / spokeCount;
+            vertices.add(new ReadOnlyVector2f((float) Math.cos(angle), (float) Math.sin(angle)));
+            triangles.add(new int[] { 0, i + 1, (i + 1) % spokeCount + 1 });
+        }
+
+        TriangleLocator locator = TriangleLocator.of(vertices, triangles);
+        Assertions.assertEquals(spokeCount, locator.triangleCount());
+        Random random = new Random(5);
+        for (int i = 0; i < 2000; i++) {
+            double angle = random.nextDouble(2 * Math.PI);
+            double radius = random.nextDouble(0.05, 0.99);
+            float x = (float) (radius * Math.cos(angle));
+            float y = (float) (radius * Math.sin(angle));
+            int triangle = locator.locate(x, y);
+
+            Assertions.assertNotEquals(TriangleLocator.NOT_FOUND, triangle);
+            int[] vertexIndices = triangles.get(triangle);
+            Assertions.assertTrue(VectorMath.isPointInTriangle(vertices.get(vertexIndices[0]),
+                    vertices.get(vertexIndices[1]), vertices.get(vertexIndices[2]), new ReadOnlyVector2f(x, y)));
+        }
+        Assertions.assertEquals(TriangleLocator.NOT_FOUND, locator.locate(0.9f, 0.9f));
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.traunin.triangulation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.github.traunin.triangulation.TestPolygons.starPolygon;
+
+public class TriangleStripsTest {
+    // rotates every triangle so the smallest index comes first, keeping the winding
+    private static List<String> canonical(List<int[]> triangles) {
+        List<String> keys = new ArrayList<>();
+        for (int[] triangle : triangles) {
+            int first = 0;
+            for (int i = 1; i < 3; i++) {
+                if (triangle[i] < triangle[first]) {
+                    first = i;
+                }
+            }
+            keys.add(triangle[first] + " " + triangle[(first + 1) % 3] + " " + triangle[(first + 2) % 3]);
+        }
+        keys.sort(String::compareTo);
+
+        return keys;
+    }
+
+    @Test
+    public void testConvexFan() {
+        int[] fan = Triangulation.convexPolygonTriangulateFan(5);
+
+        Assertions.assertArrayEquals(new int[] { 0, 4, 3, 2, 1 }, fan);
+        Assertions.assertEquals(canonical(Triangulation.convexPolygonTriangulate(5)),
+                canonical(TriangleStrips.fanToTriangles(fan)));
+    }
+
+    @Test
+    public void testStripKeepsTrianglesAndWinding() {
+        List<int[]> triangles = Triangulation.earClippingTriangulate(starPolygon(40, 7));
+        int[] strips = TriangleStrips.stripify(triangles);
+
+        Assertions.assertEquals(canonical(triangles),
+                canonical(TriangleStrips.stripsToTriangles(strips, TriangleStrips.PRIMITIVE_RESTART_INDEX)));
+        Assertions.assertTrue(strips.length < triangles.size() * 3);
+    }
+
+    @Test
+    public void testSingleStripForQuadStrip() {
+        List<int[]> triangles = List.of(
+                new int[] { 0, 1, 2 },
+                new int[] { 2, 1, 3 },
+                new int[] { 2, 3, 4 },
+                new int[] { 4, 3, 5 });
+        int[] strips = TriangleStrips.stripify(triangles, 99);
+
+        Assertions.assertArrayEquals(new int[] { 0, 1, 2, 3, 4, 5 }, strips);
+    }
+
+    @Test
+    public void testStripsIntoBuffer() {
+        List<int[]> triangles = List.of(new int[] { 0, 1, 2 }, new int[] { 3, 4, 5 });
+        IntBuffer buffer = IntBuffer.allocate(16);
+
+        int written = TriangleStrips.stripify(triangles, 99, buffer);
+
+        Assertions.assertEquals(7, written);
+        Assertions.assertArrayEquals(new int[] { 0, 1, 2, 99, 3, 4, 5 }, Arrays.copyOf(buffer.array(), written));
+    }
+}
@@ -23,6 +23,18 @@ public class TriangulationTest {
             new ReadOnlyVector2f(-1, 1),
             new ReadOnlyVector2f(2, 0));
 
+    private final static List<ReadOnlyVector2f> COMB = Arrays.asList(
+            new ReadOnlyVector2f(0, 0),
+            new ReadOnlyVector2f(2, 0),
+            new ReadOnlyVector2f(2, 0.5f),
+            new ReadOnlyVector2f(1.5f, 0.5f),
+            new ReadOnlyVector2f(1.5f, 15.5f),
+            new ReadOnlyVector2f(1, 15.5f),
+            new ReadOnlyVector2f(1, 0.5f),
+            new ReadOnlyVector2f(0.5f, 0.5f),
+            new ReadOnlyVector2f(0.5f, 3),
+            new ReadOnlyVector2f(0, 3));
+
     private final static List<ReadOnlyVector2f> SLIM_POLYGON = Arrays.asList(
             new ReadOnlyVector2f(0.62304f, 0.62304f),
             new ReadOnlyVector2f(0.59179f, 0.59179f),
@@ -125,6 +137,22 @@ public class TriangulationTest {
                 TRIANGLE.get(2)));
     }
 
+    @Test
+    public void testEarClippingTriangulateComb() {
+        // ears at the first and the last vertex used to be skipped, and collinear vertices clip to empty ears
+        List<int[]> triangles = Triangulation.earClippingTriangulate(COMB);
+
+        Assertions.assertEquals(COMB.size() - 2, triangles.size());
+        double area = 0;
+        for (int[] triangle : triangles) {
+            double triangleArea = VectorMath.crossProduct(COMB.get(triangle[0]), COMB.get(triangle[1]),
+                    COMB.get(triangle[2])) / 2.0;
+            Assertions.assertTrue(triangleArea >= 0);
+            area += triangleArea;
+        }
+        Assertions.assertEquals(1 + 7.5 + 1.25, area, 0.00001);
+    }
+
     @RepeatedTest(10)
     public void testRandomPolygon() {
         int verticesCount = 10;
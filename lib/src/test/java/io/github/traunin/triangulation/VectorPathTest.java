@@ -0,0 +1,165 @@
+package io.github.traunin.triangulation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class VectorPathTest {
+    // control point distance of a cubic Bezier curve approximating a quarter circle
+    private static final float KAPPA = 0.5522848f;
+
+    private static VectorPath circle(VectorPath path, float radius, boolean isCounterClockwise) {
+        float k = KAPPA * radius;
+        float s = isCounterClockwise ? 1 : -1;
+        return path.moveTo(radius, 0)
+                .cubicTo(radius, s * k, k, s * radius, 0, s * radius)
+                .cubicTo(-k, s * radius, -radius, s * k, -radius, 0)
+                .cubicTo(-radius, -s * k, -k, -s * radius, 0, -s * radius)
+                .cubicTo(k, -s * radius, radius, -s * k, radius, 0)
+                .close();
+    }
+
+    private static double area(Tessellation tessellation) {
+        List<Vector2f> vertices = tessellation.vertices();
+        double area = 0;
+        for (int[] triangle : tessellation.triangles()) {
+            area += VectorMath.crossProduct(vertices.get(triangle[0]), vertices.get(triangle[1]),
+                    vertices.get(triangle[2])) / 2.0;
+        }
+
+        return area;
+    }
+
+    @Test
+    public void testLinesAreNotChanged() {
+        FlattenedPath flattened = new VectorPath()
+                .moveTo(0, 0)
+                .lineTo(2, 0)
+                .lineTo(2, 0)
+                .lineTo(2, 2)
+                .lineTo(0, 2)
+                .lineTo(0, 0)
+                .flatten(0.1f);
+
+        Assertions.assertArrayEquals(new float[] { 0, 0, 2, 0, 2, 2, 0, 2 }, flattened.coordinates());
+        Assertions.assertArrayEquals(new int[] { 0, 4 }, flattened.contourOffsets());
+    }
+
+    @Test
+    public void testCircleWithinTolerance() {
+        float radius = 100;
+        FlattenedPath coarse = circle(new VectorPath(), radius, true).flatten(1);
+        FlattenedPath fine = circle(new VectorPath(), radius, true).flatten(0.01f);
+
+        Assertions.assertEquals(1, fine.contourCount());
+        Assertions.assertTrue(coarse.vertexCount() < fine.vertexCount());
+        Assertions.assertTrue(fine.vertexCount() <= 4 * VectorPath.MAX_CURVE_SEGMENTS);
+        for (FlattenedPath flattened : List.of(coarse, fine)) {
+            for (Vector2f vertex : flattened.vertices()) {
+                double distance = Math.hypot(vertex.x(), vertex.y());
+                // the cubic curves themselves are up to 0.00028 times the radius away from the circle
+                Assertions.assertEquals(radius, distance, 0.03);
+            }
+        }
+        // the lines are chords of the curves, so the flattened circle is smaller by at most the tolerance
+        double fineArea = area(fine.tessellate(FillRule.NON_ZERO));
+        Assertions.assertTrue(fineArea < Math.PI * radius * radius + 0.03 * 2 * Math.PI * radius);
+        Assertions.assertTrue(fineArea > Math.PI * (radius - 0.04) * (radius - 0.04));
+    }
+
+    @Test
+    public void testStraightCurveIsOneLine() {
+        FlattenedPath flattened = new VectorPath()
+                .moveTo(0, 0)
+                .quadTo(1, 0, 2, 0)
+                .cubicTo(2, 1, 2, 2, 2, 3)
+                .flatten(0.001f);
+
+        Assertions.assertArrayEquals(new float[] { 0, 0, 2, 0, 2, 3 }, flattened.coordinates());
+    }
+
+    @Test
+    public void testGlyphWithCounter() {
+        // the letter O: an outer and an inner circle, in opposite directions for the non-zero rule
+        VectorPath path = circle(new VectorPath(), 10, true);
+        circle(path, 6, false);
+
+        FlattenedPath flattened = path.flatten(0.01f);
+        Assertions.assertEquals(2, flattened.contourCount());
+        double ring = Math.PI * (10 * 10 - 6 * 6);
+        Assertions.assertEquals(ring, area(flattened.tessellate(FillRule.NON_ZERO)), 0.1);
+        Assertions.assertEquals(ring, area(path.tessellate(0.01f, FillRule.EVEN_ODD)), 0.1);
+    }
+
+    @Test
+    public void testContourAfterClose() {
+        // the second triangle starts at the first point of the closed one
+        FlattenedPath flattened = new VectorPath()
+                .moveTo(0, 0)
+                .lineTo(1, 0)
+                .lineTo(1, 1)
+                .close()
+                .lineTo(-1, 0)
+                .lineTo(-1, -1)
+                .moveTo(5, 5)
+                .lineTo(6, 6)
+                .flatten(0.1f);
+
+        Assertions.assertArrayEquals(new int[] { 0, 3, 6 }, flattened.contourOffsets());
+        Assertions.assertEquals(0, flattened.vertices().get(3).x());
+        Assertions.assertEquals(0, flattened.vertices().get(3).y());
+    }
+
+    @Test
+    public void testReusedBuffer() {
+        FlattenedPath buffer = new FlattenedPath();
+        VectorPath path = circle(new VectorPath(), 10, true);
+        int vertexCount = path.flatten(0.01f, buffer).vertexCount();
+
+        Assertions.assertSame(buffer, path.reset().moveTo(0, 0).lineTo(1, 0).lineTo(0, 1).flatten(0.01f, buffer));
+        Assertions.assertEquals(3, buffer.vertexCount());
+        Assertions.assertEquals(vertexCount, circle(path.reset(), 10, true).flatten(0.01f, buffer).vertexCount());
+        Assertions.assertEquals(0, new VectorPath().flatten(1).tessellate(FillRule.NON_ZERO).triangles().size());
+    }
+
+    @Test
+    public void testCacheReusesTessellation() {
+        PathCache cache = new PathCache(2);
+        Tessellation first = cache.tessellate(circle(new VectorPath(), 10, true), 0.1f, FillRule.NON_ZERO);
+
+        Assertions.assertSame(first, cache.tessellate(circle(new VectorPath(), 10, true), 0.1f, FillRule.NON_ZERO));
+        Assertions.assertNotSame(first, cache.tessellate(circle(new VectorPath(), 10, true), 0.05f,
+                FillRule.NON_ZERO));
+        Assertions.assertEquals(1, cache.hitCount());
+        Assertions.assertEquals(2, cache.missCount());
+
+        // the first circle was used least recently and is dropped
+        cache.tessellate(circle(new VectorPath(), 5, true), 0.1f, FillRule.NON_ZERO);
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertNotSame(first, cache.tessellate(circle(new VectorPath(), 10, true), 0.1f,
+                FillRule.NON_ZERO));
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        try {
+            new VectorPath().lineTo(1, 1);
+            Assertions.fail("Expected IllegalStateException");
+        } catch (IllegalStateException exception) {
+            Assertions.assertEquals("Path has to start with moveTo", exception.getMessage());
+        }
+        try {
+            new VectorPath().moveTo(0, 0).flatten(0);
+            Assertions.fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException exception) {
+            Assertions.assertEquals("Tolerance 0.0 is not positive", exception.getMessage());
+        }
+        try {
+            new PathCache(0);
+            Assertions.fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException exception) {
+            Assertions.assertEquals("Capacity 0 is not positive", exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.traunin.triangulation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+public class VertexCacheOptimizationTest {
+    private final static int GRID_SIZE = 40;
+
+    private static List<int[]> shuffledGrid() {
+        List<int[]> triangles = new ArrayList<>();
+        for (int y = 0; y < GRID_SIZE - 1; y++) {
+            for (int x = 0; x < GRID_SIZE - 1; x++) {
+                int corner = y * GRID_SIZE + x;
+                triangles.add(new int[] { corner, corner + 1, corner + GRID_SIZE });
+                triangles.add(new int[] { corner + 1, corner + GRID_SIZE + 1, corner + GRID_SIZE });
+            }
+        }
+        Collections.shuffle(triangles, new Random(42));
+
+        return triangles;
+    }
+
+    private static List<String> sortedKeys(List<int[]> triangles) {
+        List<String> keys = new ArrayList<>();
+        for (int[] triangle : triangles) {
+            keys.add(triangle[0] + " " + triangle[1] + " " + triangle[2]);
+        }
+        keys.sort(Comparator.naturalOrder());
+
+        return keys;
+    }
+
+    @Test
+    public void testOptimizationImprovesCacheMissRatio() {
+        List<int[]> triangles = shuffledGrid();
+        List<int[]> ordered = VertexCacheOptimization.optimizeTriangleOrder(triangles, GRID_SIZE * GRID_SIZE);
+
+        Assertions.assertEquals(sortedKeys(triangles), sortedKeys(ordered));
+
+        float before = VertexCacheOptimization.averageCacheMissRatio(triangles, 16);
+        float after = VertexCacheOptimization.averageCacheMissRatio(ordered, 16);
+        Assertions.assertTrue(after < before * 0.5f, before + " -> " + after);
+        Assertions.assertTrue(after < 1f, "ACMR " + after);
+    }
+
+    @Test
+    public void testCacheMissRatioWithoutReuse() {
+        List<int[]> triangles = List.of(new int[] { 0, 1, 2 }, new int[] { 3, 4, 5 });
+
+        Assertions.assertEquals(3f, VertexCacheOptimization.averageCacheMissRatio(triangles, 16));
+        Assertions.assertEquals(0f, VertexCacheOptimization.averageCacheMissRatio(List.of(), 16));
+    }
+
+    @Test
+    public void testVertexRemapping() {
+        List<int[]> triangles = List.of(new int[] { 3, 1, 4 }, new int[] { 4, 1, 0 });
+        int[] remap = VertexCacheOptimization.optimizeVertexOrder(triangles, 6);
+
+        Assertions.assertArrayEquals(new int[] { 3, 1, 4, 0, 2, 5 }, remap);
+
+        List<int[]> remapped = VertexCacheOptimization.remapTriangles(triangles, remap);
+        Assertions.assertArrayEquals(new int[] { 0, 1, 2 }, remapped.get(0));
+        Assertions.assertArrayEquals(new int[] { 2, 1, 3 }, remapped.get(1));
+
+        List<String> vertices = List.of("a", "b", "c", "d", "e", "f");
+        Assertions.assertEquals(List.of("d", "b", "e", "a", "c", "f"),
+                VertexCacheOptimization.remapVertices(vertices, remap));
+    }
+
+    @Test
+    public void testVertexIndexOutsideOfVertices() {
+        try {
+            VertexCacheOptimization.optimizeTriangleOrder(List.of(new int[] { 0, 1, 3 }), 3);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            String expectedError = "Vertex index 3 is outside of vertex list of length 3";
+            Assertions.assertEquals(expectedError, exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package io.github.traunin.triangulation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class VertexWeldingTest {
+    private final static List<ReadOnlyVector2f> SQUARE_WITH_DUPLICATES = Arrays.asList(
+            new ReadOnlyVector2f(0, 0),
+            new ReadOnlyVector2f(1, 0),
+            new ReadOnlyVector2f(1.00001f, 0),
+            new ReadOnlyVector2f(1, 1),
+            new ReadOnlyVector2f(0, 1),
+            new ReadOnlyVector2f(0, 0.00001f));
+
+    private final static List<ReadOnlyVector2f> SQUARE_WITH_SPIKE = Arrays.asList(
+            new ReadOnlyVector2f(0, 0),
+            new ReadOnlyVector2f(1, 0),
+            new ReadOnlyVector2f(2, 0.5f),
+            new ReadOnlyVector2f(1, 0),
+            new ReadOnlyVector2f(1, 1),
+            new ReadOnlyVector2f(0, 1));
+
+    @Test
+    public void testNearbyVerticesWelded() {
+        WeldedPolygon welded = VertexWelding.weld(SQUARE_WITH_DUPLICATES, Arrays.asList(0, 1, 2, 3, 4, 5), 0.001f);
+
+        Assertions.assertEquals(Arrays.asList(0, 1, 3, 4), welded.vertexIndices());
+        Assertions.assertEquals(2, welded.weldedVertexCount());
+        Assertions.assertEquals(1, welded.remap(2));
+        Assertions.assertEquals(0, welded.remap(5));
+        Assertions.assertArrayEquals(new int[] { 0, 1, 1, 3, 4, 0 }, welded.remapTable());
+    }
+
+    @Test
+    public void testZeroToleranceKeepsDistinctVertices() {
+        WeldedPolygon welded = VertexWelding.weld(SQUARE_WITH_DUPLICATES, Arrays.asList(0, 1, 2, 3, 4, 5), 0);
+
+        Assertions.assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5), welded.vertexIndices());
+        Assertions.assertEquals(0, welded.weldedVertexCount());
+    }
+
+    @Test
+    public void testSpikeRemoved() {
+        WeldedPolygon welded = VertexWelding.weld(SQUARE_WITH_SPIKE, Arrays.asList(0, 1, 2, 3, 4, 5), 0);
+
+        Assertions.assertEquals(Arrays.asList(0, 1, 4, 5), welded.vertexIndices());
+    }
+
+    @Test
+    public void testDegeneratePolygon() {
+        try {
+            VertexWelding.weld(SQUARE_WITH_DUPLICATES, Arrays.asList(0, 5, 1, 2), 0.001f);
+            Assertions.fail();
+        } catch (TriangulationException exception) {
+            String expectedError = "Polygon has less than 3 distinct vertices";
+            Assertions.assertEquals(expectedError, exception.getMessage());
+        }
+    }
+
+    @Test
+    public void testWeldedTriangulation() {
+        List<int[]> triangles = Triangulation.earClippingTriangulate(SQUARE_WITH_DUPLICATES,
+                Arrays.asList(0, 1, 2, 3, 4, 5), 0.001f);
+
+        Assertions.assertEquals(2, triangles.size());
+        for (int[] triangle : triangles) {
+            for (int vertexIndex : triangle) {
+                Assertions.assertTrue(vertexIndex != 2 && vertexIndex != 5);
+            }
+        }
+    }
+
+    @Test
+    public void testFarVerticesWelded() {
+        // the cells of these vertices are far from the origin, and negative
+        List<ReadOnlyVector2f> vertices = Arrays.asList(
+                new ReadOnlyVector2f(-1_000_000, -1_000_000),
+                new ReadOnlyVector2f(1_000_000, -1_000_000),
+                new ReadOnlyVector2f(1_000_000, 1_000_000),
+                new ReadOnlyVector2f(-1_000_000, 1_000_000),
+                new ReadOnlyVector2f(-1_000_000, 1_000_000 - 0.0625f));
+        WeldedPolygon welded = VertexWelding.weld(vertices, Arrays.asList(0, 1, 2, 3, 4), 0.1f);
+
+        Assertions.assertEquals(Arrays.asList(0, 1, 2, 3), welded.vertexIndices());
+        Assertions.assertEquals(1, welded.weldedVertexCount());
+    }
+
+    @Test
+    public void testToleranceTooSmall() {
+        List<ReadOnlyVector2f> vertices = Arrays.asList(
+                new ReadOnlyVector2f(0, 0),
+                new ReadOnlyVector2f(1e30f, 0),
+                new ReadOnlyVector2f(0, 1e30f));
+        try {
+            VertexWelding.weld(vertices, Arrays.asList(0, 1, 2), 1e-10f);
+            Assertions.fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException exception) {
+            Assertions.assertEquals("Welding tolerance 1.0E-10 is too small for vertex 1", exception.getMessage());
+        }
+    }
+}
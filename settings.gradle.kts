@@ -1,6 +1,8 @@
 rootProject.name = "triangulation"
 include("lib")
 include("demo")
+include("simd")
+include("workload")
 
 plugins {
     // automatic download of JDKs
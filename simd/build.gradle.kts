@@ -0,0 +1,46 @@
+plugins {
+    id("java-library")
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+group = "io.github.traunin"
+version = "1.1.1"
+
+base {
+    archivesName = "triangulation-simd"
+}
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    api(project(":lib"))
+
+    testImplementation("org.junit.jupiter:junit-jupiter:5.10.3")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+java {
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(21))
+    }
+}
+
+// the Vector API is an incubator module, which has to be added explicitly
+tasks.withType<JavaCompile>().configureEach {
+    options.compilerArgs.addAll(listOf("--add-modules", "jdk.incubator.vector"))
+}
+
+tasks.named<Test>("test") {
+    useJUnitPlatform()
+    jvmArgs("--add-modules", "jdk.incubator.vector")
+}
+
+jmh {
+    jvmArgs.addAll("--add-modules", "jdk.incubator.vector")
+}
+
+tasks.named("javadoc") {
+    enabled = false
+}
@@ -0,0 +1,80 @@
+package io.github.traunin.triangulation.simd;
+
+import io.github.traunin.triangulation.PointInTriangleKernel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the vector kernel with the scalar test on points outside of the
+ * triangle, so every point is tested.
+ * <p>
+ * Run with {@code ./gradlew :simd:jmh}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+@State(Scope.Benchmark)
+public class PointInTriangleBenchmark {
+    private static final double EPSILON = 0.000000001;
+
+    @Param({ "16", "256", "4096" })
+    private int pointCount;
+
+    private float[] xs;
+    private float[] ys;
+    // a triangle in state fields, so the scalar test cannot be constant folded
+    private float ax = 0;
+    private float ay = 0;
+    private float bx = 1;
+    private float by = 0;
+    private float cx = 0;
+    private float cy = 1;
+    private final PointInTriangleKernel vectorKernel = new VectorPointInTriangleKernel();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(34);
+        xs = new float[pointCount];
+        ys = new float[pointCount];
+        for (int i = 0; i < pointCount; i++) {
+            xs[i] = 2 + random.nextFloat();
+            ys[i] = random.nextFloat();
+        }
+    }
+
+    @Benchmark
+    public int scalar() {
+        for (int i = 0; i < pointCount; i++) {
+            float px = xs[i];
+            float py = ys[i];
+            float check1 = (bx - ax) * (py - ay) - (px - ax) * (by - ay);
+            float check2 = (bx - px) * (cy - py) - (cx - px) * (by - py);
+            float check3 = (cx - px) * (ay - py) - (ax - px) * (cy - py);
+            if ((check1 >= -EPSILON && check2 >= -EPSILON && check3 >= -EPSILON)
+                    || (check1 <= EPSILON && check2 <= EPSILON && check3 <= EPSILON)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Benchmark
+    public int vector() {
+        return vectorKernel.findPointInTriangle(xs, ys, 0, pointCount, ax, ay, bx, by, cx, cy);
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.traunin.triangulation.simd;
+
+import io.github.traunin.triangulation.PointInTriangleKernel;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * A {@link PointInTriangleKernel} testing as many points at once as fit in
+ * the widest vector registers of the CPU, such as 8 points with AVX2.
+ * <p>
+ * Every lane performs the same float operations in the same order as the
+ * scalar test, so both give the same result for every point. Points that do
+ * not fill a whole vector are tested one at a time.
+ * <p>
+ * The kernel is found by {@link java.util.ServiceLoader} when this module is
+ * on the module path or class path together with
+ * {@code --add-modules jdk.incubator.vector}.
+ */
+public final class VectorPointInTriangleKernel implements PointInTriangleKernel {
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final double EPSILON = 0.000000001;
+    // the float bounds, compared with which floats give the same result as with EPSILON
+    private static final float LOWER_BOUND = floatAtOrAbove(-EPSILON);
+    private static final float UPPER_BOUND = -floatAtOrAbove(-EPSILON);
+
+    /**
+     * Creates the kernel, called by {@link java.util.ServiceLoader}.
+     */
+    public VectorPointInTriangleKernel() {
+    }
+
+    @Override
+    public int findPointInTriangle(float[] xs, float[] ys, int start, int end, float ax, float ay, float bx,
+            float by, float cx, float cy) {
+        float abX = bx - ax;
+        float abY = by - ay;
+        FloatVector axVector = FloatVector.broadcast(SPECIES, ax);
+        FloatVector ayVector = FloatVector.broadcast(SPECIES, ay);
+        FloatVector bxVector = FloatVector.broadcast(SPECIES, bx);
+        FloatVector byVector = FloatVector.broadcast(SPECIES, by);
+        FloatVector cxVector = FloatVector.broadcast(SPECIES, cx);
+        FloatVector cyVector = FloatVector.broadcast(SPECIES, cy);
+
+        int i = start;
+        int vectorEnd = start + SPECIES.loopBound(end - start);
+        for (; i < vectorEnd; i += SPECIES.length()) {
+            FloatVector px = FloatVector.fromArray(SPECIES, xs, i);
+            FloatVector py = FloatVector.fromArray(SPECIES, ys, i);
+
+            // (B - A) x (P - A)
+            FloatVector check1 = py.sub(ayVector).mul(abX).sub(px.sub(axVector).mul(abY));
+            // (B - P) x (C - P)
+            FloatVector pbX = bxVector.sub(px);
+            FloatVector pbY = byVector.sub(py);
+            FloatVector pcX = cxVector.sub(px);
+            FloatVector pcY = cyVector.sub(py);
+            FloatVector check2 = pbX.mul(pcY).sub(pcX.mul(pbY));
+            // (C - P) x (A - P)
+            FloatVector paX = axVector.sub(px);
+            FloatVector paY = ayVector.sub(py);
+            FloatVector check3 = pcX.mul(paY).sub(paX.mul(pcY));
+
+            VectorMask<Float> isNonNegative = check1.compare(VectorOperators.GE, LOWER_BOUND)
+                    .and(check2.compare(VectorOperators.GE, LOWER_BOUND))
+                    .and(check3.compare(VectorOperators.GE, LOWER_BOUND));
+            VectorMask<Float> isNonPositive = check1.compare(VectorOperators.LE, UPPER_BOUND)
+                    .and(check2.compare(VectorOperators.LE, UPPER_BOUND))
+                    .and(check3.compare(VectorOperators.LE, UPPER_BOUND));
+            VectorMask<Float> isInside = isNonNegative.or(isNonPositive);
+            if (isInside.anyTrue()) {
+                return i + isInside.firstTrue();
+            }
+        }
+
+        for (; i < end; i++) {
+            float px = xs[i];
+            float py = ys[i];
+            float check1 = abX * (py - ay) - (px - ax) * abY;
+            float check2 = (bx - px) * (cy - py) - (cx - px) * (by - py);
+            float check3 = (cx - px) * (ay - py) - (ax - px) * (cy - py);
+            if ((check1 >= LOWER_BOUND && check2 >= LOWER_BOUND && check3 >= LOWER_BOUND)
+                    || (check1 <= UPPER_BOUND && check2 <= UPPER_BOUND && check3 <= UPPER_BOUND)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Finds the smallest float not less than a double.
+     */
+    private static float floatAtOrAbove(double value) {
+        float rounded = (float) value;
+
+        return rounded < value ? Math.nextUp(rounded) : rounded;
+    }
+}
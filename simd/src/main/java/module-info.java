@@ -0,0 +1,12 @@
+/**
+ * A SIMD point-in-triangle kernel for the triangulation library, using the
+ * incubating Java Vector API.
+ */
+
+module io.github.traunin.triangulation.simd {
+    requires io.github.traunin.triangulation;
+    requires jdk.incubator.vector;
+
+    provides io.github.traunin.triangulation.PointInTriangleKernel
+            with io.github.traunin.triangulation.simd.VectorPointInTriangleKernel;
+}
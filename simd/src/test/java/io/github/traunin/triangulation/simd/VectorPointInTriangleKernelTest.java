@@ -0,0 +1,80 @@
+package io.github.traunin.triangulation.simd;
+
+import io.github.traunin.triangulation.PointInTriangleKernel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.ServiceLoader;
+
+public class VectorPointInTriangleKernelTest {
+    private static final double EPSILON = 0.000000001;
+
+    // the scalar test of the library
+    private static boolean isPointInTriangle(float ax, float ay, float bx, float by, float cx, float cy, float px,
+            float py) {
+        float check1 = (bx - ax) * (py - ay) - (px - ax) * (by - ay);
+        float check2 = (bx - px) * (cy - py) - (cx - px) * (by - py);
+        float check3 = (cx - px) * (ay - py) - (ax - px) * (cy - py);
+
+        return (check1 >= -EPSILON && check2 >= -EPSILON && check3 >= -EPSILON) ||
+                (check1 <= EPSILON && check2 <= EPSILON && check3 <= EPSILON);
+    }
+
+    @Test
+    public void testMatchesScalarTest() {
+        Random random = new Random(34);
+        PointInTriangleKernel kernel = new VectorPointInTriangleKernel();
+        int pointCount = 1001;
+        float[] xs = new float[pointCount];
+        float[] ys = new float[pointCount];
+
+        for (int iteration = 0; iteration < 200; iteration++) {
+            float[] triangle = new float[6];
+            for (int i = 0; i < 6; i++) {
+                triangle[i] = random.nextInt(9);
+            }
+            for (int i = 0; i < pointCount; i++) {
+                // integer points often lie exactly on the edges
+                xs[i] = i % 2 == 0 ? random.nextInt(9) : random.nextFloat() * 8;
+                ys[i] = i % 3 == 0 ? random.nextInt(9) : random.nextFloat() * 8;
+            }
+            xs[random.nextInt(pointCount)] = Float.NaN;
+
+            int start = random.nextInt(20);
+            int end = pointCount - random.nextInt(20);
+            int expected = -1;
+            for (int i = start; i < end && expected < 0; i++) {
+                if (isPointInTriangle(triangle[0], triangle[1], triangle[2], triangle[3], triangle[4], triangle[5],
+                        xs[i], ys[i])) {
+                    expected = i;
+                }
+            }
+
+            Assertions.assertEquals(expected, kernel.findPointInTriangle(xs, ys, start, end, triangle[0],
+                    triangle[1], triangle[2], triangle[3], triangle[4], triangle[5]));
+        }
+    }
+
+    @Test
+    public void testNoPointInTriangle() {
+        float[] xs = new float[100];
+        float[] ys = new float[100];
+        Arrays.fill(xs, 5);
+        Arrays.fill(ys, Float.NaN);
+        ys[99] = 5;
+
+        PointInTriangleKernel kernel = new VectorPointInTriangleKernel();
+        Assertions.assertEquals(-1, kernel.findPointInTriangle(xs, ys, 0, 99, 0, 0, 1, 0, 0, 1));
+        Assertions.assertEquals(-1, kernel.findPointInTriangle(xs, ys, 0, 100, 0, 0, 1, 0, 0, 1));
+        Assertions.assertEquals(99, kernel.findPointInTriangle(xs, ys, 0, 100, 0, 0, 10, 0, 0, 10));
+    }
+
+    @Test
+    public void testProvided() {
+        PointInTriangleKernel kernel = ServiceLoader.load(PointInTriangleKernel.class).findFirst().orElseThrow();
+
+        Assertions.assertInstanceOf(VectorPointInTriangleKernel.class, kernel);
+    }
+}
@@ -0,0 +1,36 @@
+plugins {
+    id("java")
+    application
+}
+
+group = "io.github.traunin"
+version = "1.1.1"
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    implementation(project(":lib"))
+
+    testImplementation("org.junit.jupiter:junit-jupiter:5.10.3")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+java {
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(21))
+    }
+}
+
+application {
+    mainClass = "io.github.traunin.triangulation.workload.StressRunner"
+}
+
+tasks.named<Test>("test") {
+    useJUnitPlatform()
+}
+
+tasks.named("javadoc") {
+    enabled = false
+}
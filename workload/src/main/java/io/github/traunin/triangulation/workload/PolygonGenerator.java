@@ -0,0 +1,487 @@
+package io.github.traunin.triangulation.workload;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A utility class generating random simple polygons of any size, for
+ * benchmarks and stress runs of the triangulation algorithms.
+ * <p>
+ * Every generator takes a seed and returns the same polygon for the same
+ * vertex count and seed, so a failing case can be reproduced from a single
+ * line of a stress run report. The outlines are counter-clockwise and the
+ * holes clockwise.
+ * <p>
+ * The random point set generators follow Auer and Held's RPG: space
+ * partitioning runs in about O(n log n) and reaches hundreds of thousands of
+ * vertices, while 2-opt untangling takes up to O(n^3) and is meant for a few
+ * thousand. The shape generators build the polygons that are hard for ear
+ * clipping: long spirals, deep combs and chains of nearly collinear
+ * vertices.
+ *
+ * <h2>Example Usage:</h2>
+ *
+ * <pre>{@code
+ * Workload workload = PolygonGenerator.spacePartitioning(100_000, 42);
+ * int[] triangles = ParallelTriangulation.triangulate(workload.coordinates(), vertexIndices);
+ * }</pre>
+ */
+public final class PolygonGenerator {
+    /**
+     * The minimum number of vertices of a spiral, so its lines stay clear
+     * of the neighboring turns.
+     */
+    public static final int MIN_SPIRAL_VERTICES = 24;
+
+    // the largest distance between a spiral turn and the chords approximating it
+    private static final double MAX_SPIRAL_SAG = 0.15;
+    private static final double SPIRAL_JITTER = 0.05;
+    // how far a star vertex may move from its regular angle, in angle steps
+    private static final double ANGLE_JITTER = 0.4;
+
+    /**
+     * Prevents class instantiation.
+     *
+     * @throws UnsupportedOperationException when called
+     */
+    private PolygonGenerator() {
+        throw new UnsupportedOperationException("Cannot be instantiated.");
+    }
+
+    /**
+     * Generates a polygon through uniformly random points in the unit square
+     * by space partitioning.
+     * <p>
+     * Two random points split the others by the line through them. Each half
+     * is connected into a chain recursively: a random point of the half is
+     * joined to both chain ends, and a random line through it splits the
+     * remaining points between the two new chains. The chains lie in
+     * disjoint convex regions, so they never cross.
+     *
+     * @param vertexCount the number of vertices
+     * @param seed        the seed of the random points
+     * @return a random simple polygon
+     * @throws IllegalArgumentException if {@code vertexCount} is less than 3
+     */
+    public static Workload spacePartitioning(int vertexCount, long seed) {
+        checkVertexCount(vertexCount);
+        Random random = new Random(seed);
+        float[] points = randomPoints(vertexCount, random);
+
+        int a = random.nextInt(vertexCount);
+        int b = random.nextInt(vertexCount - 1);
+        if (b >= a) {
+            b++;
+        }
+        int[] work = new int[vertexCount - 2];
+        int mid = 0;
+        int end = work.length;
+        for (int i = 0; i < vertexCount; i++) {
+            if (i == a || i == b) {
+                continue;
+            }
+            if (orientation(points, a, points[2 * b], points[2 * b + 1], i) > 0) {
+                work[mid++] = i;
+            } else {
+                work[--end] = i;
+            }
+        }
+
+        int[] order = new int[vertexCount];
+        int count = connectChain(points, work, 0, mid, a, b, random, order, 0);
+        connectChain(points, work, mid, work.length, b, a, random, order, count);
+
+        return new Workload("space-partitioning", seed, counterClockwise(reorder(points, order)),
+                new int[] { 0, vertexCount });
+    }
+
+    /**
+     * Generates a polygon through uniformly random points in the unit square
+     * by 2-opt moves.
+     * <p>
+     * The points are connected in random order, and every pair of crossing
+     * edges is replaced by reversing the vertices between them, until no
+     * edges cross. Each move shortens the polygon, so the moves end, but
+     * there can be O(n^3) of them.
+     *
+     * @param vertexCount the number of vertices
+     * @param seed        the seed of the random points
+     * @return a random simple polygon
+     * @throws IllegalArgumentException if {@code vertexCount} is less than 3
+     */
+    public static Workload twoOpt(int vertexCount, long seed) {
+        checkVertexCount(vertexCount);
+        Random random = new Random(seed);
+        float[] points = randomPoints(vertexCount, random);
+
+        int[] order = new int[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            order[i] = i;
+        }
+        for (int i = vertexCount - 1; i > 0; i--) {
+            swap(order, i, random.nextInt(i + 1));
+        }
+
+        boolean isUntangled = false;
+        while (!isUntangled) {
+            isUntangled = true;
+            for (int i = 0; i < vertexCount - 2; i++) {
+                // the last edge shares a vertex with the first one
+                int last = i == 0 ? vertexCount - 1 : vertexCount;
+                for (int j = i + 2; j < last; j++) {
+                    if (isCrossing(points, order[i], order[i + 1], order[j], order[(j + 1) % vertexCount])) {
+                        reverse(order, i + 1, j);
+                        isUntangled = false;
+                    }
+                }
+            }
+        }
+
+        return new Workload("2-opt", seed, counterClockwise(reorder(points, order)), new int[] { 0, vertexCount });
+    }
+
+    /**
+     * Generates a star-shaped polygon around the origin, with vertices at
+     * random distances between 0.1 and 1 and at nearly regular angles.
+     *
+     * @param vertexCount the number of vertices
+     * @param seed        the seed of the random distances and angles
+     * @return a random polygon, all visible from the origin
+     * @throws IllegalArgumentException if {@code vertexCount} is less than 3
+     */
+    public static Workload star(int vertexCount, long seed) {
+        checkVertexCount(vertexCount);
+        float[] coordinates = new float[2 * vertexCount];
+        addStar(coordinates, 0, vertexCount, 0, 0, 0.1, 1, new Random(seed));
+
+        return new Workload("star", seed, coordinates, new int[] { 0, vertexCount });
+    }
+
+    /**
+     * Generates a band winding around the origin as many times as the vertex
+     * count allows, with the outer and inner sides made of many nearly
+     * collinear vertices.
+     * <p>
+     * Turns are one unit apart and the band is half a unit wide. The more
+     * vertices, the more turns, while keeping every chord within 0.15 of the
+     * turn it approximates.
+     *
+     * @param vertexCount the number of vertices
+     * @param seed        the seed of the small random shifts of the vertices
+     * @return a spiral polygon
+     * @throws IllegalArgumentException if {@code vertexCount} is less than
+     *                                  {@link #MIN_SPIRAL_VERTICES}
+     */
+    public static Workload spiral(int vertexCount, long seed) {
+        if (vertexCount < MIN_SPIRAL_VERTICES) {
+            throw new IllegalArgumentException(
+                    String.format("Spiral needs at least %d vertices", MIN_SPIRAL_VERTICES));
+        }
+        Random random = new Random(seed);
+        // each side has the same number of vertices, and an odd one goes to the cap at the end
+        int steps = vertexCount / 2 - 1;
+        int turns = 1;
+        while (spiralSag(turns + 1, steps) < MAX_SPIRAL_SAG) {
+            turns++;
+        }
+        double angleStep = 2 * Math.PI * turns / steps;
+
+        float[] coordinates = new float[2 * vertexCount];
+        int v = 0;
+        for (int k = 0; k <= steps; k++) {
+            v = addPolar(coordinates, v, k * angleStep, spiralRadius(k * angleStep) + 0.5, random);
+        }
+        if (vertexCount % 2 != 0) {
+            v = addPolar(coordinates, v, (steps + 0.5) * angleStep, spiralRadius(steps * angleStep) + 0.25, random);
+        }
+        for (int k = steps; k >= 0; k--) {
+            v = addPolar(coordinates, v, k * angleStep, spiralRadius(k * angleStep), random);
+        }
+
+        return new Workload("spiral", seed, counterClockwise(coordinates), new int[] { 0, vertexCount });
+    }
+
+    /**
+     * Generates a comb: a base half a unit high with teeth half a unit wide
+     * and of random heights up to 20 units, half a unit apart. Vertices left
+     * over after the teeth are placed slightly below the base.
+     *
+     * @param vertexCount the number of vertices
+     * @param seed        the seed of the tooth heights
+     * @return a comb polygon with {@code (vertexCount - 2) / 4} teeth
+     * @throws IllegalArgumentException if {@code vertexCount} is less than 6
+     */
+    public static Workload comb(int vertexCount, long seed) {
+        if (vertexCount < 6) {
+            throw new IllegalArgumentException("Comb needs at least 6 vertices");
+        }
+        Random random = new Random(seed);
+        int teeth = (vertexCount - 2) / 4;
+        int extraCount = (vertexCount - 2) % 4;
+        float[] coordinates = new float[2 * vertexCount];
+        int v = 0;
+        v = addPoint(coordinates, v, 0, 0);
+        for (int j = 1; j <= extraCount; j++) {
+            v = addPoint(coordinates, v, (float) teeth * j / (extraCount + 1), -0.01f - 0.01f * random.nextFloat());
+        }
+        v = addPoint(coordinates, v, teeth, 0);
+        for (int i = teeth - 1; i >= 0; i--) {
+            float height = 0.5f + 20 * random.nextFloat();
+            v = addPoint(coordinates, v, i + 1, 0.5f);
+            v = addPoint(coordinates, v, i + 0.5f, 0.5f);
+            v = addPoint(coordinates, v, i + 0.5f, 0.5f + height);
+            v = addPoint(coordinates, v, i, 0.5f + height);
+        }
+
+        return new Workload("comb", seed, coordinates, new int[] { 0, vertexCount });
+    }
+
+    /**
+     * Generates a triangle with one side replaced by a chain of vertices
+     * shifted randomly off the side by at most 1% of the distance between
+     * them, so most vertices are nearly collinear with their neighbors.
+     *
+     * @param vertexCount the number of vertices
+     * @param seed        the seed of the shifts
+     * @return a polygon with {@code vertexCount - 1} vertices along the unit
+     *         segment of the x axis
+     * @throws IllegalArgumentException if {@code vertexCount} is less than 3
+     */
+    public static Workload nearlyCollinear(int vertexCount, long seed) {
+        checkVertexCount(vertexCount);
+        Random random = new Random(seed);
+        int chainSteps = vertexCount - 2;
+        double maxShift = 0.01 / chainSteps;
+        float[] coordinates = new float[2 * vertexCount];
+        int v = 0;
+        for (int i = 0; i <= chainSteps; i++) {
+            v = addPoint(coordinates, v, (float) ((double) i / chainSteps),
+                    (float) (maxShift * (2 * random.nextDouble() - 1)));
+        }
+        addPoint(coordinates, v, 0.5f, 0.5f);
+
+        return new Workload("nearly-collinear", seed, coordinates, new int[] { 0, vertexCount });
+    }
+
+    /**
+     * Generates a star-shaped outline with vertices at random distances
+     * between 0.9 and 1 from the origin, and star-shaped holes in a square
+     * grid inside of it.
+     * <p>
+     * Half of the vertices are shared equally by the holes, with at least 3
+     * per hole, and the rest make up the outline.
+     *
+     * @param vertexCount the number of vertices of the outline and the holes
+     * @param holeCount   the number of holes
+     * @param seed        the seed of the random distances and angles
+     * @return a polygon with holes
+     * @throws IllegalArgumentException if {@code holeCount} is negative or
+     *                                  {@code vertexCount} is less than 3 per
+     *                                  contour
+     */
+    public static Workload withHoles(int vertexCount, int holeCount, long seed) {
+        if (holeCount < 0) {
+            throw new IllegalArgumentException(String.format("Hole count %d is negative", holeCount));
+        }
+        if (vertexCount < 3 * (holeCount + 1)) {
+            throw new IllegalArgumentException(
+                    String.format("%d vertices are not enough for %d holes", vertexCount, holeCount));
+        }
+        Random random = new Random(seed);
+        int holeVertexCount = holeCount == 0 ? 0 : Math.max(3, vertexCount / 2 / holeCount);
+        int outlineVertexCount = vertexCount - holeCount * holeVertexCount;
+        float[] coordinates = new float[2 * vertexCount];
+        int[] contourOffsets = new int[holeCount + 2];
+        contourOffsets[1] = outlineVertexCount;
+        addStar(coordinates, 0, outlineVertexCount, 0, 0, 0.9, 1, random);
+
+        // the largest square inside of every chord of the outline, with a margin
+        double maxAngleStep = (1 + ANGLE_JITTER) * 2 * Math.PI / outlineVertexCount;
+        double halfSize = 0.95 * 0.9 * Math.cos(maxAngleStep / 2) / Math.sqrt(2);
+        int columns = (int) Math.ceil(Math.sqrt(holeCount));
+        double cellSize = 2 * halfSize / Math.max(columns, 1);
+        for (int h = 0; h < holeCount; h++) {
+            double centerX = -halfSize + (h % columns + 0.5) * cellSize;
+            double centerY = -halfSize + (h / columns + 0.5) * cellSize;
+            int start = contourOffsets[h + 1];
+            contourOffsets[h + 2] = start + holeVertexCount;
+            addStar(coordinates, start, holeVertexCount, centerX, centerY, 0.15 * cellSize, 0.4 * cellSize, random);
+            reverse(coordinates, start, start + holeVertexCount - 1);
+        }
+
+        return new Workload("holes", seed, coordinates, contourOffsets);
+    }
+
+    private static void checkVertexCount(int vertexCount) {
+        if (vertexCount < 3) {
+            throw new IllegalArgumentException("Not enough vertices for a polygon");
+        }
+    }
+
+    private static float[] randomPoints(int count, Random random) {
+        float[] points = new float[2 * count];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = random.nextFloat();
+        }
+
+        return points;
+    }
+
+    /**
+     * Appends the chain from {@code first} through the points in
+     * {@code work[lo, hi)} to {@code last}, without {@code last} itself.
+     */
+    private static int connectChain(float[] points, int[] work, int lo, int hi, int first, int last, Random random,
+            int[] order, int count) {
+        // chains to connect, 4 values each, with the first chain on top
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = first;
+        stack[top++] = last;
+        stack[top++] = lo;
+        stack[top++] = hi;
+        while (top > 0) {
+            int chainHi = stack[--top];
+            int chainLo = stack[--top];
+            int chainLast = stack[--top];
+            int chainFirst = stack[--top];
+            if (chainLo == chainHi) {
+                order[count++] = chainFirst;
+                continue;
+            }
+
+            swap(work, chainLo, chainLo + random.nextInt(chainHi - chainLo));
+            int split = work[chainLo];
+            // a random line through the split point, crossing the segment between the chain ends
+            double t = 0.1 + 0.8 * random.nextDouble();
+            double lineX = points[2 * chainFirst] + t * (points[2 * chainLast] - points[2 * chainFirst]);
+            double lineY = points[2 * chainFirst + 1] + t * (points[2 * chainLast + 1] - points[2 * chainFirst + 1]);
+            double firstSide = orientation(points, split, lineX, lineY, chainFirst) >= 0 ? 1 : -1;
+            int mid = chainLo + 1;
+            for (int i = chainLo + 1; i < chainHi; i++) {
+                if (orientation(points, split, lineX, lineY, work[i]) * firstSide > 0) {
+                    swap(work, i, mid++);
+                }
+            }
+
+            if (top + 8 > stack.length) {
+                stack = Arrays.copyOf(stack, 2 * stack.length);
+            }
+            stack[top++] = split;
+            stack[top++] = chainLast;
+            stack[top++] = mid;
+            stack[top++] = chainHi;
+            stack[top++] = chainFirst;
+            stack[top++] = split;
+            stack[top++] = chainLo + 1;
+            stack[top++] = mid;
+        }
+
+        return count;
+    }
+
+    private static double orientation(float[] points, int a, double bx, double by, int c) {
+        double ax = points[2 * a];
+        double ay = points[2 * a + 1];
+
+        return (bx - ax) * (points[2 * c + 1] - ay) - (by - ay) * (points[2 * c] - ax);
+    }
+
+    private static boolean isCrossing(float[] points, int a, int b, int c, int d) {
+        double bx = points[2 * b];
+        double by = points[2 * b + 1];
+        double dx = points[2 * d];
+        double dy = points[2 * d + 1];
+
+        return orientation(points, a, bx, by, c) * orientation(points, a, bx, by, d) < 0
+                && orientation(points, c, dx, dy, a) * orientation(points, c, dx, dy, b) < 0;
+    }
+
+    private static void addStar(float[] coordinates, int start, int count, double centerX, double centerY,
+            double minRadius, double maxRadius, Random random) {
+        double angleStep = 2 * Math.PI / count;
+        for (int i = 0; i < count; i++) {
+            double angle = (i + ANGLE_JITTER * random.nextDouble()) * angleStep;
+            double radius = minRadius + (maxRadius - minRadius) * random.nextDouble();
+            addPoint(coordinates, start + i, (float) (centerX + radius * Math.cos(angle)),
+                    (float) (centerY + radius * Math.sin(angle)));
+        }
+    }
+
+    private static double spiralRadius(double angle) {
+        return 1 + angle / (2 * Math.PI);
+    }
+
+    private static double spiralSag(int turns, int steps) {
+        double angleStep = 2 * Math.PI * turns / steps;
+        double maxRadius = spiralRadius(2 * Math.PI * turns) + 0.5 + SPIRAL_JITTER;
+
+        return maxRadius * (1 - Math.cos(angleStep / 2));
+    }
+
+    private static int addPolar(float[] coordinates, int v, double angle, double radius, Random random) {
+        double shiftedRadius = radius + SPIRAL_JITTER * (2 * random.nextDouble() - 1);
+
+        return addPoint(coordinates, v, (float) (shiftedRadius * Math.cos(angle)),
+                (float) (shiftedRadius * Math.sin(angle)));
+    }
+
+    private static int addPoint(float[] coordinates, int v, float x, float y) {
+        coordinates[2 * v] = x;
+        coordinates[2 * v + 1] = y;
+
+        return v + 1;
+    }
+
+    private static float[] reorder(float[] points, int[] order) {
+        float[] coordinates = new float[points.length];
+        for (int i = 0; i < order.length; i++) {
+            coordinates[2 * i] = points[2 * order[i]];
+            coordinates[2 * i + 1] = points[2 * order[i] + 1];
+        }
+
+        return coordinates;
+    }
+
+    private static float[] counterClockwise(float[] coordinates) {
+        int count = coordinates.length / 2;
+        double area = 0;
+        for (int i = 0; i < count; i++) {
+            int next = (i + 1) % count;
+            area += (double) coordinates[2 * i] * coordinates[2 * next + 1]
+                    - (double) coordinates[2 * next] * coordinates[2 * i + 1];
+        }
+        if (area < 0) {
+            reverse(coordinates, 0, count - 1);
+        }
+
+        return coordinates;
+    }
+
+    /**
+     * Reverses the order of the vertices from {@code i} to {@code j},
+     * inclusive, in interleaved coordinates.
+     */
+    private static void reverse(float[] coordinates, int i, int j) {
+        for (; i < j; i++, j--) {
+            float x = coordinates[2 * i];
+            float y = coordinates[2 * i + 1];
+            coordinates[2 * i] = coordinates[2 * j];
+            coordinates[2 * i + 1] = coordinates[2 * j + 1];
+            coordinates[2 * j] = x;
+            coordinates[2 * j + 1] = y;
+        }
+    }
+
+    private static void reverse(int[] array, int i, int j) {
+        for (; i < j; i++, j--) {
+            swap(array, i, j);
+        }
+    }
+
+    private static void swap(int[] array, int i, int j) {
+        int element = array[i];
+        array[i] = array[j];
+        array[j] = element;
+    }
+}
@@ -0,0 +1,325 @@
+package io.github.traunin.triangulation.workload;
+
+import io.github.traunin.triangulation.ConstrainedTriangulation;
+import io.github.traunin.triangulation.FillRule;
+import io.github.traunin.triangulation.OffHeapTriangulation;
+import io.github.traunin.triangulation.ParallelTriangulation;
+import io.github.traunin.triangulation.PlanarFaceTriangulation;
+import io.github.traunin.triangulation.Tessellator;
+import io.github.traunin.triangulation.Triangulation;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+/**
+ * Runs every triangulation algorithm on generated workloads, checking the
+ * results and measuring throughput, and writes a CSV row per algorithm and
+ * workload for regression tracking.
+ * <p>
+ * A result is {@code ok} when it has the expected number of triangles and
+ * the areas of its triangles add up to the area of the polygon, so
+ * overlapping or missing triangles are caught. Algorithms that do not accept
+ * holes, and algorithms slower than O(n log n) above their size limit, are
+ * reported as {@code skipped}. Run from the command line with
+ * {@code ./gradlew :workload:run --args="--sizes 1000,100000 --seed 7 --output stress.csv"}.
+ */
+public final class StressRunner {
+    /**
+     * The columns of the report.
+     */
+    public static final String CSV_HEADER = "workload,vertices,holes,seed,algorithm,status,triangles,"
+            + "expected_triangles,area,expected_area,best_millis,vertices_per_second,message";
+    /**
+     * The workload sizes run when no sizes are given.
+     */
+    public static final int[] DEFAULT_SIZES = { 1_000, 10_000, 100_000 };
+    /**
+     * The maximum number of vertices of 2-opt workloads, which take up to
+     * O(n^3) to generate.
+     */
+    public static final int MAX_TWO_OPT_VERTICES = 2_000;
+    /**
+     * The maximum number of vertices of workloads run with the ear clipping
+     * algorithms that take O(n^2) on spirals.
+     */
+    public static final int MAX_QUADRATIC_VERTICES = 10_000;
+    /**
+     * The maximum number of vertices of workloads run with parallel ear
+     * clipping, which falls back to O(n^2) sequential clipping on stars and
+     * nearly collinear chains that have no diagonal to split at.
+     */
+    public static final int MAX_PARALLEL_VERTICES = 200_000;
+
+    private static final double AREA_TOLERANCE = 0.000001;
+
+    /**
+     * Prevents class instantiation.
+     *
+     * @throws UnsupportedOperationException when called
+     */
+    private StressRunner() {
+        throw new UnsupportedOperationException("Cannot be instantiated.");
+    }
+
+    /**
+     * Runs the stress run with options {@code --sizes}, a comma separated
+     * list of vertex counts, {@code --seed}, {@code --repetitions}, the
+     * number of timed runs of which the fastest is reported, and
+     * {@code --output}, the CSV file to write instead of standard output.
+     *
+     * @param args the command line options, each followed by its value
+     * @throws IOException if the report cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        int[] sizes = DEFAULT_SIZES;
+        long seed = 1;
+        int repetitions = 3;
+        Path output = null;
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 == args.length) {
+                throw new IllegalArgumentException(String.format("Option %s has no value", args[i]));
+            }
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--sizes" -> sizes = parseSizes(value);
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--repetitions" -> repetitions = Integer.parseInt(value);
+                case "--output" -> output = Path.of(value);
+                default -> throw new IllegalArgumentException(String.format("Unknown option %s", args[i]));
+            }
+        }
+
+        if (output == null) {
+            PrintStream out = System.out;
+            run(sizes, seed, repetitions, out);
+            out.flush();
+        } else {
+            try (Writer writer = Files.newBufferedWriter(output)) {
+                run(sizes, seed, repetitions, writer);
+            }
+        }
+    }
+
+    /**
+     * Generates every kind of workload in every size, triangulates each with
+     * every algorithm and writes the report.
+     *
+     * @param sizes       the vertex counts of the workloads
+     * @param seed        the seed of all workloads
+     * @param repetitions the number of timed runs of every algorithm on
+     *                    every workload
+     * @param output      where the CSV header and rows are appended
+     * @throws IOException              if {@code output} cannot be written to
+     * @throws IllegalArgumentException if {@code repetitions} is not positive
+     */
+    public static void run(int[] sizes, long seed, int repetitions, Appendable output) throws IOException {
+        if (repetitions < 1) {
+            throw new IllegalArgumentException(String.format("Repetitions %d is not positive", repetitions));
+        }
+        output.append(CSV_HEADER).append('\n');
+        for (int size : sizes) {
+            for (Workload workload : workloads(size, seed)) {
+                for (Algorithm algorithm : Algorithm.values()) {
+                    output.append(run(workload, algorithm, repetitions)).append('\n');
+                }
+            }
+        }
+    }
+
+    /**
+     * Generates every kind of workload that can have {@code size}
+     * vertices.
+     *
+     * @param size the vertex count of the workloads
+     * @param seed the seed of all workloads
+     * @return the workloads
+     */
+    public static List<Workload> workloads(int size, long seed) {
+        List<Workload> workloads = new ArrayList<>();
+        workloads.add(PolygonGenerator.spacePartitioning(size, seed));
+        if (size <= MAX_TWO_OPT_VERTICES) {
+            workloads.add(PolygonGenerator.twoOpt(size, seed));
+        }
+        workloads.add(PolygonGenerator.star(size, seed));
+        if (size >= PolygonGenerator.MIN_SPIRAL_VERTICES) {
+            workloads.add(PolygonGenerator.spiral(size, seed));
+        }
+        if (size >= 6) {
+            workloads.add(PolygonGenerator.comb(size, seed));
+        }
+        workloads.add(PolygonGenerator.nearlyCollinear(size, seed));
+        int holeCount = Math.max(1, (int) Math.sqrt(size) / 4);
+        if (size >= 3 * (holeCount + 1)) {
+            workloads.add(PolygonGenerator.withHoles(size, holeCount, seed));
+        }
+
+        return workloads;
+    }
+
+    /**
+     * Runs an algorithm on a workload and checks its result.
+     *
+     * @return the CSV row of the run
+     */
+    static String run(Workload workload, Algorithm algorithm, int repetitions) {
+        if (workload.holeCount() > 0 && !algorithm.isAcceptingHoles) {
+            return row(workload, algorithm, "skipped", "", "", "", "holes are not supported");
+        }
+        if (workload.vertexCount() > algorithm.maxVertexCount) {
+            return row(workload, algorithm, "skipped", "", "", "",
+                    String.format("more than %d vertices", algorithm.maxVertexCount));
+        }
+
+        // the first run is not timed, so class loading and compilation do not count
+        int[] triangles;
+        long bestNanos = Long.MAX_VALUE;
+        try {
+            triangles = algorithm.triangulate(workload);
+            for (int r = 0; r < repetitions; r++) {
+                long start = System.nanoTime();
+                algorithm.triangulate(workload);
+                bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+            }
+        } catch (RuntimeException exception) {
+            return row(workload, algorithm, "error", "", "", "", exception.toString());
+        }
+
+        int vertexCount = workload.vertexCount();
+        for (int index : triangles) {
+            if (index < 0 || index >= vertexCount) {
+                return row(workload, algorithm, "invalid", Integer.toString(triangles.length / 3), "", "",
+                        String.format("vertex index %d is out of range", index));
+            }
+        }
+        float[] coordinates = workload.coordinates();
+        double area = 0;
+        for (int i = 0; i + 2 < triangles.length; i += 3) {
+            area += Math.abs(signedArea(coordinates, triangles[i], triangles[i + 1], triangles[i + 2]));
+        }
+        int triangleCount = triangles.length / 3;
+        boolean isValid = triangleCount == workload.expectedTriangleCount()
+                && Math.abs(area - workload.area()) <= AREA_TOLERANCE * workload.area();
+
+        return row(workload, algorithm, isValid ? "ok" : "invalid", Integer.toString(triangleCount),
+                Double.toString(area), String.format(Locale.ROOT, "%.3f,%.0f", bestNanos / 1e6,
+                        vertexCount / (bestNanos / 1e9)), "");
+    }
+
+    private static String row(Workload workload, Algorithm algorithm, String status, String triangleCount,
+            String area, String timing, String message) {
+        return String.join(",", workload.name(), Integer.toString(workload.vertexCount()),
+                Integer.toString(workload.holeCount()), Long.toString(workload.seed()), algorithm.label, status,
+                triangleCount, Integer.toString(workload.expectedTriangleCount()), area,
+                Double.toString(workload.area()), timing.isEmpty() ? "," : timing, escape(message));
+    }
+
+    private static double signedArea(float[] coordinates, int a, int b, int c) {
+        return ((coordinates[2 * b] - (double) coordinates[2 * a])
+                * (coordinates[2 * c + 1] - (double) coordinates[2 * a + 1])
+                - (coordinates[2 * b + 1] - (double) coordinates[2 * a + 1])
+                        * (coordinates[2 * c] - (double) coordinates[2 * a])) / 2;
+    }
+
+    private static int[] parseSizes(String value) {
+        return Arrays.stream(value.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+    }
+
+    private static String escape(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+
+        return value;
+    }
+
+    private static int[] identity(int count) {
+        return IntStream.range(0, count).toArray();
+    }
+
+    /**
+     * The triangulation algorithms of the library, with the polygons they
+     * accept.
+     */
+    enum Algorithm {
+        EAR_CLIPPING("ear-clipping", false, MAX_QUADRATIC_VERTICES) {
+            @Override
+            int[] triangulate(Workload workload) {
+                List<int[]> triangles = Triangulation.earClippingTriangulate(workload.vertices(),
+                        IntStream.range(0, workload.vertexCount()).boxed().toList());
+                int[] flat = new int[3 * triangles.size()];
+                for (int t = 0; t < triangles.size(); t++) {
+                    System.arraycopy(triangles.get(t), 0, flat, 3 * t, 3);
+                }
+
+                return flat;
+            }
+        },
+        OFF_HEAP_EAR_CLIPPING("off-heap-ear-clipping", false, MAX_QUADRATIC_VERTICES) {
+            @Override
+            int[] triangulate(Workload workload) {
+                IntBuffer triangles = OffHeapTriangulation.earClippingTriangulate(
+                        FloatBuffer.wrap(workload.coordinates()));
+                int[] flat = new int[triangles.remaining()];
+                triangles.get(flat);
+
+                return flat;
+            }
+        },
+        PARALLEL_EAR_CLIPPING("parallel-ear-clipping", false, MAX_PARALLEL_VERTICES) {
+            @Override
+            int[] triangulate(Workload workload) {
+                return ParallelTriangulation.triangulate(workload.coordinates(), identity(workload.vertexCount()));
+            }
+        },
+        PLANAR_FACE("planar-face", false, MAX_QUADRATIC_VERTICES) {
+            @Override
+            int[] triangulate(Workload workload) {
+                float[] coordinates = workload.coordinates();
+                float[] xyz = new float[3 * workload.vertexCount()];
+                for (int i = 0; i < workload.vertexCount(); i++) {
+                    xyz[3 * i] = coordinates[2 * i];
+                    xyz[3 * i + 1] = coordinates[2 * i + 1];
+                }
+
+                return PlanarFaceTriangulation.triangulate(xyz, identity(workload.vertexCount()),
+                        new int[] { 0, workload.vertexCount() });
+            }
+        },
+        CONSTRAINED_DELAUNAY("constrained-delaunay", false, Integer.MAX_VALUE) {
+            @Override
+            int[] triangulate(Workload workload) {
+                return ConstrainedTriangulation.triangulate(workload.coordinates(),
+                        identity(workload.vertexCount()), new int[0], new int[0]);
+            }
+        },
+        TESSELLATOR("tessellator", true, Integer.MAX_VALUE) {
+            @Override
+            int[] triangulate(Workload workload) {
+                return Tessellator.tessellate(workload.coordinates(), identity(workload.vertexCount()),
+                        workload.contourOffsets(), FillRule.NON_ZERO).triangleIndices();
+            }
+        };
+
+        private final String label;
+        private final boolean isAcceptingHoles;
+        private final int maxVertexCount;
+
+        Algorithm(String label, boolean isAcceptingHoles, int maxVertexCount) {
+            this.label = label;
+            this.isAcceptingHoles = isAcceptingHoles;
+            this.maxVertexCount = maxVertexCount;
+        }
+
+        abstract int[] triangulate(Workload workload);
+    }
+}
@@ -0,0 +1,171 @@
+package io.github.traunin.triangulation.workload;
+
+import io.github.traunin.triangulation.Vector2f;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A generated polygon, possibly with holes, to triangulate in benchmarks and
+ * stress runs.
+ * <p>
+ * The vertices of all contours are stored one contour after another, the
+ * outline first and counter-clockwise, followed by the clockwise holes.
+ *
+ * @see PolygonGenerator
+ */
+public final class Workload {
+    private final String name;
+    private final long seed;
+    private final float[] coordinates;
+    private final int[] contourOffsets;
+
+    Workload(String name, long seed, float[] coordinates, int[] contourOffsets) {
+        this.name = name;
+        this.seed = seed;
+        this.coordinates = coordinates;
+        this.contourOffsets = contourOffsets;
+    }
+
+    /**
+     * Returns the name of the generator that made the workload.
+     *
+     * @return the generator name, such as {@code "spiral"}
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns the seed the workload was generated with.
+     *
+     * @return the seed, generating the same workload again
+     */
+    public long seed() {
+        return seed;
+    }
+
+    /**
+     * Returns the number of vertices of all contours.
+     *
+     * @return the number of vertices
+     */
+    public int vertexCount() {
+        return coordinates.length / 2;
+    }
+
+    /**
+     * Returns the number of holes.
+     *
+     * @return the number of contours after the outline
+     */
+    public int holeCount() {
+        return contourOffsets.length - 2;
+    }
+
+    /**
+     * Returns the vertices of all contours.
+     *
+     * @return an unmodifiable {@code List} of the vertices, one contour after
+     *         another
+     */
+    public List<Vector2f> vertices() {
+        return new VertexList(coordinates);
+    }
+
+    /**
+     * Returns the coordinates of the vertices of all contours.
+     *
+     * @return a copy of the interleaved x, y coordinates
+     */
+    public float[] coordinates() {
+        return coordinates.clone();
+    }
+
+    /**
+     * Returns where every contour starts.
+     *
+     * @return a copy of the index of the first vertex of every contour,
+     *         followed by the number of vertices
+     */
+    public int[] contourOffsets() {
+        return contourOffsets.clone();
+    }
+
+    /**
+     * Returns the area covered by the polygon.
+     *
+     * @return the area of the outline minus the areas of the holes
+     */
+    public double area() {
+        double area = 0;
+        for (int c = 0; c + 1 < contourOffsets.length; c++) {
+            int start = contourOffsets[c];
+            int end = contourOffsets[c + 1];
+            for (int i = start; i < end; i++) {
+                int next = i + 1 < end ? i + 1 : start;
+                area += (double) coordinates[2 * i] * coordinates[2 * next + 1]
+                        - (double) coordinates[2 * next] * coordinates[2 * i + 1];
+            }
+        }
+
+        return area / 2;
+    }
+
+    /**
+     * Returns the number of triangles of a triangulation without added
+     * vertices.
+     *
+     * @return the number of vertices plus twice the number of holes, minus 2
+     */
+    public int expectedTriangleCount() {
+        return vertexCount() + 2 * holeCount() - 2;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s(%d vertices, %d holes, seed %d)", name, vertexCount(), holeCount(), seed);
+    }
+
+    /**
+     * An unmodifiable {@link Vector2f} view over interleaved x, y coordinates.
+     */
+    private static final class VertexList extends AbstractList<Vector2f> implements RandomAccess {
+        private final float[] coordinates;
+
+        VertexList(float[] coordinates) {
+            this.coordinates = coordinates;
+        }
+
+        @Override
+        public Vector2f get(int index) {
+            return new Vertex(coordinates[2 * index], coordinates[2 * index + 1]);
+        }
+
+        @Override
+        public int size() {
+            return coordinates.length / 2;
+        }
+    }
+
+    private static final class Vertex implements Vector2f {
+        private final float x;
+        private final float y;
+
+        Vertex(float x, float y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public float x() {
+            return x;
+        }
+
+        @Override
+        public float y() {
+            return y;
+        }
+    }
+}
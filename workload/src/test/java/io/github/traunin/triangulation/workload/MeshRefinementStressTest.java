@@ -0,0 +1,45 @@
+package io.github.traunin.triangulation.workload;
+
+import io.github.traunin.triangulation.MeshRefinement;
+import io.github.traunin.triangulation.ParallelTriangulation;
+import io.github.traunin.triangulation.RefinedMesh;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+public class MeshRefinementStressTest {
+    private static double signedArea(float[] c, int a, int b, int p) {
+        return ((c[2 * b] - (double) c[2 * a]) * (c[2 * p + 1] - (double) c[2 * a + 1])
+                - (c[2 * b + 1] - (double) c[2 * a + 1]) * (c[2 * p] - (double) c[2 * a])) / 2;
+    }
+
+    private static void assertRefinedKeepsWinding(Workload workload, float minAngle) {
+        float[] coordinates = workload.coordinates();
+        int[] vertexIndices = new int[workload.vertexCount()];
+        Arrays.setAll(vertexIndices, (i) -> i);
+        int[] triangles = ParallelTriangulation.triangulate(coordinates, vertexIndices);
+
+        RefinedMesh mesh = MeshRefinement.refine(coordinates, triangles, minAngle, Float.POSITIVE_INFINITY,
+                MeshRefinement.DEFAULT_MAX_STEINER_POINTS);
+
+        float[] refined = mesh.coordinates();
+        int[] refinedTriangles = mesh.triangleIndices();
+        double area = 0;
+        for (int i = 0; i < refinedTriangles.length; i += 3) {
+            double triangleArea = signedArea(refined, refinedTriangles[i], refinedTriangles[i + 1],
+                    refinedTriangles[i + 2]);
+            Assertions.assertTrue(triangleArea > 0, workload.toString());
+            area += triangleArea;
+        }
+        Assertions.assertEquals(workload.area(), area, 0.0001);
+    }
+
+    @Test
+    public void testGeneratedPolygons() {
+        // rounded split points off their segments used to invert thin triangles next to them
+        assertRefinedKeepsWinding(PolygonGenerator.spacePartitioning(2000, 13), 20);
+        assertRefinedKeepsWinding(PolygonGenerator.nearlyCollinear(2000, 15), 20);
+        assertRefinedKeepsWinding(PolygonGenerator.comb(2000, 1), 30);
+    }
+}
@@ -0,0 +1,152 @@
+package io.github.traunin.triangulation.workload;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class PolygonGeneratorTest {
+    private static double orientation(float[] c, int a, int b, int p) {
+        return (c[2 * b] - (double) c[2 * a]) * (c[2 * p + 1] - (double) c[2 * a + 1])
+                - (c[2 * b + 1] - (double) c[2 * a + 1]) * (c[2 * p] - (double) c[2 * a]);
+    }
+
+    private static boolean isInBox(float[] c, int a, int b, int p) {
+        return Math.min(c[2 * a], c[2 * b]) <= c[2 * p] && c[2 * p] <= Math.max(c[2 * a], c[2 * b])
+                && Math.min(c[2 * a + 1], c[2 * b + 1]) <= c[2 * p + 1]
+                && c[2 * p + 1] <= Math.max(c[2 * a + 1], c[2 * b + 1]);
+    }
+
+    private static boolean isTouching(float[] c, int a, int b, int p, int q) {
+        double o1 = orientation(c, a, b, p);
+        double o2 = orientation(c, a, b, q);
+        double o3 = orientation(c, p, q, a);
+        double o4 = orientation(c, p, q, b);
+        if (o1 * o2 < 0 && o3 * o4 < 0) {
+            return true;
+        }
+
+        return (o1 == 0 && isInBox(c, a, b, p)) || (o2 == 0 && isInBox(c, a, b, q))
+                || (o3 == 0 && isInBox(c, p, q, a)) || (o4 == 0 && isInBox(c, p, q, b));
+    }
+
+    private static double signedArea(float[] c, int start, int end) {
+        double area = 0;
+        for (int i = start; i < end; i++) {
+            int next = i + 1 < end ? i + 1 : start;
+            area += (double) c[2 * i] * c[2 * next + 1] - (double) c[2 * next] * c[2 * i + 1];
+        }
+
+        return area / 2;
+    }
+
+    private static void assertSimple(Workload workload) {
+        float[] c = workload.coordinates();
+        int[] offsets = workload.contourOffsets();
+        int[] edgeEnds = new int[workload.vertexCount()];
+        for (int k = 0; k + 1 < offsets.length; k++) {
+            for (int i = offsets[k]; i < offsets[k + 1]; i++) {
+                edgeEnds[i] = i + 1 < offsets[k + 1] ? i + 1 : offsets[k];
+            }
+        }
+        for (int i = 0; i < edgeEnds.length; i++) {
+            for (int j = i + 1; j < edgeEnds.length; j++) {
+                if (edgeEnds[i] == j || edgeEnds[j] == i) {
+                    continue;
+                }
+                Assertions.assertFalse(isTouching(c, i, edgeEnds[i], j, edgeEnds[j]),
+                        String.format("%s edges %d and %d touch", workload, i, j));
+            }
+        }
+
+        Assertions.assertTrue(signedArea(c, offsets[0], offsets[1]) > 0);
+        for (int k = 1; k + 1 < offsets.length; k++) {
+            Assertions.assertTrue(signedArea(c, offsets[k], offsets[k + 1]) < 0);
+        }
+        Assertions.assertTrue(workload.area() > 0);
+    }
+
+    @Test
+    public void testSimplePolygons() {
+        for (int vertexCount : new int[] { 24, 25, 300 }) {
+            for (long seed = 1; seed <= 3; seed++) {
+                List<Workload> workloads = List.of(
+                        PolygonGenerator.spacePartitioning(vertexCount, seed),
+                        PolygonGenerator.twoOpt(vertexCount, seed),
+                        PolygonGenerator.star(vertexCount, seed),
+                        PolygonGenerator.spiral(vertexCount, seed),
+                        PolygonGenerator.comb(vertexCount, seed),
+                        PolygonGenerator.nearlyCollinear(vertexCount, seed),
+                        PolygonGenerator.withHoles(vertexCount, 4, seed));
+                for (Workload workload : workloads) {
+                    Assertions.assertEquals(vertexCount, workload.vertexCount());
+                    Assertions.assertEquals(seed, workload.seed());
+                    assertSimple(workload);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testShapes() {
+        Workload spiral = PolygonGenerator.spiral(20_000, 5);
+        // the area of a half unit wide band grows with every turn
+        Assertions.assertTrue(spiral.area() > 1000);
+
+        Workload holes = PolygonGenerator.withHoles(1000, 9, 5);
+        Assertions.assertEquals(9, holes.holeCount());
+        Assertions.assertEquals(1000 + 2 * 9 - 2, holes.expectedTriangleCount());
+        Assertions.assertEquals(11, holes.contourOffsets().length);
+
+        Workload comb = PolygonGenerator.comb(4 * 10 + 2, 5);
+        Assertions.assertEquals(10, comb.coordinates()[2]);
+        Assertions.assertEquals(0, comb.holeCount());
+    }
+
+    @Test
+    public void testLargePolygon() {
+        Workload workload = PolygonGenerator.spacePartitioning(200_000, 11);
+
+        Assertions.assertEquals(200_000, workload.vertexCount());
+        Assertions.assertTrue(workload.area() > 0 && workload.area() < 1);
+    }
+
+    @Test
+    public void testReproducible() {
+        Assertions.assertArrayEquals(PolygonGenerator.spacePartitioning(500, 7).coordinates(),
+                PolygonGenerator.spacePartitioning(500, 7).coordinates());
+        Assertions.assertArrayEquals(PolygonGenerator.withHoles(500, 3, 7).coordinates(),
+                PolygonGenerator.withHoles(500, 3, 7).coordinates());
+        Assertions.assertFalse(Arrays.equals(PolygonGenerator.twoOpt(100, 7).coordinates(),
+                PolygonGenerator.twoOpt(100, 8).coordinates()));
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        try {
+            PolygonGenerator.star(2, 1);
+            Assertions.fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException exception) {
+            Assertions.assertEquals("Not enough vertices for a polygon", exception.getMessage());
+        }
+        try {
+            PolygonGenerator.spiral(23, 1);
+            Assertions.fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException exception) {
+            Assertions.assertEquals("Spiral needs at least 24 vertices", exception.getMessage());
+        }
+        try {
+            PolygonGenerator.comb(5, 1);
+            Assertions.fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException exception) {
+            Assertions.assertEquals("Comb needs at least 6 vertices", exception.getMessage());
+        }
+        try {
+            PolygonGenerator.withHoles(11, 3, 1);
+            Assertions.fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException exception) {
+            Assertions.assertEquals("11 vertices are not enough for 3 holes", exception.getMessage());
+        }
+    }
+}
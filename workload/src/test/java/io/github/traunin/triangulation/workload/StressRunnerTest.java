@@ -0,0 +1,100 @@
+package io.github.traunin.triangulation.workload;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+public class StressRunnerTest {
+    private static void assertValid(Workload workload, StressRunner.Algorithm algorithm) {
+        String row = StressRunner.run(workload, algorithm, 1);
+        Assertions.assertEquals("ok", row.split(",")[5], row);
+    }
+
+    @Test
+    public void testReport() throws IOException {
+        StringBuilder report = new StringBuilder();
+        StressRunner.run(new int[] { 60, 120 }, 3, 1, report);
+
+        String[] lines = report.toString().split("\n");
+        Assertions.assertEquals(StressRunner.CSV_HEADER, lines[0]);
+        int workloadCount = StressRunner.workloads(60, 3).size() + StressRunner.workloads(120, 3).size();
+        Assertions.assertEquals(1 + 6 * workloadCount, lines.length);
+
+        int columnCount = StressRunner.CSV_HEADER.split(",").length;
+        for (int i = 1; i < lines.length; i++) {
+            // the message is the only column that may contain a comma, in quotes
+            String[] columns = lines[i].split(",", columnCount);
+            Assertions.assertEquals(columnCount, columns.length);
+            Assertions.assertEquals("3", columns[3]);
+            Assertions.assertTrue(Set.of("ok", "invalid", "error", "skipped").contains(columns[5]));
+            if (columns[0].equals("space-partitioning") || columns[0].equals("star")) {
+                Assertions.assertEquals("ok", columns[5], lines[i]);
+                Assertions.assertEquals(columns[6], columns[7]);
+            }
+            if (columns[0].equals("holes")) {
+                Assertions.assertEquals(columns[4].equals("tessellator") ? "ok" : "skipped", columns[5], lines[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testParallelEarClippingOnLargePolygons() {
+        // unbalanced splits used to recurse once per vertex, and nearly flat corners let diagonals out
+        assertValid(PolygonGenerator.star(100_000, 1), StressRunner.Algorithm.PARALLEL_EAR_CLIPPING);
+        assertValid(PolygonGenerator.spacePartitioning(100_000, 1), StressRunner.Algorithm.PARALLEL_EAR_CLIPPING);
+        assertValid(PolygonGenerator.nearlyCollinear(10_000, 1), StressRunner.Algorithm.PARALLEL_EAR_CLIPPING);
+    }
+
+    @Test
+    public void testListEarClippingOnDegeneratePolygons() {
+        // the first and last vertex were never clipped, and clipped collinear vertices blocked later ears
+        assertValid(PolygonGenerator.comb(10_000, 1), StressRunner.Algorithm.EAR_CLIPPING);
+        assertValid(PolygonGenerator.nearlyCollinear(10_000, 1), StressRunner.Algorithm.EAR_CLIPPING);
+    }
+
+    @Test
+    public void testSizeLimits() {
+        String row = StressRunner.run(PolygonGenerator.spacePartitioning(StressRunner.MAX_PARALLEL_VERTICES + 1, 1),
+                StressRunner.Algorithm.PARALLEL_EAR_CLIPPING, 1);
+        Assertions.assertEquals("skipped", row.split(",")[5], row);
+    }
+
+    @Test
+    public void testConstrainedDelaunayKeepsNearbyVertices() {
+        // vertices close to two edges used to be merged with a triangle corner
+        assertValid(PolygonGenerator.nearlyCollinear(2000, 15), StressRunner.Algorithm.CONSTRAINED_DELAUNAY);
+        assertValid(PolygonGenerator.nearlyCollinear(10_000, 1), StressRunner.Algorithm.CONSTRAINED_DELAUNAY);
+        assertValid(PolygonGenerator.comb(10_000, 1), StressRunner.Algorithm.CONSTRAINED_DELAUNAY);
+    }
+
+    @Test
+    public void testTessellatorKeepsNearbyVertices() {
+        assertValid(PolygonGenerator.nearlyCollinear(2000, 15), StressRunner.Algorithm.TESSELLATOR);
+        assertValid(PolygonGenerator.comb(10_000, 1), StressRunner.Algorithm.TESSELLATOR);
+        assertValid(PolygonGenerator.withHoles(10_000, 20, 1), StressRunner.Algorithm.TESSELLATOR);
+    }
+
+    @Test
+    public void testWorkloads() {
+        List<Workload> small = StressRunner.workloads(10, 1);
+        Assertions.assertEquals(Set.of("space-partitioning", "2-opt", "star", "comb", "nearly-collinear", "holes"),
+                Set.copyOf(small.stream().map(Workload::name).toList()));
+
+        List<Workload> large = StressRunner.workloads(StressRunner.MAX_TWO_OPT_VERTICES + 1, 1);
+        Assertions.assertTrue(large.stream().noneMatch((workload) -> workload.name().equals("2-opt")));
+        Assertions.assertTrue(large.stream().anyMatch((workload) -> workload.name().equals("spiral")));
+    }
+
+    @Test
+    public void testInvalidRepetitions() throws IOException {
+        try {
+            StressRunner.run(new int[] { 10 }, 1, 0, new StringBuilder());
+            Assertions.fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException exception) {
+            Assertions.assertEquals("Repetitions 0 is not positive", exception.getMessage());
+        }
+    }
+}